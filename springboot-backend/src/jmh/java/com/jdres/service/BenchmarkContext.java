@@ -0,0 +1,52 @@
+package com.jdres.service;
+
+import com.jdres.repository.ExtractionCacheRepository;
+import com.jdres.repository.JobDescriptionRepository;
+import com.jdres.repository.ReactiveExtractionCacheRepository;
+import com.jdres.repository.ResumeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Map;
+
+/**
+ * Benchmark Context
+ * The scoring services wired by Spring exactly as in the application, with the
+ * Mongo side (repositories, MongoTemplate) mocked out. Nothing here touches the
+ * network: the benchmarked methods are pure CPU.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static AnnotationConfigApplicationContext start() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "openai.api-key", "benchmark",
+                "openai.model", "gpt-4o-mini",
+                "matching.scoring.threads", "1")));
+
+        // Persistence and metrics stand-ins
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(MongoTemplate.class, () -> Mockito.mock(MongoTemplate.class));
+        context.registerBean(ResumeRepository.class, () -> Mockito.mock(ResumeRepository.class));
+        context.registerBean(JobDescriptionRepository.class, () -> Mockito.mock(JobDescriptionRepository.class));
+        context.registerBean(ExtractionCacheRepository.class, () -> Mockito.mock(ExtractionCacheRepository.class));
+        context.registerBean(ReactiveExtractionCacheRepository.class,
+                () -> Mockito.mock(ReactiveExtractionCacheRepository.class));
+
+        // Real services
+        context.register(SkillNormalizationService.class, SkillDictionary.class, ParsedDocumentService.class,
+                RecruitmentIntelligenceService.class, JdProfileService.class, TextSimilarityService.class,
+                MatchResultWriter.class, MatchCalculatorService.class, MatchingService.class,
+                TokenUsageTracker.class, ExtractionCacheService.class, LlmRequestScheduler.class,
+                SkillExtractorService.class);
+        context.refresh();
+        return context;
+    }
+}
@@ -0,0 +1,290 @@
+package com.jdres.service;
+
+import com.jdres.model.JobDescription;
+import com.jdres.model.Resume;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Synthetic Benchmark Corpus
+ * Deterministic (seeded) resumes and JDs shaped like what SkillExtractorService
+ * stores in parsedDetails, so the benchmarks exercise the same code paths as
+ * production data.
+ *
+ * - Resumes: 30-80 skills (categorized, with synonym / casing variants and niche
+ *   skills the dictionary does not know), 5-15 projects, 2-8 jobs with gaps
+ * - JDs: 8-20 required and 3-10 preferred skills, tools, methodologies, keywords
+ */
+public final class BenchmarkCorpus {
+
+    // Mix of canonical names, synonyms and casing variants (normalization has real work to do)
+    private static final String[] LANGUAGES = {
+            "Java", "java 17", "JDK", "Python", "python3", "JavaScript", "JS", "ES6", "TypeScript", "TS",
+            "Go", "Golang", "Kotlin", "Scala", "C#", ".NET Core", "Rust", "Ruby", "PHP", "SQL", "Bash" };
+    private static final String[] FRAMEWORKS = {
+            "Spring Boot", "springboot", "Spring Framework", "React", "ReactJS", "React.js", "Angular",
+            "AngularJS", "Vue.js", "Next.js", "Node.js", "NodeJS", "Express", "NestJS", "Django", "DRF",
+            "Flask", "FastAPI", "ASP.NET Core", "Hibernate", "JPA", "Spring Security", "Spring Cloud",
+            "React Native", "Redux", "GraphQL", "gRPC", "REST API", "RESTful", "Microservices" };
+    private static final String[] DATA = {
+            "PostgreSQL", "Postgres", "MySQL", "MongoDB", "Mongo", "Redis", "Elasticsearch", "Cassandra",
+            "DynamoDB", "SQL Server", "Oracle", "Kafka", "Apache Kafka", "RabbitMQ", "SQS", "Spark",
+            "Apache Spark", "Airflow", "Snowflake", "BigQuery", "Hadoop", "Flink" };
+    private static final String[] CLOUD = {
+            "AWS", "Amazon Web Services", "Azure", "GCP", "Google Cloud", "Docker", "Kubernetes", "K8s",
+            "Helm", "Terraform", "Ansible", "Jenkins", "GitLab CI", "GitHub Actions", "ArgoCD",
+            "CloudFormation", "Prometheus", "Grafana", "Datadog", "Splunk", "ELK", "Istio", "OpenShift" };
+    private static final String[] PRACTICES = {
+            "JUnit", "Mockito", "Jest", "Cypress", "Selenium", "TDD", "CI/CD", "DevOps", "System Design",
+            "Distributed Systems", "Event-Driven Architecture", "Domain-Driven Design", "OAuth2", "JWT",
+            "Linux", "Git", "Jira", "Confluence" };
+    // Not in the synonym table: exercises the "unknown skill" paths
+    private static final String[] NICHE = {
+            "Camunda", "Drools", "Apache Camel", "Vert.x", "Quarkus", "Micronaut", "Temporal", "Pulsar",
+            "ClickHouse", "TimescaleDB", "Keycloak", "Envoy", "Linkerd", "Backstage", "Crossplane",
+            "OpenTelemetry", "Jaeger", "Hazelcast", "Ignite", "Akka", "Liquibase", "Flyway" };
+
+    private static final String[][] SKILL_CATEGORIES = { LANGUAGES, FRAMEWORKS, DATA, CLOUD, PRACTICES, NICHE };
+    private static final String[] CATEGORY_KEYS = {
+            "programming_languages", "frameworks", "databases", "cloud_devops", "practices", "other" };
+
+    private static final String[] DOMAINS = {
+            "fintech", "healthcare", "ecommerce", "saas", "insurance", "logistics", "telecom", "edtech" };
+    private static final String[] METHODOLOGIES = { "agile", "scrum", "safe", "kanban", "waterfall", "devops" };
+    private static final String[] ROLES = {
+            "Senior Software Engineer", "Tech Lead", "Backend Developer", "Full Stack Engineer",
+            "Engineering Manager", "Delivery Manager", "PMO Lead", "Solutions Architect", "Platform Engineer" };
+    private static final String[] CERTIFICATIONS = {
+            "AWS Certified Solutions Architect", "Certified Kubernetes Administrator", "PMP",
+            "Oracle Certified Java Developer", "Azure Fundamentals", "Google Cloud Professional Architect",
+            "Certified Scrum Master", "Terraform Associate", "MongoDB Certified Developer" };
+    private static final String[] RISKS = {
+            "security compliance", "data migration", "disaster recovery", "performance", "vendor dependency",
+            "regulatory audit", "zero-downtime cutover" };
+    private static final String[] DELIVERY_TYPES = { "hands-on", "hybrid", "governance", "" };
+    private static final String[] FILLER = {
+            "Designed and delivered", "Led a team that built", "Migrated the legacy platform to",
+            "Improved throughput of", "Owned the on-call rotation for", "Reduced cloud spend for",
+            "Introduced automated testing across", "Mentored engineers working on" };
+
+    private final Random random;
+
+    public BenchmarkCorpus(long seed) {
+        this.random = new Random(seed);
+    }
+
+    // ============================================
+    // Resumes
+    // ============================================
+
+    public List<Resume> resumes(int count) {
+        List<Resume> resumes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            resumes.add(resume("bench-resume-" + i));
+        }
+        return resumes;
+    }
+
+    public Resume resume(String fileId) {
+        int skillCount = between(30, 80);
+        Map<String, Object> skills = new LinkedHashMap<>();
+        List<String> flatSkills = new ArrayList<>(skillCount);
+        for (int i = 0; i < skillCount; i++) {
+            int category = random.nextInt(SKILL_CATEGORIES.length);
+            String skill = pick(SKILL_CATEGORIES[category]);
+            @SuppressWarnings("unchecked")
+            List<String> bucket = (List<String>) skills.computeIfAbsent(CATEGORY_KEYS[category],
+                    k -> new ArrayList<String>());
+            bucket.add(skill);
+            flatSkills.add(skill);
+        }
+
+        int projectCount = between(5, 15);
+        List<Map<String, Object>> projects = new ArrayList<>(projectCount);
+        for (int i = 0; i < projectCount; i++) {
+            projects.add(project(i, flatSkills));
+        }
+
+        List<Map<String, Object>> workExperience = workExperience(between(2, 8));
+        int experienceYears = between(2, 20);
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        String name = pick(new String[] { "Asha", "Ravi", "Maria", "Chen", "Olu", "Sara", "Arjun", "Lena" })
+                + " " + pick(new String[] { "Iyer", "Kumar", "Garcia", "Wei", "Adeyemi", "Novak", "Shah" });
+        details.put("candidate_profile", new LinkedHashMap<>(Map.of("name", name)));
+        details.put("total_experience_years", experienceYears);
+        details.put("skills", skills);
+        details.put("projects", projects);
+        details.put("work_experience", workExperience);
+        details.put("education", List.of(new LinkedHashMap<>(Map.of(
+                "degree", "B.Tech Computer Science",
+                "end_date", workExperience.isEmpty() ? "2012-06"
+                        : YearMonth.parse((String) workExperience.get(0).get("start_date"))
+                                .minusMonths(between(0, 14)).toString()))));
+        details.put("certifications", sample(CERTIFICATIONS, between(0, 4)));
+        details.put("domain_experience", sample(DOMAINS, between(1, 3)));
+        details.put("methodology_experience", sample(METHODOLOGIES, between(1, 3)));
+        details.put("career_summary", new LinkedHashMap<>(Map.of(
+                "total_production_launches", between(0, 12),
+                "largest_team_managed", between(0, 60),
+                "largest_budget_managed", between(0, 8000),
+                "enterprise_experience", random.nextBoolean(),
+                "multi_year_program_experience", random.nextBoolean())));
+        boolean hasGap = random.nextInt(4) == 0;
+        details.put("employment_gaps", new LinkedHashMap<>(Map.of(
+                "has_gap", hasGap,
+                "total_gap_months", hasGap ? between(6, 30) : 0)));
+
+        Resume resume = new Resume();
+        resume.setFileId(fileId);
+        resume.setName(name.replace(' ', '_') + ".pdf");
+        resume.setCandidateName(name);
+        resume.setCandidateExperience(experienceYears);
+        resume.setSkills(flatSkills);
+        resume.setParsedDetails(details);
+        resume.setText(resumeText(name, flatSkills, projects));
+        resume.setImportedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(random.nextInt(500_000)));
+        return resume;
+    }
+
+    private Map<String, Object> project(int index, List<String> candidateSkills) {
+        Map<String, Object> project = new LinkedHashMap<>();
+        project.put("project_name", pick(DOMAINS) + " platform " + (index + 1));
+        project.put("domain", pick(DOMAINS));
+        project.put("role", pick(ROLES));
+        List<String> tech = new ArrayList<>();
+        int techCount = between(3, 9);
+        for (int i = 0; i < techCount; i++) {
+            tech.add(random.nextInt(5) == 0 ? pick(pick(SKILL_CATEGORIES)) : pick(candidateSkills));
+        }
+        project.put("technologies_used", tech);
+        project.put("team_size", between(2, 40));
+        project.put("budget_managed", random.nextInt(3) == 0 ? between(50_000, 9_000_000) : 0);
+        project.put("duration_months", between(3, 36));
+        project.put("production_launch", random.nextBoolean());
+        project.put("risk_events_handled", sample(RISKS, between(0, 3)));
+        project.put("delivery_type", pick(DELIVERY_TYPES));
+        return project;
+    }
+
+    /**
+     * Jobs in random order (as LLM output often is), with occasional gaps and a current role
+     */
+    public List<Map<String, Object>> workExperience(int jobs) {
+        List<Map<String, Object>> result = new ArrayList<>(jobs);
+        YearMonth start = YearMonth.of(between(2004, 2016), between(1, 12));
+        for (int i = 0; i < jobs; i++) {
+            YearMonth end = start.plusMonths(between(8, 48));
+            Map<String, Object> job = new LinkedHashMap<>();
+            job.put("company", "Company " + (char) ('A' + i));
+            job.put("title", pick(ROLES));
+            job.put("start_date", start.toString());
+            job.put("end_date", i == jobs - 1 ? "PRESENT" : end.toString());
+            result.add(job);
+            start = end.plusMonths(random.nextInt(4) == 0 ? between(6, 18) : between(0, 2));
+        }
+        Collections.shuffle(result, random);
+        return result;
+    }
+
+    private String resumeText(String name, List<String> skills, List<Map<String, Object>> projects) {
+        StringBuilder text = new StringBuilder(8192);
+        text.append(name).append("\nSummary\nEngineer with experience in ")
+                .append(String.join(", ", skills.subList(0, Math.min(12, skills.size())))).append(".\n");
+        text.append("Skills\n").append(String.join(", ", skills)).append("\n\nProjects\n");
+        for (Map<String, Object> project : projects) {
+            @SuppressWarnings("unchecked")
+            List<String> tech = (List<String>) project.get("technologies_used");
+            text.append(project.get("project_name")).append(" - ").append(project.get("role")).append('\n');
+            for (int i = 0; i < 3; i++) {
+                text.append(pick(FILLER)).append(' ').append(project.get("domain")).append(" services using ")
+                        .append(String.join(" and ", tech)).append(", serving ")
+                        .append(between(10, 900)).append("k users.\n");
+            }
+        }
+        return text.toString();
+    }
+
+    // ============================================
+    // Job Descriptions
+    // ============================================
+
+    public List<JobDescription> jobDescriptions(int count) {
+        List<JobDescription> jds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            jds.add(jobDescription("bench-jd-" + i));
+        }
+        return jds;
+    }
+
+    public JobDescription jobDescription(String jdId) {
+        List<String> required = sample(concat(LANGUAGES, FRAMEWORKS, DATA, CLOUD), between(8, 20));
+        List<String> preferred = sample(concat(FRAMEWORKS, DATA, CLOUD, PRACTICES, NICHE), between(3, 10));
+        List<String> tools = sample(concat(CLOUD, PRACTICES), between(2, 8));
+        List<String> methodologies = sample(METHODOLOGIES, between(1, 3));
+        List<String> keywords = sample(concat(FRAMEWORKS, PRACTICES, NICHE), between(3, 10));
+        List<String> domains = sample(DOMAINS, between(1, 2));
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("domain", domains);
+        details.put("jd_domains", domains);
+        details.put("mandatory_skills", required);
+        details.put("preferred_skills", preferred);
+        details.put("tools_platforms", tools);
+        details.put("methodologies", methodologies);
+        details.put("critical_deliveries_required", between(0, 4));
+        details.put("risk_areas_expected", between(0, 3));
+        details.put("scale_requirements", new LinkedHashMap<>(Map.of(
+                "enterprise_scale", random.nextBoolean(),
+                "multi_year_program", random.nextBoolean(),
+                "large_budget_expected", random.nextBoolean())));
+        details.put("jd_delivery_style", pick(new String[] { "hands-on", "hybrid", "governance" }));
+
+        JobDescription jd = new JobDescription();
+        jd.setJdId(jdId);
+        jd.setTitle(pick(ROLES));
+        jd.setRequiredSkills(required);
+        jd.setPreferredSkills(preferred);
+        jd.setSuggestedKeywords(keywords);
+        jd.setMinExperience(between(0, 12));
+        jd.setParsedDetails(details);
+        jd.setCreatedAt(LocalDateTime.of(2024, 6, 1, 0, 0));
+        jd.setText("We are hiring a " + jd.getTitle() + " in " + String.join("/", domains) + ". Must have "
+                + String.join(", ", required) + ". Nice to have " + String.join(", ", preferred)
+                + ". You will work with " + String.join(", ", tools) + " in a "
+                + String.join("/", methodologies) + " team and own delivery end to end.");
+        return jd;
+    }
+
+    // ============================================
+    // Helpers
+    // ============================================
+
+    private int between(int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private List<String> sample(String[] values, int count) {
+        List<String> shuffled = new ArrayList<>(Arrays.asList(values));
+        Collections.shuffle(shuffled, random);
+        return new ArrayList<>(shuffled.subList(0, Math.min(count, shuffled.size())));
+    }
+
+    private static String[] concat(String[]... arrays) {
+        List<String> all = new ArrayList<>();
+        for (String[] array : arrays) {
+            all.addAll(Arrays.asList(array));
+        }
+        return all.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,90 @@
+package com.jdres.service;
+
+import com.jdres.model.JobDescription;
+import com.jdres.model.ParsedResume;
+import com.jdres.model.Resume;
+import com.jdres.service.RecruitmentIntelligenceService.JDExtractionResult;
+import com.jdres.service.RecruitmentIntelligenceService.ResumeExtractionResult;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Shared benchmark fixture: the wired services plus a synthetic corpus with
+ * everything the application would already have cached (typed views, compiled
+ * JD profiles, skill reach sets) computed up front, so each benchmark measures
+ * only the method it names.
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+
+    @Param({ "200" })
+    public int resumeCount;
+
+    @Param({ "20" })
+    public int jdCount;
+
+    @Param({ "42" })
+    public long seed;
+
+    AnnotationConfigApplicationContext context;
+    MatchingService matchingService;
+    MatchCalculatorService matchCalculatorService;
+    SkillNormalizationService skillNormalizationService;
+    RecruitmentIntelligenceService recruitmentIntelligenceService;
+    SkillExtractorService skillExtractorService;
+
+    List<Resume> resumes;
+    List<ParsedResume> parsedResumes;
+    List<BitSet> reaches;
+    List<ResumeExtractionResult> resumeData;
+
+    List<JobDescription> jds;
+    List<JdProfile> profiles;
+    List<JDExtractionResult> jdData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        matchingService = context.getBean(MatchingService.class);
+        matchCalculatorService = context.getBean(MatchCalculatorService.class);
+        skillNormalizationService = context.getBean(SkillNormalizationService.class);
+        recruitmentIntelligenceService = context.getBean(RecruitmentIntelligenceService.class);
+        skillExtractorService = context.getBean(SkillExtractorService.class);
+        ParsedDocumentService parsedDocumentService = context.getBean(ParsedDocumentService.class);
+        TextSimilarityService textSimilarityService = context.getBean(TextSimilarityService.class);
+        JdProfileService jdProfileService = context.getBean(JdProfileService.class);
+
+        BenchmarkCorpus corpus = new BenchmarkCorpus(seed);
+        resumes = corpus.resumes(resumeCount);
+        parsedResumes = new ArrayList<>(resumeCount);
+        reaches = new ArrayList<>(resumeCount);
+        resumeData = new ArrayList<>(resumeCount);
+        for (Resume resume : resumes) {
+            ParsedResume parsed = parsedDocumentService.parseResume(resume);
+            resume.setParsed(parsed);
+            parsedResumes.add(parsed);
+            reaches.add(matchingService.candidateReach(resume));
+            resumeData.add(recruitmentIntelligenceService.extractResumeData(resume, parsed));
+            textSimilarityService.add(resume);
+        }
+
+        jds = corpus.jobDescriptions(jdCount);
+        profiles = new ArrayList<>(jdCount);
+        jdData = new ArrayList<>(jdCount);
+        for (JobDescription jd : jds) {
+            jd.setParsed(parsedDocumentService.parseJd(jd));
+            JdProfile profile = jdProfileService.getProfile(jd);
+            profiles.add(profile);
+            jdData.add(profile.jdData);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
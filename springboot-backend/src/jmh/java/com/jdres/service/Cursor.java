@@ -0,0 +1,27 @@
+package com.jdres.service;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread round-robin position in the corpus, so successive invocations
+ * score different resume / JD pairs instead of one hot pair.
+ */
+@State(Scope.Thread)
+public class Cursor {
+
+    private int resume;
+    private int jd;
+
+    int nextResume(int count) {
+        int next = resume;
+        resume = next + 1 == count ? 0 : next + 1;
+        return next;
+    }
+
+    int nextJd(int count) {
+        int next = jd;
+        jd = next + 1 == count ? 0 : next + 1;
+        return next;
+    }
+}
@@ -0,0 +1,36 @@
+package com.jdres.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SkillExtractorService.calculateEmploymentGaps on 2-8 jobs in random order.
+ *
+ * The method sorts work_experience in place and writes employment_gaps, so each
+ * invocation gets a fresh shallow copy of the unsorted input (a few small
+ * allocations that show up in the gc profile as a constant baseline).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmploymentGapBenchmark {
+
+    @Benchmark
+    public Map<String, Object> calculateEmploymentGaps(CorpusState corpus, Cursor cursor) {
+        Map<String, Object> details = corpus.resumes.get(cursor.nextResume(corpus.resumeCount)).getParsedDetails();
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> jobs = (List<Map<String, Object>>) details.get("work_experience");
+        Map<String, Object> resumeData = new HashMap<>(4);
+        resumeData.put("work_experience", new ArrayList<>(jobs));
+        resumeData.put("education", details.get("education"));
+        corpus.skillExtractorService.calculateEmploymentGaps(resumeData);
+        return resumeData;
+    }
+}
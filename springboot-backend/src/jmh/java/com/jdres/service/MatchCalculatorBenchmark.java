@@ -0,0 +1,26 @@
+package com.jdres.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MatchCalculatorService.calculateSkillMatch on raw (un-normalized) JD and
+ * resume skill lists.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchCalculatorBenchmark {
+
+    @Benchmark
+    public Map<String, Object> calculateSkillMatch(CorpusState corpus, Cursor cursor) {
+        int r = cursor.nextResume(corpus.resumeCount);
+        int j = cursor.nextJd(corpus.jdCount);
+        return corpus.matchCalculatorService.calculateSkillMatch(corpus.jds.get(j).getRequiredSkills(),
+                corpus.resumes.get(r).getSkills());
+    }
+}
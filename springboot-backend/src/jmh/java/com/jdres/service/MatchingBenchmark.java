@@ -0,0 +1,26 @@
+package com.jdres.service;
+
+import com.jdres.model.MatchResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MatchingService.computeSkillBasedMatch for one resume against one compiled JD
+ * profile (the inner loop of matchNewJobDescription / matchNewResume).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchingBenchmark {
+
+    @Benchmark
+    public MatchResult computeSkillBasedMatch(CorpusState corpus, Cursor cursor) {
+        int r = cursor.nextResume(corpus.resumeCount);
+        int j = cursor.nextJd(corpus.jdCount);
+        return corpus.matchingService.computeSkillBasedMatch(corpus.profiles.get(j), corpus.resumes.get(r),
+                corpus.parsedResumes.get(r), corpus.reaches.get(r));
+    }
+}
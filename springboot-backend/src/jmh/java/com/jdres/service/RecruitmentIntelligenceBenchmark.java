@@ -0,0 +1,36 @@
+package com.jdres.service;
+
+import com.jdres.service.RecruitmentIntelligenceService.RecruitmentScoreResult;
+import com.jdres.service.RecruitmentIntelligenceService.ResumeExtractionResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RecruitmentIntelligenceService extraction and scoring.
+ *
+ * extractResumeData calls computeResumeData directly: the public method is
+ * memoized per resume version, so through it every invocation after the first
+ * would measure a cache hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecruitmentIntelligenceBenchmark {
+
+    @Benchmark
+    public ResumeExtractionResult extractResumeData(CorpusState corpus, Cursor cursor) {
+        int r = cursor.nextResume(corpus.resumeCount);
+        return corpus.recruitmentIntelligenceService.computeResumeData(corpus.resumes.get(r),
+                corpus.parsedResumes.get(r));
+    }
+
+    @Benchmark
+    public RecruitmentScoreResult computeScore(CorpusState corpus, Cursor cursor) {
+        return corpus.recruitmentIntelligenceService.computeScore(
+                corpus.resumeData.get(cursor.nextResume(corpus.resumeCount)),
+                corpus.jdData.get(cursor.nextJd(corpus.jdCount)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.jdres.service;
+
+import com.jdres.service.RecruitmentIntelligenceService.JDExtractionResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SkillNormalizationService.normalizeSkills on a full resume skill list (30-80
+ * raw skills) and calculateWeightedMatch against a JD's four skill tiers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkillNormalizationBenchmark {
+
+    @Benchmark
+    public List<String> normalizeSkills(CorpusState corpus, Cursor cursor) {
+        return corpus.skillNormalizationService.normalizeSkills(
+                corpus.resumes.get(cursor.nextResume(corpus.resumeCount)).getSkills());
+    }
+
+    @Benchmark
+    public SkillNormalizationService.WeightedSkillMatchResult calculateWeightedMatch(CorpusState corpus,
+            Cursor cursor) {
+        JDExtractionResult jd = corpus.jdData.get(cursor.nextJd(corpus.jdCount));
+        return corpus.skillNormalizationService.calculateWeightedMatch(jd.mandatorySkills, jd.preferredSkills,
+                jd.tools, jd.methodologies, corpus.resumes.get(cursor.nextResume(corpus.resumeCount)).getSkills());
+    }
+}
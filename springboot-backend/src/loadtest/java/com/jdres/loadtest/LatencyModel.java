@@ -0,0 +1,69 @@
+package com.jdres.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency Model
+ * Log-normal response time fitted to a median and a p99 (milliseconds), plus an
+ * independent per-request error probability. Log-normal is the usual shape of
+ * remote API latency: most calls near the median, a long right tail.
+ *
+ * Spec format: "median,p99" e.g. "900,4000"; "0,0" disables the delay.
+ */
+final class LatencyModel {
+
+    private static final double Z_99 = 2.3263478740; // standard normal 99th percentile
+
+    private final double mu;
+    private final double sigma;
+    private final double errorRate;
+    private final String spec;
+
+    private LatencyModel(double medianMillis, double p99Millis, double errorRate, String spec) {
+        this.mu = medianMillis > 0 ? Math.log(medianMillis) : Double.NEGATIVE_INFINITY;
+        this.sigma = medianMillis > 0 && p99Millis > medianMillis ? Math.log(p99Millis / medianMillis) / Z_99 : 0;
+        this.errorRate = Math.max(0, Math.min(1, errorRate));
+        this.spec = spec;
+    }
+
+    static LatencyModel parse(String spec, double errorRate) {
+        String[] parts = spec.split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Latency spec must be 'median,p99' in ms: " + spec);
+        }
+        double median = Double.parseDouble(parts[0].trim());
+        double p99 = Double.parseDouble(parts[1].trim());
+        return new LatencyModel(median, p99, errorRate, spec.trim());
+    }
+
+    long sampleMillis() {
+        if (mu == Double.NEGATIVE_INFINITY) {
+            return 0;
+        }
+        return Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    boolean shouldFail() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    /**
+     * Sleep for one sampled latency
+     */
+    void delay() {
+        long millis = sampleMillis();
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "median,p99=" + spec + "ms errors=" + errorRate;
+    }
+}
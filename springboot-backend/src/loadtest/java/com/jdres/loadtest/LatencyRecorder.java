@@ -0,0 +1,59 @@
+package com.jdres.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency Recorder
+ * Every measured request's latency for one operation (exact percentiles, no
+ * histogram buckets), plus an error count. Load tests are bounded, so keeping
+ * every sample is cheap: 8 bytes per request.
+ */
+final class LatencyRecorder {
+
+    private final String operation;
+    private final LongAdder errors = new LongAdder();
+    private long[] samples = new long[4096];
+    private int size;
+
+    LatencyRecorder(String operation) {
+        this.operation = operation;
+    }
+
+    synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    /**
+     * One report line: throughput over the measured window and latency percentiles (ms)
+     */
+    synchronized String summary(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return String.format("%-12s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f",
+                operation, size, errors.sum(), size / seconds,
+                millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99), millis(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    static String header() {
+        return String.format("%-12s %8s %7s %9s %9s %9s %9s %9s %9s",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    // Nearest-rank percentile
+    private static double millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))] / 1e6;
+    }
+}
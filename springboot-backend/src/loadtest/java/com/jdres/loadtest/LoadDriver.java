@@ -0,0 +1,248 @@
+package com.jdres.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Load Driver
+ * Closed-loop workers replaying a weighted mix of recruiter operations against
+ * the running application:
+ *
+ * - upload: POST /api/upload-resume (multipart .txt resume)
+ * - jd:     POST /api/job-descriptions
+ * - match:  POST /api/job-descriptions/{jdId}/match
+ * - list:   GET  /api/job-descriptions/{jdId}/matches
+ *
+ * Requests are spread over a fixed set of recruiters (X-User-Id); list only asks
+ * for JDs the caller owns. A response counts as an error on a non-2xx status or
+ * a body with "success": false (the controllers report most failures that way).
+ */
+final class LoadDriver {
+
+    enum Operation {
+        UPLOAD("upload"), CREATE_JD("jd"), MATCH("match"), LIST("list");
+
+        final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    private record OwnedJd(String jdId, String recruiterId) {
+    }
+
+    private final String baseUrl;
+    private final int recruiters;
+    private final long randomSeed;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<OwnedJd> jds = new CopyOnWriteArrayList<>();
+    private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+
+    LoadDriver(String baseUrl, int recruiters, long seed) {
+        this.baseUrl = baseUrl;
+        this.recruiters = Math.max(1, recruiters);
+        this.randomSeed = seed;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder(operation.key));
+        }
+    }
+
+    /**
+     * Create the starting JDs and resume pool (not measured)
+     */
+    void seed(int jdCount, int resumeCount, int concurrency) throws Exception {
+        SyntheticDocuments documents = new SyntheticDocuments(randomSeed);
+        for (int i = 0; i < jdCount; i++) {
+            createJd(documents, "recruiter-" + (i % recruiters));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, concurrency));
+        try {
+            List<Future<?>> uploads = new ArrayList<>();
+            for (int i = 0; i < resumeCount; i++) {
+                String recruiterId = "recruiter-" + (i % recruiters);
+                String resume = documents.resumeText();
+                uploads.add(pool.submit(() -> upload(resume, recruiterId)));
+            }
+            for (Future<?> upload : uploads) {
+                upload.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Run the mix with {@code concurrency} closed-loop workers; only requests
+     * started after the warmup are recorded.
+     *
+     * @return report lines (header, one line per operation)
+     */
+    List<String> run(Map<Operation, Integer> mix, int concurrency, Duration warmup, Duration duration)
+            throws InterruptedException {
+        Operation[] wheel = weightedWheel(mix);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            long workerSeed = randomSeed + 1 + w;
+            pool.execute(() -> {
+                Random random = new Random(workerSeed);
+                SyntheticDocuments documents = new SyntheticDocuments(workerSeed);
+                while (System.nanoTime() < stopAt) {
+                    Operation operation = wheel[random.nextInt(wheel.length)];
+                    String recruiterId = "recruiter-" + random.nextInt(recruiters);
+                    long begin = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = execute(operation, documents, recruiterId, random);
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    if (begin >= measureFrom) {
+                        LatencyRecorder recorder = recorders.get(operation);
+                        recorder.record(System.nanoTime() - begin);
+                        if (!ok) {
+                            recorder.error();
+                        }
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(duration.plus(warmup).toSeconds() + 300, TimeUnit.SECONDS);
+
+        double seconds = duration.toNanos() / 1e9;
+        List<String> lines = new ArrayList<>();
+        lines.add(LatencyRecorder.header());
+        for (Operation operation : Operation.values()) {
+            if (mix.getOrDefault(operation, 0) > 0) {
+                lines.add(recorders.get(operation).summary(seconds));
+            }
+        }
+        return lines;
+    }
+
+    // ============================================
+    // Operations
+    // ============================================
+
+    private boolean execute(Operation operation, SyntheticDocuments documents, String recruiterId, Random random)
+            throws Exception {
+        if (operation == Operation.UPLOAD) {
+            return upload(documents.resumeText(), recruiterId);
+        }
+        if (operation == Operation.CREATE_JD) {
+            return createJd(documents, recruiterId);
+        }
+        OwnedJd jd = anyJd(random);
+        if (jd == null) {
+            return false;
+        }
+        HttpRequest.Builder request = operation == Operation.MATCH
+                ? HttpRequest.newBuilder(uri("/api/job-descriptions/" + jd.jdId() + "/match"))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                : HttpRequest.newBuilder(uri("/api/job-descriptions/" + jd.jdId() + "/matches?limit=50")).GET();
+        return send(request.header("X-User-Id", jd.recruiterId())) != null;
+    }
+
+    private boolean createJd(SyntheticDocuments documents, String recruiterId) throws Exception {
+        String body = objectMapper.writeValueAsString(
+                Map.of("title", documents.jdTitle(), "jdText", documents.jdText()));
+        JsonNode response = send(HttpRequest.newBuilder(uri("/api/job-descriptions"))
+                .header("Content-Type", "application/json")
+                .header("X-User-Id", recruiterId)
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response != null && response.hasNonNull("jdId")) {
+            jds.add(new OwnedJd(response.get("jdId").asText(), recruiterId));
+            return true;
+        }
+        return false;
+    }
+
+    private boolean upload(String resumeText, String recruiterId) throws Exception {
+        String boundary = "----jdres-loadtest-" + UUID.randomUUID();
+        String fileName = "resume-" + UUID.randomUUID() + ".txt";
+        ByteArrayOutputStream body = new ByteArrayOutputStream(resumeText.length() + 512);
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: text/plain\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(resumeText.getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return send(HttpRequest.newBuilder(uri("/api/upload-resume"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .header("X-User-Id", recruiterId)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))) != null;
+    }
+
+    // ============================================
+    // Helpers
+    // ============================================
+
+    /**
+     * @return parsed body, or null for a failed request
+     */
+    private JsonNode send(HttpRequest.Builder request) throws Exception {
+        HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(120)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            return null;
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.path("success").asBoolean(true) ? body : null;
+    }
+
+    private OwnedJd anyJd(Random random) {
+        List<OwnedJd> snapshot = jds;
+        return snapshot.isEmpty() ? null : snapshot.get(random.nextInt(snapshot.size()));
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static Operation[] weightedWheel(Map<Operation, Integer> mix) {
+        List<Operation> wheel = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(operation);
+            }
+        });
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix has no positive weights");
+        }
+        return wheel.toArray(new Operation[0]);
+    }
+
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = Arrays.stream(Operation.values())
+                    .filter(o -> o.key.equals(parts[0].trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation in mix: " + parts[0]));
+            mix.put(operation, Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
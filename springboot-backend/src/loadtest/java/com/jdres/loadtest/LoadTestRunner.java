@@ -0,0 +1,137 @@
+package com.jdres.loadtest;
+
+import com.jdres.MatchingApplication;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline Load Test
+ * Boots the application against loopback stand-ins for OpenAI, Gemini and S3
+ * and an embedded MongoDB, seeds JDs and resumes, replays the recruiter mix and
+ * prints throughput and tail latency per operation. No API quota, no S3 writes.
+ *
+ *   mvn -Ploadtest test-compile exec:java
+ *   mvn -Ploadtest test-compile exec:java -Dloadtest.concurrency=200 -Dloadtest.openai.chat.latency=1500,8000
+ *
+ * Settings (system properties, defaults in brackets):
+ *   loadtest.concurrency [32]             closed-loop workers
+ *   loadtest.warmup-seconds [30]          run but not recorded
+ *   loadtest.duration-seconds [120]       measured window
+ *   loadtest.mix [upload:40,list:40,match:15,jd:5]
+ *   loadtest.seed.jds [10], loadtest.seed.resumes [100], loadtest.recruiters [4], loadtest.random-seed [42]
+ *   loadtest.openai.chat.latency [900,4000], loadtest.openai.chat.error-rate [0.01]
+ *   loadtest.openai.embeddings.latency [150,700], loadtest.openai.embeddings.error-rate [0.005]
+ *   loadtest.gemini.latency [1500,6000], loadtest.gemini.error-rate [0.01]
+ *   loadtest.s3.latency [60,400], loadtest.s3.error-rate [0.005]   (latency = "median,p99" ms)
+ *   loadtest.mongo-uri [embedded]         use an existing MongoDB instead
+ *
+ * Any application property can be overridden the same way (e.g. -Dllm.scheduler.max-concurrent=64).
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        long randomSeed = Long.getLong("loadtest.random-seed", 42);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 30));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 120));
+        Map<LoadDriver.Operation, Integer> mix = LoadDriver.parseMix(
+                System.getProperty("loadtest.mix", "upload:40,list:40,match:15,jd:5"));
+
+        StandInServers standIns = new StandInServers(
+                latency("loadtest.openai.chat", "900,4000", "0.01"),
+                latency("loadtest.openai.embeddings", "150,700", "0.005"),
+                latency("loadtest.gemini", "1500,6000", "0.01"),
+                latency("loadtest.s3", "60,400", "0.005"));
+
+        String externalMongo = System.getProperty("loadtest.mongo-uri", "");
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+        ConfigurableApplicationContext context = null;
+        try {
+            standIns.start();
+            String mongoUri = externalMongo;
+            if (mongoUri.isBlank()) {
+                System.out.println("🍃 Starting embedded MongoDB...");
+                mongod = Mongod.instance().start(Version.Main.V7_0);
+                ServerAddress address = mongod.current().getServerAddress();
+                mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/jdres_loadtest";
+            }
+
+            Path workDir = Files.createTempDirectory("jdres-loadtest");
+            List<String> appArgs = new ArrayList<>();
+            appArgs.add(property("server.port", "0"));
+            appArgs.add(property("spring.data.mongodb.uri", mongoUri));
+            appArgs.add(property("openai.api-key", "loadtest"));
+            appArgs.add(property("openai.base-url", standIns.openaiBaseUrl()));
+            appArgs.add(property("gemini.api-key", "loadtest"));
+            appArgs.add(property("gemini.base-url", standIns.geminiBaseUrl()));
+            appArgs.add(property("aws.accessKeyId", "loadtest"));
+            appArgs.add(property("aws.secretKey", "loadtest"));
+            appArgs.add(property("aws.region", "us-east-1"));
+            appArgs.add(property("aws.s3.bucketName", "jdres-loadtest"));
+            appArgs.add(property("aws.s3.endpoint", standIns.s3Endpoint()));
+            appArgs.add(property("uploads.dir", workDir.resolve("uploads").toString()));
+            appArgs.add(property("vector.index.path", workDir.resolve("resume-vectors.hnsw").toString()));
+            appArgs.add(property("firebase.enabled", "false"));
+            // The stand-ins have no quota: keep the scheduler out of the way unless asked
+            appArgs.add(property("llm.scheduler.tokens-per-minute", "1000000000"));
+            appArgs.add(property("llm.scheduler.requests-per-minute", "1000000"));
+            appArgs.add(property("logging.level.com.jdres", "WARN"));
+
+            context = SpringApplication.run(MatchingApplication.class, appArgs.toArray(new String[0]));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadDriver driver = new LoadDriver("http://127.0.0.1:" + port, Integer.getInteger("loadtest.recruiters", 4),
+                    randomSeed);
+
+            System.out.println("🌱 Seeding JDs and resumes...");
+            driver.seed(Integer.getInteger("loadtest.seed.jds", 10), Integer.getInteger("loadtest.seed.resumes", 100),
+                    concurrency);
+
+            System.out.println("🚀 Running " + mix + " with " + concurrency + " workers: "
+                    + warmup.toSeconds() + "s warmup + " + duration.toSeconds() + "s measured");
+            List<String> report = driver.run(mix, concurrency, warmup, duration);
+
+            System.out.println();
+            System.out.println("==================== LOAD TEST REPORT ====================");
+            report.forEach(System.out::println);
+            System.out.println();
+            System.out.printf("%-26s %8s %7s%n", "stand-in endpoint", "calls", "errors");
+            standIns.stats().forEach((endpoint, counts) ->
+                    System.out.printf("%-26s %8d %7d%n", endpoint, counts[0], counts[1]));
+            System.out.println("==========================================================");
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (mongod != null) {
+                mongod.close();
+            }
+            standIns.close();
+        }
+    }
+
+    private static LatencyModel latency(String prefix, String latency, String errorRate) {
+        return LatencyModel.parse(System.getProperty(prefix + ".latency", latency),
+                Double.parseDouble(System.getProperty(prefix + ".error-rate", errorRate)));
+    }
+
+    // Command-line style property, overridable with -Dkey=value
+    private static String property(String key, String defaultValue) {
+        return "--" + key + "=" + System.getProperty(key, defaultValue);
+    }
+}
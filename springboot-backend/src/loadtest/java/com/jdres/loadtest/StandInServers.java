@@ -0,0 +1,360 @@
+package com.jdres.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stand-In Servers
+ * Loopback HTTP servers that speak just enough of each upstream API for the
+ * application to run unchanged against them (only base URLs are swapped):
+ *
+ * - OpenAI:  POST /v1/chat/completions (resume, JD and skill-gap prompts),
+ *            POST /v1/embeddings (deterministic unit vectors)
+ * - Gemini:  POST /v1beta/models/{model}:generateContent
+ * - S3:      PUT and DELETE /{bucket}/{key} (path-style), MD5 ETags
+ *
+ * Each endpoint sleeps for a sample of its LatencyModel and fails at its error
+ * rate the way the real service does (OpenAI 429 + retry-after-ms, Gemini 500,
+ * S3 503 SlowDown), so the application's retry and fallback paths are exercised.
+ */
+final class StandInServers implements AutoCloseable {
+
+    private static final int EMBEDDING_DIMENSIONS = 1536;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "stand-in");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private final LatencyModel chat;
+    private final LatencyModel embeddings;
+    private final LatencyModel gemini;
+    private final LatencyModel s3;
+
+    private HttpServer openaiServer;
+    private HttpServer geminiServer;
+    private HttpServer s3Server;
+
+    StandInServers(LatencyModel chat, LatencyModel embeddings, LatencyModel gemini, LatencyModel s3) {
+        this.chat = chat;
+        this.embeddings = embeddings;
+        this.gemini = gemini;
+        this.s3 = s3;
+    }
+
+    StandInServers start() throws IOException {
+        openaiServer = server(Map.of(
+                "/v1/chat/completions", this::chatCompletions,
+                "/v1/embeddings", this::embeddings));
+        geminiServer = server(Map.of("/v1beta/models/", this::generateContent));
+        s3Server = server(Map.of("/", this::s3Object));
+        return this;
+    }
+
+    String openaiBaseUrl() {
+        return "http://127.0.0.1:" + openaiServer.getAddress().getPort() + "/v1";
+    }
+
+    String geminiBaseUrl() {
+        return "http://127.0.0.1:" + geminiServer.getAddress().getPort() + "/v1beta";
+    }
+
+    String s3Endpoint() {
+        return "http://127.0.0.1:" + s3Server.getAddress().getPort();
+    }
+
+    /**
+     * Calls and injected errors per endpoint, in a stable order
+     */
+    Map<String, long[]> stats() {
+        Map<String, long[]> stats = new TreeMap<>();
+        calls.forEach((endpoint, count) -> stats.put(endpoint, new long[] { count.sum(),
+                errors.getOrDefault(endpoint, new LongAdder()).sum() }));
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        for (HttpServer server : new HttpServer[] { openaiServer, geminiServer, s3Server }) {
+            if (server != null) {
+                server.stop(0);
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    private HttpServer server(Map<String, HttpHandler> handlers) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        handlers.forEach((path, handler) -> server.createContext(path, exchange -> {
+            try {
+                handler.handle(exchange);
+            } catch (Exception e) {
+                send(exchange, 500, "application/json", "{\"error\":{\"message\":\"stand-in failure\"}}");
+            } finally {
+                exchange.close();
+            }
+        }));
+        // Handlers sleep to simulate latency: one thread per in-flight request
+        server.setExecutor(executor);
+        server.start();
+        return server;
+    }
+
+    // ============================================
+    // OpenAI
+    // ============================================
+
+    private void chatCompletions(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        called("openai.chat");
+        chat.delay();
+        if (chat.shouldFail()) {
+            failed("openai.chat");
+            exchange.getResponseHeaders().add("retry-after-ms", "250");
+            send(exchange, 429, "application/json",
+                    "{\"error\":{\"type\":\"rate_limit_exceeded\",\"message\":\"Rate limit reached (stand-in)\"}}");
+            return;
+        }
+
+        String prompt = request.path("messages").path(0).path("content").asText();
+        String content = objectMapper.writeValueAsString(answer(prompt));
+        int promptTokens = prompt.length() / 4;
+        int completionTokens = content.length() / 4;
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("role", "assistant");
+        message.put("content", content);
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("message", message);
+        choice.put("finish_reason", "stop");
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", "chatcmpl-loadtest");
+        response.put("object", "chat.completion");
+        response.put("model", request.path("model").asText());
+        response.put("choices", List.of(choice));
+        response.put("usage", Map.of("prompt_tokens", promptTokens, "completion_tokens", completionTokens,
+                "total_tokens", promptTokens + completionTokens));
+        send(exchange, 200, "application/json", objectMapper.writeValueAsString(response));
+    }
+
+    private void embeddings(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        called("openai.embeddings");
+        embeddings.delay();
+        if (embeddings.shouldFail()) {
+            failed("openai.embeddings");
+            exchange.getResponseHeaders().add("retry-after-ms", "250");
+            send(exchange, 429, "application/json",
+                    "{\"error\":{\"type\":\"rate_limit_exceeded\",\"message\":\"Rate limit reached (stand-in)\"}}");
+            return;
+        }
+
+        JsonNode input = request.path("input");
+        List<String> texts = new ArrayList<>();
+        if (input.isArray()) {
+            input.forEach(node -> texts.add(node.asText()));
+        } else {
+            texts.add(input.asText());
+        }
+
+        StringBuilder json = new StringBuilder(texts.size() * EMBEDDING_DIMENSIONS * 12);
+        json.append("{\"object\":\"list\",\"data\":[");
+        int tokens = 0;
+        for (int i = 0; i < texts.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"object\":\"embedding\",\"index\":").append(i).append(",\"embedding\":[");
+            float[] vector = vectorFor(texts.get(i));
+            for (int d = 0; d < vector.length; d++) {
+                if (d > 0) {
+                    json.append(',');
+                }
+                json.append(vector[d]);
+            }
+            json.append("]}");
+            tokens += texts.get(i).length() / 4;
+        }
+        json.append("],\"model\":\"").append(request.path("model").asText())
+                .append("\",\"usage\":{\"prompt_tokens\":").append(tokens)
+                .append(",\"total_tokens\":").append(tokens).append("}}");
+        send(exchange, 200, "application/json", json.toString());
+    }
+
+    // Same text => same vector, so cosine ranking is stable across runs
+    private static float[] vectorFor(String text) {
+        SplittableRandom random = new SplittableRandom(text.hashCode());
+        float[] vector = new float[EMBEDDING_DIMENSIONS];
+        double norm = 0;
+        for (int d = 0; d < vector.length; d++) {
+            vector[d] = (float) (random.nextDouble() * 2 - 1);
+            norm += vector[d] * vector[d];
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int d = 0; d < vector.length; d++) {
+            vector[d] *= scale;
+        }
+        return vector;
+    }
+
+    // ============================================
+    // Gemini
+    // ============================================
+
+    private void generateContent(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        called("gemini.generateContent");
+        gemini.delay();
+        if (gemini.shouldFail()) {
+            failed("gemini.generateContent");
+            send(exchange, 500, "application/json",
+                    "{\"error\":{\"code\":500,\"status\":\"INTERNAL\",\"message\":\"stand-in failure\"}}");
+            return;
+        }
+
+        String prompt = request.path("contents").path(0).path("parts").path(0).path("text").asText();
+        Map<String, Object> part = Map.of("text", objectMapper.writeValueAsString(answer(prompt)));
+        Map<String, Object> candidate = Map.of("content", Map.of("role", "model", "parts", List.of(part)),
+                "finishReason", "STOP");
+        send(exchange, 200, "application/json",
+                objectMapper.writeValueAsString(Map.of("candidates", List.of(candidate))));
+    }
+
+    // What the model would return for each prompt SkillExtractorService sends
+    private static Map<String, Object> answer(String prompt) {
+        int resume = prompt.lastIndexOf("RESUME:\n");
+        if (resume >= 0) {
+            return SyntheticDocuments.extractResume(prompt.substring(resume + "RESUME:\n".length()));
+        }
+        int jd = prompt.lastIndexOf("JOB DESCRIPTION:\n");
+        if (jd >= 0) {
+            return SyntheticDocuments.extractJd(prompt.substring(jd + "JOB DESCRIPTION:\n".length()));
+        }
+        return Map.of("matchedSkills", List.of(), "missingSkills", List.of(), "gapAnalysis", "stand-in");
+    }
+
+    // ============================================
+    // S3
+    // ============================================
+
+    private void s3Object(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String operation = "PUT".equals(method) ? "s3.PutObject" : "DELETE".equals(method) ? "s3.DeleteObject"
+                : "s3." + method;
+        byte[] payload = exchange.getRequestBody().readAllBytes();
+        called(operation);
+        s3.delay();
+        if (s3.shouldFail()) {
+            failed(operation);
+            send(exchange, 503, "application/xml", "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<Error><Code>SlowDown</Code><Message>Please reduce your request rate.</Message></Error>");
+            return;
+        }
+
+        switch (method) {
+            case "PUT" -> {
+                // The SDK checks the ETag against the MD5 of what it sent
+                exchange.getResponseHeaders().add("ETag", "\"" + md5Hex(decodePayload(exchange, payload)) + "\"");
+                send(exchange, 200, null, null);
+            }
+            case "DELETE" -> send(exchange, 204, null, null);
+            default -> send(exchange, 405, "application/xml",
+                    "<Error><Code>MethodNotAllowed</Code><Message>stand-in</Message></Error>");
+        }
+    }
+
+    /**
+     * Strip aws-chunked framing ("size;chunk-signature=...\r\n data \r\n", ending
+     * with a zero-size chunk and optional trailers) used for signed payloads over HTTP
+     */
+    private static byte[] decodePayload(HttpExchange exchange, byte[] payload) {
+        String sha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        boolean chunked = (sha != null && sha.startsWith("STREAMING-"))
+                || (encoding != null && encoding.contains("aws-chunked"));
+        if (!chunked) {
+            return payload;
+        }
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream(payload.length);
+        int position = 0;
+        while (position < payload.length) {
+            int lineEnd = indexOfCrlf(payload, position);
+            if (lineEnd < 0) {
+                break;
+            }
+            String header = new String(payload, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int semicolon = header.indexOf(';');
+            int size = Integer.parseInt((semicolon >= 0 ? header.substring(0, semicolon) : header).trim(), 16);
+            if (size == 0) {
+                break;
+            }
+            decoded.write(payload, lineEnd + 2, size);
+            position = lineEnd + 2 + size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] bytes, int from) {
+        for (int i = from; i + 1 < bytes.length; i++) {
+            if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String md5Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(bytes));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ============================================
+    // Helpers
+    // ============================================
+
+    private void called(String endpoint) {
+        calls.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+    }
+
+    private void failed(String endpoint) {
+        errors.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body)
+            throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.jdres.loadtest;
+
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Synthetic Documents
+ * Seeded resume and JD texts for the load test, written in a labelled plain-text
+ * layout ("Skills: a, b, c") so the LLM stand-ins can answer with a faithful
+ * extraction of the same document without a model.
+ *
+ * - Resumes: 30-80 skills, 5-15 projects, 2-8 jobs with occasional gaps
+ * - JDs: 8-20 mandatory and 3-10 preferred skills drawn from the same vocabulary,
+ *   so matching produces a realistic spread of scores
+ *
+ * Every document carries a unique reference line, so the content-addressed
+ * extraction cache never turns an upload into a cache hit.
+ */
+final class SyntheticDocuments {
+
+    private static final String[] LANGUAGES = {
+            "Java", "Python", "JavaScript", "TypeScript", "Go", "Kotlin", "Scala", "C#", "Rust", "Ruby", "SQL" };
+    private static final String[] FRAMEWORKS = {
+            "Spring Boot", "React", "Angular", "Vue.js", "Node.js", "Express", "Django", "Flask", "FastAPI",
+            "Hibernate", "GraphQL", "gRPC", "Microservices", "Next.js", "Redux", "Spring Security" };
+    private static final String[] DATABASES = {
+            "PostgreSQL", "MySQL", "MongoDB", "Redis", "Elasticsearch", "Cassandra", "DynamoDB", "Kafka",
+            "RabbitMQ", "Spark", "Airflow", "Snowflake", "BigQuery" };
+    private static final String[] CLOUD = {
+            "AWS", "Azure", "GCP", "Docker", "Kubernetes", "Terraform", "Ansible", "Jenkins", "GitHub Actions",
+            "Helm", "Prometheus", "Grafana", "Datadog" };
+    private static final String[] TOOLS = {
+            "Git", "Jira", "Confluence", "JUnit", "Mockito", "Jest", "Cypress", "Selenium", "Postman", "Linux" };
+    private static final String[] NICHE = {
+            "Camunda", "Drools", "Apache Camel", "Quarkus", "Micronaut", "Temporal", "ClickHouse", "Keycloak",
+            "OpenTelemetry", "Hazelcast", "Akka", "Liquibase" };
+
+    private static final String[][] SKILL_GROUPS = { LANGUAGES, FRAMEWORKS, DATABASES, CLOUD, TOOLS, NICHE };
+    private static final String[] GROUP_KEYS = { "languages", "frameworks", "databases", "cloud", "tools", "technical" };
+
+    private static final String[] DOMAINS = {
+            "fintech", "healthcare", "ecommerce", "saas", "insurance", "logistics", "telecom", "banking" };
+    private static final String[] METHODOLOGIES = { "agile", "scrum", "safe", "kanban", "waterfall", "devops" };
+    private static final String[] ROLES = {
+            "Senior Software Engineer", "Tech Lead", "Backend Developer", "Full Stack Engineer",
+            "Engineering Manager", "Delivery Manager", "Solutions Architect", "Platform Engineer" };
+    private static final String[] DELIVERY_TYPES = { "hands-on", "hybrid", "governance" };
+    private static final String[] RISKS = { "migration", "go-live", "security", "compliance", "incident" };
+    private static final String[] FIRST_NAMES = { "Asha", "Ravi", "Maria", "Chen", "Olu", "Sara", "Arjun", "Lena" };
+    private static final String[] LAST_NAMES = { "Iyer", "Kumar", "Garcia", "Wei", "Adeyemi", "Novak", "Shah" };
+    private static final String[] FILLER = {
+            "Designed and delivered", "Led a team that built", "Migrated the legacy platform to",
+            "Improved throughput of", "Owned the on-call rotation for", "Introduced automated testing across" };
+
+    private final Random random;
+
+    SyntheticDocuments(long seed) {
+        this.random = new Random(seed);
+    }
+
+    // ============================================
+    // Generators
+    // ============================================
+
+    String resumeText() {
+        String name = pick(FIRST_NAMES) + " " + pick(LAST_NAMES);
+        int years = between(2, 20);
+
+        Map<String, List<String>> skills = new LinkedHashMap<>();
+        List<String> allSkills = new ArrayList<>();
+        // Distinct skills: the whole vocabulary is ~75, so 30-80 becomes 30-all
+        List<int[]> vocabulary = new ArrayList<>();
+        for (int group = 0; group < SKILL_GROUPS.length; group++) {
+            for (int i = 0; i < SKILL_GROUPS[group].length; i++) {
+                vocabulary.add(new int[] { group, i });
+            }
+        }
+        Collections.shuffle(vocabulary, random);
+        for (int[] entry : vocabulary.subList(0, Math.min(between(30, 80), vocabulary.size()))) {
+            String skill = SKILL_GROUPS[entry[0]][entry[1]];
+            skills.computeIfAbsent(GROUP_KEYS[entry[0]], k -> new ArrayList<>()).add(skill);
+            allSkills.add(skill);
+        }
+
+        StringBuilder text = new StringBuilder(8192);
+        text.append("Name: ").append(name).append('\n');
+        text.append("Reference: ").append(new UUID(random.nextLong(), random.nextLong())).append('\n');
+        text.append("Total experience: ").append(years).append(" years\n");
+        text.append("Domains: ").append(String.join(", ", sample(DOMAINS, between(1, 3)))).append('\n');
+        text.append("Methodologies: ").append(String.join(", ", sample(METHODOLOGIES, between(1, 3)))).append('\n');
+        for (Map.Entry<String, List<String>> group : skills.entrySet()) {
+            text.append("Skills (").append(group.getKey()).append("): ")
+                    .append(String.join(", ", group.getValue())).append('\n');
+        }
+
+        text.append("\nWork experience:\n");
+        YearMonth start = YearMonth.of(2024, 6).minusYears(years);
+        int jobs = between(2, 8);
+        for (int i = 0; i < jobs; i++) {
+            YearMonth end = i == jobs - 1 ? null : start.plusMonths(between(8, 36));
+            text.append("Job: ").append(pick(ROLES)).append(" | Company ").append((char) ('A' + i)).append(" | ")
+                    .append(start).append(" | ").append(end == null ? "PRESENT" : end.toString()).append('\n');
+            if (end != null) {
+                start = end.plusMonths(random.nextInt(5) == 0 ? between(6, 14) : between(0, 2));
+            }
+        }
+
+        text.append("\nProjects:\n");
+        int projects = between(5, 15);
+        for (int i = 0; i < projects; i++) {
+            String domain = pick(DOMAINS);
+            List<String> tech = new ArrayList<>();
+            for (int t = between(3, 8); t > 0; t--) {
+                tech.add(allSkills.get(random.nextInt(allSkills.size())));
+            }
+            text.append("Project: ").append(domain).append(" platform ").append(i + 1)
+                    .append(" | ").append(domain)
+                    .append(" | ").append(pick(DELIVERY_TYPES))
+                    .append(" | team ").append(between(2, 40))
+                    .append(" | budget ").append(random.nextInt(3) == 0 ? between(50, 9000) : 0)
+                    .append(" | ").append(between(3, 36)).append(" months")
+                    .append(" | launch ").append(random.nextBoolean())
+                    .append(" | risks ").append(String.join("/", sample(RISKS, between(0, 2))))
+                    .append(" | ").append(String.join(", ", tech)).append('\n');
+            for (int s = 0; s < 2; s++) {
+                text.append(pick(FILLER)).append(' ').append(domain).append(" services using ")
+                        .append(String.join(" and ", tech)).append(", serving ").append(between(10, 900))
+                        .append("k users.\n");
+            }
+        }
+        return text.toString();
+    }
+
+    String jdTitle() {
+        return pick(ROLES);
+    }
+
+    String jdText() {
+        List<String> mandatory = sample(concat(LANGUAGES, FRAMEWORKS, DATABASES, CLOUD), between(8, 20));
+        List<String> preferred = sample(concat(FRAMEWORKS, DATABASES, TOOLS, NICHE), between(3, 10));
+        StringBuilder text = new StringBuilder(2048);
+        text.append("Title: ").append(pick(ROLES)).append('\n');
+        text.append("Reference: ").append(new UUID(random.nextLong(), random.nextLong())).append('\n');
+        text.append("Domains: ").append(String.join(", ", sample(DOMAINS, between(1, 2)))).append('\n');
+        text.append("Must have: ").append(String.join(", ", mandatory)).append('\n');
+        text.append("Nice to have: ").append(String.join(", ", preferred)).append('\n');
+        text.append("Tools: ").append(String.join(", ", sample(concat(CLOUD, TOOLS), between(2, 6)))).append('\n');
+        text.append("Methodologies: ").append(String.join(", ", sample(METHODOLOGIES, between(1, 2)))).append('\n');
+        text.append("Delivery style: ").append(pick(DELIVERY_TYPES)).append('\n');
+        text.append("Critical deliveries: ").append(between(0, 4)).append('\n');
+        text.append("Risk areas: ").append(between(0, 3)).append('\n');
+        text.append("Enterprise scale: ").append(random.nextBoolean()).append('\n');
+        text.append("\nYou will own delivery end to end, working with ").append(String.join(", ", mandatory))
+                .append(" in a cross-functional team.\n");
+        return text.toString();
+    }
+
+    // ============================================
+    // Stand-in "LLM" extraction (inverse of the generators)
+    // ============================================
+
+    /**
+     * Structured resume details in the shape SkillExtractorService asks the model for
+     */
+    static Map<String, Object> extractResume(String text) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("name", value(text, "Name:"));
+        details.put("candidate_profile", profile);
+        details.put("total_experience_years", leadingInt(value(text, "Total experience:")));
+        details.put("domain_experience", list(value(text, "Domains:")));
+        details.put("methodology_experience", list(value(text, "Methodologies:")));
+
+        Map<String, Object> skills = new LinkedHashMap<>();
+        for (String key : GROUP_KEYS) {
+            skills.put(key, list(value(text, "Skills (" + key + "):")));
+        }
+        details.put("skills", skills);
+
+        List<Map<String, Object>> work = new ArrayList<>();
+        List<Map<String, Object>> projects = new ArrayList<>();
+        int launches = 0;
+        int largestTeam = 0;
+        int largestBudget = 0;
+        for (String line : text.split("\n")) {
+            if (line.startsWith("Job: ")) {
+                String[] f = line.substring(5).split(" \\| ");
+                Map<String, Object> job = new LinkedHashMap<>();
+                job.put("title", f[0]);
+                job.put("company", f[1]);
+                job.put("start_date", f[2]);
+                job.put("end_date", f[3]);
+                work.add(job);
+            } else if (line.startsWith("Project: ")) {
+                String[] f = line.substring(9).split(" \\| ");
+                Map<String, Object> project = new LinkedHashMap<>();
+                int team = leadingInt(f[3].substring("team ".length()));
+                int budget = leadingInt(f[4].substring("budget ".length()));
+                boolean launch = Boolean.parseBoolean(f[6].substring("launch ".length()));
+                project.put("project_name", f[0]);
+                project.put("domain", f[1]);
+                project.put("delivery_type", f[2]);
+                project.put("team_size", team);
+                project.put("budget_managed", budget);
+                project.put("duration_months", leadingInt(f[5]));
+                project.put("was_production_launch", launch);
+                project.put("risk_events_handled", f[7].length() > "risks ".length()
+                        ? Arrays.asList(f[7].substring("risks ".length()).split("/")) : List.of());
+                project.put("technologies_used", list(f[8]));
+                projects.add(project);
+                launches += launch ? 1 : 0;
+                largestTeam = Math.max(largestTeam, team);
+                largestBudget = Math.max(largestBudget, budget);
+            }
+        }
+        details.put("work_experience", work);
+        details.put("projects", projects);
+        details.put("certifications", List.of());
+        details.put("education", List.of(Map.of("degree", "B.Tech", "field", "Computer Science")));
+
+        Map<String, Object> career = new LinkedHashMap<>();
+        career.put("total_production_launches", launches);
+        career.put("largest_team_managed", largestTeam);
+        career.put("largest_budget_managed", largestBudget);
+        career.put("enterprise_experience", largestTeam >= 20);
+        career.put("multi_year_program_experience", largestBudget >= 1000);
+        details.put("career_summary", career);
+        return details;
+    }
+
+    /**
+     * Structured JD details in the shape SkillExtractorService asks the model for
+     */
+    static Map<String, Object> extractJd(String text) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("jd_title", value(text, "Title:"));
+        details.put("jd_domains", lower(list(value(text, "Domains:"))));
+        details.put("business_context_keywords", List.of("platform modernization"));
+        details.put("mandatory_skills", lower(list(value(text, "Must have:"))));
+        details.put("preferred_skills", lower(list(value(text, "Nice to have:"))));
+        details.put("tools_platforms", lower(list(value(text, "Tools:"))));
+        details.put("methodologies", list(value(text, "Methodologies:")));
+        details.put("architecture_keywords", List.of("microservices"));
+        details.put("critical_deliveries_required", leadingInt(value(text, "Critical deliveries:")));
+        details.put("delivery_expectations", List.of("end-to-end delivery"));
+        details.put("risk_areas_expected", leadingInt(value(text, "Risk areas:")));
+        details.put("risk_types_expected", List.of());
+        details.put("jd_delivery_style", value(text, "Delivery style:"));
+        Map<String, Object> scale = new LinkedHashMap<>();
+        boolean enterprise = Boolean.parseBoolean(value(text, "Enterprise scale:"));
+        scale.put("large_budget_expected", false);
+        scale.put("enterprise_scale", enterprise);
+        scale.put("multi_year_program", enterprise);
+        scale.put("team_size_expected", 0);
+        details.put("scale_requirements", scale);
+        return details;
+    }
+
+    // ============================================
+    // Helpers
+    // ============================================
+
+    private static String value(String text, String label) {
+        int start = text.indexOf(label);
+        if (start < 0) {
+            return "";
+        }
+        start += label.length();
+        int end = text.indexOf('\n', start);
+        return text.substring(start, end < 0 ? text.length() : end).trim();
+    }
+
+    private static List<String> list(String value) {
+        if (value.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> items = new ArrayList<>();
+        for (String item : value.split(",")) {
+            String trimmed = item.trim();
+            if (!trimmed.isEmpty() && !items.contains(trimmed)) {
+                items.add(trimmed);
+            }
+        }
+        return items;
+    }
+
+    private static List<String> lower(List<String> values) {
+        values.replaceAll(v -> v.toLowerCase(Locale.ROOT));
+        return values;
+    }
+
+    private static int leadingInt(String value) {
+        int end = 0;
+        while (end < value.length() && Character.isDigit(value.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? 0 : Integer.parseInt(value.substring(0, end));
+    }
+
+    private int between(int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private List<String> sample(String[] values, int count) {
+        List<String> shuffled = new ArrayList<>(Arrays.asList(values));
+        Collections.shuffle(shuffled, random);
+        return new ArrayList<>(shuffled.subList(0, Math.min(count, shuffled.size())));
+    }
+
+    private static String[] concat(String[]... arrays) {
+        List<String> all = new ArrayList<>();
+        for (String[] array : arrays) {
+            all.addAll(Arrays.asList(array));
+        }
+        return all.toArray(new String[0]);
+    }
+}
@@ -1,10 +1,13 @@
 package com.jdres.controller;
 
-import com.jdres.service.FaissClientService;
 import com.jdres.service.MatchCalculatorService;
 import com.jdres.service.SkillExtractorService;
 import com.jdres.service.TextExtractorService;
 import com.jdres.service.TokenUsageTracker;
+import com.jdres.service.TopK;
+import com.jdres.service.RecruitmentIntelligenceService;
+import com.jdres.service.ResumeVectorService;
+import com.jdres.service.VectorIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -34,7 +37,7 @@ public class ApiController {
     private final TextExtractorService textExtractorService;
     private final SkillExtractorService skillExtractorService;
     private final MatchCalculatorService matchCalculatorService;
-    private final FaissClientService faissClientService;
+    private final ResumeVectorService resumeVectorService;
     private final com.jdres.repository.ResumeRepository resumeRepository;
     private final TokenUsageTracker tokenUsageTracker;
 
@@ -43,13 +46,13 @@ public class ApiController {
             TextExtractorService textExtractorService,
             SkillExtractorService skillExtractorService,
             MatchCalculatorService matchCalculatorService,
-            FaissClientService faissClientService,
+            ResumeVectorService resumeVectorService,
             com.jdres.repository.ResumeRepository resumeRepository,
             TokenUsageTracker tokenUsageTracker) {
         this.textExtractorService = textExtractorService;
         this.skillExtractorService = skillExtractorService;
         this.matchCalculatorService = matchCalculatorService;
-        this.faissClientService = faissClientService;
+        this.resumeVectorService = resumeVectorService;
         this.resumeRepository = resumeRepository;
         this.tokenUsageTracker = tokenUsageTracker;
     }
@@ -287,7 +290,7 @@ public class ApiController {
 
     /**
      * POST /api/rank-resumes
-     * Rank resumes using FAISS-based similarity
+     * Rank resumes by embedding similarity using the in-process vector index
      */
     @PostMapping("/rank-resumes")
     @SuppressWarnings("unchecked")
@@ -304,37 +307,31 @@ public class ApiController {
                 return ResponseEntity.badRequest().body(response);
             }
 
-            // Populate missing text from DB
-            // We use a new map to ensure mutability
-            Map<String, String> enrichedResumeData = new HashMap<>(resumeData);
-            
-            for (Map.Entry<String, String> entry : enrichedResumeData.entrySet()) {
-                if (entry.getValue() == null || entry.getValue().trim().isEmpty()) {
-                    String identifier = entry.getKey();
-                    // Try to find by File ID
-                    Optional<Resume> resumeOpt = resumeRepository.findByFileId(identifier);
-                    if (resumeOpt.isPresent()) {
-                        enrichedResumeData.put(identifier, resumeOpt.get().getText());
-                    } else {
-                        // Fallback: This might be a name if fileId wasn't used?
-                        // But usually we expect fileId.
-                        log.warn("Could not find text for resume identifier: {}", identifier);
-                    }
-                }
-            }
-
-            // Check if text ranking service is healthy
-            if (!faissClientService.isHealthy()) {
-                response.put("error", "Text ranking service unavailable. Please start the Python microservice.");
-                return ResponseEntity.status(503).body(response);
+            // Stored resumes are looked up by fileId inside the vector service,
+            // so only ad-hoc texts need to be sent in resumeData
+            List<VectorIndex.Neighbor> ranked = resumeVectorService.rank(jdText, resumeData, topK);
+
+            List<Map<String, Object>> results = new ArrayList<>(ranked.size());
+            for (int i = 0; i < ranked.size(); i++) {
+                VectorIndex.Neighbor neighbor = ranked.get(i);
+                Map<String, Object> item = new HashMap<>();
+                item.put("id", neighbor.key());
+                item.put("score", neighbor.similarity());
+                item.put("resume_id", neighbor.key());
+                item.put("similarity_score", neighbor.similarity());
+                item.put("rank", i + 1);
+                results.add(item);
             }
 
-            Map<String, Object> results = faissClientService.rankResumes(jdText, enrichedResumeData, topK);
-
             response.put("success", true);
-            response.putAll(results);
+            response.put("results", results);
+            response.put("query", jdText);
+            response.put("total_resumes", resumeData.size());
 
             return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("error", "Text ranking unavailable: " + e.getMessage());
+            return ResponseEntity.status(503).body(response);
         } catch (Exception e) {
             log.error("Resume ranking error: {}", e.getMessage());
             response.put("error", "Failed to rank resumes: " + e.getMessage());
@@ -348,11 +345,10 @@ public class ApiController {
      */
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
-        boolean rankingHealthy = faissClientService.isHealthy();
-
         Map<String, Object> services = new HashMap<>();
         services.put("api", "healthy");
-        services.put("ranking", rankingHealthy ? "healthy" : "unavailable");
+        services.put("ranking", "healthy");
+        services.put("rankingIndexSize", resumeVectorService.size());
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -370,12 +366,23 @@ public class ApiController {
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("usage", tokenUsageTracker.getUsageStats());
+        response.put("extractionCache", extractionCacheService.getStats());
+        response.put("scheduler", llmRequestScheduler.getStats());
         return ResponseEntity.ok(response);
     }
 
     @Autowired
     private com.jdres.service.RecruitmentIntelligenceService recruitmentIntelligenceService;
 
+    @Autowired
+    private com.jdres.service.ExtractionCacheService extractionCacheService;
+
+    @Autowired
+    private com.jdres.service.LlmRequestScheduler llmRequestScheduler;
+
+    @Autowired
+    private com.jdres.service.JdProfileService jdProfileService;
+
     @Autowired 
     private com.jdres.repository.JobDescriptionRepository jobDescriptionRepository;
 
@@ -480,32 +487,34 @@ public class ApiController {
             }
 
             com.jdres.model.JobDescription jd = jdOpt.get();
-            var jdData = recruitmentIntelligenceService.extractJDData(jd);
+            var jdData = jdProfileService.getProfile(jd).jdData;
 
-            List<Map<String, Object>> results = new ArrayList<>();
+            // Optional "limit": keep only the best K while scoring; JSON is built for survivors only
+            int limit = request.get("limit") instanceof Number ? ((Number) request.get("limit")).intValue()
+                    : resumeIds.size();
+            limit = Math.max(1, Math.min(limit, resumeIds.size())); // TopK allocates K slots up front
+            TopK<RecruitmentIntelligenceService.RecruitmentScoreResult> topK = new TopK<>(limit);
             for (String resumeId : resumeIds) {
                 Optional<com.jdres.model.Resume> resumeOpt = resumeRepository.findByFileId(resumeId);
                 if (resumeOpt.isPresent()) {
                     var resume = resumeOpt.get();
                     var resumeData = recruitmentIntelligenceService.extractResumeData(resume);
                     var scoreResult = recruitmentIntelligenceService.computeScore(resumeData, jdData);
-                    results.add(scoreResult.toOutputJson());
+                    topK.offer(scoreResult.finalScore, scoreResult);
                 }
             }
 
-            // Sort by final score descending
-            results.sort((a, b) -> {
-                Map<String, Object> scoresA = (Map<String, Object>) a.get("scores");
-                Map<String, Object> scoresB = (Map<String, Object>) b.get("scores");
-                Double scoreA = ((Number) scoresA.get("final_score")).doubleValue();
-                Double scoreB = ((Number) scoresB.get("final_score")).doubleValue();
-                return scoreB.compareTo(scoreA);
-            });
+            // Sorted by final score descending
+            List<Map<String, Object>> results = new ArrayList<>(topK.size());
+            for (var scoreResult : topK.sorted()) {
+                results.add(scoreResult.toOutputJson());
+            }
 
             Map<String, Object> response = new HashMap<>();
             response.put("jdId", jdId);
             response.put("candidates", results);
             response.put("count", results.size());
+            response.put("totalScored", topK.offered());
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -2,11 +2,16 @@ package com.jdres.controller;
 
 import com.jdres.model.JobDescription;
 import com.jdres.model.MatchResult;
+import com.jdres.model.ParsedResume;
 import com.jdres.model.Resume;
 import com.jdres.repository.JobDescriptionRepository;
 import com.jdres.repository.MatchResultRepository;
 import com.jdres.repository.ResumeRepository;
+import com.jdres.service.JdProfileService;
+import com.jdres.service.MatchQueryService;
+import com.jdres.service.MatchResultWriter;
 import com.jdres.service.MatchingService;
+import com.jdres.service.ParsedDocumentService;
 import com.jdres.service.SkillExtractorService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -35,6 +40,18 @@ public class JobDescriptionController {
     @Autowired
     private ResumeRepository resumeRepository;
 
+    @Autowired
+    private JdProfileService jdProfileService;
+
+    @Autowired
+    private MatchQueryService matchQueryService;
+
+    @Autowired
+    private MatchResultWriter matchResultWriter;
+
+    @Autowired
+    private ParsedDocumentService parsedDocumentService;
+
     /**
      * Create a new Job Description
      */
@@ -87,6 +104,7 @@ public class JobDescriptionController {
             jd.setText(jdText);
             jd.setSource("manual_upload");
             jd.setCreatedAt(LocalDateTime.now());
+            jd.setUpdatedAt(jd.getCreatedAt());
             jd.setEmbedding(embedding); // Empty - not used anymore
             jd.setParsedDetails(parsedDetails);
             
@@ -109,6 +127,7 @@ public class JobDescriptionController {
             jd.setRiskTypesExpected(riskTypesExpected);
             jd.setJdDeliveryStyle(jdDeliveryStyle);
             jd.setScaleRequirements(scaleRequirements);
+            jd.setParsed(parsedDocumentService.parseJd(jd));
 
             // Set recruiterId for user isolation
             if (userId != null && !userId.trim().isEmpty()) {
@@ -116,6 +135,7 @@ public class JobDescriptionController {
             }
 
             jobDescriptionRepository.save(jd);
+            jdProfileService.evictRecruiter(jd.getRecruiterId());
 
             // 5. Trigger matching against all resumes (background/async in production)
             matchingService.matchNewJobDescription(jdId);
@@ -192,6 +212,8 @@ public class JobDescriptionController {
 
             // Delete the job description
             jobDescriptionRepository.delete(jdOpt.get());
+            jdProfileService.evict(jdId);
+            jdProfileService.evictRecruiter(jdOpt.get().getRecruiterId());
 
             return ResponseEntity.ok(Map.of("success", true, "message", "Job description deleted"));
         } catch (Exception e) {
@@ -240,7 +262,10 @@ public class JobDescriptionController {
                 jd.setSuggestedKeywords(keywords);
             }
 
+            jd.setParsed(parsedDocumentService.parseJd(jd));
+            jd.setUpdatedAt(LocalDateTime.now());
             jobDescriptionRepository.save(jd);
+            jdProfileService.evictRecruiter(jd.getRecruiterId());
 
             return ResponseEntity.ok(Map.of(
                     "success", true,
@@ -269,19 +294,15 @@ public class JobDescriptionController {
                 return ResponseEntity.ok(Map.of("success", true, "message", "No matches to save"));
             }
 
-            List<MatchResult> savedResults = new ArrayList<>();
+            // One keyed upsert per posted match, written in unordered bulk batches
+            List<MatchResultWriter.MatchUpsert> upserts = new ArrayList<>();
 
             for (Map<String, Object> matchData : matches) {
                 String resumeId = (String) matchData.get("resumeId");
 
-                // Try to find existing match result
-                MatchResult result = matchResultRepository
-                        .findByJdIdAndResumeId(jdId, resumeId)
-                        .orElse(new MatchResult());
-
-                result.setJdId(jdId);
-                result.setResumeId(resumeId);
-                result.setCandidateName((String) matchData.get("candidateName"));
+                Map<String, Object> set = new HashMap<>();
+                Map<String, Object> setOnInsert = new HashMap<>();
+                set.put("candidateName", matchData.get("candidateName"));
 
                 // Handle scores safely...
                 if (matchData.get("matchScore") instanceof Number) {
@@ -290,7 +311,7 @@ public class JobDescriptionController {
                     if (score > 1.0) {
                         score = score / 100.0;
                     }
-                    result.setFinalScore(score);
+                    set.put("finalScore", score);
                 }
 
                 if (matchData.get("skillMatchScore") instanceof Number) {
@@ -299,70 +320,56 @@ public class JobDescriptionController {
                     if (score > 1.0) {
                         score = score / 100.0;
                     }
-                    result.setSkillMatchScore(score);
+                    set.put("skillMatchScore", score);
                 }
 
-                // Lists - handle unchecked casts safely
-                @SuppressWarnings("unchecked")
-                List<String> matchedSkillsCast = matchData.get("matchedSkills") instanceof List
-                        ? (List<String>) matchData.get("matchedSkills")
-                        : null;
-                if (matchedSkillsCast != null)
-                    result.setMatchedSkillsList(matchedSkillsCast);
+                // Lists
+                if (matchData.get("matchedSkills") instanceof List)
+                    set.put("matchedSkillsList", matchData.get("matchedSkills"));
 
-                @SuppressWarnings("unchecked")
-                List<String> missingSkillsCast = matchData.get("missingSkills") instanceof List
-                        ? (List<String>) matchData.get("missingSkills")
-                        : null;
-                if (missingSkillsCast != null)
-                    result.setMissingSkillsList(missingSkillsCast);
+                if (matchData.get("missingSkills") instanceof List)
+                    set.put("missingSkillsList", matchData.get("missingSkills"));
 
-                @SuppressWarnings("unchecked")
-                List<String> matchedKeywordsCast = matchData.get("matchedKeywords") instanceof List
-                        ? (List<String>) matchData.get("matchedKeywords")
-                        : null;
-                if (matchedKeywordsCast != null)
-                    result.setMatchedKeywordsList(matchedKeywordsCast);
+                if (matchData.get("matchedKeywords") instanceof List)
+                    set.put("matchedKeywordsList", matchData.get("matchedKeywords"));
 
                 if (matchData.get("keywordMatchScore") instanceof Number) {
                     double score = ((Number) matchData.get("keywordMatchScore")).doubleValue();
                     if (score > 1.0)
                         score = score / 100.0;
-                    result.setKeywordMatchScore(score);
+                    set.put("keywordMatchScore", score);
                 }
 
-                @SuppressWarnings("unchecked")
-                List<String> relevantProjectsCast = matchData.get("relevantProjects") instanceof List
-                        ? (List<String>) matchData.get("relevantProjects")
-                        : null;
-                if (relevantProjectsCast != null)
-                    result.setRelevantProjects(relevantProjectsCast);
+                if (matchData.get("relevantProjects") instanceof List)
+                    set.put("relevantProjects", matchData.get("relevantProjects"));
 
                 // Metadata
                 if (matchData.get("candidateExperience") instanceof Number) {
-                    result.setCandidateExperience(((Number) matchData.get("candidateExperience")).intValue());
+                    set.put("candidateExperience", ((Number) matchData.get("candidateExperience")).intValue());
                 }
 
-                // Status
+                // Status: keep an existing decision unless a new one is posted
                 if (matchData.containsKey("status")) {
-                    result.setCandidateStatus((String) matchData.get("status"));
-                } else if (result.getCandidateStatus() == null) {
-                    result.setCandidateStatus("review");
+                    set.put("candidateStatus", matchData.get("status"));
+                } else {
+                    setOnInsert.put("candidateStatus", "review");
                 }
 
                 if (matchData.containsKey("hasGap")) {
-                    result.setHasEmploymentGap((Boolean) matchData.get("hasGap"));
+                    set.put("hasEmploymentGap", matchData.get("hasGap"));
                 }
 
                 if (matchData.get("gapMonths") instanceof Number) {
-                    result.setTotalGapMonths(((Number) matchData.get("gapMonths")).intValue());
+                    set.put("totalGapMonths", ((Number) matchData.get("gapMonths")).intValue());
                 }
 
-                result.setMatchedAt(LocalDateTime.now());
-                savedResults.add(matchResultRepository.save(result));
+                set.put("matchedAt", LocalDateTime.now());
+                upserts.add(new MatchResultWriter.MatchUpsert(jdId, resumeId, set, setOnInsert));
             }
 
-            return ResponseEntity.ok(Map.of("success", true, "savedCount", savedResults.size()));
+            int savedCount = matchResultWriter.write(upserts);
+
+            return ResponseEntity.ok(Map.of("success", true, "savedCount", savedCount));
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -377,6 +384,10 @@ public class JobDescriptionController {
     public ResponseEntity<?> getMatchesForJD(
             @PathVariable String jdId,
             @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) String experienceStatus,
             @RequestHeader(value = "X-User-Id", required = false) String userId) {
 
         // Security: Verify the JD belongs to the requesting user
@@ -393,147 +404,120 @@ public class JobDescriptionController {
             return ResponseEntity.ok(Map.of("success", false, "error", "Unauthorized"));
         }
 
-        List<MatchResult> matches = matchResultRepository.findByJdIdOrderByFinalScoreDesc(jdId);
         List<String> requiredSkills = jd.getRequiredSkills() != null ? jd.getRequiredSkills() : new ArrayList<>();
 
-        // Limit results
-        matches = matches.stream().limit(limit).collect(Collectors.toList());
+        // Server-side filters (minScore accepted as 0-100 like the rendered scores)
+        MatchQueryService.MatchFilter filter = new MatchQueryService.MatchFilter();
+        filter.candidateStatus = status;
+        filter.experienceStatus = experienceStatus;
+        if (minScore != null) {
+            filter.minScore = minScore > 1.0 ? minScore / 100.0 : minScore;
+        }
+
+        // One aggregation per page: keyset range on (finalScore, _id), joined with a narrow
+        // projection of each resume. CRITICAL: only resumes belonging to THIS user are joined.
+        MatchQueryService.MatchPage page;
+        try {
+            page = matchQueryService.findMatchesForJd(jdId, userId, filter, cursor, Math.min(limit, 500));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(Map.of("success", false, "error", e.getMessage()));
+        }
 
-        // Enrich with resume details - ONLY for resumes belonging to THIS user
         List<Map<String, Object>> enrichedResults = new ArrayList<>();
-        for (MatchResult match : matches) {
-            Optional<Resume> resumeOpt = resumeRepository.findByFileId(match.getResumeId());
-            if (resumeOpt.isPresent()) {
-                Resume resume = resumeOpt.get();
-
-                // CRITICAL: Only include resumes that belong to this user
-                if (resume.getRecruiterId() == null || !resume.getRecruiterId().equals(userId)) {
-                    System.out.println("⚠️ Skipping resume " + resume.getFileId() + " - belongs to different user");
-                    continue; // Skip this resume
-                }
+        for (MatchQueryService.MatchListing listing : page.matches()) {
+            MatchResult match = listing.match();
+            Resume resume = listing.resume();
 
-                Map<String, Object> result = new HashMap<>();
-
-                // Name extraction logic - check nested candidate_profile first
-                String candidateName = resume.getName(); // Default to filename
-                if (resume.getParsedDetails() != null) {
-                    // Try candidate_profile.name first (the actual schema structure)
-                    Object candidateProfile = resume.getParsedDetails().get("candidate_profile");
-                    if (candidateProfile instanceof Map) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> profile = (Map<String, Object>) candidateProfile;
-                        Object nameObj = profile.get("name");
-                        if (nameObj != null && !nameObj.toString().trim().isEmpty()
-                                && !nameObj.toString().equalsIgnoreCase("unknown")) {
-                            candidateName = nameObj.toString().trim();
-                        }
-                    }
-                    // Fallback to direct name field
-                    if (candidateName.equals(resume.getName())) {
-                        Object nameObj = resume.getParsedDetails().get("name");
-                        if (nameObj == null)
-                            nameObj = resume.getParsedDetails().get("candidate_name");
-                        if (nameObj != null && !nameObj.toString().trim().isEmpty()
-                                && !nameObj.toString().equalsIgnoreCase("unknown")) {
-                            candidateName = nameObj.toString().trim();
-                        }
-                    }
-                }
+            Map<String, Object> result = new HashMap<>();
+
+            ParsedResume parsed = parsedDocumentService.projectedView(resume);
 
-                // Skill Lists Calculation
-                List<String> resumeSkills = resume.getSkills() != null ? resume.getSkills() : new ArrayList<>();
-                Set<String> resumeSkillsSet = resumeSkills.stream().map(String::toLowerCase)
-                        .collect(Collectors.toSet());
+            // Name: candidate_profile.name, then name / candidate_name, then filename
+            String candidateName = resume.getName();
+            if (isKnownName(parsed.getProfileName())) {
+                candidateName = parsed.getProfileName();
+            } else if (isKnownName(parsed.getAltName())) {
+                candidateName = parsed.getAltName();
+            }
 
-                List<String> matchedSkillsList = new ArrayList<>();
-                List<String> missingSkillsList = new ArrayList<>();
+            // Skill Lists Calculation
+            List<String> resumeSkills = resume.getSkills() != null ? resume.getSkills() : new ArrayList<>();
+            Set<String> resumeSkillsSet = resumeSkills.stream().map(String::toLowerCase)
+                    .collect(Collectors.toSet());
 
-                for (String req : requiredSkills) {
-                    if (resumeSkillsSet.contains(req.toLowerCase())) {
-                        matchedSkillsList.add(req);
-                    } else {
-                        missingSkillsList.add(req);
-                    }
+            List<String> matchedSkillsList = new ArrayList<>();
+            List<String> missingSkillsList = new ArrayList<>();
+
+            for (String req : requiredSkills) {
+                if (resumeSkillsSet.contains(req.toLowerCase())) {
+                    matchedSkillsList.add(req);
+                } else {
+                    missingSkillsList.add(req);
                 }
+            }
 
-                // Project Relevance Analysis - Show ALL projects with matching tech highlighted
-                List<Map<String, Object>> relevantProjects = new ArrayList<>();
-                Set<String> requiredSkillsLower = requiredSkills.stream().map(String::toLowerCase)
-                        .collect(Collectors.toSet());
-
-                if (resume.getParsedDetails() != null) {
-                    Object projectsObj = resume.getParsedDetails().get("projects");
-                    if (projectsObj instanceof List) {
-                        @SuppressWarnings("unchecked")
-                        List<Map<String, Object>> projects = (List<Map<String, Object>>) projectsObj;
-
-                        for (Map<String, Object> project : projects) {
-                            String projectName = project.get("project_name") != null
-                                    ? project.get("project_name").toString()
-                                    : "";
-                            Object techObj = project.get("technologies_used");
-
-                            List<String> allTech = new ArrayList<>();
-                            List<String> matchingTechs = new ArrayList<>();
-                            if (techObj instanceof List) {
-                                @SuppressWarnings("unchecked")
-                                List<String> techList = (List<String>) techObj;
-                                allTech.addAll(techList);
-                                for (String tech : techList) {
-                                    if (requiredSkillsLower.contains(tech.toLowerCase())) {
-                                        matchingTechs.add(tech);
-                                    }
-                                }
-                            }
-
-                            // Only include project if it has AT LEAST 1 matching technology
-                            if (!matchingTechs.isEmpty() && !projectName.isEmpty()) {
-                                Map<String, Object> projInfo = new HashMap<>();
-                                projInfo.put("name", projectName);
-                                projInfo.put("allTech", allTech);
-                                projInfo.put("matchingTechs", matchingTechs);
-                                relevantProjects.add(projInfo);
-                            }
-                        }
+            // Project Relevance Analysis - Show ALL projects with matching tech highlighted
+            List<Map<String, Object>> relevantProjects = new ArrayList<>();
+            Set<String> requiredSkillsLower = requiredSkills.stream().map(String::toLowerCase)
+                    .collect(Collectors.toSet());
+
+            for (ParsedResume.Project project : parsed.getProjects()) {
+                List<String> techStack = project.getTechStack();
+                List<String> techStackLower = project.getTechStackLower();
+                List<String> matchingTechs = new ArrayList<>();
+                for (int i = 0; i < techStack.size(); i++) {
+                    if (requiredSkillsLower.contains(techStackLower.get(i))) {
+                        matchingTechs.add(techStack.get(i));
                     }
                 }
 
-                result.put("resumeId", resume.getFileId());
-                result.put("candidateName", candidateName);
-                result.put("resumeName", resume.getName()); // Keep filename as well
-                result.put("s3Url", resume.getS3Url());
-                result.put("viewLink", resume.getViewLink());
-                result.put("finalScore", Math.round(match.getFinalScore() * 100));
-                result.put("semanticSimilarity", Math.round(match.getSemanticSimilarity() * 100));
-                result.put("skillMatchScore", Math.round(match.getSkillMatchScore() * 100));
-                result.put("experienceScore", Math.round(match.getExperienceScore() * 100));
-                result.put("candidateStatus", match.getCandidateStatus());
-
-                // Detailed Lists
-                result.put("matchedSkillsList", matchedSkillsList);
-                result.put("missingSkillsList", missingSkillsList);
-                result.put("matchedKeywordsList",
-                        match.getMatchedKeywordsList() != null ? match.getMatchedKeywordsList() : new ArrayList<>());
-                result.put("relevantProjects", relevantProjects);
-                result.put("allSkills", resumeSkills != null ? resumeSkills : new ArrayList<>());
-                // Optimized: Don't send full text
-                // result.put("resumeText", resume.getText() != null ? resume.getText() : "");
-
-                // Display strings
-                result.put("matchedSkills", matchedSkillsList.size() + "/" + requiredSkills.size());
-
-                result.put("candidateExperience", match.getCandidateExperience() + " years");
-                result.put("hasGap", match.isHasEmploymentGap());
-                result.put("gapMonths", match.getTotalGapMonths());
-                enrichedResults.add(result);
+                // Only include project if it has AT LEAST 1 matching technology
+                if (!matchingTechs.isEmpty() && !project.getName().isEmpty()) {
+                    Map<String, Object> projInfo = new HashMap<>();
+                    projInfo.put("name", project.getName());
+                    projInfo.put("allTech", new ArrayList<>(techStack));
+                    projInfo.put("matchingTechs", matchingTechs);
+                    relevantProjects.add(projInfo);
+                }
             }
+
+            result.put("resumeId", resume.getFileId());
+            result.put("candidateName", candidateName);
+            result.put("resumeName", resume.getName()); // Keep filename as well
+            result.put("s3Url", resume.getS3Url());
+            result.put("viewLink", resume.getViewLink());
+            result.put("finalScore", Math.round(match.getFinalScore() * 100));
+            result.put("semanticSimilarity", Math.round(match.getSemanticSimilarity() * 100));
+            result.put("skillMatchScore", Math.round(match.getSkillMatchScore() * 100));
+            result.put("experienceScore", Math.round(match.getExperienceScore() * 100));
+            result.put("candidateStatus", match.getCandidateStatus());
+
+            // Detailed Lists
+            result.put("matchedSkillsList", matchedSkillsList);
+            result.put("missingSkillsList", missingSkillsList);
+            result.put("matchedKeywordsList",
+                    match.getMatchedKeywordsList() != null ? match.getMatchedKeywordsList() : new ArrayList<>());
+            result.put("relevantProjects", relevantProjects);
+            result.put("allSkills", resumeSkills != null ? resumeSkills : new ArrayList<>());
+            // Optimized: Don't send full text
+            // result.put("resumeText", resume.getText() != null ? resume.getText() : "");
+
+            // Display strings
+            result.put("matchedSkills", matchedSkillsList.size() + "/" + requiredSkills.size());
+
+            result.put("candidateExperience", match.getCandidateExperience() + " years");
+            result.put("hasGap", match.isHasEmploymentGap());
+            result.put("gapMonths", match.getTotalGapMonths());
+            enrichedResults.add(result);
         }
 
-        return ResponseEntity.ok(Map.of(
-                "success", true,
-                "jdId", jdId,
-                "totalMatches", enrichedResults.size(),
-                "matches", enrichedResults));
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("jdId", jdId);
+        response.put("totalMatches", enrichedResults.size());
+        response.put("matches", enrichedResults);
+        response.put("nextCursor", page.nextCursor()); // null on the last page
+        return ResponseEntity.ok(response);
     }
 
     @PutMapping("/job-descriptions/{jdId}/resumes/{resumeId}/status")
@@ -595,6 +579,10 @@ public class JobDescriptionController {
         return 0;
     }
 
+    private static boolean isKnownName(String name) {
+        return name != null && !name.equalsIgnoreCase("unknown");
+    }
+
     private String extractStringValue(Map<String, Object> details, String key, String defaultValue) {
         if (details == null)
             return defaultValue;
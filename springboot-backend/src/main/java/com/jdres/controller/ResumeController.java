@@ -1,19 +1,30 @@
 package com.jdres.controller;
 
+import com.jdres.model.MatchResult;
 import com.jdres.model.Resume;
 import com.jdres.repository.ResumeRepository;
 import com.jdres.repository.MatchResultRepository;
+import com.jdres.service.BlockingIoExecutor;
+import com.jdres.service.ParsedDocumentService;
+import com.jdres.service.ReactiveResumeIngestionService;
+import com.jdres.service.RecruitmentIntelligenceService;
+import com.jdres.service.ResumeIngestionService;
+import com.jdres.service.ResumeVectorService;
 import com.jdres.service.S3Service;
 import com.jdres.service.SkillExtractorService;
+import com.jdres.service.TalentIndex;
+import com.jdres.service.TalentSearchService;
+import com.jdres.service.TextExtractorService;
+import com.jdres.service.TextSimilarityService;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -33,6 +44,29 @@ public class ResumeController {
     private SkillExtractorService skillExtractorService;
     @Autowired
     private com.jdres.service.MatchingService matchingService;
+    @Autowired
+    private ResumeIngestionService resumeIngestionService;
+    @Autowired
+    private ParsedDocumentService parsedDocumentService;
+    @Autowired
+    private RecruitmentIntelligenceService recruitmentIntelligenceService;
+    @Autowired
+    private TalentSearchService talentSearchService;
+
+    @Autowired
+    private ResumeVectorService resumeVectorService;
+
+    @Autowired
+    private TextSimilarityService textSimilarityService;
+
+    @Autowired
+    private TextExtractorService textExtractorService;
+
+    @Autowired
+    private BlockingIoExecutor blockingIoExecutor;
+
+    @Autowired
+    private ReactiveResumeIngestionService reactiveResumeIngestionService;
 
     @PostMapping("/upload-resume")
     public ResponseEntity<?> uploadResume(
@@ -51,19 +85,8 @@ public class ResumeController {
             String fileNameLower = file.getOriginalFilename().toLowerCase();
 
             try {
-                if (fileNameLower.endsWith(".pdf")) {
-                    try (PDDocument document = Loader.loadPDF(content)) {
-                        PDFTextStripper stripper = new PDFTextStripper();
-                        text = stripper.getText(document);
-                    }
-                } else if (fileNameLower.endsWith(".docx")) {
-                    try (java.io.ByteArrayInputStream bis = new java.io.ByteArrayInputStream(content);
-                            XWPFDocument doc = new XWPFDocument(bis);
-                            XWPFWordExtractor extractor = new XWPFWordExtractor(doc)) {
-                        text = extractor.getText();
-                    }
-                } else if (fileNameLower.endsWith(".txt")) {
-                    text = new String(content, java.nio.charset.StandardCharsets.UTF_8);
+                if (textExtractorService.isSupportedFileType(fileNameLower)) {
+                    text = textExtractorService.extractText(content, fileNameLower);
                 } else {
                     text = "Unsupported file format (only PDF, DOCX, TXT supported)";
                 }
@@ -74,16 +97,19 @@ public class ResumeController {
 
             final String finalText = text;
 
-            // PARALLEL: S3 upload and OpenAI extraction at the same time!
-            java.util.concurrent.CompletableFuture<String> s3Future = java.util.concurrent.CompletableFuture
-                    .supplyAsync(() -> s3Service.uploadBytes(s3Key, content, contentType));
-
-            java.util.concurrent.CompletableFuture<Map<String, Object>> extractFuture = java.util.concurrent.CompletableFuture
-                    .supplyAsync(() -> skillExtractorService.extractResumeDetails(finalText));
-
-            // Wait for both to complete
-            String s3Url = s3Future.get(60, java.util.concurrent.TimeUnit.SECONDS);
-            Map<String, Object> parsedDetails = extractFuture.get(60, java.util.concurrent.TimeUnit.SECONDS);
+            // PARALLEL: S3 upload and OpenAI extraction at the same time, on the blocking I/O
+            // executor (virtual threads when enabled); a failure or timeout cancels the other
+            String s3Url;
+            Map<String, Object> parsedDetails;
+            try (BlockingIoExecutor.Scope scope = blockingIoExecutor.open()) {
+                java.util.concurrent.CompletableFuture<String> s3Future = scope
+                        .fork(() -> s3Service.uploadBytes(s3Key, content, contentType));
+                java.util.concurrent.CompletableFuture<Map<String, Object>> extractFuture = scope
+                        .fork(() -> skillExtractorService.extractResumeDetails(finalText));
+                scope.join(java.time.Duration.ofSeconds(60));
+                s3Url = s3Future.join();
+                parsedDetails = extractFuture.join();
+            }
 
             // Flatten skills
             List<String> skills;
@@ -107,8 +133,8 @@ public class ResumeController {
             resume.setS3Key(s3Key);
             resume.setS3Url(s3Url);
             resume.setViewLink(s3Url); // Set viewLink
-            resume.setEmbedding(Collections.emptyList()); // Empty - not used anymore
             resume.setSkills(skills);
+            resume.setParsed(parsedDocumentService.parseResume(resume));
 
             // Resume Isolation
             if (jdId != null && !jdId.isEmpty() && !jdId.equals("undefined") && !jdId.equals("null")) {
@@ -140,6 +166,9 @@ public class ResumeController {
             }
 
             resumeRepository.save(resume);
+            talentSearchService.index(resume);
+            resumeVectorService.index(resume);
+            textSimilarityService.add(resume);
 
             // Trigger matching against all JDs
             matchingService.matchNewResume(fileId);
@@ -160,6 +189,120 @@ public class ResumeController {
         }
     }
 
+    /**
+     * Bulk upload: queue many resumes through the staged ingestion pipeline.
+     * Returns a job id immediately; poll GET /upload-resumes/{jobId} for progress.
+     */
+    @PostMapping("/upload-resumes")
+    public ResponseEntity<?> uploadResumes(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "jdId", required = false) String jdId,
+            @RequestHeader(value = "X-User-Id", required = false) String userId) {
+        try {
+            if (files == null || files.isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("success", false, "error", "No files uploaded"));
+            }
+
+            // Read bytes now - multipart temp files are gone once this request returns
+            List<ResumeIngestionService.IngestionFile> batch = new ArrayList<>();
+            for (MultipartFile file : files) {
+                batch.add(new ResumeIngestionService.IngestionFile(
+                        file.getOriginalFilename(), file.getContentType(), file.getBytes()));
+            }
+
+            ResumeIngestionService.IngestionJob job = resumeIngestionService.submit(batch, jdId, userId);
+
+            return ResponseEntity.accepted().body(Map.of(
+                    "success", true,
+                    "jobId", job.jobId,
+                    "total", job.total));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Non-blocking single upload: same response as /upload-resume, but S3, the
+     * LLM call and the Mongo save hold no request thread while in flight.
+     */
+    @PostMapping("/v2/upload-resume")
+    public Mono<ResponseEntity<Map<String, Object>>> uploadResumeV2(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "jdId", required = false) String jdId,
+            @RequestHeader(value = "X-User-Id", required = false) String userId) {
+        String fileName = file.getOriginalFilename();
+        if (fileName == null || !textExtractorService.isSupportedFileType(fileName.toLowerCase())) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("success", false,
+                    "error", "Unsupported file format (only PDF, DOCX, TXT supported)")));
+        }
+
+        ResumeIngestionService.IngestionFile upload;
+        try {
+            upload = new ResumeIngestionService.IngestionFile(fileName, file.getContentType(), file.getBytes());
+        } catch (Exception e) {
+            return Mono.just(ResponseEntity.internalServerError().body(Map.of("success", false,
+                    "error", String.valueOf(e.getMessage()))));
+        }
+
+        return reactiveResumeIngestionService.ingest(upload, jdId, userId, "manual_upload")
+                .map(resume -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("text", resume.getText());
+                    response.put("fileId", resume.getFileId());
+                    response.put("viewLink", resume.getViewLink());
+                    response.put("skills", resume.getSkills());
+                    response.put("candidateName", resume.getCandidateName());
+                    response.put("candidateExperience", resume.getCandidateExperience());
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(e -> {
+                    e.printStackTrace();
+                    return Mono.just(ResponseEntity.internalServerError().body(Map.of("success", false,
+                            "error", String.valueOf(e.getMessage()))));
+                });
+    }
+
+    /**
+     * Non-blocking bulk upload: streams one NDJSON line per file as it finishes,
+     * instead of returning a job id to poll.
+     */
+    @PostMapping(value = "/v2/upload-resumes", produces = "application/x-ndjson")
+    public Flux<Map<String, Object>> uploadResumesV2(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "jdId", required = false) String jdId,
+            @RequestHeader(value = "X-User-Id", required = false) String userId) {
+        if (files == null || files.isEmpty()) {
+            return Flux.just(Map.of("success", false, "error", "No files uploaded"));
+        }
+
+        // Read bytes now - multipart temp files are gone once the handler returns
+        List<ResumeIngestionService.IngestionFile> batch = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                batch.add(new ResumeIngestionService.IngestionFile(
+                        file.getOriginalFilename(), file.getContentType(), file.getBytes()));
+            }
+        } catch (Exception e) {
+            return Flux.just(Map.of("success", false, "error", String.valueOf(e.getMessage())));
+        }
+
+        return reactiveResumeIngestionService.ingestAll(Flux.fromIterable(batch), jdId, userId)
+                .map(ReactiveResumeIngestionService.IngestionResult::toJson);
+    }
+
+    @GetMapping("/upload-resumes/{jobId}")
+    public ResponseEntity<?> getUploadProgress(@PathVariable String jobId) {
+        return resumeIngestionService.getJob(jobId)
+                .<ResponseEntity<?>>map(job -> {
+                    Map<String, Object> response = new HashMap<>(job.toProgressJson());
+                    response.put("success", true);
+                    return ResponseEntity.ok(response);
+                })
+                .orElseGet(() -> ResponseEntity.ok(Map.of("success", false, "error", "Ingestion job not found")));
+    }
+
     @PostMapping("/extract-jd")
     public ResponseEntity<?> extractJD(@RequestBody Map<String, String> payload) {
         String jdText = payload.get("jdText");
@@ -275,6 +418,93 @@ public class ResumeController {
         }
     }
 
+    /**
+     * Search the caller's whole talent pool, e.g. q=kafka AND (fintech OR banking) AND exp>=5
+     */
+    @GetMapping("/talent-search")
+    public ResponseEntity<?> searchTalentPool(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader(value = "X-User-Id", required = false) String userId) {
+        if (userId == null || userId.isEmpty()) {
+            return ResponseEntity.ok(Map.of("success", false, "error", "X-User-Id is required"));
+        }
+        TalentIndex.Result result;
+        try {
+            result = talentSearchService.search(userId, q, Math.max(1, Math.min(limit, 500)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(Map.of("success", false, "error", e.getMessage()));
+        }
+
+        List<Map<String, Object>> candidates = new ArrayList<>(result.hits().size());
+        for (TalentIndex.Hit hit : result.hits()) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("resumeId", hit.fileId());
+            item.put("candidateName", hit.name());
+            item.put("experience", hit.experienceYears());
+            item.put("score", Math.round(hit.score() * 100) / 100.0);
+            candidates.add(item);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("query", q);
+        response.put("total", result.total());
+        response.put("candidates", candidates);
+        response.put("indexReady", talentSearchService.isReady());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Reverse match: the resume owner's JDs ranked for this resume (not persisted)
+     */
+    @GetMapping("/resumes/{fileId}/best-jds")
+    public ResponseEntity<?> getBestJdsForResume(
+            @PathVariable String fileId,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestHeader(value = "X-User-Id", required = false) String userId) {
+        try {
+            Optional<Resume> resumeOpt = resumeRepository.findByFileId(fileId);
+            if (resumeOpt.isEmpty()) {
+                return ResponseEntity.ok(Map.of("success", false, "error", "Resume not found"));
+            }
+
+            Resume resume = resumeOpt.get();
+            if (userId != null && resume.getRecruiterId() != null
+                    && !resume.getRecruiterId().equals(userId)) {
+                return ResponseEntity.ok(Map.of("success", false, "error", "Unauthorized to view this resume"));
+            }
+
+            List<com.jdres.service.MatchingService.RoleMatch> ranked = matchingService.rankJdsForResume(resume,
+                    Math.max(1, Math.min(limit, 100)));
+
+            List<Map<String, Object>> roles = new ArrayList<>(ranked.size());
+            for (com.jdres.service.MatchingService.RoleMatch role : ranked) {
+                MatchResult match = role.match();
+                Map<String, Object> item = new HashMap<>();
+                item.put("jdId", role.jdId());
+                item.put("title", role.title());
+                item.put("finalScore", Math.round(match.getFinalScore() * 100));
+                item.put("skillMatchScore", Math.round(match.getSkillMatchScore() * 100));
+                item.put("experienceStatus", match.getExperienceStatus());
+                item.put("matchedSkills", match.getMatchedSkillsList());
+                item.put("missingSkills", match.getMissingSkillsList());
+                item.put("recruitmentRating", match.getRecruitmentRating());
+                roles.add(item);
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("resumeId", fileId);
+            response.put("roles", roles);
+            response.put("count", roles.size());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/resumes/{fileId}")
     public ResponseEntity<?> deleteResume(
             @PathVariable String fileId,
@@ -313,6 +543,10 @@ public class ResumeController {
 
             // 3. Delete the resume from MongoDB
             resumeRepository.deleteByFileId(fileId);
+            recruitmentIntelligenceService.evictResume(fileId);
+            talentSearchService.remove(resume.getRecruiterId(), fileId);
+            resumeVectorService.remove(fileId);
+            textSimilarityService.remove(resume);
             System.out.println("   Resume deleted from MongoDB: " + fileId);
 
             return ResponseEntity.ok(Map.of(
@@ -0,0 +1,75 @@
+package com.jdres.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Persisted LLM extraction result, addressed by the hash of the normalized
+ * input text plus the prompt/schema version and model that produced it.
+ */
+@Document(collection = "extraction_cache")
+public class ExtractionCacheEntry {
+
+    @Id
+    private String id; // "<sha256>:<promptVersion>:<model>"
+
+    private String textHash;
+    private String promptVersion;
+    private String model;
+
+    // Same shape as Resume.parsedDetails
+    private Map<String, Object> parsedDetails;
+
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTextHash() {
+        return textHash;
+    }
+
+    public void setTextHash(String textHash) {
+        this.textHash = textHash;
+    }
+
+    public String getPromptVersion() {
+        return promptVersion;
+    }
+
+    public void setPromptVersion(String promptVersion) {
+        this.promptVersion = promptVersion;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public Map<String, Object> getParsedDetails() {
+        return parsedDetails;
+    }
+
+    public void setParsedDetails(Map<String, Object> parsedDetails) {
+        this.parsedDetails = parsedDetails;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
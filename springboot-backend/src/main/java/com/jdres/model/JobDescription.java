@@ -18,6 +18,7 @@ public class JobDescription {
     private String text; // Raw JD text
     private String source; // "manual_upload", etc.
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt; // Bumped on every edit; versions compiled match profiles
 
     // Vector embedding
     private List<Double> embedding;
@@ -25,6 +26,9 @@ public class JobDescription {
     // Structured parsed details from LLM
     private Map<String, Object> parsedDetails;
 
+    // Typed view of parsedDetails, rebuilt on every save (see ParsedDocumentService)
+    private ParsedJd parsed;
+
     // Flattened for quick access (legacy fields maintained for compatibility)
     private List<String> requiredSkills;
     private List<String> preferredSkills;
@@ -112,6 +116,14 @@ public class JobDescription {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public List<Double> getEmbedding() {
         return embedding;
     }
@@ -128,6 +140,14 @@ public class JobDescription {
         this.parsedDetails = parsedDetails;
     }
 
+    public ParsedJd getParsed() {
+        return parsed;
+    }
+
+    public void setParsed(ParsedJd parsed) {
+        this.parsed = parsed;
+    }
+
     public List<String> getRequiredSkills() {
         return requiredSkills;
     }
@@ -1,16 +1,12 @@
 package com.jdres.model;
 
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.CompoundIndex;
-import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
+// Indexes are created explicitly at startup by MatchResultIndexes
+// (auto-index-creation is off, so @CompoundIndex would be ignored)
 @Document(collection = "match_results")
-@CompoundIndexes({
-        @CompoundIndex(name = "jd_score_idx", def = "{'jdId': 1, 'finalScore': -1}"),
-        @CompoundIndex(name = "resume_score_idx", def = "{'resumeId': 1, 'finalScore': -1}")
-})
 public class MatchResult {
 
     @Id
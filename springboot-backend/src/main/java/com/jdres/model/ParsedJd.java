@@ -0,0 +1,115 @@
+package com.jdres.model;
+
+import java.util.List;
+
+/**
+ * Typed, immutable view of JobDescription.parsedDetails.
+ *
+ * Built once when the JD is saved (ParsedDocumentService) and stored as the
+ * "parsed" sub-document. Holds only the parsedDetails fallbacks; explicit
+ * JobDescription fields still take precedence where the model has them.
+ */
+public class ParsedJd {
+
+    // Bump when the derivation changes; older sub-documents are rebuilt on read
+    public static final int CURRENT_VERSION = 3;
+
+    private final int version;
+
+    private final List<String> domainsLower; // parsedDetails.domain
+    private final List<String> jdDomainsLower; // jd_domains, else domain
+    private final List<String> mandatorySkills;
+    private final List<String> preferredSkills;
+    private final List<String> toolsPlatforms;
+    private final List<String> methodologies;
+    private final int criticalDeliveriesRequired;
+    private final int riskAreasExpected;
+    private final boolean scaleEnterprise;
+    private final boolean scaleMultiYear;
+    private final boolean scaleLargeBudget;
+    private final boolean hasScaleRequirements;
+    private final String deliveryStyle; // null if absent
+    private final SparseVector textVector; // hashed TF of title + text (TextVectorizer)
+
+    public ParsedJd(int version, List<String> domainsLower, List<String> jdDomainsLower,
+            List<String> mandatorySkills, List<String> preferredSkills, List<String> toolsPlatforms,
+            List<String> methodologies, int criticalDeliveriesRequired, int riskAreasExpected,
+            boolean scaleEnterprise, boolean scaleMultiYear, boolean scaleLargeBudget,
+            boolean hasScaleRequirements, String deliveryStyle, SparseVector textVector) {
+        this.version = version;
+        this.domainsLower = ParsedResume.readOnly(domainsLower);
+        this.jdDomainsLower = ParsedResume.readOnly(jdDomainsLower);
+        this.mandatorySkills = ParsedResume.readOnly(mandatorySkills);
+        this.preferredSkills = ParsedResume.readOnly(preferredSkills);
+        this.toolsPlatforms = ParsedResume.readOnly(toolsPlatforms);
+        this.methodologies = ParsedResume.readOnly(methodologies);
+        this.criticalDeliveriesRequired = criticalDeliveriesRequired;
+        this.riskAreasExpected = riskAreasExpected;
+        this.scaleEnterprise = scaleEnterprise;
+        this.scaleMultiYear = scaleMultiYear;
+        this.scaleLargeBudget = scaleLargeBudget;
+        this.hasScaleRequirements = hasScaleRequirements;
+        this.deliveryStyle = deliveryStyle;
+        this.textVector = textVector != null ? textVector : SparseVector.EMPTY;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public List<String> getDomainsLower() {
+        return domainsLower;
+    }
+
+    public List<String> getJdDomainsLower() {
+        return jdDomainsLower;
+    }
+
+    public List<String> getMandatorySkills() {
+        return mandatorySkills;
+    }
+
+    public List<String> getPreferredSkills() {
+        return preferredSkills;
+    }
+
+    public List<String> getToolsPlatforms() {
+        return toolsPlatforms;
+    }
+
+    public List<String> getMethodologies() {
+        return methodologies;
+    }
+
+    public int getCriticalDeliveriesRequired() {
+        return criticalDeliveriesRequired;
+    }
+
+    public int getRiskAreasExpected() {
+        return riskAreasExpected;
+    }
+
+    public boolean isScaleEnterprise() {
+        return scaleEnterprise;
+    }
+
+    public boolean isScaleMultiYear() {
+        return scaleMultiYear;
+    }
+
+    public boolean isScaleLargeBudget() {
+        return scaleLargeBudget;
+    }
+
+    public boolean isHasScaleRequirements() {
+        return hasScaleRequirements;
+    }
+
+    public String getDeliveryStyle() {
+        return deliveryStyle;
+    }
+
+    public SparseVector getTextVector() {
+        return textVector;
+    }
+}
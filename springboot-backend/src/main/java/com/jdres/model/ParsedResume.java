@@ -0,0 +1,218 @@
+package com.jdres.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Typed, immutable view of Resume.parsedDetails.
+ *
+ * Built once when the resume is saved (ParsedDocumentService) and stored as the
+ * "parsed" sub-document, so scoring reads pre-lowercased / pre-normalized fields
+ * and primitive counters instead of walking the LLM map on every match.
+ */
+public class ParsedResume {
+
+    // Bump when the derivation changes; older sub-documents are rebuilt on read
+    public static final int CURRENT_VERSION = 3;
+
+    private final int version;
+
+    private final String profileName; // candidate_profile.name, trimmed (null if blank)
+    private final String altName; // parsedDetails.name / candidate_name, trimmed (null if blank)
+
+    private final int totalExperienceYears;
+    private final boolean hasEmploymentGap;
+    private final int totalGapMonths;
+
+    private final List<String> domainsLower; // domain_experience
+    private final List<String> methodologiesLower; // methodology_experience
+    private final List<String> normalizedSkills; // parsed + legacy skills, canonical names
+    private final List<String> certifications;
+    private final List<Project> projects;
+
+    // career_summary counters (0 / false when absent)
+    private final int summaryProductionLaunches;
+    private final int summaryLargestTeam;
+    private final double summaryLargestBudgetK;
+    private final boolean summaryEnterprise;
+    private final boolean summaryMultiYear;
+
+    private final SparseVector textVector; // hashed TF of resume text (TextVectorizer)
+
+    public ParsedResume(int version, String profileName, String altName,
+            int totalExperienceYears, boolean hasEmploymentGap, int totalGapMonths,
+            List<String> domainsLower, List<String> methodologiesLower, List<String> normalizedSkills,
+            List<String> certifications, List<Project> projects,
+            int summaryProductionLaunches, int summaryLargestTeam, double summaryLargestBudgetK,
+            boolean summaryEnterprise, boolean summaryMultiYear, SparseVector textVector) {
+        this.version = version;
+        this.profileName = profileName;
+        this.altName = altName;
+        this.totalExperienceYears = totalExperienceYears;
+        this.hasEmploymentGap = hasEmploymentGap;
+        this.totalGapMonths = totalGapMonths;
+        this.domainsLower = readOnly(domainsLower);
+        this.methodologiesLower = readOnly(methodologiesLower);
+        this.normalizedSkills = readOnly(normalizedSkills);
+        this.certifications = readOnly(certifications);
+        this.projects = readOnly(projects);
+        this.summaryProductionLaunches = summaryProductionLaunches;
+        this.summaryLargestTeam = summaryLargestTeam;
+        this.summaryLargestBudgetK = summaryLargestBudgetK;
+        this.summaryEnterprise = summaryEnterprise;
+        this.summaryMultiYear = summaryMultiYear;
+        this.textVector = textVector != null ? textVector : SparseVector.EMPTY;
+    }
+
+    static <T> List<T> readOnly(List<T> values) {
+        return values == null || values.isEmpty()
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getProfileName() {
+        return profileName;
+    }
+
+    public String getAltName() {
+        return altName;
+    }
+
+    public int getTotalExperienceYears() {
+        return totalExperienceYears;
+    }
+
+    public boolean isHasEmploymentGap() {
+        return hasEmploymentGap;
+    }
+
+    public int getTotalGapMonths() {
+        return totalGapMonths;
+    }
+
+    public List<String> getDomainsLower() {
+        return domainsLower;
+    }
+
+    public List<String> getMethodologiesLower() {
+        return methodologiesLower;
+    }
+
+    public List<String> getNormalizedSkills() {
+        return normalizedSkills;
+    }
+
+    public List<String> getCertifications() {
+        return certifications;
+    }
+
+    public List<Project> getProjects() {
+        return projects;
+    }
+
+    public int getSummaryProductionLaunches() {
+        return summaryProductionLaunches;
+    }
+
+    public int getSummaryLargestTeam() {
+        return summaryLargestTeam;
+    }
+
+    public double getSummaryLargestBudgetK() {
+        return summaryLargestBudgetK;
+    }
+
+    public boolean isSummaryEnterprise() {
+        return summaryEnterprise;
+    }
+
+    public boolean isSummaryMultiYear() {
+        return summaryMultiYear;
+    }
+
+    public SparseVector getTextVector() {
+        return textVector;
+    }
+
+    /**
+     * One entry of parsedDetails.projects
+     */
+    public static class Project {
+        private final String name;
+        private final String domain;
+        private final String role;
+        private final List<String> techStack;
+        private final List<String> techStackLower; // parallel to techStack
+        private final int teamSize;
+        private final double budgetManaged;
+        private final int durationMonths;
+        private final boolean productionLaunch;
+        private final List<String> riskEventsHandled;
+        private final String deliveryType; // hands-on, hybrid, governance (inferred from role if absent)
+
+        public Project(String name, String domain, String role, List<String> techStack,
+                List<String> techStackLower, int teamSize, double budgetManaged, int durationMonths,
+                boolean productionLaunch, List<String> riskEventsHandled, String deliveryType) {
+            this.name = name != null ? name : "";
+            this.domain = domain != null ? domain : "";
+            this.role = role != null ? role : "";
+            this.techStack = readOnly(techStack);
+            this.techStackLower = readOnly(techStackLower);
+            this.teamSize = teamSize;
+            this.budgetManaged = budgetManaged;
+            this.durationMonths = durationMonths;
+            this.productionLaunch = productionLaunch;
+            this.riskEventsHandled = readOnly(riskEventsHandled);
+            this.deliveryType = deliveryType != null ? deliveryType : "hybrid";
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDomain() {
+            return domain;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public List<String> getTechStack() {
+            return techStack;
+        }
+
+        public List<String> getTechStackLower() {
+            return techStackLower;
+        }
+
+        public int getTeamSize() {
+            return teamSize;
+        }
+
+        public double getBudgetManaged() {
+            return budgetManaged;
+        }
+
+        public int getDurationMonths() {
+            return durationMonths;
+        }
+
+        public boolean isProductionLaunch() {
+            return productionLaunch;
+        }
+
+        public List<String> getRiskEventsHandled() {
+            return riskEventsHandled;
+        }
+
+        public String getDeliveryType() {
+            return deliveryType;
+        }
+    }
+}
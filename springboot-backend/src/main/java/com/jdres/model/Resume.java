@@ -3,6 +3,7 @@ package com.jdres.model;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -25,8 +26,10 @@ public class Resume {
     private String s3Key;
     private String s3Url;
 
-    // Vector
-    private List<Double> embedding;
+    // Vector: int8 binary under its own key - older documents hold a (mostly empty)
+    // "embedding" double array, which is simply no longer read
+    @Field("embeddingQ8")
+    private QuantizedVector embedding;
 
     // Extracted/Parsed fields
     private List<String> skills;
@@ -35,6 +38,9 @@ public class Resume {
     // Detailed structured data from LLM
     private java.util.Map<String, Object> parsedDetails;
 
+    // Typed view of parsedDetails, rebuilt on every save (see ParsedDocumentService)
+    private ParsedResume parsed;
+
     // Multi-tenant support
     @Indexed
     private String recruiterId; // Firebase UID
@@ -136,11 +142,11 @@ public class Resume {
         this.s3Url = s3Url;
     }
 
-    public List<Double> getEmbedding() {
+    public QuantizedVector getEmbedding() {
         return embedding;
     }
 
-    public void setEmbedding(List<Double> embedding) {
+    public void setEmbedding(QuantizedVector embedding) {
         this.embedding = embedding;
     }
 
@@ -168,6 +174,14 @@ public class Resume {
         this.parsedDetails = parsedDetails;
     }
 
+    public ParsedResume getParsed() {
+        return parsed;
+    }
+
+    public void setParsed(ParsedResume parsed) {
+        this.parsed = parsed;
+    }
+
     public String getRecruiterId() {
         return recruiterId;
     }
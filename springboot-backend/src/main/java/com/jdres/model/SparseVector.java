@@ -0,0 +1,112 @@
+package com.jdres.model;
+
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.data.annotation.Transient;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Sparse term-weight vector over hashed feature buckets.
+ *
+ * Indices are strictly ascending so two vectors can be dotted with a single merge
+ * pass. Stored inside the "parsed" sub-documents; callers must not modify the arrays.
+ *
+ * Persisted as one BSON binary instead of two arrays (~10-15 bytes per element):
+ * the count and index deltas as varints, then each value as a bfloat16 (the top
+ * 16 bits of the float, rounded). Index gaps are mostly under 128, so a feature
+ * takes ~3 bytes. bfloat16 keeps 3 significant digits, far finer than the
+ * 1 + ln(tf) weights need.
+ */
+public class SparseVector {
+
+    public static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+    @Transient
+    private final int[] indices;
+    @Transient
+    private final float[] values; // parallel to indices
+
+    private final byte[] packed;
+
+    public SparseVector(int[] indices, float[] values) {
+        this.indices = indices != null ? indices : new int[0];
+        this.values = values != null ? values : new float[0];
+        this.packed = pack(this.indices, this.values);
+    }
+
+    @PersistenceCreator
+    public SparseVector(byte[] packed) {
+        this.packed = packed != null ? packed : new byte[0];
+        int[] pos = {0};
+        int n = this.packed.length == 0 ? 0 : readVarint(this.packed, pos);
+        this.indices = new int[n];
+        this.values = new float[n];
+        int index = 0;
+        for (int i = 0; i < n; i++) {
+            index += readVarint(this.packed, pos);
+            indices[i] = index;
+        }
+        for (int i = 0; i < n; i++) {
+            int bits = ((this.packed[pos[0]] & 0xFF) << 8) | (this.packed[pos[0] + 1] & 0xFF);
+            values[i] = Float.intBitsToFloat(bits << 16);
+            pos[0] += 2;
+        }
+    }
+
+    public int[] getIndices() {
+        return indices;
+    }
+
+    public float[] getValues() {
+        return values;
+    }
+
+    public int size() {
+        return indices.length;
+    }
+
+    public boolean isEmpty() {
+        return indices.length == 0;
+    }
+
+    private static byte[] pack(int[] indices, float[] values) {
+        if (indices.length == 0) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(indices.length * 3 + 5);
+        writeVarint(out, indices.length);
+        int previous = 0;
+        for (int index : indices) {
+            writeVarint(out, index - previous);
+            previous = index;
+        }
+        for (float value : values) {
+            int bits = Float.floatToIntBits(value);
+            // Round to nearest even on the 16 dropped mantissa bits
+            int rounded = (bits + 0x7FFF + ((bits >>> 16) & 1)) >>> 16;
+            out.write(rounded >>> 8);
+            out.write(rounded);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] bytes, int[] pos) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[pos[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,9 @@
+package com.jdres.repository;
+
+import com.jdres.model.ExtractionCacheEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExtractionCacheRepository extends MongoRepository<ExtractionCacheEntry, String> {
+}
@@ -2,6 +2,7 @@ package com.jdres.repository;
 
 import com.jdres.model.JobDescription;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +13,8 @@ public interface JobDescriptionRepository extends MongoRepository<JobDescription
     Optional<JobDescription> findByJdId(String jdId);
 
     List<JobDescription> findByRecruiterId(String recruiterId);
+
+    // Everything JdProfileService compiles from; the embedding is never needed there
+    @Query(value = "{ 'recruiterId': ?0 }", fields = "{ 'embedding': 0 }")
+    List<JobDescription> findProfileSourcesByRecruiterId(String recruiterId);
 }
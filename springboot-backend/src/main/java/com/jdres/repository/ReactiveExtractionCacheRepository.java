@@ -0,0 +1,10 @@
+package com.jdres.repository;
+
+import com.jdres.model.ExtractionCacheEntry;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+// Non-blocking access to the extraction_cache collection (reactive upload pipeline)
+@Repository
+public interface ReactiveExtractionCacheRepository extends ReactiveMongoRepository<ExtractionCacheEntry, String> {
+}
@@ -0,0 +1,10 @@
+package com.jdres.repository;
+
+import com.jdres.model.Resume;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+// Non-blocking access to the resumes collection (reactive upload pipeline)
+@Repository
+public interface ReactiveResumeRepository extends ReactiveMongoRepository<Resume, String> {
+}
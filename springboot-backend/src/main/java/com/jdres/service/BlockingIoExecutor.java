@@ -0,0 +1,178 @@
+package com.jdres.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Blocking I/O Executor
+ * Where request-scoped S3, LLM and Mongo calls fan out, instead of the common
+ * ForkJoinPool (sized for CPU work, and shared with every parallel stream).
+ *
+ * - spring.threads.virtual.enabled=true on JDK 21+: one virtual thread per task.
+ *   Spring Boot runs Tomcat request handling on virtual threads under the same
+ *   flag, so an upload blocked on OpenAI holds no platform thread at all.
+ * - Otherwise (or on JDK 17): a bounded pool of daemon platform threads.
+ *
+ * The build targets Java 17, so the JDK 21 APIs are looked up reflectively.
+ * Fan-outs go through {@link #open()}, a small structured scope: every forked
+ * task finishes or is cancelled before the scope closes, and the first failure
+ * cancels its siblings.
+ */
+@Service
+public class BlockingIoExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockingIoExecutor.class);
+
+    private final boolean virtual;
+    private final ExecutorService executor;
+
+    public BlockingIoExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+            @Value("${io.executor.threads:64}") int platformThreads) {
+        ExecutorService virtualExecutor = null;
+        if (virtualThreadsEnabled) {
+            ThreadFactory factory = virtualThreadFactory("io-");
+            if (factory != null) {
+                virtualExecutor = newThreadPerTaskExecutor(factory);
+            }
+            if (virtualExecutor == null) {
+                log.warn("⚠️ Virtual threads requested but not available on Java {}, using platform threads",
+                        Runtime.version().feature());
+            }
+        }
+        this.virtual = virtualExecutor != null;
+        this.executor = virtual ? virtualExecutor
+                : Executors.newFixedThreadPool(Math.max(1, platformThreads), platformThreadFactory("io"));
+        log.info("🧵 Blocking I/O on {} threads", virtual ? "virtual" : platformThreads + " platform");
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Thread factory for a bounded stage pool: virtual threads in virtual mode
+     * (the pool size still caps concurrency), daemon platform threads otherwise
+     */
+    public ThreadFactory threadFactory(String name) {
+        ThreadFactory factory = virtual ? virtualThreadFactory(name + "-") : null;
+        return factory != null ? factory : platformThreadFactory(name);
+    }
+
+    /**
+     * Open a fan-out scope; use with try-with-resources
+     */
+    public Scope open() {
+        return new Scope();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // ============================================
+    // Structured fan-out
+    // ============================================
+
+    public final class Scope implements AutoCloseable {
+
+        private final List<CompletableFuture<?>> results = new ArrayList<>();
+        private final List<Future<?>> tasks = new ArrayList<>();
+        private final CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+
+        private Scope() {
+        }
+
+        /**
+         * Start a task; its result is available from the returned future after {@link #join}
+         */
+        public <T> CompletableFuture<T> fork(Callable<T> task) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    firstFailure.completeExceptionally(error);
+                }
+            });
+            results.add(result);
+            tasks.add(executor.submit(() -> {
+                try {
+                    result.complete(task.call());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            }));
+            return result;
+        }
+
+        /**
+         * Wait until every task has succeeded, or fail with the first task's
+         * exception (or a TimeoutException) after cancelling the rest
+         */
+        public void join(Duration timeout) throws InterruptedException, ExecutionException, TimeoutException {
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                    .whenComplete((ignored, error) -> firstFailure.complete(null));
+            try {
+                firstFailure.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                cancelAll();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            for (Future<?> task : tasks) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    // ============================================
+    // Thread factories
+    // ============================================
+
+    private static ThreadFactory platformThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread t = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // Thread.ofVirtual().name(prefix, 0).factory(), or null before JDK 21
+    private static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Executors.newThreadPerTaskExecutor(factory), or null before JDK 21
+    private static ExecutorService newThreadPerTaskExecutor(ThreadFactory factory) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -1,61 +1,342 @@
 package com.jdres.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jdres.model.QuantizedVector;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Embedding Service
+ * OpenAI embeddings as primitive float vectors.
+ *
+ * - Many inputs per HTTP request (up to embedding.batch-size) over one pooled WebClient
+ * - Long texts are split into chunks that are embedded separately and mean-pooled
+ *   (weighted by chunk length) instead of being truncated
+ * - Chunk vectors are cached by content hash, so re-embedding the same resume or a
+ *   repeated JD costs nothing. Entries are int8-quantized like stored resume
+ *   embeddings (~1.6 KB instead of ~6 KB per 1536-dim chunk)
+ *
+ * Failures return an empty vector for the affected texts, never throw.
+ */
 @Service
 public class EmbeddingService {
 
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingService.class);
+
+    private static final float[] EMPTY = new float[0];
+    private static final int MAX_RETRIES = 3;
+
     @Value("${openai.api-key}")
     private String apiKey;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final TokenUsageTracker tokenUsageTracker;
+    private final MeterRegistry meterRegistry;
+    private final WebClient openaiWebClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String model;
+    private final int batchSize;
+    private final int chunkChars;
+    private final int maxChunks;
+
+    // content hash of (model, chunk) -> quantized vector; access-ordered LRU
+    private final Map<String, QuantizedVector> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+
+    public EmbeddingService(TokenUsageTracker tokenUsageTracker, MeterRegistry meterRegistry,
+            @Value("${embedding.model:text-embedding-3-small}") String model,
+            @Value("${embedding.batch-size:64}") int batchSize,
+            @Value("${embedding.chunk-chars:6000}") int chunkChars,
+            @Value("${embedding.max-chunks:8}") int maxChunks,
+            @Value("${embedding.cache-size:20000}") int cacheSize,
+            @Value("${openai.base-url:https://api.openai.com/v1}") String openaiBaseUrl) {
+        this.tokenUsageTracker = tokenUsageTracker;
+        this.meterRegistry = meterRegistry;
+        this.model = model;
+        this.batchSize = Math.max(1, batchSize);
+        this.chunkChars = Math.max(500, chunkChars);
+        this.maxChunks = Math.max(1, maxChunks);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QuantizedVector> eldest) {
+                return size() > cacheSize;
+            }
+        });
+
+        this.openaiWebClient = WebClient.builder()
+                .baseUrl(openaiBaseUrl)
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(32 * 1024 * 1024))
+                .build();
+    }
 
-    public List<Double> getEmbedding(String text) {
-        if (text == null || text.isEmpty())
-            return Collections.emptyList();
+    /**
+     * Embed one text (empty vector if blank or on error)
+     */
+    public float[] embed(String text) {
+        return embedAll(List.of(text != null ? text : "")).get(0);
+    }
+
+    /**
+     * Embed many texts with as few HTTP calls as possible.
+     *
+     * @return one vector per input, in order (empty for blank inputs or on error)
+     */
+    public List<float[]> embedAll(List<String> texts) {
+        // Chunk every text; collect the distinct chunks the cache does not have
+        List<List<String>> chunkKeys = new ArrayList<>(texts.size());
+        List<List<Integer>> chunkWeights = new ArrayList<>(texts.size());
+        Map<String, String> missing = new LinkedHashMap<>(); // key -> chunk text
+        Map<String, float[]> vectors = new HashMap<>();
+
+        for (String text : texts) {
+            List<String> keys = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            for (String chunk : chunk(text)) {
+                String key = hash(chunk);
+                keys.add(key);
+                weights.add(chunk.length());
+                if (vectors.containsKey(key) || missing.containsKey(key)) {
+                    continue;
+                }
+                QuantizedVector cached = cache.get(key);
+                if (cached != null) {
+                    hits.incrementAndGet();
+                    vectors.put(key, cached.toFloats());
+                } else {
+                    misses.incrementAndGet();
+                    missing.put(key, chunk);
+                }
+            }
+            chunkKeys.add(keys);
+            chunkWeights.add(weights);
+        }
 
-        String url = "https://api.openai.com/v1/embeddings";
-        String embeddingModel = "text-embedding-3-small"; // Efficient and cheap
+        // Fetch the misses, batchSize inputs per request
+        List<Map.Entry<String, String>> pending = new ArrayList<>(missing.entrySet());
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Map.Entry<String, String>> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            List<String> inputs = new ArrayList<>(batch.size());
+            for (Map.Entry<String, String> entry : batch) {
+                inputs.add(entry.getValue());
+            }
+            List<float[]> fetched = request(inputs);
+            for (int i = 0; i < batch.size(); i++) {
+                float[] vector = fetched.get(i);
+                if (vector.length > 0) {
+                    vectors.put(batch.get(i).getKey(), vector);
+                    cache.put(batch.get(i).getKey(), QuantizedVector.quantize(vector));
+                }
+            }
+        }
 
-        // drastic truncation to save tokens/quota
-        // 1000 chars is enough for a summary embedding
-        String safeText = text.substring(0, Math.min(text.length(), 1000));
+        List<float[]> results = new ArrayList<>(texts.size());
+        for (int t = 0; t < texts.size(); t++) {
+            results.add(pool(chunkKeys.get(t), chunkWeights.get(t), vectors));
+        }
+        return results;
+    }
 
-        Map<String, Object> body = Map.of(
-                "input", safeText,
-                "model", embeddingModel);
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", cache.size());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("requests", requests.get());
+        return stats;
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(apiKey);
+    // Length-weighted mean of the chunk vectors, L2-normalized; empty if any chunk failed
+    private static float[] pool(List<String> keys, List<Integer> weights, Map<String, float[]> vectors) {
+        if (keys.isEmpty()) {
+            return EMPTY;
+        }
+        if (keys.size() == 1) {
+            float[] only = vectors.get(keys.get(0));
+            return only != null ? only : EMPTY;
+        }
+        float[] sum = null;
+        for (int i = 0; i < keys.size(); i++) {
+            float[] vector = vectors.get(keys.get(i));
+            if (vector == null || (sum != null && vector.length != sum.length)) {
+                return EMPTY;
+            }
+            if (sum == null) {
+                sum = new float[vector.length];
+            }
+            float weight = weights.get(i);
+            for (int d = 0; d < vector.length; d++) {
+                sum[d] += weight * vector[d];
+            }
+        }
+        double norm = 0;
+        for (float x : sum) {
+            norm += x * x;
+        }
+        norm = Math.sqrt(norm);
+        if (norm > 0) {
+            for (int d = 0; d < sum.length; d++) {
+                sum[d] = (float) (sum[d] / norm);
+            }
+        }
+        return sum;
+    }
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
+    // Split at whitespace into chunks of at most chunkChars; text past maxChunks is dropped
+    private List<String> chunk(String text) {
+        List<String> chunks = new ArrayList<>();
+        if (text == null) {
+            return chunks;
+        }
+        String trimmed = text.strip();
+        int start = 0;
+        while (start < trimmed.length() && chunks.size() < maxChunks) {
+            int end = Math.min(trimmed.length(), start + chunkChars);
+            if (end < trimmed.length()) {
+                int space = trimmed.lastIndexOf(' ', end);
+                if (space > start + chunkChars / 2) {
+                    end = space;
+                }
+            }
+            String chunk = trimmed.substring(start, end).strip();
+            if (!chunk.isEmpty()) {
+                chunks.add(chunk);
+            }
+            start = end;
+        }
+        return chunks;
+    }
 
+    private String hash(String chunk) {
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.postForObject(url, entity, Map.class);
-            if (response != null && response.containsKey("data")) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> data = (List<Map<String, Object>>) response.get("data");
-                if (!data.isEmpty()) {
-                    @SuppressWarnings("unchecked")
-                    List<Double> embedding = (List<Double>) data.get(0).get("embedding");
-                    return embedding;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return Base64.getEncoder().encodeToString(digest.digest(chunk.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One /embeddings call for up to batchSize inputs, retried on 429 / 503
+     *
+     * @return one vector per input (all empty on failure)
+     */
+    private List<float[]> request(List<String> inputs) {
+        Map<String, Object> body = Map.of("input", inputs, "model", model);
+
+        for (int attempt = 0; ; attempt++) {
+            requests.incrementAndGet();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String response;
+            try {
+                response = openaiWebClient.post()
+                        .uri("/embeddings")
+                        .header("Authorization", "Bearer " + apiKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(body)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .block();
+            } catch (WebClientResponseException e) {
+                int status = e.getStatusCode().value();
+                sample.stop(requestTimer(status == 429 ? "rate_limited" : "error"));
+                if ((status == 429 || status == 503) && attempt < MAX_RETRIES) {
+                    meterRegistry.counter("jdres.llm.retries", "model", model, "endpoint", "Embeddings",
+                            "status", String.valueOf(status)).increment();
+                    long waitMillis = retryAfterMillis(e, attempt);
+                    log.warn("🚦 OpenAI embeddings {} (attempt {}/{}), retrying in {} ms",
+                            status, attempt + 1, MAX_RETRIES, waitMillis);
+                    try {
+                        Thread.sleep(waitMillis);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return failed(inputs.size());
+                    }
+                    continue;
                 }
+                log.error("❌ Embedding request for {} inputs failed: {}", inputs.size(), e.getMessage());
+                return failed(inputs.size());
+            } catch (Exception e) {
+                sample.stop(requestTimer("error"));
+                log.error("❌ Embedding request for {} inputs failed: {}", inputs.size(), e.getMessage());
+                return failed(inputs.size());
+            }
+            sample.stop(requestTimer("success"));
+
+            try {
+                return parse(response, inputs.size());
+            } catch (Exception e) {
+                log.error("❌ Could not parse embedding response: {}", e.getMessage());
+                return failed(inputs.size());
+            }
+        }
+    }
+
+    // jdres.llm.requests{provider, model, endpoint, outcome}: one HTTP attempt
+    private Timer requestTimer(String outcome) {
+        return meterRegistry.timer("jdres.llm.requests",
+                "provider", "openai", "model", model, "endpoint", "Embeddings", "outcome", outcome);
+    }
+
+    private List<float[]> parse(String response, int count) throws Exception {
+        List<float[]> vectors = failed(count);
+        if (response == null) {
+            return vectors;
+        }
+        JsonNode root = objectMapper.readTree(response);
+        for (JsonNode item : root.path("data")) {
+            int index = item.path("index").asInt(-1);
+            JsonNode values = item.path("embedding");
+            if (index < 0 || index >= count || !values.isArray()) {
+                continue;
+            }
+            float[] vector = new float[values.size()];
+            for (int d = 0; d < vector.length; d++) {
+                vector[d] = values.get(d).floatValue();
+            }
+            vectors.set(index, vector);
+        }
+
+        JsonNode usage = root.path("usage");
+        if (!usage.isMissingNode()) {
+            int promptTokens = usage.path("prompt_tokens").asInt();
+            int totalTokens = usage.path("total_tokens").asInt();
+            log.info("📊 Embedding Token Usage: {} inputs, {} tokens", count, totalTokens);
+            tokenUsageTracker.recordUsage(model, "Embeddings", promptTokens, 0, totalTokens);
+        }
+        return vectors;
+    }
+
+    private static List<float[]> failed(int count) {
+        return new ArrayList<>(Collections.nCopies(count, EMPTY));
+    }
+
+    private static long retryAfterMillis(WebClientResponseException e, int attempt) {
+        String retryAfter = e.getHeaders().getFirst("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Math.max(0, (long) (Double.parseDouble(retryAfter.trim()) * 1000));
+            } catch (NumberFormatException ignored) {
+                // fall through to backoff
             }
-            return Collections.emptyList();
-        } catch (Exception e) {
-            System.err.println("Embedding Error: " + e.getMessage());
-            return Collections.emptyList();
         }
+        return 1000L << attempt;
     }
 }
@@ -0,0 +1,254 @@
+package com.jdres.service;
+
+import com.jdres.model.ExtractionCacheEntry;
+import com.jdres.repository.ExtractionCacheRepository;
+import com.jdres.repository.ReactiveExtractionCacheRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Extraction Cache Service
+ * Content-addressed cache for LLM extraction results.
+ *
+ * Key = SHA-256(normalized text) + prompt/schema version + model name.
+ * A bounded in-memory LRU tier sits in front of the "extraction_cache"
+ * Mongo collection, so re-uploads of the same resume skip the LLM call.
+ */
+@Service
+public class ExtractionCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtractionCacheService.class);
+
+    private final ExtractionCacheRepository extractionCacheRepository;
+    private final ReactiveExtractionCacheRepository reactiveExtractionCacheRepository;
+    private final boolean enabled;
+    private final Map<String, Map<String, Object>> memoryTier;
+
+    private final AtomicLong memoryHits = new AtomicLong(0);
+    private final AtomicLong mongoHits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+
+    public ExtractionCacheService(
+            ExtractionCacheRepository extractionCacheRepository,
+            ReactiveExtractionCacheRepository reactiveExtractionCacheRepository,
+            @Value("${extraction.cache.enabled:true}") boolean enabled,
+            @Value("${extraction.cache.memory-size:1000}") int memorySize) {
+        this.extractionCacheRepository = extractionCacheRepository;
+        this.reactiveExtractionCacheRepository = reactiveExtractionCacheRepository;
+        this.enabled = enabled;
+
+        final int maxEntries = Math.max(1, memorySize);
+        this.memoryTier = Collections.synchronizedMap(
+                new LinkedHashMap<String, Map<String, Object>>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+                        return size() > maxEntries;
+                    }
+                });
+    }
+
+    /**
+     * Look up a cached extraction. Returns a private copy the caller may mutate.
+     */
+    public Optional<Map<String, Object>> get(String text, String promptVersion, String model) {
+        if (!enabled || text == null || text.isBlank()) {
+            return Optional.empty();
+        }
+
+        String key = buildKey(hashText(text), promptVersion, model);
+
+        Map<String, Object> cached = memoryTier.get(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return Optional.of(deepCopy(cached));
+        }
+
+        try {
+            Optional<ExtractionCacheEntry> entry = extractionCacheRepository.findById(key);
+            if (entry.isPresent() && entry.get().getParsedDetails() != null
+                    && !entry.get().getParsedDetails().isEmpty()) {
+                mongoHits.incrementAndGet();
+                Map<String, Object> details = entry.get().getParsedDetails();
+                memoryTier.put(key, deepCopy(details));
+                return Optional.of(deepCopy(details));
+            }
+        } catch (Exception e) {
+            log.warn("Extraction cache lookup failed: {}", e.getMessage());
+        }
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Store a successful extraction. Failures are logged and never propagate.
+     */
+    public void put(String text, String promptVersion, String model, Map<String, Object> parsedDetails) {
+        if (!enabled || text == null || text.isBlank() || parsedDetails == null || parsedDetails.isEmpty()) {
+            return;
+        }
+
+        String textHash = hashText(text);
+        String key = buildKey(textHash, promptVersion, model);
+        memoryTier.put(key, deepCopy(parsedDetails));
+
+        try {
+            extractionCacheRepository.save(newEntry(key, textHash, promptVersion, model, parsedDetails));
+        } catch (Exception e) {
+            log.warn("Extraction cache write failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Non-blocking {@link #get}: memory tier, then the reactive Mongo repository.
+     * Empty on a miss or a lookup failure.
+     */
+    public Mono<Map<String, Object>> getAsync(String text, String promptVersion, String model) {
+        if (!enabled || text == null || text.isBlank()) {
+            return Mono.empty();
+        }
+
+        String key = buildKey(hashText(text), promptVersion, model);
+
+        Map<String, Object> cached = memoryTier.get(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return Mono.just(deepCopy(cached));
+        }
+
+        return reactiveExtractionCacheRepository.findById(key)
+                .filter(entry -> entry.getParsedDetails() != null && !entry.getParsedDetails().isEmpty())
+                .map(entry -> {
+                    mongoHits.incrementAndGet();
+                    memoryTier.put(key, deepCopy(entry.getParsedDetails()));
+                    return deepCopy(entry.getParsedDetails());
+                })
+                .onErrorResume(e -> {
+                    log.warn("Extraction cache lookup failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.fromRunnable(misses::incrementAndGet));
+    }
+
+    /**
+     * Non-blocking {@link #put}. Completes empty; failures are logged and never propagate.
+     */
+    public Mono<Void> putAsync(String text, String promptVersion, String model, Map<String, Object> parsedDetails) {
+        if (!enabled || text == null || text.isBlank() || parsedDetails == null || parsedDetails.isEmpty()) {
+            return Mono.empty();
+        }
+
+        String textHash = hashText(text);
+        String key = buildKey(textHash, promptVersion, model);
+        memoryTier.put(key, deepCopy(parsedDetails));
+
+        return reactiveExtractionCacheRepository.save(newEntry(key, textHash, promptVersion, model, parsedDetails))
+                .onErrorResume(e -> {
+                    log.warn("Extraction cache write failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Get cache hit/miss statistics
+     */
+    public Map<String, Object> getStats() {
+        long hits = memoryHits.get() + mongoHits.get();
+        long total = hits + misses.get();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("memoryEntries", memoryTier.size());
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("mongoHits", mongoHits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRate", total > 0 ? Math.round(hits * 1000.0 / total) / 10.0 : 0.0);
+        return stats;
+    }
+
+    // ============================================
+    // Helper Methods
+    // ============================================
+
+    /**
+     * Collapse whitespace so re-extracted text with different line wrapping
+     * still addresses the same entry. Case is kept (names, acronyms).
+     */
+    static String normalizeText(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    static String hashText(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(normalizeText(text).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String buildKey(String textHash, String promptVersion, String model) {
+        return textHash + ":" + promptVersion + ":" + model;
+    }
+
+    private static ExtractionCacheEntry newEntry(String key, String textHash, String promptVersion, String model,
+            Map<String, Object> parsedDetails) {
+        ExtractionCacheEntry entry = new ExtractionCacheEntry();
+        entry.setId(key);
+        entry.setTextHash(textHash);
+        entry.setPromptVersion(promptVersion);
+        entry.setModel(model);
+        entry.setParsedDetails(parsedDetails);
+        entry.setCreatedAt(LocalDateTime.now());
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object deepCopyValue(Object value) {
+        if (value instanceof Map) {
+            return deepCopy((Map<String, Object>) value);
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            for (Object item : (List<?>) value) {
+                copy.add(deepCopyValue(item));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private static Map<String, Object> deepCopy(Map<String, Object> source) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            copy.put(entry.getKey(), deepCopyValue(entry.getValue()));
+        }
+        return copy;
+    }
+}
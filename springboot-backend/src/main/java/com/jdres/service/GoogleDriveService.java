@@ -15,9 +15,9 @@ import com.google.api.services.drive.model.File;
 import com.google.api.services.drive.model.FileList;
 import com.jdres.model.Resume;
 import com.jdres.repository.ResumeRepository;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -55,6 +55,24 @@ public class GoogleDriveService {
     @Autowired
     private com.jdres.service.MatchingService matchingService;
 
+    @Autowired
+    private ParsedDocumentService parsedDocumentService;
+
+    @Autowired
+    private TalentSearchService talentSearchService;
+
+    @Autowired
+    private ResumeVectorService resumeVectorService;
+
+    @Autowired
+    private TextSimilarityService textSimilarityService;
+
+    @Autowired
+    private TextExtractorService textExtractorService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Drive driveService;
 
     public GoogleDriveService() {
@@ -129,10 +147,14 @@ public class GoogleDriveService {
 
             // Download and Extract
             try {
-                // 1. Download Content
+                // 1. Download Content (jdres.drive.download latency, .bytes size => throughput)
+                Timer.Sample download = Timer.start(meterRegistry);
                 ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
                 service.files().get(f.getId()).executeMediaAndDownloadTo(outputStream);
                 byte[] content = outputStream.toByteArray();
+                download.stop(meterRegistry.timer("jdres.drive.download"));
+                DistributionSummary.builder("jdres.drive.download.bytes").baseUnit("bytes")
+                        .register(meterRegistry).record(content.length);
 
                 // 2. Upload to S3
                 // Uploading with fileId creates unique path in bucket
@@ -140,14 +162,10 @@ public class GoogleDriveService {
                 String s3Url = s3Service.uploadBytes(s3Key, content, "application/pdf");
 
                 // 3. Extract Text (Using PDFBox from memory)
-                String text = "";
-                try (PDDocument document = Loader.loadPDF(content)) {
-                    PDFTextStripper stripper = new PDFTextStripper();
-                    text = stripper.getText(document);
-                }
+                String text = textExtractorService.extractText(content, f.getId() + ".pdf");
 
                 // 4. Skip Embedding Generation (Using Skill-Based Matching!)
-                List<Double> vector = Collections.emptyList();
+                // ResumeVectorService embeds on first ranking request
 
                 // 5. Extract Structured Details (One-time, Persistent)
                 Map<String, Object> parsedDetails = skillExtractorService.extractResumeDetails(text);
@@ -191,10 +209,13 @@ public class GoogleDriveService {
                 // Set New Fields.
                 resume.setS3Key(s3Key);
                 resume.setS3Url(s3Url);
-                resume.setEmbedding(vector);
                 resume.setSkills(skills); // Saved to DB
+                resume.setParsed(parsedDocumentService.parseResume(resume));
 
                 Resume savedResume = resumeRepository.save(resume);
+                talentSearchService.index(savedResume);
+                resumeVectorService.index(savedResume);
+                textSimilarityService.add(savedResume);
                 savedResumes.add(savedResume);
 
                 // Trigger matching against all JDs
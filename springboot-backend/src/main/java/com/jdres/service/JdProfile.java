@@ -0,0 +1,64 @@
+package com.jdres.service;
+
+import com.jdres.model.SparseVector;
+import com.jdres.service.RecruitmentIntelligenceService.JDExtractionResult;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Compiled, immutable JD-side matching data.
+ *
+ * Built once per JD version by {@link JdProfileService} and shared by every
+ * resume scored against that JD, so lowercasing, domain extraction and the
+ * recruitment-intelligence text scans are not repeated per resume.
+ */
+public final class JdProfile {
+
+    public final String jdId;
+    public final LocalDateTime version;
+    public final String title;
+
+    // Skill-based matching (original casing kept for display lists)
+    public final List<String> requiredSkills;
+    public final int[] requiredSkillIds; // SkillDictionary ids, parallel to requiredSkills
+    public final BitSet requiredSkillBits;
+    public final List<String> preferredSkills;
+    public final int[] preferredSkillIds; // SkillDictionary ids, parallel to preferredSkills
+    public final List<String> suggestedKeywords;
+    public final KeywordScanner suggestedKeywordScanner; // patterns parallel to suggestedKeywords
+    public final Set<String> domainsLower; // parsedDetails.domain
+    public final int minExperience;
+    public final SparseVector textVector; // hashed TF of title + text, for TextSimilarityService
+
+    // Arrays and bitsets above must not be modified by callers
+
+    // Recruitment intelligence (read-only lists)
+    public final JDExtractionResult jdData;
+
+    JdProfile(String jdId, LocalDateTime version, String title,
+            List<String> requiredSkills, int[] requiredSkillIds,
+            List<String> preferredSkills, int[] preferredSkillIds,
+            List<String> suggestedKeywords,
+            Set<String> domainsLower, int minExperience, SparseVector textVector, JDExtractionResult jdData) {
+        this.jdId = jdId;
+        this.version = version;
+        this.title = title;
+        this.requiredSkills = Collections.unmodifiableList(new ArrayList<>(requiredSkills));
+        this.requiredSkillIds = requiredSkillIds.clone();
+        this.requiredSkillBits = new BitSet();
+        for (int id : requiredSkillIds) {
+            if (id != SkillDictionary.UNKNOWN) {
+                this.requiredSkillBits.set(id);
+            }
+        }
+        this.preferredSkills = Collections.unmodifiableList(new ArrayList<>(preferredSkills));
+        this.preferredSkillIds = preferredSkillIds.clone();
+        this.suggestedKeywords = Collections.unmodifiableList(new ArrayList<>(suggestedKeywords));
+        this.suggestedKeywordScanner = new KeywordScanner(suggestedKeywords);
+        this.domainsLower = Collections.unmodifiableSet(new HashSet<>(domainsLower));
+        this.minExperience = minExperience;
+        this.textVector = textVector;
+        this.jdData = jdData;
+    }
+}
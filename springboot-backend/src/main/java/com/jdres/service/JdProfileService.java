@@ -0,0 +1,161 @@
+package com.jdres.service;
+
+import com.jdres.model.JobDescription;
+import com.jdres.model.ParsedJd;
+import com.jdres.repository.JobDescriptionRepository;
+import com.jdres.service.RecruitmentIntelligenceService.JDExtractionResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * JD Profile Service
+ * Compiles a {@link JdProfile} once per JD version and caches it by
+ * jdId + updatedAt (falls back to createdAt for JDs saved before updatedAt existed).
+ * Also keeps each recruiter's full set of compiled profiles in memory for
+ * resume-side (reverse) matching.
+ */
+@Service
+public class JdProfileService {
+
+    private static final Logger log = LoggerFactory.getLogger(JdProfileService.class);
+
+    @Autowired
+    private RecruitmentIntelligenceService recruitmentIntelligenceService;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Autowired
+    private ParsedDocumentService parsedDocumentService;
+
+    @Autowired
+    private JobDescriptionRepository jobDescriptionRepository;
+
+    private final Map<String, JdProfile> profiles;
+
+    // recruiterId -> all of that recruiter's compiled profiles; dropped on any JD
+    // create/update/delete for the recruiter, and re-read after the TTL regardless
+    private final Map<String, RecruiterProfiles> recruiterProfiles;
+    private final long recruiterTtlMillis;
+
+    public JdProfileService(@Value("${jd.profile.cache-size:500}") int cacheSize,
+            @Value("${jd.profile.recruiter-cache-size:200}") int recruiterCacheSize,
+            @Value("${jd.profile.recruiter-ttl-seconds:300}") long recruiterTtlSeconds) {
+        final int maxEntries = Math.max(1, cacheSize);
+        this.profiles = Collections.synchronizedMap(new LinkedHashMap<String, JdProfile>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JdProfile> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        final int maxRecruiters = Math.max(1, recruiterCacheSize);
+        this.recruiterProfiles = Collections.synchronizedMap(
+                new LinkedHashMap<String, RecruiterProfiles>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, RecruiterProfiles> eldest) {
+                        return size() > maxRecruiters;
+                    }
+                });
+        this.recruiterTtlMillis = Math.max(0, recruiterTtlSeconds) * 1000;
+    }
+
+    /**
+     * Get the compiled profile for this JD version, compiling on first use
+     */
+    public JdProfile getProfile(JobDescription jd) {
+        LocalDateTime version = jd.getUpdatedAt() != null ? jd.getUpdatedAt() : jd.getCreatedAt();
+
+        // Unsaved / ad-hoc JDs have no stable identity - compile without caching
+        if (jd.getJdId() == null || version == null) {
+            return compile(jd, version);
+        }
+
+        JdProfile cached = profiles.get(jd.getJdId());
+        if (cached != null && version.equals(cached.version)) {
+            return cached;
+        }
+
+        JdProfile profile = compile(jd, version);
+        profiles.put(jd.getJdId(), profile);
+        log.debug("Compiled JD profile {} (version {})", jd.getJdId(), version);
+        return profile;
+    }
+
+    public void evict(String jdId) {
+        if (jdId != null) {
+            profiles.remove(jdId);
+        }
+    }
+
+    /**
+     * Compiled profiles for every JD owned by this recruiter (read-only list)
+     */
+    public List<JdProfile> getRecruiterProfiles(String recruiterId) {
+        long now = System.currentTimeMillis();
+        RecruiterProfiles cached = recruiterProfiles.get(recruiterId);
+        if (cached != null && now - cached.loadedAt() < recruiterTtlMillis) {
+            return cached.profiles();
+        }
+
+        List<JobDescription> jds = jobDescriptionRepository.findProfileSourcesByRecruiterId(recruiterId);
+        List<JdProfile> compiled = new ArrayList<>(jds.size());
+        for (JobDescription jd : jds) {
+            compiled.add(getProfile(jd));
+        }
+        List<JdProfile> result = Collections.unmodifiableList(compiled);
+        recruiterProfiles.put(recruiterId, new RecruiterProfiles(result, now));
+        log.debug("Loaded {} JD profiles for recruiter {}", result.size(), recruiterId);
+        return result;
+    }
+
+    /**
+     * Drop a recruiter's profile set after one of their JDs is created, edited or deleted
+     */
+    public void evictRecruiter(String recruiterId) {
+        if (recruiterId != null) {
+            recruiterProfiles.remove(recruiterId);
+        }
+    }
+
+    private JdProfile compile(JobDescription jd, LocalDateTime version) {
+        List<String> requiredSkills = jd.getRequiredSkills() != null ? jd.getRequiredSkills() : List.of();
+        List<String> preferredSkills = jd.getPreferredSkills() != null ? jd.getPreferredSkills() : List.of();
+        List<String> suggestedKeywords = jd.getSuggestedKeywords() != null ? jd.getSuggestedKeywords() : List.of();
+
+        ParsedJd parsed = parsedDocumentService.view(jd);
+        Set<String> domainsLower = new HashSet<>(parsed.getDomainsLower());
+
+        JDExtractionResult jdData = freeze(recruitmentIntelligenceService.extractJDData(jd));
+
+        return new JdProfile(jd.getJdId(), version, jd.getTitle(),
+                requiredSkills, skillDictionary.internAll(requiredSkills),
+                preferredSkills, skillDictionary.internAll(preferredSkills),
+                suggestedKeywords,
+                domainsLower, jd.getMinExperience(), parsed.getTextVector(), jdData);
+    }
+
+    /**
+     * The profile is shared across threads and resumes - make its lists read-only
+     */
+    private static JDExtractionResult freeze(JDExtractionResult jdData) {
+        jdData.jdDomains = readOnly(jdData.jdDomains);
+        jdData.mandatorySkills = readOnly(jdData.mandatorySkills);
+        jdData.preferredSkills = readOnly(jdData.preferredSkills);
+        jdData.tools = readOnly(jdData.tools);
+        jdData.methodologies = readOnly(jdData.methodologies);
+        return jdData;
+    }
+
+    private static <T> List<T> readOnly(List<T> values) {
+        return Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    private record RecruiterProfiles(List<JdProfile> profiles, long loadedAt) {
+    }
+}
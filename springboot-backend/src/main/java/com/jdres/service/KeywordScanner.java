@@ -0,0 +1,201 @@
+package com.jdres.service;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick multi-pattern scanner.
+ *
+ * Finds every occurrence of every pattern in one left-to-right pass over the
+ * text (case-insensitive), so scanning for N keywords costs O(text length)
+ * instead of N separate String.contains passes. Immutable and thread-safe
+ * once built; build one per dictionary and reuse it.
+ *
+ * Each occurrence is counted twice: as a plain substring hit (same semantics
+ * as String.contains) and, if it sits on word boundaries (regex \b), as a
+ * whole-word hit.
+ */
+public final class KeywordScanner {
+
+    private static final int ROOT = 0;
+
+    private final List<String> patterns;
+    private final int[] patternLengths;
+
+    // Trie transitions per node: sorted keys with parallel targets
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    // Pattern indices ending at each node, including those reached via failure links
+    private final int[][] outputs;
+
+    public KeywordScanner(Collection<String> patterns) {
+        this.patterns = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            this.patterns.add(pattern != null ? pattern.toLowerCase() : "");
+        }
+        this.patternLengths = new int[this.patterns.size()];
+
+        // 1. Build the trie
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+        for (int p = 0; p < this.patterns.size(); p++) {
+            String pattern = this.patterns.get(p);
+            patternLengths[p] = pattern.length();
+            if (pattern.isEmpty()) {
+                continue; // never matches
+            }
+            int node = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = trie.get(node).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                    trie.get(node).put(c, next);
+                }
+                node = next;
+            }
+            ends.get(node).add(p);
+        }
+
+        int size = trie.size();
+        this.keys = new char[size][];
+        this.targets = new int[size][];
+        for (int node = 0; node < size; node++) {
+            TreeMap<Character, Integer> edges = trie.get(node);
+            keys[node] = new char[edges.size()];
+            targets[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                keys[node][i] = edge.getKey();
+                targets[node][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        // 2. Failure links and merged outputs, breadth-first
+        this.fail = new int[size];
+        this.outputs = new int[size][];
+        outputs[ROOT] = toArray(ends.get(ROOT));
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            List<Integer> merged = new ArrayList<>(ends.get(node));
+            for (int inherited : outputs[fail[node]]) {
+                merged.add(inherited);
+            }
+            outputs[node] = toArray(merged);
+
+            for (int i = 0; i < keys[node].length; i++) {
+                int child = targets[node][i];
+                char c = keys[node][i];
+                int f = fail[node];
+                while (f != ROOT && step(f, c) < 0) {
+                    f = fail[f];
+                }
+                int next = step(f, c);
+                fail[child] = next >= 0 && next != child ? next : ROOT;
+                queue.add(child);
+            }
+        }
+    }
+
+    public int size() {
+        return patterns.size();
+    }
+
+    public String pattern(int index) {
+        return patterns.get(index);
+    }
+
+    /**
+     * Count occurrences of every pattern in one pass
+     */
+    public Matches scan(CharSequence text) {
+        int[] counts = new int[patterns.size()];
+        int[] wordCounts = new int[patterns.size()];
+        if (text == null || patterns.isEmpty()) {
+            return new Matches(counts, wordCounts);
+        }
+
+        int node = ROOT;
+        int length = text.length();
+        for (int pos = 0; pos < length; pos++) {
+            char c = Character.toLowerCase(text.charAt(pos));
+            int next;
+            while ((next = step(node, c)) < 0 && node != ROOT) {
+                node = fail[node];
+            }
+            node = Math.max(next, ROOT);
+
+            for (int p : outputs[node]) {
+                counts[p]++;
+                int start = pos - patternLengths[p] + 1;
+                if (isBoundary(text, start) && isBoundary(text, pos + 1)) {
+                    wordCounts[p]++;
+                }
+            }
+        }
+        return new Matches(counts, wordCounts);
+    }
+
+    private int step(int node, char c) {
+        int i = Arrays.binarySearch(keys[node], c);
+        return i >= 0 ? targets[node][i] : -1;
+    }
+
+    // Same word definition as java.util.regex \b
+    private static boolean isBoundary(CharSequence text, int pos) {
+        boolean before = pos > 0 && isWordChar(text.charAt(pos - 1));
+        boolean after = pos < text.length() && isWordChar(text.charAt(pos));
+        return before != after;
+    }
+
+    private static boolean isWordChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Per-pattern occurrence counts from one scan (indices follow the pattern list)
+     */
+    public static final class Matches {
+        private final int[] counts;
+        private final int[] wordCounts;
+
+        private Matches(int[] counts, int[] wordCounts) {
+            this.counts = counts;
+            this.wordCounts = wordCounts;
+        }
+
+        public int count(int pattern) {
+            return counts[pattern];
+        }
+
+        public int wordCount(int pattern) {
+            return wordCounts[pattern];
+        }
+
+        public boolean found(int pattern) {
+            return counts[pattern] > 0;
+        }
+
+        public boolean foundWord(int pattern) {
+            return wordCounts[pattern] > 0;
+        }
+    }
+}
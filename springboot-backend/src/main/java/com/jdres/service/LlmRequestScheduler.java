@@ -0,0 +1,377 @@
+package com.jdres.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * LLM Request Scheduler
+ * Admits chat-completion calls against the provider's limits instead of
+ * letting them fail with 429:
+ * - Max concurrent in-flight requests
+ * - Requests-per-minute token bucket
+ * - Tokens-per-minute token bucket (charged with a prompt-size estimate,
+ *   reconciled with actual usage when the call completes)
+ * - Global pause when the provider answers 429 with Retry-After
+ *
+ * Callers that cannot be admitted yet wait in line rather than failing
+ * (blocking via acquire, or without a thread via acquireAsync). Both kinds share
+ * one FIFO line for concurrency slots: release() hands a freed slot straight to
+ * the oldest waiter, so nobody polls and nobody cuts ahead.
+ */
+@Service
+public class LlmRequestScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmRequestScheduler.class);
+
+    // Rough OpenAI tokenizer ratio for English text
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final long tokensPerMinute;
+    private final long requestsPerMinute;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition budgetChanged = lock.newCondition();
+
+    // Guarded by lock
+    private int freeSlots;
+    private final Deque<CompletableFuture<Void>> slotWaiters = new ArrayDeque<>();
+    private double availableTokens;
+    private double availableRequests;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+
+    // Stats
+    private final AtomicInteger queued = new AtomicInteger(0);
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final AtomicLong admitted = new AtomicLong(0);
+    private final AtomicLong throttledByProvider = new AtomicLong(0);
+    private final AtomicLong totalWaitMillis = new AtomicLong(0);
+
+    public LlmRequestScheduler(
+            @Value("${llm.scheduler.tokens-per-minute:200000}") long tokensPerMinute,
+            @Value("${llm.scheduler.requests-per-minute:500}") long requestsPerMinute,
+            @Value("${llm.scheduler.max-concurrent:16}") int maxConcurrent,
+            @Value("${llm.scheduler.max-wait-seconds:300}") long maxWaitSeconds) {
+        this.tokensPerMinute = Math.max(1, tokensPerMinute);
+        this.requestsPerMinute = Math.max(1, requestsPerMinute);
+        this.maxWaitNanos = TimeUnit.SECONDS.toNanos(Math.max(1, maxWaitSeconds));
+        this.freeSlots = Math.max(1, maxConcurrent);
+        this.availableTokens = this.tokensPerMinute;
+        this.availableRequests = this.requestsPerMinute;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Estimate tokens a call will consume: prompt size plus the completion budget
+     */
+    public int estimateTokens(String prompt, int maxCompletionTokens) {
+        int promptTokens = prompt != null ? prompt.length() / CHARS_PER_TOKEN + 1 : 0;
+        return promptTokens + Math.max(0, maxCompletionTokens);
+    }
+
+    /**
+     * Block until the call fits in the current budget.
+     *
+     * @return Permit that must be passed to {@link #release(Permit, int)}
+     */
+    public Permit acquire(int estimatedTokens) throws InterruptedException, TimeoutException {
+        long start = System.nanoTime();
+        long deadline = start + maxWaitNanos;
+        queued.incrementAndGet();
+        try {
+            CompletableFuture<Void> slot = requestSlot();
+            try {
+                slot.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                abandonSlot(slot);
+                throw new TimeoutException("LLM scheduler: no free concurrency slot within wait limit");
+            } catch (InterruptedException e) {
+                abandonSlot(slot);
+                throw e;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e); // Slot futures are only ever completed normally
+            }
+
+            // A single call bigger than the whole minute budget is charged the full budget
+            double charge = Math.min(estimatedTokens, tokensPerMinute);
+
+            boolean admittedToBudget = false;
+            lock.lock();
+            try {
+                while (true) {
+                    long waitNanos = takeBudget(charge);
+                    if (waitNanos == 0) {
+                        admittedToBudget = true;
+                        break;
+                    }
+                    if (System.nanoTime() + waitNanos > deadline) {
+                        throw new TimeoutException("LLM scheduler: token/request budget not available within wait limit");
+                    }
+                    budgetChanged.awaitNanos(waitNanos);
+                }
+            } finally {
+                lock.unlock();
+                // After unlock: handing the slot on may resume a reactive waiter on this thread
+                if (!admittedToBudget) {
+                    releaseSlot();
+                }
+            }
+        } finally {
+            queued.decrementAndGet();
+        }
+        return admitted(estimatedTokens, start);
+    }
+
+    /**
+     * Non-blocking {@link #acquire} for reactive callers: never parks a thread.
+     * Joins the same slot line as blocking callers and is resumed by release();
+     * a budget shortfall is waited out on a timer. Errors with TimeoutException
+     * after the wait limit.
+     */
+    public Mono<Permit> acquireAsync(int estimatedTokens) {
+        double charge = Math.min(estimatedTokens, tokensPerMinute);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            long deadline = start + maxWaitNanos;
+            queued.incrementAndGet();
+            return awaitSlot(deadline)
+                    .then(Mono.defer(() -> takeBudgetWhenReady(estimatedTokens, charge, start, deadline)
+                            .doOnError(e -> releaseSlot())
+                            .doOnCancel(this::releaseSlot)))
+                    .doFinally(signal -> queued.decrementAndGet());
+        });
+    }
+
+    private Mono<Void> awaitSlot(long deadline) {
+        return Mono.defer(() -> {
+            CompletableFuture<Void> slot = requestSlot();
+            // suppressCancel: abandonSlot decides whether a late hand-off must be given back
+            return Mono.fromFuture(slot, true)
+                    .timeout(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())))
+                    .onErrorMap(TimeoutException.class,
+                            e -> new TimeoutException("LLM scheduler: no free concurrency slot within wait limit"))
+                    .doOnError(e -> abandonSlot(slot))
+                    .doOnCancel(() -> abandonSlot(slot));
+        });
+    }
+
+    // Holds a slot; returns the permit once the budget allows, re-checking when the shortfall is refilled
+    private Mono<Permit> takeBudgetWhenReady(int estimatedTokens, double charge, long start, long deadline) {
+        return Mono.defer(() -> {
+            long waitNanos;
+            lock.lock();
+            try {
+                waitNanos = takeBudget(charge);
+            } finally {
+                lock.unlock();
+            }
+            if (waitNanos == 0) {
+                return Mono.just(admitted(estimatedTokens, start));
+            }
+            if (System.nanoTime() + waitNanos > deadline) {
+                return Mono.error(new TimeoutException("LLM scheduler: budget not available within wait limit"));
+            }
+            return Mono.delay(Duration.ofNanos(waitNanos))
+                    .then(takeBudgetWhenReady(estimatedTokens, charge, start, deadline));
+        });
+    }
+
+    // A completed future if a slot is free and nobody is ahead in line, else a place in line
+    private CompletableFuture<Void> requestSlot() {
+        lock.lock();
+        try {
+            if (freeSlots > 0 && slotWaiters.isEmpty()) {
+                freeSlots--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            slotWaiters.addLast(waiter);
+            return waiter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Leave the line after a timeout, interrupt or cancel; a slot handed over meanwhile is passed on
+    private void abandonSlot(CompletableFuture<Void> slot) {
+        if (slot.cancel(false)) {
+            lock.lock();
+            try {
+                slotWaiters.remove(slot);
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            releaseSlot();
+        }
+    }
+
+    // Hand the slot to the oldest live waiter, or return it to the pool. Waiters are
+    // completed outside the lock: a reactive waiter continues on this thread
+    private void releaseSlot() {
+        while (true) {
+            CompletableFuture<Void> waiter;
+            lock.lock();
+            try {
+                waiter = slotWaiters.pollFirst();
+                if (waiter == null) {
+                    freeSlots++;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (waiter.complete(null)) {
+                return;
+            }
+            // Abandoned between poll and complete: try the next one
+        }
+    }
+
+    private Permit admitted(int estimatedTokens, long start) {
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        totalWaitMillis.addAndGet(waitedMillis);
+        if (waitedMillis > 1000) {
+            log.info("⏳ LLM call waited {} ms for rate-limit budget (~{} tokens)", waitedMillis, estimatedTokens);
+        }
+        admitted.incrementAndGet();
+        inFlight.incrementAndGet();
+        return new Permit(estimatedTokens);
+    }
+
+    /**
+     * Release a permit and reconcile the estimate with the tokens actually billed.
+     * Pass 0 when the provider rejected the call (nothing was consumed).
+     */
+    public void release(Permit permit, int actualTokens) {
+        if (permit == null || !permit.markReleased()) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        releaseSlot();
+
+        double charged = Math.min(permit.estimatedTokens, tokensPerMinute);
+        double refund = charged - Math.max(0, actualTokens);
+        lock.lock();
+        try {
+            refill();
+            availableTokens = Math.min(tokensPerMinute, availableTokens + refund);
+            budgetChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Provider said 429 - hold every queued call until Retry-After elapses
+     */
+    public void pauseFor(long retryAfterMillis) {
+        throttledByProvider.incrementAndGet();
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, retryAfterMillis));
+        lock.lock();
+        try {
+            if (until > pausedUntilNanos) {
+                pausedUntilNanos = until;
+            }
+            budgetChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        log.warn("🚦 LLM provider throttled us - pausing new calls for {} ms", retryAfterMillis);
+    }
+
+    /**
+     * Get scheduler statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        lock.lock();
+        try {
+            refill();
+            stats.put("availableTokens", Math.round(availableTokens));
+            stats.put("availableRequests", Math.round(availableRequests));
+            stats.put("paused", System.nanoTime() < pausedUntilNanos);
+            stats.put("waitingForSlot", slotWaiters.size());
+        } finally {
+            lock.unlock();
+        }
+        stats.put("tokensPerMinute", tokensPerMinute);
+        stats.put("requestsPerMinute", requestsPerMinute);
+        stats.put("queued", queued.get());
+        stats.put("inFlight", inFlight.get());
+        stats.put("admitted", admitted.get());
+        stats.put("throttledByProvider", throttledByProvider.get());
+        stats.put("totalWaitMillis", totalWaitMillis.get());
+        return stats;
+    }
+
+    // Must hold lock. Takes one request and the charge if both are available now;
+    // otherwise returns how long until they could be
+    private long takeBudget(double charge) {
+        refill();
+        long now = System.nanoTime();
+        if (now < pausedUntilNanos) {
+            return pausedUntilNanos - now;
+        }
+        if (availableRequests < 1) {
+            return nanosUntil(1 - availableRequests, requestsPerMinute);
+        }
+        if (availableTokens < charge) {
+            return nanosUntil(charge - availableTokens, tokensPerMinute);
+        }
+        availableRequests -= 1;
+        availableTokens -= charge;
+        return 0;
+    }
+
+    // Must hold lock
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedMinutes = (now - lastRefillNanos) / 60_000_000_000.0;
+        if (elapsedMinutes <= 0) {
+            return;
+        }
+        availableTokens = Math.min(tokensPerMinute, availableTokens + elapsedMinutes * tokensPerMinute);
+        availableRequests = Math.min(requestsPerMinute, availableRequests + elapsedMinutes * requestsPerMinute);
+        lastRefillNanos = now;
+    }
+
+    private static long nanosUntil(double deficit, long perMinute) {
+        return Math.max(1_000_000L, (long) Math.ceil(deficit / perMinute * 60_000_000_000.0));
+    }
+
+    public static final class Permit {
+        private final int estimatedTokens;
+        private boolean released;
+
+        private Permit(int estimatedTokens) {
+            this.estimatedTokens = estimatedTokens;
+        }
+
+        private synchronized boolean markReleased() {
+            if (released) {
+                return false;
+            }
+            released = true;
+            return true;
+        }
+    }
+}
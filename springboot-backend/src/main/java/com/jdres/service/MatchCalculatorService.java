@@ -5,7 +5,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.regex.Pattern;
 
 /**
  * Match Percentage Calculator
@@ -26,6 +25,17 @@ public class MatchCalculatorService {
             "c++", "cpp",
             "c#", "csharp");
 
+    // Compiled forms for the skill vocabulary seen so far
+    private static final int COMPILED_CACHE_SIZE = 10_000;
+
+    private final Map<String, CompiledSkill> compiledSkills = Collections.synchronizedMap(
+            new LinkedHashMap<String, CompiledSkill>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompiledSkill> eldest) {
+                    return size() > COMPILED_CACHE_SIZE;
+                }
+            });
+
     /**
      * Calculate match percentage between JD and Resume skills
      * 
@@ -62,24 +72,25 @@ public class MatchCalculatorService {
 
         List<String> matchedSkills = new ArrayList<>();
         List<String> missingSkills = new ArrayList<>();
+        List<String> extraSkills = new ArrayList<>();
 
-        // Find matched skills (case-insensitive partial matching)
+        // Single pass: every matching (JD skill, resume skill) pair marks both sides
+        ResumeSkillIndex index = new ResumeSkillIndex(resumeSkills);
+        boolean[] resumeMatched = new boolean[resumeSkills.size()];
         for (String jdSkill : jdSkills) {
-            boolean matched = resumeSkills.stream()
-                    .anyMatch(resumeSkill -> isSkillMatch(jdSkill, resumeSkill));
-
-            if (matched) {
+            if (index.markMatches(compile(jdSkill), resumeMatched)) {
                 matchedSkills.add(jdSkill); // Use JD skill name for consistency
             } else {
                 missingSkills.add(jdSkill);
             }
         }
 
-        // Find extra skills not in JD
-        List<String> extraSkills = resumeSkills.stream()
-                .filter(resumeSkill -> jdSkills.stream()
-                        .noneMatch(jdSkill -> isSkillMatch(jdSkill, resumeSkill)))
-                .toList();
+        // Extra skills: resume skills no JD skill matched
+        for (int i = 0; i < resumeSkills.size(); i++) {
+            if (!resumeMatched[i]) {
+                extraSkills.add(resumeSkills.get(i));
+            }
+        }
 
         // Calculate match percentage
         int matchScore = Math.round((float) matchedSkills.size() / jdSkills.size() * 100);
@@ -109,6 +120,7 @@ public class MatchCalculatorService {
         double matchedWeight = 0;
         List<String> matchedSkills = new ArrayList<>();
         List<Map<String, Object>> missingSkills = new ArrayList<>();
+        ResumeSkillIndex index = new ResumeSkillIndex(resumeSkills);
 
         for (Map<String, Object> skillObj : jdSkillsWithWeights) {
             String skill = (String) skillObj.get("skill");
@@ -116,8 +128,7 @@ public class MatchCalculatorService {
 
             totalWeight += weight;
 
-            boolean isMatched = resumeSkills.stream()
-                    .anyMatch(resumeSkill -> isSkillMatch(skill, resumeSkill));
+            boolean isMatched = index.anyMatch(compile(skill));
 
             if (isMatched) {
                 matchedWeight += weight;
@@ -147,48 +158,191 @@ public class MatchCalculatorService {
      * Check if two skills match (improved fuzzy matching)
      * Matches the logic from matchCalculator.js
      */
-    private boolean isSkillMatch(String skill1, String skill2) {
-        String s1 = skill1.toLowerCase().trim();
-        String s2 = skill2.toLowerCase().trim();
-
-        // Exact match
-        if (s1.equals(s2))
-            return true;
-
-        // Handle common variations
-        String normalized1 = SKILL_VARIATIONS.getOrDefault(s1, s1);
-        String normalized2 = SKILL_VARIATIONS.getOrDefault(s2, s2);
-
-        if (normalized1.equals(normalized2))
+    private static boolean isSkillMatch(CompiledSkill a, CompiledSkill b) {
+        // Exact match, or equal after common variations
+        if (a.lower.equals(b.lower) || a.normalized.equals(b.normalized))
             return true;
 
         // For very short skills (1-2 chars), only allow exact matches or known
         // variations
-        if (s1.length() <= 2 || s2.length() <= 2) {
+        if (a.isShort || b.isShort) {
             return false;
         }
 
         // Word boundary matching for longer skills
         // Only match if one skill is a complete word within the other
-        Pattern pattern1 = createWordBoundaryPattern(s1);
-        Pattern pattern2 = createWordBoundaryPattern(s2);
+        return containsWord(b.lower, a.lower) || containsWord(a.lower, b.lower)
+                || containsWord(b.normalized, a.normalized) || containsWord(a.normalized, b.normalized);
+    }
 
-        if (pattern1.matcher(s2).find() || pattern2.matcher(s1).find()) {
-            return true;
+    private CompiledSkill compile(String skill) {
+        return compiledSkills.computeIfAbsent(skill, CompiledSkill::new);
+    }
+
+    /**
+     * Same result as Pattern.compile("\\b" + Pattern.quote(word) + "\\b").matcher(text).find(),
+     * without building a regex
+     */
+    static boolean containsWord(String text, String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        int from = 0;
+        int at;
+        while ((at = text.indexOf(word, from)) >= 0) {
+            if (isBoundary(text, at) && isBoundary(text, at + word.length())) {
+                return true;
+            }
+            from = at + 1;
+        }
+        return false;
+    }
+
+    private static boolean isBoundary(String text, int pos) {
+        boolean before = pos > 0 && isWordChar(text.charAt(pos - 1));
+        boolean after = pos < text.length() && isWordChar(text.charAt(pos));
+        return before != after;
+    }
+
+    // java.util.regex \b word definition
+    private static boolean isWordChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * Maximal runs of word characters
+     */
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && isWordChar(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
         }
+        return tokens;
+    }
 
-        // Additional check for normalized versions
-        Pattern normalizedPattern1 = createWordBoundaryPattern(normalized1);
-        Pattern normalizedPattern2 = createWordBoundaryPattern(normalized2);
+    // ============================================
+    // Compiled Skills
+    // ============================================
 
-        return normalizedPattern1.matcher(normalized2).find() || normalizedPattern2.matcher(normalized1).find();
+    /**
+     * A skill lowercased, normalized and tokenized once
+     */
+    static final class CompiledSkill {
+        final String lower;
+        final String normalized;
+        final boolean isShort;
+        final Set<String> tokens = new HashSet<>(); // word tokens of both forms
+        final Set<String> anchors = new HashSet<>(); // first token of each form
+        final boolean unanchored; // a form starts with a non-word char (".net")
+
+        CompiledSkill(String skill) {
+            this.lower = skill.toLowerCase().trim();
+            this.normalized = SKILL_VARIATIONS.getOrDefault(lower, lower);
+            this.isShort = lower.length() <= 2;
+
+            boolean noAnchor = false;
+            for (String form : List.of(lower, normalized)) {
+                List<String> formTokens = tokenize(form);
+                tokens.addAll(formTokens);
+                if (!form.isEmpty() && isWordChar(form.charAt(0))) {
+                    anchors.add(formTokens.get(0));
+                } else {
+                    noAnchor = true;
+                }
+            }
+            this.unanchored = noAnchor;
+        }
     }
 
     /**
-     * Create a word boundary regex pattern
+     * Resume skills indexed for word-boundary containment lookups.
+     *
+     * If skill A occurs in B on word boundaries and A starts with a word char,
+     * A's first token is a whole token of B. So candidates for "JD in resume" come
+     * from the token index, and "resume in JD" from the anchor index; candidates are
+     * then verified with {@link #isSkillMatch}.
      */
-    private Pattern createWordBoundaryPattern(String word) {
-        String escaped = Pattern.quote(word);
-        return Pattern.compile("\\b" + escaped + "\\b", Pattern.CASE_INSENSITIVE);
+    private final class ResumeSkillIndex {
+        private final List<CompiledSkill> skills = new ArrayList<>();
+        private final Map<String, List<Integer>> byNormalized = new HashMap<>();
+        private final Map<String, List<Integer>> byToken = new HashMap<>();
+        private final Map<String, List<Integer>> byAnchor = new HashMap<>();
+        private final List<Integer> unanchored = new ArrayList<>();
+        private final List<Integer> longSkills = new ArrayList<>();
+
+        ResumeSkillIndex(List<String> resumeSkills) {
+            for (int i = 0; i < resumeSkills.size(); i++) {
+                CompiledSkill skill = compile(resumeSkills.get(i));
+                skills.add(skill);
+                byNormalized.computeIfAbsent(skill.normalized, k -> new ArrayList<>()).add(i);
+                if (skill.isShort) {
+                    continue;
+                }
+                longSkills.add(i);
+                for (String token : skill.tokens) {
+                    byToken.computeIfAbsent(token, k -> new ArrayList<>()).add(i);
+                }
+                for (String anchor : skill.anchors) {
+                    byAnchor.computeIfAbsent(anchor, k -> new ArrayList<>()).add(i);
+                }
+                if (skill.unanchored) {
+                    unanchored.add(i);
+                }
+            }
+        }
+
+        boolean anyMatch(CompiledSkill jdSkill) {
+            return markMatches(jdSkill, null);
+        }
+
+        /**
+         * Mark every resume skill matching this JD skill (stops at the first match
+         * when resumeMatched is null). Returns whether anything matched.
+         */
+        boolean markMatches(CompiledSkill jdSkill, boolean[] resumeMatched) {
+            boolean matched = false;
+            for (int i : candidates(jdSkill)) {
+                if (resumeMatched != null && resumeMatched[i] && matched) {
+                    continue;
+                }
+                if (isSkillMatch(jdSkill, skills.get(i))) {
+                    matched = true;
+                    if (resumeMatched == null) {
+                        return true;
+                    }
+                    resumeMatched[i] = true;
+                }
+            }
+            return matched;
+        }
+
+        private Set<Integer> candidates(CompiledSkill jdSkill) {
+            Set<Integer> candidates = new LinkedHashSet<>(
+                    byNormalized.getOrDefault(jdSkill.normalized, List.of()));
+            if (jdSkill.isShort) {
+                return candidates;
+            }
+            // JD skill inside a resume skill
+            if (jdSkill.unanchored) {
+                candidates.addAll(longSkills);
+                return candidates;
+            }
+            for (String anchor : jdSkill.anchors) {
+                candidates.addAll(byToken.getOrDefault(anchor, List.of()));
+            }
+            // Resume skill inside the JD skill
+            for (String token : jdSkill.tokens) {
+                candidates.addAll(byAnchor.getOrDefault(token, List.of()));
+            }
+            candidates.addAll(unanchored);
+            return candidates;
+        }
     }
 }
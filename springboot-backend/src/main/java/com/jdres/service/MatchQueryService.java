@@ -0,0 +1,184 @@
+package com.jdres.service;
+
+import com.jdres.model.MatchResult;
+import com.jdres.model.Resume;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Match Query Service
+ * Read-side queries over match_results that join resume data server-side,
+ * instead of one resumeRepository round trip per match.
+ */
+@Service
+public class MatchQueryService {
+
+    // MatchResult fields the listing page renders
+    private static final String[] MATCH_FIELDS = {
+            "jdId", "resumeId", "finalScore", "semanticSimilarity", "skillMatchScore", "experienceScore",
+            "candidateStatus", "experienceStatus", "matchedKeywordsList", "candidateExperience",
+            "hasEmploymentGap", "totalGapMonths"
+    };
+
+    // Resume fields needed for name, skill lists and project relevance (no text / embedding)
+    private static final Document RESUME_PROJECTION = new Document("_id", 0)
+            .append("fileId", 1)
+            .append("name", 1)
+            .append("s3Url", 1)
+            .append("viewLink", 1)
+            .append("skills", 1)
+            .append("recruiterId", 1)
+            .append("parsed.version", 1)
+            .append("parsed.profileName", 1)
+            .append("parsed.altName", 1)
+            .append("parsed.projects.name", 1)
+            .append("parsed.projects.techStack", 1)
+            .append("parsed.projects.techStackLower", 1)
+            // Legacy resumes saved before "parsed" existed are parsed from these on read
+            .append("parsedDetails.candidate_profile.name", 1)
+            .append("parsedDetails.name", 1)
+            .append("parsedDetails.candidate_name", 1)
+            .append("parsedDetails.projects.project_name", 1)
+            .append("parsedDetails.projects.technologies_used", 1);
+
+    private static final String MATCH_COLLECTION = "match_results";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * One page of matches for a JD, best first, keyset-paginated on
+     * (finalScore desc, _id desc) so every page is an index range scan on jd_score_id_idx
+     * no matter how deep the cursor is. Each match is joined with a narrow projection of
+     * its resume; matches whose resume is missing or not owned by recruiterId are dropped
+     * after the limit, so a page can be short while nextCursor is still set.
+     *
+     * @param cursor opaque token from a previous page's nextCursor, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public MatchPage findMatchesForJd(String jdId, String recruiterId, MatchFilter filter, String cursor, int limit) {
+        int pageSize = Math.max(1, limit);
+
+        Criteria criteria = Criteria.where("jdId").is(jdId);
+        if (filter != null) {
+            if (filter.candidateStatus != null && !filter.candidateStatus.isBlank()) {
+                criteria.and("candidateStatus").is(filter.candidateStatus);
+            }
+            if (filter.experienceStatus != null && !filter.experienceStatus.isBlank()) {
+                criteria.and("experienceStatus").is(filter.experienceStatus);
+            }
+            if (filter.minScore != null) {
+                criteria.and("finalScore").gte(filter.minScore);
+            }
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = Cursor.decode(cursor);
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where("finalScore").lt(after.finalScore),
+                    new Criteria().andOperator(
+                            Criteria.where("finalScore").is(after.finalScore),
+                            Criteria.where("_id").lt(after.id))));
+        }
+
+        AggregationOperation lookupResume = context -> new Document("$lookup", new Document()
+                .append("from", "resumes")
+                .append("let", new Document("resumeId", "$resumeId"))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr",
+                                new Document("$eq", List.of("$fileId", "$$resumeId")))),
+                        new Document("$match", new Document("recruiterId", recruiterId)),
+                        new Document("$limit", 1),
+                        new Document("$project", RESUME_PROJECTION)))
+                .append("as", "resume"));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.sort(Sort.by(Sort.Order.desc("finalScore"), Sort.Order.desc("_id"))),
+                Aggregation.limit(pageSize),
+                Aggregation.project(MATCH_FIELDS),
+                lookupResume,
+                // Keep unjoined rows so the cursor can advance past them
+                Aggregation.unwind("resume", true));
+
+        List<Document> rows = mongoTemplate.aggregate(aggregation, MATCH_COLLECTION, Document.class)
+                .getMappedResults();
+
+        List<MatchListing> listings = new ArrayList<>(rows.size());
+        for (Document row : rows) {
+            Document resumeDoc = (Document) row.remove("resume");
+            if (resumeDoc != null) {
+                listings.add(new MatchListing(
+                        mongoTemplate.getConverter().read(MatchResult.class, row),
+                        mongoTemplate.getConverter().read(Resume.class, resumeDoc)));
+            }
+        }
+
+        String nextCursor = null;
+        if (rows.size() == pageSize) {
+            Document last = rows.get(rows.size() - 1);
+            nextCursor = new Cursor(((Number) last.get("finalScore")).doubleValue(), last.get("_id")).encode();
+        }
+        return new MatchPage(listings, nextCursor);
+    }
+
+    // ============================================
+    // Data Classes
+    // ============================================
+
+    /**
+     * A match with the projected subset of its resume (text, embedding and most of
+     * parsedDetails are not loaded)
+     */
+    public record MatchListing(MatchResult match, Resume resume) {
+    }
+
+    /**
+     * Optional server-side filters (null fields are ignored); minScore is a 0-1 finalScore
+     */
+    public static class MatchFilter {
+        public String candidateStatus;
+        public String experienceStatus;
+        public Double minScore;
+    }
+
+    public record MatchPage(List<MatchListing> matches, String nextCursor) {
+    }
+
+    /**
+     * Position after the last row of a page: (finalScore, _id), serialized as an
+     * opaque URL-safe token
+     */
+    private record Cursor(double finalScore, Object id) {
+
+        String encode() {
+            String idPart = id instanceof ObjectId ? "o" + ((ObjectId) id).toHexString() : "s" + id;
+            String raw = Long.toHexString(Double.doubleToLongBits(finalScore)) + ":" + idPart;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int sep = raw.indexOf(':');
+                double score = Double.longBitsToDouble(Long.parseUnsignedLong(raw.substring(0, sep), 16));
+                String idPart = raw.substring(sep + 1);
+                Object id = idPart.charAt(0) == 'o' ? new ObjectId(idPart.substring(1)) : idPart.substring(1);
+                return new Cursor(score, id);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.jdres.service;
+
+import com.jdres.model.MatchResult;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Match Result Indexes
+ * Creates the match_results indexes explicitly at startup. Spring Boot 3 leaves
+ * spring.data.mongodb.auto-index-creation off, so @CompoundIndex annotations on
+ * MatchResult would never reach the database.
+ *
+ * Runs before the web server starts taking requests, so queries never see a
+ * half-migrated collection.
+ *
+ * Older versions inserted a fresh MatchResult on every re-match, so existing
+ * collections may hold several rows per (jdId, resumeId). Those are collapsed to the
+ * newest row once, before the unique jd_resume_uniq index is built.
+ */
+@Service
+public class MatchResultIndexes {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchResultIndexes.class);
+
+    // Keyset pagination: (finalScore, _id) is a total order within a JD
+    private static final String JD_SCORE_ID_IDX = "jd_score_id_idx";
+    private static final String RESUME_SCORE_IDX = "resume_score_idx";
+    // One row per (JD, resume): upsert key for MatchResultWriter
+    private static final String JD_RESUME_UNIQ = "jd_resume_uniq";
+
+    private static final String MATCH_COLLECTION = "match_results";
+    private static final int DELETE_BATCH = 1000;
+
+    // Superseded by jd_score_id_idx (same prefix, no _id tie-breaker)
+    private static final List<String> DROPPED_INDEXES = List.of("jd_score_idx");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(MatchResult.class);
+        Set<String> existing = indexNames(indexOps);
+
+        for (String name : DROPPED_INDEXES) {
+            if (existing.contains(name)) {
+                indexOps.dropIndex(name);
+                log.info("🗑️ Dropped superseded match_results index {}", name);
+            }
+        }
+
+        indexOps.ensureIndex(new Index()
+                .on("jdId", Sort.Direction.ASC)
+                .on("finalScore", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named(JD_SCORE_ID_IDX));
+        indexOps.ensureIndex(new Index()
+                .on("resumeId", Sort.Direction.ASC)
+                .on("finalScore", Sort.Direction.DESC)
+                .named(RESUME_SCORE_IDX));
+
+        if (!existing.contains(JD_RESUME_UNIQ)) {
+            removeDuplicatePairs();
+            try {
+                ensureUniquePairIndex(indexOps);
+            } catch (DuplicateKeyException e) {
+                // Another instance wrote a duplicate between the cleanup and the index build
+                removeDuplicatePairs();
+                ensureUniquePairIndex(indexOps);
+            }
+        }
+    }
+
+    private static void ensureUniquePairIndex(IndexOperations indexOps) {
+        indexOps.ensureIndex(new Index()
+                .on("jdId", Sort.Direction.ASC)
+                .on("resumeId", Sort.Direction.ASC)
+                .unique()
+                .named(JD_RESUME_UNIQ));
+        log.info("🔑 Created unique match_results index {}", JD_RESUME_UNIQ);
+    }
+
+    /**
+     * Keep the newest row (matchedAt, then _id) of every duplicated (jdId, resumeId)
+     * pair and delete the rest. A recruiter decision recorded only on an older copy
+     * is carried over to the survivor.
+     *
+     * @return number of rows deleted
+     */
+    private long removeDuplicatePairs() {
+        List<Document> pipeline = List.of(
+                new Document("$sort", new Document("matchedAt", -1).append("_id", -1)),
+                new Document("$group", new Document("_id",
+                        new Document("jdId", "$jdId").append("resumeId", "$resumeId"))
+                        .append("rows", new Document("$push",
+                                new Document("id", "$_id").append("status", "$candidateStatus")))
+                        .append("count", new Document("$sum", 1))),
+                new Document("$match", new Document("count", new Document("$gt", 1))));
+
+        long deleted = 0;
+        int pairs = 0;
+        List<Object> stale = new ArrayList<>();
+        for (Document group : mongoTemplate.getCollection(MATCH_COLLECTION).aggregate(pipeline).allowDiskUse(true)) {
+            List<Document> rows = group.getList("rows", Document.class);
+            Object keep = rows.get(0).get("id");
+            if (rows.get(0).get("status") == null) {
+                rows.stream().map(row -> row.get("status")).filter(status -> status != null).findFirst()
+                        .ifPresent(status -> mongoTemplate.getCollection(MATCH_COLLECTION).updateOne(
+                                new Document("_id", keep),
+                                new Document("$set", new Document("candidateStatus", status))));
+            }
+            for (int i = 1; i < rows.size(); i++) {
+                stale.add(rows.get(i).get("id"));
+            }
+            pairs++;
+            if (stale.size() >= DELETE_BATCH) {
+                deleted += deleteRows(stale);
+            }
+        }
+        deleted += deleteRows(stale);
+
+        if (pairs > 0) {
+            log.info("🧹 Removed {} duplicate match_results rows across {} (jdId, resumeId) pairs", deleted, pairs);
+        }
+        return deleted;
+    }
+
+    private long deleteRows(List<Object> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long deleted = mongoTemplate.getCollection(MATCH_COLLECTION)
+                .deleteMany(new Document("_id", new Document("$in", ids))).getDeletedCount();
+        ids.clear();
+        return deleted;
+    }
+
+    private static Set<String> indexNames(IndexOperations indexOps) {
+        return indexOps.getIndexInfo().stream().map(IndexInfo::getName).collect(Collectors.toSet());
+    }
+}
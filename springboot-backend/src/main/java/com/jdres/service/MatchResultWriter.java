@@ -0,0 +1,150 @@
+package com.jdres.service;
+
+import com.jdres.model.MatchResult;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Match Result Writer
+ * Bulk upserts of match_results keyed on (jdId, resumeId), backed by the unique
+ * jd_resume_uniq index (created by MatchResultIndexes). Writes go out as unordered
+ * bulk batches, so re-matching a JD with thousands of resumes is a handful of round
+ * trips, and re-matching never creates duplicate rows.
+ */
+@Service
+public class MatchResultWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchResultWriter.class);
+
+    // Recruiter decisions survive re-matching: only written when explicitly provided
+    private static final String CANDIDATE_STATUS = "candidateStatus";
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final int batchSize;
+
+    public MatchResultWriter(@Value("${match.write.batch-size:500}") int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Upsert freshly computed match results. Every scored field is replaced (fields the
+     * new result leaves null are unset); candidateStatus is kept unless the result sets it.
+     *
+     * @return number of results written
+     */
+    public int upsertAll(List<MatchResult> results) {
+        if (results == null || results.isEmpty()) {
+            return 0;
+        }
+        List<MatchUpsert> upserts = new ArrayList<>(results.size());
+        for (MatchResult result : results) {
+            upserts.add(toUpsert(result));
+        }
+        return write(upserts);
+    }
+
+    /**
+     * Upsert partial match documents: only the given fields are set
+     *
+     * @return number of upserts written
+     */
+    public int write(List<MatchUpsert> upserts) {
+        int written = 0;
+        for (int from = 0; from < upserts.size(); from += batchSize) {
+            List<MatchUpsert> batch = upserts.subList(from, Math.min(from + batchSize, upserts.size()));
+            executeBatch(batch);
+            written += batch.size();
+        }
+        if (upserts.size() > batchSize) {
+            log.info("💾 Upserted {} match results in {} bulk batches", written,
+                    (upserts.size() + batchSize - 1) / batchSize);
+        }
+        return written;
+    }
+
+    private void executeBatch(List<MatchUpsert> batch) {
+        try {
+            newBulk(batch).execute();
+        } catch (BulkOperationException | DuplicateKeyException e) {
+            // Two writers inserting the same (jdId, resumeId) concurrently: the loser's
+            // upsert hits the unique index. Upserts are idempotent, so replay once.
+            if (!isDuplicateKey(e)) {
+                throw e;
+            }
+            log.warn("⚠️ Duplicate key during match upsert, retrying batch of {}", batch.size());
+            newBulk(batch).execute();
+        }
+    }
+
+    private BulkOperations newBulk(List<MatchUpsert> batch) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MatchResult.class);
+        for (MatchUpsert upsert : batch) {
+            Query key = new Query(Criteria.where("jdId").is(upsert.jdId()).and("resumeId").is(upsert.resumeId()));
+            Update update = new Update();
+            upsert.set().forEach(update::set);
+            upsert.setOnInsert().forEach(update::setOnInsert);
+            upsert.unset().forEach(update::unset);
+            bulk.upsert(key, update);
+        }
+        return bulk;
+    }
+
+    private MatchUpsert toUpsert(MatchResult result) {
+        Document doc = new Document();
+        mongoTemplate.getConverter().write(result, doc);
+        doc.remove("_id");
+
+        Map<String, Object> set = new LinkedHashMap<>(doc);
+        Set<String> unset = new LinkedHashSet<>();
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(MatchResult.class);
+        for (MongoPersistentProperty property : entity) {
+            String field = property.getFieldName();
+            if (!property.isIdProperty() && !set.containsKey(field) && !CANDIDATE_STATUS.equals(field)) {
+                unset.add(field);
+            }
+        }
+        return new MatchUpsert(result.getJdId(), result.getResumeId(), set, Map.of(), unset);
+    }
+
+    private static boolean isDuplicateKey(RuntimeException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        return ((BulkOperationException) e).getErrors().stream()
+                .allMatch(err -> err.getCode() == DUPLICATE_KEY);
+    }
+
+    // ============================================
+    // Data Classes
+    // ============================================
+
+    /**
+     * One keyed upsert: fields to $set, to $setOnInsert (new rows only) and to $unset
+     */
+    public record MatchUpsert(String jdId, String resumeId, Map<String, Object> set,
+            Map<String, Object> setOnInsert, Set<String> unset) {
+
+        public MatchUpsert(String jdId, String resumeId, Map<String, Object> set, Map<String, Object> setOnInsert) {
+            this(jdId, resumeId, set, setOnInsert, Set.of());
+        }
+    }
+}
@@ -2,27 +2,44 @@ package com.jdres.service;
 
 import com.jdres.model.JobDescription;
 import com.jdres.model.MatchResult;
+import com.jdres.model.ParsedResume;
 import com.jdres.model.Resume;
 import com.jdres.repository.JobDescriptionRepository;
-import com.jdres.repository.MatchResultRepository;
 import com.jdres.repository.ResumeRepository;
 import com.jdres.service.RecruitmentIntelligenceService.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Skill-Based Matching Service (No Embeddings Required!)
  * 
  * Matching Formula:
- * Final Score = (Skill Score × 40%) + (Experience Score × 25%) +
- * (Project Score × 20%) + (Certification Score × 10%) +
- * (Domain Match × 5%) - (Gap Penalty)
+ * Final Score = (Skill Score × 30%) + (Experience Score × 25%) +
+ * (Project Score × 15%) + (Certification Score × 10%) +
+ * (Text Similarity × 10%) + (Domain Match × 5%) + (Keywords × 5%) - (Gap Penalty)
+ *
+ * Text similarity is a local TF-IDF cosine ({@link TextSimilarityService}), not an
+ * embedding call.
  */
 @Service
 public class MatchingService {
@@ -36,18 +53,79 @@ public class MatchingService {
     private JobDescriptionRepository jobDescriptionRepository;
 
     @Autowired
-    private MatchResultRepository matchResultRepository;
+    private MatchResultWriter matchResultWriter;
 
     @Autowired
     private RecruitmentIntelligenceService recruitmentIntelligenceService;
 
+    @Autowired
+    private JdProfileService jdProfileService;
+
+    @Autowired
+    private ParsedDocumentService parsedDocumentService;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Autowired
+    private TextSimilarityService textSimilarityService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Scoring engine: bounded CPU pool for scoring, one writer thread for bulk upserts
+    private final int scoringBatchSize;
+    private final ExecutorService scoringPool;
+    private final ExecutorService writerPool;
+    private final Semaphore inFlightBatches;
+
+    // jdres.match.score: one resume x JD; .jd / .resume / .reverse: whole runs
+    private final Timer scoreTimer;
+    private final Timer jdRunTimer;
+    private final Timer resumeRunTimer;
+    private final Timer reverseTimer;
+
+    public MatchingService(
+            MeterRegistry meterRegistry,
+            @Value("${matching.scoring.threads:0}") int scoringThreads,
+            @Value("${matching.scoring.batch-size:100}") int scoringBatchSize) {
+        int threads = scoringThreads > 0 ? scoringThreads : Runtime.getRuntime().availableProcessors();
+        this.scoringBatchSize = Math.max(1, scoringBatchSize);
+        this.scoringPool = newPool("match-score", threads);
+        this.writerPool = newPool("match-write", 1);
+        this.inFlightBatches = new Semaphore(threads * 2);
+        this.scoreTimer = meterRegistry.timer("jdres.match.score");
+        this.jdRunTimer = meterRegistry.timer("jdres.match.jd");
+        this.resumeRunTimer = meterRegistry.timer("jdres.match.resume");
+        this.reverseTimer = meterRegistry.timer("jdres.match.reverse");
+    }
+
+    private static ExecutorService newPool(String name, int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread t = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scoringPool.shutdown();
+        writerPool.shutdown();
+    }
+
     // Weights for final score calculation (Total = 100%)
-    private static final double WEIGHT_SKILL = 0.35; // 35% - Skills (reduced for keywords)
+    private static final double WEIGHT_SKILL = 0.30; // 30% - Skills (reduced for keywords, text)
     private static final double WEIGHT_EXPERIENCE = 0.25; // 25% - Experience matters
-    private static final double WEIGHT_PROJECTS = 0.20; // 20% - Relevant projects
+    private static final double WEIGHT_PROJECTS = 0.15; // 15% - Relevant projects
     private static final double WEIGHT_CERTIFICATIONS = 0.10; // 10% - Certifications
     private static final double WEIGHT_DOMAIN = 0.05; // 5% - Domain experience
     private static final double WEIGHT_KEYWORDS = 0.05; // 5% - Keywords
+    private static final double WEIGHT_SEMANTIC = 0.10; // 10% - JD/resume text similarity
+
+    // TF-IDF cosine of a JD against a strong resume rarely exceeds this; scale so it scores 1.0
+    private static final double SEMANTIC_SATURATION = 0.5;
 
     /**
      * Match a new JD against all existing resumes
@@ -62,22 +140,75 @@ public class MatchingService {
             return;
         }
 
-        JobDescription jd = jdOpt.get();
-        // ISOLATION: Only fetch resumes uploaded for this specific JD
-        List<Resume> relevantResumes = resumeRepository.findByJdId(jdId);
+        // Compile JD-side data once for the whole batch
+        JdProfile profile = jdProfileService.getProfile(jdOpt.get());
+
+        // ISOLATION: Only stream resumes uploaded for this specific JD (embeddings not needed)
+        Query query = new Query(Criteria.where("jdId").is(jdId)).cursorBatchSize(scoringBatchSize);
+        query.fields().exclude("embedding");
+
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        AtomicInteger scored = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        try (Stream<Resume> resumes = mongoTemplate.stream(query, Resume.class)) {
+            List<Resume> batch = new ArrayList<>(scoringBatchSize);
+            Iterator<Resume> it = resumes.iterator();
+            while (it.hasNext()) {
+                batch.add(it.next());
+                if (batch.size() == scoringBatchSize || !it.hasNext()) {
+                    pending.add(submitBatch(profile, batch, scored, failed));
+                    batch = new ArrayList<>(scoringBatchSize);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Matching JD {} interrupted", jdId);
+        }
 
-        log.info("Matching JD {} against {} resumes (Isolated Skill-Based Matching)", jdId, relevantResumes.size());
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        jdRunTimer.record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+        log.info("Matched JD {} against {} resumes in {} ms ({} failed, Isolated Skill-Based Matching)",
+                jdId, scored.get(), System.currentTimeMillis() - start, failed.get());
+    }
 
-        for (Resume resume : relevantResumes) {
-            MatchResult result = computeSkillBasedMatch(jd, resume);
-            matchResultRepository.save(result);
-        }
+    /**
+     * Score one batch on the scoring pool, then hand it to the writer thread.
+     * Blocks while too many batches are in flight, so the cursor is never drained
+     * faster than results can be written.
+     */
+    private CompletableFuture<Void> submitBatch(JdProfile profile, List<Resume> batch,
+            AtomicInteger scored, AtomicInteger failed) throws InterruptedException {
+        inFlightBatches.acquire();
+        return CompletableFuture.supplyAsync(() -> {
+            List<MatchResult> results = new ArrayList<>(batch.size());
+            for (Resume resume : batch) {
+                results.add(computeSkillBasedMatch(profile, resume));
+            }
+            return results;
+        }, scoringPool).thenAcceptAsync(results -> {
+            matchResultWriter.upsertAll(results);
+            scored.addAndGet(results.size());
+        }, writerPool).handle((ignored, error) -> {
+            inFlightBatches.release();
+            if (error != null) {
+                failed.addAndGet(batch.size());
+                log.error("❌ Scoring batch of {} resumes for JD {} failed: {}",
+                        batch.size(), profile.jdId, error.getMessage());
+            }
+            return null;
+        });
     }
 
     /**
      * Match a new resume against its specific JD (Isolation Enforced)
      */
     public void matchNewResume(String resumeId) {
+        resumeRunTimer.record(() -> matchResume(resumeId));
+    }
+
+    private void matchResume(String resumeId) {
         Optional<Resume> resumeOpt = resumeRepository.findByFileId(resumeId);
         if (resumeOpt.isEmpty()) {
             log.warn("Resume not found: {}", resumeId);
@@ -91,67 +222,147 @@ public class MatchingService {
             Optional<JobDescription> jdOpt = jobDescriptionRepository.findByJdId(resume.getJdId());
             if (jdOpt.isPresent()) {
                 log.info("Matching resume {} against specific JD {} (Isolated)", resumeId, resume.getJdId());
-                MatchResult result = computeSkillBasedMatch(jdOpt.get(), resume);
-                matchResultRepository.save(result);
+                MatchResult result = computeSkillBasedMatch(jdProfileService.getProfile(jdOpt.get()), resume);
+                matchResultWriter.upsertAll(List.of(result));
             } else {
                 log.warn("Resume {} has invalid jdId {}", resumeId, resume.getJdId());
             }
             return;
         }
 
-        // Fallback: If no jdId (legacy), match against all (or log warning)
-        // For now, we keep legacy behavior to not break old uploads, but generally this
-        // shouldn't happen in new flow
-        List<JobDescription> allJDs = jobDescriptionRepository.findAll();
+        // Fallback: If no jdId (legacy), match against the owner's JDs; only resumes
+        // with no recruiter at all still fall back to every JD
+        List<JdProfile> profiles;
+        if (resume.getRecruiterId() != null && !resume.getRecruiterId().isEmpty()) {
+            profiles = jdProfileService.getRecruiterProfiles(resume.getRecruiterId());
+        } else {
+            List<JobDescription> allJDs = jobDescriptionRepository.findAll();
+            profiles = new ArrayList<>(allJDs.size());
+            for (JobDescription jd : allJDs) {
+                profiles.add(jdProfileService.getProfile(jd));
+            }
+        }
+
+        log.info("Matching legacy resume {} against {} JDs", resumeId, profiles.size());
+
+        ParsedResume parsed = parsedDocumentService.view(resume);
+        BitSet candidateReach = candidateReach(resume);
+        List<MatchResult> results = new ArrayList<>(profiles.size());
+        for (JdProfile profile : profiles) {
+            results.add(computeSkillBasedMatch(profile, resume, parsed, candidateReach));
+        }
+        matchResultWriter.upsertAll(results);
+    }
+
+    /**
+     * Reverse match: rank the resume owner's JDs for one resume, best first.
+     * Read-only - nothing is written to match_results.
+     *
+     * Uses the recruiter's in-memory compiled profiles. A JD is skipped without full
+     * scoring only when even perfect experience/project/certification/keyword scores
+     * could not lift it into the current top N, so the result is the same top N that
+     * full scoring would give (zero required-skill coverage still scores on the rest).
+     */
+    public List<RoleMatch> rankJdsForResume(Resume resume, int limit) {
+        if (resume.getRecruiterId() == null || resume.getRecruiterId().isEmpty()) {
+            return List.of();
+        }
+        return reverseTimer.record(() -> rankJds(resume, limit));
+    }
+
+    private List<RoleMatch> rankJds(Resume resume, int limit) {
+        List<JdProfile> profiles = jdProfileService.getRecruiterProfiles(resume.getRecruiterId());
+
+        ParsedResume parsed = parsedDocumentService.view(resume);
+        BitSet candidateReach = candidateReach(resume);
+        TopK<RoleMatch> topK = new TopK<>(limit);
+        int pruned = 0;
 
-        log.info("Matching legacy resume {} against {} JDs", resumeId, allJDs.size());
+        for (JdProfile profile : profiles) {
+            int coveredRequired = 0;
+            for (int id : profile.requiredSkillIds) {
+                if (skillMatches(id, candidateReach)) {
+                    coveredRequired++;
+                }
+            }
+            if (upperBound(profile, parsed, coveredRequired) <= topK.threshold()) {
+                pruned++;
+                continue;
+            }
+            MatchResult result = computeSkillBasedMatch(profile, resume, parsed, candidateReach);
+            topK.offer(result.getFinalScore(), new RoleMatch(profile.jdId, profile.title, result));
+        }
+
+        log.info("Ranked {} JDs for resume {} ({} pruned by score bound)",
+                profiles.size(), resume.getFileId(), pruned);
+        return topK.sorted();
+    }
 
-        for (JobDescription jd : allJDs) {
-            MatchResult result = computeSkillBasedMatch(jd, resume);
-            matchResultRepository.save(result);
+    /**
+     * Best final score this resume could get against the JD given only the exact skill
+     * and domain components (gap penalty ignored, every other component at its maximum)
+     */
+    private static double upperBound(JdProfile jd, ParsedResume parsed, int coveredRequired) {
+        double skillBound = 0.5;
+        if (!jd.requiredSkills.isEmpty()) {
+            skillBound = (double) coveredRequired / jd.requiredSkills.size();
+            if (!jd.preferredSkills.isEmpty()) {
+                skillBound = Math.min(skillBound + 0.20, 1.0);
+            }
         }
+        boolean domainMatch = !jd.domainsLower.isEmpty()
+                && parsed.getDomainsLower().stream().anyMatch(jd.domainsLower::contains);
+        double bound = WEIGHT_SKILL * skillBound
+                + WEIGHT_EXPERIENCE + WEIGHT_PROJECTS + WEIGHT_CERTIFICATIONS + WEIGHT_KEYWORDS + WEIGHT_SEMANTIC
+                + (domainMatch ? WEIGHT_DOMAIN : 0.0);
+        return Math.min(1.0, bound);
+    }
+
+    // Encode candidate skills as dictionary ids; the reach holds every id that
+    // fuzzy-matches one of them, so each JD skill is a single bit test
+    BitSet candidateReach(Resume resume) {
+        List<String> candidateSkills = resume.getSkills() != null ? resume.getSkills() : new ArrayList<>();
+        return skillDictionary.reach(skillDictionary.encode(candidateSkills));
     }
 
     /**
      * Core Skill-Based Matching Logic (No Embeddings!)
      */
-    @SuppressWarnings("unchecked")
-    private MatchResult computeSkillBasedMatch(JobDescription jd, Resume resume) {
+    private MatchResult computeSkillBasedMatch(JdProfile jd, Resume resume) {
+        return computeSkillBasedMatch(jd, resume, parsedDocumentService.view(resume), candidateReach(resume));
+    }
+
+    // Package-private for the JMH benchmarks (src/jmh)
+    MatchResult computeSkillBasedMatch(JdProfile jd, Resume resume, ParsedResume parsed,
+            BitSet candidateReach) {
+        long scoreStart = System.nanoTime();
         MatchResult result = new MatchResult();
-        result.setJdId(jd.getJdId());
+        result.setJdId(jd.jdId);
         result.setResumeId(resume.getFileId());
         result.setMatchedAt(LocalDateTime.now());
 
-        // Extract data
-        List<String> requiredSkills = jd.getRequiredSkills() != null ? jd.getRequiredSkills() : new ArrayList<>();
-        List<String> preferredSkills = jd.getPreferredSkills() != null ? jd.getPreferredSkills() : new ArrayList<>();
-        List<String> candidateSkills = resume.getSkills() != null ? resume.getSkills() : new ArrayList<>();
-        Map<String, Object> parsedDetails = resume.getParsedDetails() != null ? resume.getParsedDetails()
-                : new HashMap<>();
-
-        // Convert to lowercase sets for matching
-        Set<String> requiredSkillsLower = requiredSkills.stream().map(String::toLowerCase).collect(Collectors.toSet());
-        Set<String> candidateSkillsLower = candidateSkills.stream().map(String::toLowerCase)
-                .collect(Collectors.toSet());
+        // Extract data (JD side is precompiled in JdProfile)
+        List<String> requiredSkills = jd.requiredSkills;
+        List<String> preferredSkills = jd.preferredSkills;
 
         // ============================================
-        // 1. SKILL MATCH SCORE (40%)
+        // 1. SKILL MATCH SCORE (30%)
         // ============================================
         List<String> matchedRequiredSkills = new ArrayList<>();
         List<String> missingRequiredSkills = new ArrayList<>();
         List<String> matchedPreferredSkills = new ArrayList<>();
 
-        for (String reqSkill : requiredSkills) {
-            if (skillMatches(reqSkill.toLowerCase(), candidateSkillsLower)) {
-                matchedRequiredSkills.add(reqSkill);
+        for (int i = 0; i < requiredSkills.size(); i++) {
+            if (skillMatches(jd.requiredSkillIds[i], candidateReach)) {
+                matchedRequiredSkills.add(requiredSkills.get(i));
             } else {
-                missingRequiredSkills.add(reqSkill);
+                missingRequiredSkills.add(requiredSkills.get(i));
             }
         }
 
-        for (String prefSkill : preferredSkills) {
-            if (skillMatches(prefSkill.toLowerCase(), candidateSkillsLower)) {
-                matchedPreferredSkills.add(prefSkill);
+        for (int i = 0; i < preferredSkills.size(); i++) {
+            if (skillMatches(jd.preferredSkillIds[i], candidateReach)) {
+                matchedPreferredSkills.add(preferredSkills.get(i));
             }
         }
 
@@ -179,8 +390,8 @@ public class MatchingService {
         // ============================================
         // 2. EXPERIENCE SCORE (25%)
         // ============================================
-        int minExp = jd.getMinExperience();
-        int candidateExp = extractTotalExperience(parsedDetails);
+        int minExp = jd.minExperience;
+        int candidateExp = parsed.getTotalExperienceYears();
 
         double expScore = 0.0;
         String expStatus = "INSUFFICIENT";
@@ -208,28 +419,18 @@ public class MatchingService {
         result.setExperienceStatus(expStatus);
 
         // ============================================
-        // 3. PROJECT RELEVANCE SCORE (20%)
+        // 3. PROJECT RELEVANCE SCORE (15%)
         // ============================================
         List<String> relevantProjectNames = new ArrayList<>();
-        int totalProjects = 0;
-
-        Object projectsObj = parsedDetails.get("projects");
-        if (projectsObj instanceof List) {
-            List<Map<String, Object>> projects = (List<Map<String, Object>>) projectsObj;
-            totalProjects = projects.size();
-
-            for (Map<String, Object> project : projects) {
-                String projectName = project.get("project_name") != null ? project.get("project_name").toString() : "";
-                Object techObj = project.get("technologies_used");
-
-                if (techObj instanceof List) {
-                    List<String> techList = (List<String>) techObj;
-                    boolean hasRelevantTech = techList.stream()
-                            .anyMatch(tech -> skillMatches(tech.toLowerCase(), requiredSkillsLower));
-                    if (hasRelevantTech && !projectName.isEmpty()) {
-                        relevantProjectNames.add(projectName);
-                    }
-                }
+        int totalProjects = parsed.getProjects().size();
+
+        for (ParsedResume.Project project : parsed.getProjects()) {
+            String projectName = project.getName();
+            // Free-text technologies are matched read-only, never interned
+            boolean hasRelevantTech = project.getTechStack().stream()
+                    .anyMatch(tech -> skillDictionary.matchesAny(tech, jd.requiredSkillBits));
+            if (hasRelevantTech && !projectName.isEmpty()) {
+                relevantProjectNames.add(projectName);
             }
         }
 
@@ -251,16 +452,10 @@ public class MatchingService {
         // 4. CERTIFICATIONS SCORE (10%)
         // ============================================
         List<String> relevantCerts = new ArrayList<>();
-        Object certsObj = parsedDetails.get("certifications");
-        if (certsObj instanceof List) {
-            List<String> certifications = (List<String>) certsObj;
-            for (String cert : certifications) {
-                String certLower = cert.toLowerCase();
-                // Check if certification relates to required skills
-                if (requiredSkillsLower.stream()
-                        .anyMatch(skill -> certLower.contains(skill) || skill.contains(certLower))) {
-                    relevantCerts.add(cert);
-                }
+        for (String cert : parsed.getCertifications()) {
+            // Check if certification relates to required skills (same relation, not interned)
+            if (skillDictionary.matchesAny(cert, jd.requiredSkillBits)) {
+                relevantCerts.add(cert);
             }
         }
 
@@ -271,17 +466,8 @@ public class MatchingService {
         // ============================================
         // 5. DOMAIN MATCH SCORE (5%)
         // ============================================
-        boolean domainMatch = false;
-        Object jdDomainObj = jd.getParsedDetails() != null ? jd.getParsedDetails().get("domain") : null;
-        Object resumeDomainObj = parsedDetails.get("domain_experience");
-
-        if (jdDomainObj instanceof List && resumeDomainObj instanceof List) {
-            Set<String> jdDomains = ((List<String>) jdDomainObj).stream()
-                    .map(String::toLowerCase).collect(Collectors.toSet());
-            Set<String> resumeDomains = ((List<String>) resumeDomainObj).stream()
-                    .map(String::toLowerCase).collect(Collectors.toSet());
-            domainMatch = jdDomains.stream().anyMatch(resumeDomains::contains);
-        }
+        boolean domainMatch = !jd.domainsLower.isEmpty()
+                && parsed.getDomainsLower().stream().anyMatch(jd.domainsLower::contains);
 
         double domainScore = domainMatch ? 1.0 : 0.0;
         result.setDomainMatch(domainMatch);
@@ -289,9 +475,8 @@ public class MatchingService {
         // ============================================
         // 6. EMPLOYMENT GAP PENALTY
         // ============================================
-        Map<String, Object> gapsData = extractEmploymentGaps(parsedDetails);
-        boolean hasGap = (Boolean) gapsData.getOrDefault("has_gap", false);
-        int totalGapMonths = ((Number) gapsData.getOrDefault("total_gap_months", 0)).intValue();
+        boolean hasGap = parsed.isHasEmploymentGap();
+        int totalGapMonths = parsed.getTotalGapMonths();
 
         double gapPenalty = 0.0;
         if (hasGap) {
@@ -311,16 +496,16 @@ public class MatchingService {
         // ============================================
         // 7. KEYWORD MATCH SCORE (5%)
         // ============================================
-        List<String> suggestedKeywords = jd.getSuggestedKeywords() != null ? jd.getSuggestedKeywords()
-                : new ArrayList<>();
+        List<String> suggestedKeywords = jd.suggestedKeywords;
         List<String> matchedKeywords = new ArrayList<>();
         double keywordScore = 0.0;
 
         if (!suggestedKeywords.isEmpty()) {
-            String resumeTextLower = resume.getText() != null ? resume.getText().toLowerCase() : "";
-            for (String keyword : suggestedKeywords) {
-                if (resumeTextLower.contains(keyword.toLowerCase())) {
-                    matchedKeywords.add(keyword);
+            // One Aho-Corasick pass over the resume text for all keywords
+            KeywordScanner.Matches hits = jd.suggestedKeywordScanner.scan(resume.getText());
+            for (int i = 0; i < suggestedKeywords.size(); i++) {
+                if (hits.found(i)) {
+                    matchedKeywords.add(suggestedKeywords.get(i));
                 }
             }
             keywordScore = (double) matchedKeywords.size() / suggestedKeywords.size();
@@ -332,20 +517,30 @@ public class MatchingService {
         result.setMatchedKeywordsList(matchedKeywords);
 
         // ============================================
-        // 8. CALCULATE FINAL SCORE
+        // 8. TEXT SIMILARITY SCORE (10%)
+        // ============================================
+        // Local TF-IDF cosine over the hashed term vectors stored at save time
+        double semanticSimilarity = textSimilarityService.similarity(jd.textVector, parsed.getTextVector());
+        double semanticScore = Math.min(1.0, semanticSimilarity / SEMANTIC_SATURATION);
+        result.setSemanticSimilarity(semanticSimilarity);
+
+        // ============================================
+        // 9. CALCULATE FINAL SCORE
         // ============================================
         // Revised Weights:
-        // Skills: 35% (was 40)
+        // Skills: 30% (was 40, then 35)
         // Experience: 25%
-        // Projects: 20%
+        // Projects: 15% (was 20)
         // Certifications: 10%
+        // Text similarity: 10% (New)
         // Domain: 5%
-        // Keywords: 5% (New)
+        // Keywords: 5%
 
         double finalScore = (WEIGHT_SKILL * skillScore) +
                 (WEIGHT_EXPERIENCE * expScore) +
                 (WEIGHT_PROJECTS * projectScore) +
                 (WEIGHT_CERTIFICATIONS * certScore) +
+                (WEIGHT_SEMANTIC * semanticScore) +
                 (WEIGHT_DOMAIN * domainScore) +
                 (WEIGHT_KEYWORDS * keywordScore) -
                 gapPenalty;
@@ -353,20 +548,16 @@ public class MatchingService {
         finalScore = Math.max(0, Math.min(1.0, finalScore)); // Clamp to [0, 1]
         result.setFinalScore(finalScore);
 
-        // Set semantic similarity to 0 since we're not using embeddings
-        result.setSemanticSimilarity(0.0);
-
         // Extract and set candidate name
-        String candidateName = extractCandidateName(parsedDetails, resume.getName());
+        String candidateName = parsed.getProfileName() != null ? parsed.getProfileName() : resume.getName();
         result.setCandidateName(candidateName);
 
         // ============================================
-        // 9. RECRUITMENT INTELLIGENCE SCORING
+        // 10. RECRUITMENT INTELLIGENCE SCORING
         // ============================================
         try {
-            ResumeExtractionResult resumeData = recruitmentIntelligenceService.extractResumeData(resume);
-            JDExtractionResult jdData = recruitmentIntelligenceService.extractJDData(jd);
-            RecruitmentScoreResult recruitmentScore = recruitmentIntelligenceService.computeScore(resumeData, jdData);
+            ResumeExtractionResult resumeData = recruitmentIntelligenceService.extractResumeData(resume, parsed);
+            RecruitmentScoreResult recruitmentScore = recruitmentIntelligenceService.computeScore(resumeData, jd.jdData);
 
             // Set recruitment intelligence fields
             result.setDomainFitScore(recruitmentScore.domainFitScore);
@@ -386,80 +577,34 @@ public class MatchingService {
                     recruitmentScore.deliveryRiskScore, recruitmentScore.rating);
         } catch (Exception e) {
             log.warn("Failed to compute recruitment intelligence score for {} vs {}: {}",
-                    resume.getFileId(), jd.getJdId(), e.getMessage());
+                    resume.getFileId(), jd.jdId, e.getMessage());
         }
 
         log.debug("Match: {} vs {} | Skills: {}/{} | Exp: {} | Score: {:.2f}",
-                resume.getFileId(), jd.getJdId(),
+                resume.getFileId(), jd.jdId,
                 matchedRequiredSkills.size(), requiredSkills.size(),
                 expStatus, finalScore);
 
+        scoreTimer.record(System.nanoTime() - scoreStart, TimeUnit.NANOSECONDS);
         return result;
     }
 
     /**
      * Check if a skill matches any candidate skill (with fuzzy matching)
      */
-    private boolean skillMatches(String skill, Set<String> candidateSkills) {
-        // Direct match
-        if (candidateSkills.contains(skill)) {
-            return true;
-        }
-
-        // Fuzzy matching - check if skill is contained in any candidate skill or vice
-        // versa
-        for (String candidateSkill : candidateSkills) {
-            if (candidateSkill.contains(skill) || skill.contains(candidateSkill)) {
-                return true;
-            }
-            // Handle common variations
-            String skillNormalized = skill.replace(".", "").replace(" ", "").replace("-", "");
-            String candidateNormalized = candidateSkill.replace(".", "").replace(" ", "").replace("-", "");
-            if (skillNormalized.equals(candidateNormalized)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private int extractTotalExperience(Map<String, Object> parsedDetails) {
-        if (parsedDetails == null)
-            return 0;
-
-        Object expObj = parsedDetails.get("total_experience_years");
-        if (expObj instanceof Number) {
-            return ((Number) expObj).intValue();
-        }
-        return 0;
+    private boolean skillMatches(int skillId, BitSet candidateReach) {
+        // Direct and fuzzy matches (containment / punctuation variants) are both
+        // precomputed in SkillDictionary, so this is a single bit test
+        return skillId != SkillDictionary.UNKNOWN && candidateReach.get(skillId);
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> extractEmploymentGaps(Map<String, Object> parsedDetails) {
-        if (parsedDetails == null) {
-            return Map.of("has_gap", false, "total_gap_months", 0);
-        }
-
-        Object gapsObj = parsedDetails.get("employment_gaps");
-        if (gapsObj instanceof Map) {
-            return (Map<String, Object>) gapsObj;
-        }
-
-        return Map.of("has_gap", false, "total_gap_months", 0);
-    }
+    // ============================================
+    // Data Classes
+    // ============================================
 
-    @SuppressWarnings("unchecked")
-    private String extractCandidateName(Map<String, Object> parsedDetails, String defaultName) {
-        if (parsedDetails == null)
-            return defaultName;
-
-        Object profileObj = parsedDetails.get("candidate_profile");
-        if (profileObj instanceof Map) {
-            Map<String, Object> profile = (Map<String, Object>) profileObj;
-            Object nameObj = profile.get("name");
-            if (nameObj != null && !nameObj.toString().trim().isEmpty()) {
-                return nameObj.toString().trim();
-            }
-        }
-        return defaultName;
+    /**
+     * One JD ranked for a resume by {@link #rankJdsForResume}
+     */
+    public record RoleMatch(String jdId, String title, MatchResult match) {
     }
 }
@@ -0,0 +1,362 @@
+package com.jdres.service;
+
+import com.jdres.model.JobDescription;
+import com.jdres.model.ParsedJd;
+import com.jdres.model.ParsedResume;
+import com.jdres.model.Resume;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Parsed Document Service
+ * Turns the LLM's untyped parsedDetails maps into {@link ParsedResume} /
+ * {@link ParsedJd}. Called when a resume or JD is saved so the typed view is
+ * persisted with it. Documents saved before it existed (or under an older
+ * version) are parsed on first read, and the rebuilt view is written back in
+ * batched background updates, so each legacy document is re-parsed once.
+ */
+@Service
+public class ParsedDocumentService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParsedDocumentService.class);
+
+    private static final long WRITE_BACK_INTERVAL_MS = 2000;
+    private static final int WRITE_BACK_BATCH = 500;
+    // Bounds heap during a startup rebuild over legacy documents; views past it are
+    // simply rebuilt again (and queued) on a later read
+    private static final int MAX_PENDING = 5000;
+
+    @Autowired
+    private SkillNormalizationService skillNormalizationService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Rebuilt views waiting to be persisted, keyed by document _id
+    private final Map<String, ParsedResume> staleResumes = new ConcurrentHashMap<>();
+    private final Map<String, ParsedJd> staleJds = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writeBack;
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+
+    public ParsedDocumentService() {
+        this.writeBack = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread t = new Thread(runnable, "parsed-view-write-back");
+            t.setDaemon(true);
+            return t;
+        });
+        writeBack.scheduleWithFixedDelay(this::flush, WRITE_BACK_INTERVAL_MS, WRITE_BACK_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Typed view for scoring: the stored one if current, else built from parsedDetails.
+     * The resume must be a full document (only the embedding may be excluded): a
+     * rebuilt view is set on it and queued for write-back.
+     */
+    public ParsedResume view(Resume resume) {
+        ParsedResume parsed = resume.getParsed();
+        if (parsed != null && parsed.getVersion() == ParsedResume.CURRENT_VERSION) {
+            return parsed;
+        }
+        ParsedResume rebuilt = parseResume(resume);
+        resume.setParsed(rebuilt);
+        queueWriteBack(staleResumes, resume.getId(), rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * Typed view of a narrow projection (e.g. a match listing row). A rebuilt view
+     * is built from partial fields, so it is neither cached on the resume nor persisted.
+     */
+    public ParsedResume projectedView(Resume resume) {
+        ParsedResume parsed = resume.getParsed();
+        return parsed != null && parsed.getVersion() == ParsedResume.CURRENT_VERSION ? parsed : parseResume(resume);
+    }
+
+    public ParsedJd view(JobDescription jd) {
+        ParsedJd parsed = jd.getParsed();
+        if (parsed != null && parsed.getVersion() == ParsedJd.CURRENT_VERSION) {
+            return parsed;
+        }
+        ParsedJd rebuilt = parseJd(jd);
+        jd.setParsed(rebuilt);
+        queueWriteBack(staleJds, jd.getId(), rebuilt);
+        return rebuilt;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeBack.shutdown();
+        flush();
+    }
+
+    // ============================================
+    // Write-back of rebuilt views
+    // ============================================
+
+    private <T> void queueWriteBack(Map<String, T> pending, String id, T view) {
+        if (id == null || pending.size() >= MAX_PENDING || writeBack.isShutdown()) {
+            return;
+        }
+        pending.put(id, view);
+        if (pending.size() >= WRITE_BACK_BATCH && flushQueued.compareAndSet(false, true)) {
+            writeBack.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushQueued.set(false);
+        try {
+            int resumes = flush(staleResumes, Resume.class, ParsedResume.CURRENT_VERSION);
+            int jds = flush(staleJds, JobDescription.class, ParsedJd.CURRENT_VERSION);
+            if (resumes + jds > 0) {
+                log.info("💾 Persisted {} rebuilt resume views and {} JD views", resumes, jds);
+            }
+        } catch (Exception e) {
+            log.error("❌ Parsed view write-back failed: {}", e.getMessage());
+        }
+    }
+
+    private <T> int flush(Map<String, T> pending, Class<?> documentType, int currentVersion) {
+        int written = 0;
+        while (!pending.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, documentType);
+            int batch = 0;
+            Iterator<Map.Entry<String, T>> it = pending.entrySet().iterator();
+            while (it.hasNext() && batch < WRITE_BACK_BATCH) {
+                Map.Entry<String, T> entry = it.next();
+                it.remove();
+                // Only replace views that are still stale: a concurrent save may have stored a fresh one
+                Query stale = new Query(Criteria.where("_id").is(entry.getKey()).orOperator(
+                        Criteria.where("parsed.version").lt(currentVersion),
+                        Criteria.where("parsed.version").exists(false)));
+                bulk.updateOne(stale, new Update().set("parsed", entry.getValue()));
+                batch++;
+            }
+            bulk.execute();
+            written += batch;
+        }
+        return written;
+    }
+
+    /**
+     * Build the typed view from resume.parsedDetails and resume.skills
+     */
+    @SuppressWarnings("unchecked")
+    public ParsedResume parseResume(Resume resume) {
+        Map<String, Object> parsedDetails = resume.getParsedDetails() != null
+                ? resume.getParsedDetails() : Collections.emptyMap();
+
+        // Names
+        String profileName = null;
+        Object profileObj = parsedDetails.get("candidate_profile");
+        if (profileObj instanceof Map) {
+            profileName = trimmedOrNull(((Map<String, Object>) profileObj).get("name"));
+        }
+        Object altNameObj = parsedDetails.get("name");
+        if (altNameObj == null) {
+            altNameObj = parsedDetails.get("candidate_name");
+        }
+
+        // Experience and gaps
+        int totalExperienceYears = intValue(parsedDetails, "total_experience_years");
+        boolean hasGap = false;
+        int gapMonths = 0;
+        Object gapsObj = parsedDetails.get("employment_gaps");
+        if (gapsObj instanceof Map) {
+            Map<String, Object> gaps = (Map<String, Object>) gapsObj;
+            hasGap = Boolean.TRUE.equals(gaps.get("has_gap"));
+            gapMonths = intValue(gaps, "total_gap_months");
+        }
+
+        // Skills (flat array or categorized map) plus the legacy top-level list
+        List<String> allSkills = new ArrayList<>();
+        Object skillsObj = parsedDetails.get("skills");
+        if (skillsObj instanceof List) {
+            allSkills.addAll(stringList(skillsObj));
+        } else if (skillsObj instanceof Map) {
+            for (Object value : ((Map<String, Object>) skillsObj).values()) {
+                allSkills.addAll(stringList(value));
+            }
+        }
+        if (resume.getSkills() != null) {
+            allSkills.addAll(resume.getSkills());
+        }
+
+        // Projects
+        List<ParsedResume.Project> projects = new ArrayList<>();
+        Object projectsObj = parsedDetails.get("projects");
+        if (projectsObj instanceof List) {
+            for (Object project : (List<?>) projectsObj) {
+                if (project instanceof Map) {
+                    projects.add(parseProject((Map<String, Object>) project));
+                }
+            }
+        }
+
+        // Career summary
+        int launches = 0;
+        int largestTeam = 0;
+        double largestBudgetK = 0;
+        boolean enterprise = false;
+        boolean multiYear = false;
+        Object summaryObj = parsedDetails.get("career_summary");
+        if (summaryObj instanceof Map) {
+            Map<String, Object> summary = (Map<String, Object>) summaryObj;
+            launches = intValue(summary, "total_production_launches");
+            largestTeam = intValue(summary, "largest_team_managed");
+            largestBudgetK = doubleValue(summary, "largest_budget_managed");
+            enterprise = Boolean.TRUE.equals(summary.get("enterprise_experience"));
+            multiYear = Boolean.TRUE.equals(summary.get("multi_year_program_experience"));
+        }
+
+        return new ParsedResume(ParsedResume.CURRENT_VERSION, profileName, trimmedOrNull(altNameObj),
+                totalExperienceYears, hasGap, gapMonths,
+                lowerAll(stringList(parsedDetails.get("domain_experience"))),
+                lowerAll(stringList(parsedDetails.get("methodology_experience"))),
+                skillNormalizationService.normalizeSkills(allSkills),
+                stringList(parsedDetails.get("certifications")),
+                projects,
+                launches, largestTeam, largestBudgetK, enterprise, multiYear,
+                TextVectorizer.vectorize(resume.getText()));
+    }
+
+    private static String jdText(JobDescription jd) {
+        if (jd.getTitle() == null) {
+            return jd.getText();
+        }
+        return jd.getText() == null ? jd.getTitle() : jd.getTitle() + "\n" + jd.getText();
+    }
+
+    /**
+     * Build the typed view from jd.parsedDetails
+     */
+    @SuppressWarnings("unchecked")
+    public ParsedJd parseJd(JobDescription jd) {
+        Map<String, Object> parsedDetails = jd.getParsedDetails() != null
+                ? jd.getParsedDetails() : Collections.emptyMap();
+
+        Object jdDomainObj = parsedDetails.get("jd_domains");
+        if (jdDomainObj == null) {
+            jdDomainObj = parsedDetails.get("domain");
+        }
+
+        boolean enterprise = false;
+        boolean multiYear = false;
+        boolean largeBudget = false;
+        Object scaleObj = parsedDetails.get("scale_requirements");
+        if (scaleObj instanceof Map) {
+            Map<String, Object> scale = (Map<String, Object>) scaleObj;
+            enterprise = Boolean.TRUE.equals(scale.get("enterprise_scale")) || Boolean.TRUE.equals(scale.get("enterprise"));
+            multiYear = Boolean.TRUE.equals(scale.get("multi_year_program")) || Boolean.TRUE.equals(scale.get("multi_year"));
+            largeBudget = Boolean.TRUE.equals(scale.get("large_budget_expected"))
+                    || Boolean.TRUE.equals(scale.get("large_budget"));
+        }
+
+        Object styleObj = parsedDetails.get("jd_delivery_style");
+
+        return new ParsedJd(ParsedJd.CURRENT_VERSION,
+                lowerAll(stringList(parsedDetails.get("domain"))),
+                lowerAll(stringList(jdDomainObj)),
+                stringList(parsedDetails.get("mandatory_skills")),
+                stringList(parsedDetails.get("preferred_skills")),
+                stringList(parsedDetails.get("tools_platforms")),
+                stringList(parsedDetails.get("methodologies")),
+                intValue(parsedDetails, "critical_deliveries_required"),
+                intValue(parsedDetails, "risk_areas_expected"),
+                enterprise, multiYear, largeBudget, scaleObj instanceof Map,
+                styleObj instanceof String ? (String) styleObj : null,
+                TextVectorizer.vectorize(jdText(jd)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ParsedResume.Project parseProject(Map<String, Object> project) {
+        List<String> techStack = stringList(project.get("technologies_used"));
+        String role = stringValue(project, "role");
+
+        String deliveryType = stringValue(project, "delivery_type");
+        if (deliveryType.isEmpty()) {
+            // Infer from role
+            String roleLower = role.toLowerCase();
+            if (roleLower.contains("pmo") || roleLower.contains("governance")) {
+                deliveryType = "governance";
+            } else if (roleLower.contains("lead") || roleLower.contains("developer") || roleLower.contains("engineer")) {
+                deliveryType = "hands-on";
+            } else {
+                deliveryType = "hybrid";
+            }
+        }
+
+        return new ParsedResume.Project(
+                stringValue(project, "project_name"),
+                stringValue(project, "domain"),
+                role,
+                techStack,
+                lowerAll(techStack),
+                intValue(project, "team_size"),
+                doubleValue(project, "budget_managed"),
+                intValue(project, "duration_months"),
+                Boolean.TRUE.equals(project.get("production_launch")),
+                stringList(project.get("risk_events_handled")),
+                deliveryType);
+    }
+
+    private static List<String> stringList(Object value) {
+        if (!(value instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+            if (item != null) {
+                result.add(item.toString());
+            }
+        }
+        return result;
+    }
+
+    private static List<String> lowerAll(List<String> values) {
+        List<String> lowered = new ArrayList<>(values.size());
+        for (String value : values) {
+            lowered.add(value.toLowerCase());
+        }
+        return lowered;
+    }
+
+    private static String trimmedOrNull(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.toString().trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static String stringValue(Map<String, Object> map, String key) {
+        Object val = map.get(key);
+        return val != null ? val.toString() : "";
+    }
+
+    private static int intValue(Map<String, Object> map, String key) {
+        Object val = map.get(key);
+        return val instanceof Number ? ((Number) val).intValue() : 0;
+    }
+
+    private static double doubleValue(Map<String, Object> map, String key) {
+        Object val = map.get(key);
+        return val instanceof Number ? ((Number) val).doubleValue() : 0.0;
+    }
+}
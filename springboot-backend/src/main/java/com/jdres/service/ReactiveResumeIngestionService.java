@@ -0,0 +1,272 @@
+package com.jdres.service;
+
+import com.jdres.model.Resume;
+import com.jdres.repository.ReactiveResumeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reactive Resume Ingestion Pipeline
+ *
+ * Same stages as {@link ResumeIngestionService}:
+ * parse -> (S3 upload || LLM extract) -> save -> match
+ * but S3 (async client), OpenAI/Gemini (WebClient) and Mongo (reactive driver)
+ * never park a thread while waiting. Each stage is capped by its own flatMap
+ * concurrency rather than by a pool size.
+ *
+ * - Parse, build and in-memory indexing are CPU work and run on Schedulers.parallel(),
+ *   never on the Netty / driver threads that deliver I/O results
+ * - Match is still the blocking MatchingService and runs on a small bounded
+ *   scheduler, so it cannot stall the event loop
+ */
+@Service
+public class ReactiveResumeIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveResumeIngestionService.class);
+
+    @Autowired
+    private TextExtractorService textExtractorService;
+
+    @Autowired
+    private S3Service s3Service;
+
+    @Autowired
+    private SkillExtractorService skillExtractorService;
+
+    @Autowired
+    private ReactiveResumeRepository reactiveResumeRepository;
+
+    @Autowired
+    private ResumeIngestionService resumeIngestionService;
+
+    @Autowired
+    private ParsedDocumentService parsedDocumentService;
+
+    @Autowired
+    private SkillNormalizationService skillNormalizationService;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private TalentSearchService talentSearchService;
+
+    @Autowired
+    private ResumeVectorService resumeVectorService;
+
+    @Autowired
+    private TextSimilarityService textSimilarityService;
+
+    private final int parseConcurrency;
+    private final int uploadConcurrency;
+    private final int extractConcurrency;
+    private final int saveConcurrency;
+    private final int matchConcurrency;
+    private final Scheduler matchScheduler;
+
+    public ReactiveResumeIngestionService(
+            @Value("${ingestion.reactive.parse-concurrency:0}") int parseConcurrency,
+            @Value("${ingestion.reactive.upload-concurrency:64}") int uploadConcurrency,
+            @Value("${ingestion.reactive.extract-concurrency:64}") int extractConcurrency,
+            @Value("${ingestion.reactive.save-concurrency:32}") int saveConcurrency,
+            @Value("${ingestion.reactive.match-concurrency:4}") int matchConcurrency) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        this.parseConcurrency = parseConcurrency > 0 ? parseConcurrency : cores;
+        this.uploadConcurrency = Math.max(1, uploadConcurrency);
+        this.extractConcurrency = Math.max(1, extractConcurrency);
+        this.saveConcurrency = Math.max(1, saveConcurrency);
+        this.matchConcurrency = Math.max(1, matchConcurrency);
+        this.matchScheduler = Schedulers.newBoundedElastic(this.matchConcurrency, Integer.MAX_VALUE,
+                "ingest-match-rx", 60, true);
+    }
+
+    /**
+     * Ingest one file; completes with the saved and matched resume
+     */
+    public Mono<Resume> ingest(ResumeIngestionService.IngestionFile file, String jdId, String userId,
+            String source) {
+        return parse(file)
+                .flatMap(doc -> Mono.zip(upload(doc), extract(doc))
+                        .publishOn(Schedulers.parallel())
+                        .map(t -> build(doc, t.getT1(), t.getT2(), jdId, userId, source)))
+                .flatMap(this::save)
+                .flatMap(this::match);
+    }
+
+    /**
+     * Ingest many files, one result per file in completion order. A failed file
+     * yields a FAILED result instead of terminating the stream.
+     */
+    public Flux<IngestionResult> ingestAll(Flux<ResumeIngestionService.IngestionFile> files, String jdId,
+            String userId) {
+        return files
+                .flatMap(file -> parse(file)
+                        .onErrorResume(e -> Mono.just(ParsedFile.failed(file, e))), parseConcurrency)
+                // Upload and extract run side by side per file, so the tighter limit caps the stage
+                .flatMap(doc -> doc.error != null ? Mono.just(doc)
+                        : Mono.zip(upload(doc), extract(doc))
+                                .publishOn(Schedulers.parallel())
+                                .map(t -> doc.withResume(build(doc, t.getT1(), t.getT2(), jdId, userId, "bulk_upload")))
+                                .onErrorResume(e -> Mono.just(doc.withError(e))),
+                        Math.min(uploadConcurrency, extractConcurrency))
+                .flatMap(doc -> doc.error != null ? Mono.just(doc)
+                        : save(doc.resume)
+                                .map(doc::withResume)
+                                .onErrorResume(e -> Mono.just(doc.withError(e))), saveConcurrency)
+                .flatMap(doc -> doc.error != null ? Mono.just(IngestionResult.failed(doc.file, doc.error))
+                        : match(doc.resume)
+                                .map(IngestionResult::done)
+                                .onErrorResume(e -> Mono.just(IngestionResult.failed(doc.file, e))),
+                        matchConcurrency)
+                .doOnNext(result -> {
+                    if (result.error != null) {
+                        log.error("❌ Reactive ingestion of {} failed: {}", result.fileName, result.error);
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        matchScheduler.dispose();
+    }
+
+    // ============================================
+    // Stages
+    // ============================================
+
+    private Mono<ParsedFile> parse(ResumeIngestionService.IngestionFile file) {
+        return Mono.fromCallable(() -> {
+            try {
+                return new ParsedFile(file, UUID.randomUUID().toString(),
+                        textExtractorService.extractText(file.content(), file.fileName()), null, null);
+            } catch (Exception e) {
+                throw new IllegalStateException("Text extraction failed: " + e.getMessage(), e);
+            }
+        }).subscribeOn(Schedulers.parallel());
+    }
+
+    private Mono<String> upload(ParsedFile doc) {
+        return s3Service.uploadBytesAsync(doc.s3Key(), doc.file.content(), doc.file.contentType());
+    }
+
+    private Mono<Map<String, Object>> extract(ParsedFile doc) {
+        return skillExtractorService.extractResumeDetailsAsync(doc.text);
+    }
+
+    private Resume build(ParsedFile doc, String s3Url, Map<String, Object> details, String jdId,
+            String userId, String source) {
+        Resume resume = resumeIngestionService.buildResume(doc.fileId, doc.file.fileName(), doc.text,
+                doc.s3Key(), s3Url, details, jdId, userId, source);
+        // LLM found no skills: dictionary keyword scan (asking the LLM again would block this thread)
+        if (resume.getSkills() == null || resume.getSkills().isEmpty()) {
+            resume.setSkills(skillNormalizationService.findSkillsInText(doc.text));
+            resume.setParsed(parsedDocumentService.parseResume(resume));
+        }
+        return resume;
+    }
+
+    private Mono<Resume> save(Resume resume) {
+        return reactiveResumeRepository.save(resume)
+                .publishOn(Schedulers.parallel())
+                .doOnNext(stored -> {
+                    talentSearchService.index(stored);
+                    resumeVectorService.index(stored);
+                    textSimilarityService.add(stored);
+                });
+    }
+
+    private Mono<Resume> match(Resume resume) {
+        return Mono.fromCallable(() -> {
+            matchingService.matchNewResume(resume.getFileId());
+            return resume;
+        }).subscribeOn(matchScheduler);
+    }
+
+    // ============================================
+    // Data Classes
+    // ============================================
+
+    private static final class ParsedFile {
+        final ResumeIngestionService.IngestionFile file;
+        final String fileId;
+        final String text;
+        final Resume resume;
+        final Throwable error;
+
+        ParsedFile(ResumeIngestionService.IngestionFile file, String fileId, String text, Resume resume,
+                Throwable error) {
+            this.file = file;
+            this.fileId = fileId;
+            this.text = text;
+            this.resume = resume;
+            this.error = error;
+        }
+
+        static ParsedFile failed(ResumeIngestionService.IngestionFile file, Throwable error) {
+            return new ParsedFile(file, null, null, null, error);
+        }
+
+        String s3Key() {
+            return "uploads/" + fileId + "_" + file.fileName();
+        }
+
+        ParsedFile withResume(Resume resume) {
+            return new ParsedFile(file, fileId, text, resume, null);
+        }
+
+        ParsedFile withError(Throwable error) {
+            return new ParsedFile(file, fileId, text, resume, error);
+        }
+    }
+
+    public static final class IngestionResult {
+        public final String fileName;
+        public final Resume resume;
+        public final String error;
+
+        private IngestionResult(String fileName, Resume resume, String error) {
+            this.fileName = fileName;
+            this.resume = resume;
+            this.error = error;
+        }
+
+        static IngestionResult done(Resume resume) {
+            return new IngestionResult(resume.getName(), resume, null);
+        }
+
+        static IngestionResult failed(ResumeIngestionService.IngestionFile file, Throwable error) {
+            return new IngestionResult(file.fileName(), null, error.getMessage());
+        }
+
+        public Map<String, Object> toJson() {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("fileName", fileName);
+            json.put("status", error == null ? "DONE" : "FAILED");
+            if (resume != null) {
+                List<String> skills = resume.getSkills();
+                json.put("fileId", resume.getFileId());
+                json.put("viewLink", resume.getViewLink());
+                json.put("candidateName", resume.getCandidateName());
+                json.put("candidateExperience", resume.getCandidateExperience());
+                json.put("skillCount", skills != null ? skills.size() : 0);
+            }
+            if (error != null) {
+                json.put("error", error);
+            }
+            return json;
+        }
+    }
+}
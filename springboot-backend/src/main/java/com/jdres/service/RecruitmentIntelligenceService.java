@@ -1,12 +1,16 @@
 package com.jdres.service;
 
 import com.jdres.model.JobDescription;
+import com.jdres.model.ParsedJd;
+import com.jdres.model.ParsedResume;
 import com.jdres.model.Resume;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -26,113 +30,182 @@ public class RecruitmentIntelligenceService {
 
     private static final Logger log = LoggerFactory.getLogger(RecruitmentIntelligenceService.class);
 
+    // JD text dictionaries, each scanned in a single pass
+    private static final KeywordScanner CRITICAL_DELIVERY_SCANNER = new KeywordScanner(List.of(
+            "production launch", "migration", "go-live", "critical", "enterprise"));
+
+    private static final KeywordScanner RISK_AREA_SCANNER = new KeywordScanner(List.of(
+            "risk", "security", "compliance", "disaster", "backup"));
+
+    private static final Map<String, List<String>> DOMAIN_KEYWORDS = new LinkedHashMap<>();
+    private static final List<String> DOMAIN_LABELS = new ArrayList<>(); // parallel to DOMAIN_SCANNER patterns
+    private static final KeywordScanner DOMAIN_SCANNER;
+
+    static {
+        DOMAIN_KEYWORDS.put("fintech", List.of("fintech", "financial", "banking"));
+        DOMAIN_KEYWORDS.put("healthcare", List.of("healthcare", "medical", "health"));
+        DOMAIN_KEYWORDS.put("saas", List.of("saas", "software as a service"));
+        DOMAIN_KEYWORDS.put("e-commerce", List.of("e-commerce", "ecommerce", "retail"));
+        DOMAIN_KEYWORDS.put("logistics", List.of("logistics", "supply chain"));
+
+        List<String> patterns = new ArrayList<>();
+        DOMAIN_KEYWORDS.forEach((domain, keywords) -> {
+            for (String keyword : keywords) {
+                patterns.add(keyword);
+                DOMAIN_LABELS.add(domain);
+            }
+        });
+        DOMAIN_SCANNER = new KeywordScanner(patterns);
+    }
+
     @Autowired
     private SkillNormalizationService skillNormalizationService;
 
+    @Autowired
+    private ParsedDocumentService parsedDocumentService;
+
+    // Resume extractions keyed by fileId, valid while importedAt is unchanged. Bounded by
+    // total weight (list entries held), not entry count, so resumes with many projects
+    // take a proportional share. Guarded by its own monitor.
+    private final LinkedHashMap<String, CachedExtraction> extractions = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxExtractionWeight;
+    private long extractionWeight;
+
+    public RecruitmentIntelligenceService(
+            @Value("${resume.extraction.cache-weight:200000}") long maxExtractionWeight) {
+        this.maxExtractionWeight = Math.max(0, maxExtractionWeight);
+    }
+
     /**
-     * Extract structured data from Resume
+     * Extract structured data from Resume (memoized per resume version)
      */
-    @SuppressWarnings("unchecked")
     public ResumeExtractionResult extractResumeData(Resume resume) {
-        ResumeExtractionResult result = new ResumeExtractionResult();
-        Map<String, Object> parsedDetails = resume.getParsedDetails() != null 
-                ? resume.getParsedDetails() : new HashMap<>();
-
-        // Extract candidate name
-        result.candidateName = extractCandidateName(parsedDetails, resume.getName());
+        ResumeExtractionResult cached = cachedExtraction(resume);
+        if (cached != null) {
+            return cached;
+        }
+        return cacheExtraction(resume, computeResumeData(resume, parsedDocumentService.view(resume)));
+    }
 
-        // Extract domains
-        Object domainObj = parsedDetails.get("domain_experience");
-        if (domainObj instanceof List) {
-            result.domains = ((List<String>) domainObj).stream()
-                    .map(String::toLowerCase)
-                    .collect(Collectors.toList());
+    /**
+     * Extract structured data from a resume's typed view (memoized per resume version)
+     */
+    public ResumeExtractionResult extractResumeData(Resume resume, ParsedResume parsed) {
+        ResumeExtractionResult cached = cachedExtraction(resume);
+        if (cached != null) {
+            return cached;
         }
+        return cacheExtraction(resume, computeResumeData(resume, parsed));
+    }
 
-        // Extract skills (handle both flat array and categorized map formats)
-        Object skillsObj = parsedDetails.get("skills");
-        List<String> allSkills = new ArrayList<>();
-        if (skillsObj instanceof List) {
-            allSkills.addAll((List<String>) skillsObj);
-        } else if (skillsObj instanceof Map) {
-            Map<String, Object> skillsMap = (Map<String, Object>) skillsObj;
-            for (Object value : skillsMap.values()) {
-                if (value instanceof List) {
-                    allSkills.addAll((List<String>) value);
-                }
-            }
+    public void evictResume(String fileId) {
+        if (fileId == null) {
+            return;
         }
-        // Also collect skills from legacy format
-        if (resume.getSkills() != null && !resume.getSkills().isEmpty()) {
-            allSkills.addAll(resume.getSkills());
+        synchronized (extractions) {
+            CachedExtraction removed = extractions.remove(fileId);
+            if (removed != null) {
+                extractionWeight -= removed.weight();
+            }
         }
-        // Normalize skills for better matching
-        result.skills = skillNormalizationService != null 
-                ? skillNormalizationService.normalizeSkills(allSkills)
-                : allSkills.stream().map(String::toLowerCase).distinct().collect(Collectors.toList());
+    }
 
-        // Extract methodology experience
-        Object methObj = parsedDetails.get("methodology_experience");
-        if (methObj instanceof List) {
-            result.methodologies = ((List<String>) methObj).stream()
-                    .map(String::toLowerCase)
-                    .collect(Collectors.toList());
+    private ResumeExtractionResult cachedExtraction(Resume resume) {
+        if (resume.getFileId() == null) {
+            return null;
+        }
+        synchronized (extractions) {
+            CachedExtraction entry = extractions.get(resume.getFileId());
+            return entry != null && Objects.equals(entry.importedAt(), resume.getImportedAt())
+                    && Objects.equals(entry.name(), resume.getName()) ? entry.data() : null;
         }
+    }
 
-        // Extract projects
-        Object projectsObj = parsedDetails.get("projects");
-        if (projectsObj instanceof List) {
-            List<Map<String, Object>> projects = (List<Map<String, Object>>) projectsObj;
-            for (Map<String, Object> project : projects) {
-                ProjectInfo pi = extractProjectInfo(project);
-                result.projects.add(pi);
-
-                // Track max values
-                if (pi.teamSize > result.largestTeamSize) {
-                    result.largestTeamSize = pi.teamSize;
-                }
-                if (pi.budgetManaged > result.maxBudgetManaged) {
-                    result.maxBudgetManaged = pi.budgetManaged;
-                }
-                if (pi.durationMonths > 24) {
-                    result.multiYearPrograms++;
-                }
-                if (pi.productionLaunch) {
-                    result.criticalDeliveriesTotal++;
-                }
-                if (!pi.riskEventsHandled.isEmpty()) {
-                    result.highRiskDeliveries++;
-                    result.riskAreasManaged += pi.riskEventsHandled.size();
-                }
+    private ResumeExtractionResult cacheExtraction(Resume resume, ResumeExtractionResult result) {
+        // Shared across JDs and scoring threads from here on
+        freeze(result);
+        int weight = weigh(result);
+        if (resume.getFileId() == null || weight > maxExtractionWeight) {
+            return result;
+        }
+        synchronized (extractions) {
+            CachedExtraction previous = extractions.put(resume.getFileId(),
+                    new CachedExtraction(resume.getImportedAt(), resume.getName(), result, weight));
+            extractionWeight += weight - (previous != null ? previous.weight() : 0);
+            Iterator<CachedExtraction> eldest = extractions.values().iterator();
+            while (extractionWeight > maxExtractionWeight && eldest.hasNext()) {
+                extractionWeight -= eldest.next().weight();
+                eldest.remove();
             }
         }
+        return result;
+    }
+
+    private static int weigh(ResumeExtractionResult result) {
+        int weight = 1 + result.domains.size() + result.skills.size() + result.methodologies.size();
+        for (ProjectInfo pi : result.projects) {
+            weight += 1 + pi.techStack.size() + pi.riskEventsHandled.size();
+        }
+        return weight;
+    }
 
-        // Extract career summary if present
-        Object careerSummary = parsedDetails.get("career_summary");
-        if (careerSummary instanceof Map) {
-            Map<String, Object> summary = (Map<String, Object>) careerSummary;
-            if (result.criticalDeliveriesTotal == 0) {
-                Number launches = (Number) summary.get("total_production_launches");
-                if (launches != null) result.criticalDeliveriesTotal = launches.intValue();
+    private static void freeze(ResumeExtractionResult result) {
+        result.domains = Collections.unmodifiableList(result.domains);
+        result.skills = Collections.unmodifiableList(result.skills);
+        result.methodologies = Collections.unmodifiableList(result.methodologies);
+        result.projects = Collections.unmodifiableList(result.projects);
+    }
+
+    // Package-private for the JMH benchmarks (src/jmh), which measure it without the memo
+    ResumeExtractionResult computeResumeData(Resume resume, ParsedResume parsed) {
+        ResumeExtractionResult result = new ResumeExtractionResult();
+
+        result.candidateName = parsed.getProfileName() != null ? parsed.getProfileName() : resume.getName();
+        result.domains = new ArrayList<>(parsed.getDomainsLower());
+        result.skills = new ArrayList<>(parsed.getNormalizedSkills());
+        result.methodologies = new ArrayList<>(parsed.getMethodologiesLower());
+
+        // Extract projects
+        for (ParsedResume.Project project : parsed.getProjects()) {
+            ProjectInfo pi = toProjectInfo(project);
+            result.projects.add(pi);
+
+            // Track max values
+            if (pi.teamSize > result.largestTeamSize) {
+                result.largestTeamSize = pi.teamSize;
             }
-            if (result.largestTeamSize == 0) {
-                Number team = (Number) summary.get("largest_team_managed");
-                if (team != null) result.largestTeamSize = team.intValue();
+            if (pi.budgetManaged > result.maxBudgetManaged) {
+                result.maxBudgetManaged = pi.budgetManaged;
             }
-            if (result.maxBudgetManaged == 0) {
-                Number budget = (Number) summary.get("largest_budget_managed");
-                if (budget != null) result.maxBudgetManaged = budget.doubleValue() * 1000; // Stored in K
+            if (pi.durationMonths > 24) {
+                result.multiYearPrograms++;
             }
-            Boolean enterprise = (Boolean) summary.get("enterprise_experience");
-            if (Boolean.TRUE.equals(enterprise)) {
-                result.enterpriseScale = true;
+            if (pi.productionLaunch) {
+                result.criticalDeliveriesTotal++;
             }
-            Boolean multiYear = (Boolean) summary.get("multi_year_program_experience");
-            if (Boolean.TRUE.equals(multiYear) && result.multiYearPrograms == 0) {
-                result.multiYearPrograms = 1;
+            if (!pi.riskEventsHandled.isEmpty()) {
+                result.highRiskDeliveries++;
+                result.riskAreasManaged += pi.riskEventsHandled.size();
             }
         }
 
+        // Career summary fills whatever the projects did not
+        if (result.criticalDeliveriesTotal == 0) {
+            result.criticalDeliveriesTotal = parsed.getSummaryProductionLaunches();
+        }
+        if (result.largestTeamSize == 0) {
+            result.largestTeamSize = parsed.getSummaryLargestTeam();
+        }
+        if (result.maxBudgetManaged == 0) {
+            result.maxBudgetManaged = parsed.getSummaryLargestBudgetK() * 1000; // Stored in K
+        }
+        if (parsed.isSummaryEnterprise()) {
+            result.enterpriseScale = true;
+        }
+        if (parsed.isSummaryMultiYear() && result.multiYearPrograms == 0) {
+            result.multiYearPrograms = 1;
+        }
+
         // Calculate hands-on vs PMO ratio
         int handsOnCount = 0;
         int pmoCount = 0;
@@ -165,11 +238,9 @@ public class RecruitmentIntelligenceService {
      * Extract structured requirements from Job Description
      * Uses new model fields first, then parsedDetails as fallback
      */
-    @SuppressWarnings("unchecked")
     public JDExtractionResult extractJDData(JobDescription jd) {
         JDExtractionResult result = new JDExtractionResult();
-        Map<String, Object> parsedDetails = jd.getParsedDetails() != null 
-                ? jd.getParsedDetails() : new HashMap<>();
+        ParsedJd parsed = parsedDocumentService.view(jd);
 
         // Extract domains - try model field first, then parsedDetails
         if (jd.getJdDomains() != null && !jd.getJdDomains().isEmpty()) {
@@ -177,36 +248,30 @@ public class RecruitmentIntelligenceService {
                     .map(String::toLowerCase)
                     .collect(Collectors.toList());
         } else {
-            Object domainObj = parsedDetails.get("jd_domains");
-            if (domainObj == null) domainObj = parsedDetails.get("domain");
-            if (domainObj instanceof List) {
-                result.jdDomains = ((List<String>) domainObj).stream()
-                        .map(String::toLowerCase)
-                        .collect(Collectors.toList());
-            }
+            result.jdDomains = new ArrayList<>(parsed.getJdDomainsLower());
         }
 
         // Extract mandatory skills - normalize for matching
         List<String> mandatorySkills = extractStringList(jd.getMandatorySkills(), 
-                parsedDetails.get("mandatory_skills"), jd.getRequiredSkills());
+                parsed.getMandatorySkills(), jd.getRequiredSkills());
         result.mandatorySkills = skillNormalizationService != null 
                 ? skillNormalizationService.normalizeSkills(mandatorySkills) : mandatorySkills;
 
         // Extract preferred skills
         List<String> preferredSkills = extractStringList(jd.getPreferredSkills(), 
-                parsedDetails.get("preferred_skills"), null);
+                parsed.getPreferredSkills(), null);
         result.preferredSkills = skillNormalizationService != null 
                 ? skillNormalizationService.normalizeSkills(preferredSkills) : preferredSkills;
 
         // Extract tools/platforms
         List<String> tools = extractStringList(jd.getToolsPlatforms(), 
-                parsedDetails.get("tools_platforms"), null);
+                parsed.getToolsPlatforms(), null);
         result.tools = skillNormalizationService != null 
                 ? skillNormalizationService.normalizeSkills(tools) : tools;
 
         // Extract methodologies
         List<String> methodologies = extractStringList(jd.getMethodologies(), 
-                parsedDetails.get("methodologies"), null);
+                parsed.getMethodologies(), null);
         result.methodologies = methodologies.stream()
                 .map(String::toLowerCase)
                 .collect(Collectors.toList());
@@ -215,27 +280,18 @@ public class RecruitmentIntelligenceService {
         if (jd.getCriticalDeliveriesRequired() > 0) {
             result.criticalDeliveriesRequired = jd.getCriticalDeliveriesRequired();
         } else {
-            Number criticalDeliveries = (Number) parsedDetails.get("critical_deliveries_required");
-            if (criticalDeliveries != null) {
-                result.criticalDeliveriesRequired = criticalDeliveries.intValue();
-            }
+            result.criticalDeliveriesRequired = parsed.getCriticalDeliveriesRequired();
         }
 
         // Risk areas expected - try model field first
         if (jd.getRiskAreasExpected() > 0) {
             result.riskAreasExpected = jd.getRiskAreasExpected();
         } else {
-            Number riskAreas = (Number) parsedDetails.get("risk_areas_expected");
-            if (riskAreas != null) {
-                result.riskAreasExpected = riskAreas.intValue();
-            }
+            result.riskAreasExpected = parsed.getRiskAreasExpected();
         }
 
         // Scale requirements - try model field first
         Map<String, Object> scaleMap = jd.getScaleRequirements();
-        if (scaleMap == null) {
-            scaleMap = (Map<String, Object>) parsedDetails.get("scale_requirements");
-        }
         if (scaleMap != null) {
             result.scaleRequirements.enterprise = Boolean.TRUE.equals(scaleMap.get("enterprise_scale")) 
                     || Boolean.TRUE.equals(scaleMap.get("enterprise"));
@@ -243,12 +299,16 @@ public class RecruitmentIntelligenceService {
                     || Boolean.TRUE.equals(scaleMap.get("multi_year"));
             result.scaleRequirements.largeBudget = Boolean.TRUE.equals(scaleMap.get("large_budget_expected")) 
                     || Boolean.TRUE.equals(scaleMap.get("large_budget"));
+        } else {
+            result.scaleRequirements.enterprise = parsed.isScaleEnterprise();
+            result.scaleRequirements.multiYear = parsed.isScaleMultiYear();
+            result.scaleRequirements.largeBudget = parsed.isScaleLargeBudget();
         }
 
         // Store JD delivery style for PMO penalty context
         String deliveryStyle = jd.getJdDeliveryStyle();
         if (deliveryStyle == null || deliveryStyle.isEmpty()) {
-            deliveryStyle = (String) parsedDetails.get("jd_delivery_style");
+            deliveryStyle = parsed.getDeliveryStyle();
         }
         result.jdDeliveryStyle = deliveryStyle != null ? deliveryStyle : "hands-on";
 
@@ -468,60 +528,21 @@ public class RecruitmentIntelligenceService {
     // Helper Methods
     // ============================================
 
-    @SuppressWarnings("unchecked")
-    private ProjectInfo extractProjectInfo(Map<String, Object> project) {
+    private ProjectInfo toProjectInfo(ParsedResume.Project project) {
         ProjectInfo pi = new ProjectInfo();
-        
-        pi.projectName = getStringValue(project, "project_name");
-        pi.domain = getStringValue(project, "domain");
-        pi.role = getStringValue(project, "role");
-        
-        Object techObj = project.get("technologies_used");
-        if (techObj instanceof List) {
-            pi.techStack = (List<String>) techObj;
-        }
-        
-        pi.teamSize = getIntValue(project, "team_size");
-        pi.budgetManaged = getDoubleValue(project, "budget_managed");
-        pi.durationMonths = getIntValue(project, "duration_months");
-        pi.productionLaunch = getBoolValue(project, "production_launch");
-        
-        Object riskObj = project.get("risk_events_handled");
-        if (riskObj instanceof List) {
-            pi.riskEventsHandled = (List<String>) riskObj;
-        }
-        
-        pi.deliveryType = getStringValue(project, "delivery_type");
-        if (pi.deliveryType.isEmpty()) {
-            // Infer from role
-            String roleLower = pi.role.toLowerCase();
-            if (roleLower.contains("pmo") || roleLower.contains("governance")) {
-                pi.deliveryType = "governance";
-            } else if (roleLower.contains("lead") || roleLower.contains("developer") || roleLower.contains("engineer")) {
-                pi.deliveryType = "hands-on";
-            } else {
-                pi.deliveryType = "hybrid";
-            }
-        }
-        
+        pi.projectName = project.getName();
+        pi.domain = project.getDomain();
+        pi.role = project.getRole();
+        pi.techStack = project.getTechStack();
+        pi.teamSize = project.getTeamSize();
+        pi.budgetManaged = project.getBudgetManaged();
+        pi.durationMonths = project.getDurationMonths();
+        pi.productionLaunch = project.isProductionLaunch();
+        pi.riskEventsHandled = project.getRiskEventsHandled();
+        pi.deliveryType = project.getDeliveryType();
         return pi;
     }
 
-    @SuppressWarnings("unchecked")
-    private String extractCandidateName(Map<String, Object> parsedDetails, String defaultName) {
-        if (parsedDetails == null) return defaultName;
-
-        Object profileObj = parsedDetails.get("candidate_profile");
-        if (profileObj instanceof Map) {
-            Map<String, Object> profile = (Map<String, Object>) profileObj;
-            Object nameObj = profile.get("name");
-            if (nameObj != null && !nameObj.toString().trim().isEmpty()) {
-                return nameObj.toString().trim();
-            }
-        }
-        return defaultName;
-    }
-
     private int countIdentifiedRiskAreas(List<ProjectInfo> projects) {
         Set<String> uniqueRisks = new HashSet<>();
         for (ProjectInfo pi : projects) {
@@ -533,54 +554,33 @@ public class RecruitmentIntelligenceService {
     }
 
     private int inferCriticalDeliveries(JobDescription jd) {
-        String text = jd.getText() != null ? jd.getText().toLowerCase() : "";
+        KeywordScanner.Matches hits = CRITICAL_DELIVERY_SCANNER.scan(jd.getText());
         int count = 0;
-        if (text.contains("production launch")) count++;
-        if (text.contains("migration")) count++;
-        if (text.contains("go-live")) count++;
-        if (text.contains("critical")) count++;
-        if (text.contains("enterprise")) count++;
+        for (int i = 0; i < CRITICAL_DELIVERY_SCANNER.size(); i++) {
+            if (hits.found(i)) count++;
+        }
         return Math.max(count, 3); // Minimum expectation
     }
 
     private int inferRiskAreas(JobDescription jd) {
-        String text = jd.getText() != null ? jd.getText().toLowerCase() : "";
+        KeywordScanner.Matches hits = RISK_AREA_SCANNER.scan(jd.getText());
         int count = 0;
-        if (text.contains("risk")) count++;
-        if (text.contains("security")) count++;
-        if (text.contains("compliance")) count++;
-        if (text.contains("disaster")) count++;
-        if (text.contains("backup")) count++;
+        for (int i = 0; i < RISK_AREA_SCANNER.size(); i++) {
+            if (hits.found(i)) count++;
+        }
         return Math.max(count, 2); // Minimum expectation
     }
 
-    @SuppressWarnings("unchecked")
     private List<String> inferDomains(JobDescription jd) {
-        List<String> domains = new ArrayList<>();
-        String text = jd.getText() != null ? jd.getText().toLowerCase() : "";
-        
-        if (text.contains("fintech") || text.contains("financial") || text.contains("banking")) {
-            domains.add("fintech");
-        }
-        if (text.contains("healthcare") || text.contains("medical") || text.contains("health")) {
-            domains.add("healthcare");
-        }
-        if (text.contains("saas") || text.contains("software as a service")) {
-            domains.add("saas");
-        }
-        if (text.contains("e-commerce") || text.contains("ecommerce") || text.contains("retail")) {
-            domains.add("e-commerce");
-        }
-        if (text.contains("logistics") || text.contains("supply chain")) {
-            domains.add("logistics");
+        KeywordScanner.Matches hits = DOMAIN_SCANNER.scan(jd.getText());
+        // Patterns are grouped by domain in dictionary order, so insertion order is preserved
+        Set<String> domains = new LinkedHashSet<>();
+        for (int i = 0; i < DOMAIN_SCANNER.size(); i++) {
+            if (hits.found(i)) {
+                domains.add(DOMAIN_LABELS.get(i));
+            }
         }
-        
-        return domains;
-    }
-
-    private String getStringValue(Map<String, Object> map, String key) {
-        Object val = map.get(key);
-        return val != null ? val.toString() : "";
+        return new ArrayList<>(domains);
     }
 
     /**
@@ -607,27 +607,6 @@ public class RecruitmentIntelligenceService {
         return new ArrayList<>();
     }
 
-    private int getIntValue(Map<String, Object> map, String key) {
-        Object val = map.get(key);
-        if (val instanceof Number) {
-            return ((Number) val).intValue();
-        }
-        return 0;
-    }
-
-    private double getDoubleValue(Map<String, Object> map, String key) {
-        Object val = map.get(key);
-        if (val instanceof Number) {
-            return ((Number) val).doubleValue();
-        }
-        return 0.0;
-    }
-
-    private boolean getBoolValue(Map<String, Object> map, String key) {
-        Object val = map.get(key);
-        return Boolean.TRUE.equals(val);
-    }
-
     // ============================================
     // Data Classes
     // ============================================
@@ -650,6 +629,9 @@ public class RecruitmentIntelligenceService {
         public int identifiedRiskAreas = 0;
     }
 
+    private record CachedExtraction(LocalDateTime importedAt, String name, ResumeExtractionResult data, int weight) {
+    }
+
     public static class ProjectInfo {
         public String projectName = "";
         public String domain = "";
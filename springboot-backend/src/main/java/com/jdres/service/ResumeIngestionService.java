@@ -0,0 +1,312 @@
+package com.jdres.service;
+
+import com.jdres.model.Resume;
+import com.jdres.repository.ResumeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk Resume Ingestion Pipeline
+ *
+ * Runs multi-file uploads as a staged pipeline:
+ * parse -> (S3 upload || LLM extract) -> save -> match
+ *
+ * Each stage has its own bounded worker pool, so 200 dropped resumes never
+ * mean 200 concurrent OpenAI calls or 200 concurrent PDFBox parses.
+ */
+@Service
+public class ResumeIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeIngestionService.class);
+
+    // Finished jobs kept around for progress polling
+    private static final int MAX_RETAINED_JOBS = 200;
+
+    @Autowired
+    private TextExtractorService textExtractorService;
+
+    @Autowired
+    private S3Service s3Service;
+
+    @Autowired
+    private SkillExtractorService skillExtractorService;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private ParsedDocumentService parsedDocumentService;
+
+    @Autowired
+    private TalentSearchService talentSearchService;
+
+    @Autowired
+    private ResumeVectorService resumeVectorService;
+
+    @Autowired
+    private TextSimilarityService textSimilarityService;
+
+    private final ExecutorService parsePool;
+    private final ExecutorService uploadPool;
+    private final ExecutorService extractPool;
+    private final ExecutorService savePool;
+    private final ExecutorService matchPool;
+
+    private final Map<String, IngestionJob> jobs = new ConcurrentHashMap<>();
+
+    public ResumeIngestionService(
+            @Value("${ingestion.parse.concurrency:0}") int parseConcurrency,
+            @Value("${ingestion.upload.concurrency:8}") int uploadConcurrency,
+            @Value("${ingestion.extract.concurrency:4}") int extractConcurrency,
+            @Value("${ingestion.save.concurrency:4}") int saveConcurrency,
+            @Value("${ingestion.match.concurrency:2}") int matchConcurrency,
+            BlockingIoExecutor blockingIoExecutor) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        this.parsePool = newStagePool("ingest-parse", parseConcurrency > 0 ? parseConcurrency : cores);
+        // I/O-bound stages run on virtual threads when enabled; pool sizes still cap each stage
+        this.uploadPool = newStagePool(uploadConcurrency, blockingIoExecutor.threadFactory("ingest-upload"));
+        this.extractPool = newStagePool(extractConcurrency, blockingIoExecutor.threadFactory("ingest-extract"));
+        this.savePool = newStagePool(saveConcurrency, blockingIoExecutor.threadFactory("ingest-save"));
+        this.matchPool = newStagePool(matchConcurrency, blockingIoExecutor.threadFactory("ingest-match"));
+    }
+
+    /**
+     * Queue a batch of files and return immediately with the job handle
+     */
+    public IngestionJob submit(List<IngestionFile> files, String jdId, String userId) {
+        IngestionJob job = new IngestionJob(UUID.randomUUID().toString(), files.size());
+        jobs.put(job.jobId, job);
+        evictFinishedJobs();
+
+        log.info("📥 Ingestion job {} queued: {} files (jdId={})", job.jobId, files.size(), jdId);
+
+        for (IngestionFile file : files) {
+            FileProgress progress = new FileProgress(file.fileName());
+            job.files.add(progress);
+            runPipeline(job, progress, file, jdId, userId);
+        }
+        return job;
+    }
+
+    public Optional<IngestionJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    // ============================================
+    // Pipeline
+    // ============================================
+
+    private void runPipeline(IngestionJob job, FileProgress progress, IngestionFile file,
+            String jdId, String userId) {
+        String fileId = UUID.randomUUID().toString();
+        String s3Key = "uploads/" + fileId + "_" + file.fileName();
+        progress.fileId = fileId;
+
+        // Stage 1: parse
+        CompletableFuture<String> parsed = CompletableFuture.supplyAsync(() -> {
+            progress.status = "PARSING";
+            try {
+                return textExtractorService.extractText(file.content(), file.fileName());
+            } catch (Exception e) {
+                throw new CompletionException(new IllegalStateException("Text extraction failed: " + e.getMessage(), e));
+            }
+        }, parsePool);
+
+        // Stage 2: S3 upload and LLM extraction in parallel, each on its own pool
+        CompletableFuture<String> uploaded = parsed.thenApplyAsync(
+                text -> s3Service.uploadBytes(s3Key, file.content(), file.contentType()), uploadPool);
+
+        CompletableFuture<Map<String, Object>> extracted = parsed.thenApplyAsync(text -> {
+            progress.status = "EXTRACTING";
+            return skillExtractorService.extractResumeDetails(text);
+        }, extractPool);
+
+        // Stage 3: save
+        CompletableFuture<Resume> saved = uploaded.thenCombine(extracted, (s3Url, details) -> {
+            String text = parsed.join();
+            return buildResume(fileId, file.fileName(), text, s3Key, s3Url, details, jdId, userId, "bulk_upload");
+        }).thenApplyAsync(resume -> {
+            progress.status = "SAVING";
+            Resume stored = resumeRepository.save(resume);
+            talentSearchService.index(stored);
+            resumeVectorService.index(stored);
+            textSimilarityService.add(stored);
+            return stored;
+        }, savePool);
+
+        // Stage 4: match
+        saved.thenAcceptAsync(resume -> {
+            progress.status = "MATCHING";
+            progress.candidateName = resume.getCandidateName();
+            progress.skillCount = resume.getSkills() != null ? resume.getSkills().size() : 0;
+            matchingService.matchNewResume(resume.getFileId());
+        }, matchPool).whenComplete((ignored, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                progress.status = "FAILED";
+                progress.error = cause.getMessage();
+                job.failed.incrementAndGet();
+                log.error("❌ Ingestion of {} failed: {}", file.fileName(), cause.getMessage());
+            } else {
+                progress.status = "DONE";
+                job.completed.incrementAndGet();
+            }
+            if (job.isFinished()) {
+                job.finishedAt = LocalDateTime.now();
+                log.info("✅ Ingestion job {} finished: {} done, {} failed",
+                        job.jobId, job.completed.get(), job.failed.get());
+            }
+        });
+    }
+
+    // Package-private: shared with ReactiveResumeIngestionService
+    Resume buildResume(String fileId, String fileName, String text, String s3Key, String s3Url,
+            Map<String, Object> parsedDetails, String jdId, String userId, String source) {
+        List<String> skills = skillExtractorService.flattenSkills(parsedDetails);
+
+        Resume resume = new Resume();
+        resume.setParsedDetails(parsedDetails);
+        resume.setFileId(fileId);
+        resume.setName(fileName);
+        resume.setText(text);
+        resume.setSource(source);
+        resume.setImportedAt(LocalDateTime.now());
+        resume.setS3Key(s3Key);
+        resume.setS3Url(s3Url);
+        resume.setViewLink(s3Url);
+        resume.setSkills(skills);
+        resume.setParsed(parsedDocumentService.parseResume(resume));
+
+        if (jdId != null && !jdId.isEmpty() && !jdId.equals("undefined") && !jdId.equals("null")) {
+            resume.setJdId(jdId);
+        }
+        if (userId != null && !userId.trim().isEmpty()) {
+            resume.setRecruiterId(userId);
+        }
+
+        if (parsedDetails != null && parsedDetails.get("candidate_profile") instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> profile = (Map<String, Object>) parsedDetails.get("candidate_profile");
+            Object name = profile.get("name");
+            if (name != null) {
+                resume.setCandidateName(name.toString());
+            }
+        }
+        if (parsedDetails != null && parsedDetails.get("total_experience_years") instanceof Number) {
+            resume.setCandidateExperience(((Number) parsedDetails.get("total_experience_years")).intValue());
+        }
+        return resume;
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() <= MAX_RETAINED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(IngestionJob::isFinished)
+                .sorted(Comparator.comparing(j -> j.createdAt))
+                .limit(jobs.size() - MAX_RETAINED_JOBS)
+                .forEach(j -> jobs.remove(j.jobId));
+    }
+
+    private static ExecutorService newStagePool(String name, int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread t = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static ExecutorService newStagePool(int threads, ThreadFactory threadFactory) {
+        return Executors.newFixedThreadPool(Math.max(1, threads), threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService pool : List.of(parsePool, uploadPool, extractPool, savePool, matchPool)) {
+            pool.shutdown();
+        }
+    }
+
+    // ============================================
+    // Data Classes
+    // ============================================
+
+    /**
+     * File content captured before the request returns (multipart temp files
+     * are deleted once the servlet request completes)
+     */
+    public record IngestionFile(String fileName, String contentType, byte[] content) {
+    }
+
+    public static class IngestionJob {
+        public final String jobId;
+        public final int total;
+        public final LocalDateTime createdAt = LocalDateTime.now();
+        public volatile LocalDateTime finishedAt;
+        public final AtomicInteger completed = new AtomicInteger();
+        public final AtomicInteger failed = new AtomicInteger();
+        public final List<FileProgress> files = new CopyOnWriteArrayList<>();
+
+        IngestionJob(String jobId, int total) {
+            this.jobId = jobId;
+            this.total = total;
+        }
+
+        public boolean isFinished() {
+            return completed.get() + failed.get() >= total;
+        }
+
+        public Map<String, Object> toProgressJson() {
+            List<Map<String, Object>> fileList = new ArrayList<>();
+            for (FileProgress fp : files) {
+                Map<String, Object> f = new HashMap<>();
+                f.put("fileName", fp.fileName);
+                f.put("fileId", fp.fileId);
+                f.put("status", fp.status);
+                f.put("candidateName", fp.candidateName);
+                f.put("skillCount", fp.skillCount);
+                f.put("error", fp.error);
+                fileList.add(f);
+            }
+
+            Map<String, Object> output = new HashMap<>();
+            output.put("jobId", jobId);
+            output.put("status", isFinished() ? "COMPLETED" : "RUNNING");
+            output.put("total", total);
+            output.put("completed", completed.get());
+            output.put("failed", failed.get());
+            output.put("createdAt", createdAt);
+            output.put("finishedAt", finishedAt);
+            output.put("files", fileList);
+            return output;
+        }
+    }
+
+    public static class FileProgress {
+        public final String fileName;
+        public volatile String fileId;
+        public volatile String status = "QUEUED"; // QUEUED, PARSING, EXTRACTING, SAVING, MATCHING, DONE, FAILED
+        public volatile String candidateName;
+        public volatile int skillCount;
+        public volatile String error;
+
+        FileProgress(String fileName) {
+            this.fileName = fileName;
+        }
+    }
+}
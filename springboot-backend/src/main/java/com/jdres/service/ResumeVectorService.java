@@ -0,0 +1,377 @@
+package com.jdres.service;
+
+import com.jdres.model.QuantizedVector;
+import com.jdres.model.Resume;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Resume Vector Service
+ * Keeps every resume embedding in an in-process {@link VectorIndex} and ranks
+ * resumes against a JD by cosine similarity. Replaces the Python FAISS service,
+ * which rebuilt its whole index on every ranking request.
+ *
+ * The index is loaded from its last snapshot at startup, reconciled with Mongo in
+ * the background, updated on upload / delete and snapshotted periodically and on
+ * shutdown. Uploaded resumes are embedded off the request thread, in batches, and
+ * the vector is persisted and indexed. Resumes that still have no embedding (queue
+ * full, embedding call failed, saved before this existed) are embedded on first
+ * use, in one batched call per ranking request.
+ */
+@Service
+public class ResumeVectorService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeVectorService.class);
+
+    private static final int M = 16;
+    private static final int EF_CONSTRUCTION = 100;
+
+    // Upload-time embedding: texts per embedAll call, and the queue bound past which
+    // resumes are left to the lazy path at ranking time
+    private static final int EMBED_BATCH = 64;
+    private static final int MAX_PENDING_EMBEDS = 5000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private EmbeddingService embeddingService;
+
+    private final Path snapshotPath;
+    private final int efSearch;
+    private final ScheduledExecutorService snapshotter;
+    private final ScheduledExecutorService embedder;
+    private final boolean embedOnIngest;
+    private final Map<String, String> pendingEmbeds = new ConcurrentHashMap<>(); // fileId -> text
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile VectorIndex index = new VectorIndex(M, EF_CONSTRUCTION);
+
+    public ResumeVectorService(
+            @Value("${vector.index.path:data/resume-vectors.hnsw}") String snapshotPath,
+            @Value("${vector.index.ef-search:64}") int efSearch,
+            @Value("${vector.index.snapshot-interval-seconds:300}") long snapshotIntervalSeconds,
+            @Value("${vector.index.embed-on-ingest:true}") boolean embedOnIngest) {
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.efSearch = Math.max(1, efSearch);
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread t = new Thread(runnable, "vector-index-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(10, snapshotIntervalSeconds);
+        snapshotter.scheduleWithFixedDelay(this::snapshotIfDirty, interval, interval, TimeUnit.SECONDS);
+
+        // Separate thread: embedding calls take seconds and must not delay snapshots
+        this.embedOnIngest = embedOnIngest;
+        this.embedder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread t = new Thread(runnable, "resume-embedder");
+            t.setDaemon(true);
+            return t;
+        });
+        embedder.scheduleWithFixedDelay(this::drainPendingEmbeds, 5, 5, TimeUnit.SECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        snapshotter.execute(() -> {
+            loadSnapshot();
+            reconcile();
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        embedder.shutdownNow();
+        snapshotter.shutdown();
+        snapshotIfDirty();
+    }
+
+    /**
+     * Index a resume's stored embedding. A resume without one is queued to be
+     * embedded in the background, then persisted and indexed.
+     */
+    public void index(Resume resume) {
+        if (resume.getFileId() == null) {
+            return;
+        }
+        QuantizedVector embedding = resume.getEmbedding();
+        if (embedding != null && !embedding.isEmpty()) {
+            index.add(resume.getFileId(), embedding.toFloats());
+            dirty.set(true);
+        } else if (embedOnIngest && resume.getText() != null && !resume.getText().isBlank()
+                && pendingEmbeds.size() < MAX_PENDING_EMBEDS) {
+            pendingEmbeds.put(resume.getFileId(), resume.getText());
+            if (pendingEmbeds.size() >= EMBED_BATCH && drainQueued.compareAndSet(false, true)) {
+                embedder.execute(this::drainPendingEmbeds);
+            }
+        }
+    }
+
+    public void remove(String fileId) {
+        if (fileId == null) {
+            return;
+        }
+        pendingEmbeds.remove(fileId);
+        if (index.remove(fileId)) {
+            dirty.set(true);
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Rank resumes against a JD by embedding similarity, best first.
+     *
+     * Keys are resume fileIds (looked up in the index, then Mongo) or ad-hoc labels
+     * whose text is given in the map. Stored resumes missing an embedding are
+     * embedded once and persisted; ad-hoc texts are embedded per request.
+     *
+     * @throws IllegalStateException if the JD text cannot be embedded
+     */
+    public List<VectorIndex.Neighbor> rank(String jdText, Map<String, String> resumeTexts, int topK) {
+        float[] query = embeddingService.embed(jdText);
+        if (query.length == 0) {
+            throw new IllegalStateException("Embedding service unavailable");
+        }
+
+        VectorIndex current = index;
+        Map<String, String> unindexed = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : resumeTexts.entrySet()) {
+            if (!current.contains(entry.getKey())) {
+                unindexed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        Map<String, float[]> adHoc = unindexed.isEmpty() ? Map.of() : ensureVectors(unindexed);
+
+        Set<String> wanted = resumeTexts.keySet();
+        int k = Math.min(topK, wanted.size());
+        List<VectorIndex.Neighbor> ranked = new ArrayList<>(k);
+        if (adHoc.isEmpty()) {
+            // Graph search restricted to the requested resumes
+            ranked.addAll(current.search(query, k, Math.max(efSearch, k), wanted::contains));
+        }
+        if (ranked.size() < k) {
+            // Small or partly ad-hoc sets (or a filter too narrow for the graph): exact scores
+            ranked.clear();
+            current.similarities(query, wanted).forEach((key, score) -> ranked.add(new VectorIndex.Neighbor(key, score)));
+            float[] q = normalizedCopy(query);
+            adHoc.forEach((key, vector) -> ranked.add(new VectorIndex.Neighbor(key, cosine(q, vector))));
+            ranked.sort(Comparator.comparingDouble(VectorIndex.Neighbor::similarity).reversed());
+            if (ranked.size() > k) {
+                ranked.subList(k, ranked.size()).clear();
+            }
+        }
+        return ranked;
+    }
+
+    /**
+     * Index the stored resumes among these keys, embedding (and persisting) the ones
+     * that have no vector yet in a single batch
+     *
+     * @return vectors for keys that are not stored resumes (ad-hoc texts)
+     */
+    private Map<String, float[]> ensureVectors(Map<String, String> texts) {
+        Query byFileIds = new Query(Criteria.where("fileId").in(texts.keySet()));
+        byFileIds.fields().include("fileId").include("text").include("embedding");
+        Map<String, Resume> stored = new HashMap<>();
+        for (Resume resume : mongoTemplate.find(byFileIds, Resume.class)) {
+            stored.put(resume.getFileId(), resume);
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<String> inputs = new ArrayList<>();
+        for (Map.Entry<String, String> entry : texts.entrySet()) {
+            Resume resume = stored.get(entry.getKey());
+            String text = entry.getValue();
+            if (resume != null) {
+                if (resume.getEmbedding() != null && !resume.getEmbedding().isEmpty()) {
+                    index(resume);
+                    continue;
+                }
+                if (text == null || text.isBlank()) {
+                    text = resume.getText();
+                }
+            }
+            keys.add(entry.getKey());
+            inputs.add(text);
+        }
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, float[]> adHoc = new HashMap<>();
+        BulkOperations updates = null;
+        List<float[]> vectors = embeddingService.embedAll(inputs);
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            float[] vector = vectors.get(i);
+            if (vector.length == 0) {
+                log.warn("⚠️ Could not embed resume {}, leaving it out of the ranking", key);
+            } else if (stored.containsKey(key)) {
+                if (updates == null) {
+                    updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Resume.class);
+                }
+                updates.updateOne(new Query(Criteria.where("fileId").is(key)),
+                        new Update().set("embedding", QuantizedVector.quantize(vector)));
+                index.add(key, vector);
+                dirty.set(true);
+            } else {
+                adHoc.put(key, vector);
+            }
+        }
+        if (updates != null) {
+            updates.execute();
+        }
+        return adHoc;
+    }
+
+    // Embed queued uploads EMBED_BATCH at a time; failures are left to the lazy path
+    private void drainPendingEmbeds() {
+        drainQueued.set(false);
+        try {
+            while (!pendingEmbeds.isEmpty()) {
+                List<String> keys = new ArrayList<>(EMBED_BATCH);
+                List<String> texts = new ArrayList<>(EMBED_BATCH);
+                Iterator<Map.Entry<String, String>> it = pendingEmbeds.entrySet().iterator();
+                while (it.hasNext() && keys.size() < EMBED_BATCH) {
+                    Map.Entry<String, String> entry = it.next();
+                    it.remove();
+                    keys.add(entry.getKey());
+                    texts.add(entry.getValue());
+                }
+
+                List<float[]> vectors = embeddingService.embedAll(texts);
+                BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Resume.class);
+                int embedded = 0;
+                for (int i = 0; i < keys.size(); i++) {
+                    float[] vector = vectors.get(i);
+                    if (vector.length == 0) {
+                        continue;
+                    }
+                    updates.updateOne(new Query(Criteria.where("fileId").is(keys.get(i))),
+                            new Update().set("embedding", QuantizedVector.quantize(vector)));
+                    index.add(keys.get(i), vector);
+                    embedded++;
+                }
+                if (embedded > 0) {
+                    updates.execute();
+                    dirty.set(true);
+                }
+                if (embedded < keys.size()) {
+                    log.warn("⚠️ Could not embed {} of {} uploaded resumes, they will be embedded on first ranking",
+                            keys.size() - embedded, keys.size());
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ Background resume embedding failed: {}", e.getMessage());
+        }
+    }
+
+    private void loadSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            index = VectorIndex.load(snapshotPath, M, EF_CONSTRUCTION);
+            log.info("📦 Loaded vector index snapshot: {} vectors in {} ms",
+                    index.size(), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ Could not load vector index snapshot {}, rebuilding from Mongo: {}",
+                    snapshotPath, e.getMessage());
+        }
+    }
+
+    // Add stored embeddings the snapshot is missing, drop vectors of deleted resumes
+    private void reconcile() {
+        long start = System.currentTimeMillis();
+        Set<String> stale = index.keys();
+        Query query = new Query(Criteria.where("embedding").exists(true)).cursorBatchSize(500);
+        query.fields().include("fileId").include("embedding");
+
+        int added = 0;
+        try (Stream<Resume> resumes = mongoTemplate.stream(query, Resume.class)) {
+            Iterator<Resume> it = resumes.iterator();
+            while (it.hasNext()) {
+                Resume resume = it.next();
+                if (!stale.remove(resume.getFileId())) {
+                    index(resume);
+                    added++;
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ Vector index reconcile failed: {}", e.getMessage());
+            return;
+        }
+        for (String fileId : stale) {
+            remove(fileId);
+        }
+        log.info("🔄 Vector index reconciled in {} ms: {} added, {} removed, {} total",
+                System.currentTimeMillis() - start, added, stale.size(), index.size());
+    }
+
+    private void snapshotIfDirty() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            index.save(snapshotPath);
+            log.debug("Saved vector index snapshot ({} vectors)", index.size());
+        } catch (IOException e) {
+            dirty.set(true);
+            log.error("❌ Failed to snapshot vector index to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private static float[] normalizedCopy(float[] vector) {
+        double norm = 0;
+        for (float x : vector) {
+            norm += x * x;
+        }
+        norm = Math.sqrt(norm);
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length && norm > 0; i++) {
+            result[i] = (float) (vector[i] / norm);
+        }
+        return result;
+    }
+
+    private static double cosine(float[] normalizedQuery, float[] vector) {
+        if (vector.length != normalizedQuery.length) {
+            return 0;
+        }
+        double dot = 0;
+        double norm = 0;
+        for (int i = 0; i < vector.length; i++) {
+            dot += normalizedQuery[i] * vector[i];
+            norm += vector[i] * vector[i];
+        }
+        return norm > 0 ? dot / Math.sqrt(norm) : 0;
+    }
+}
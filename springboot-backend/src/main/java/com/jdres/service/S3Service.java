@@ -1,33 +1,48 @@
 package com.jdres.service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.io.File;
+import java.net.URI;
 
 @Service
 public class S3Service {
 
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
     private final String bucketName;
+    private final MeterRegistry meterRegistry;
 
     public S3Service(
+            MeterRegistry meterRegistry,
             @Value("${aws.accessKeyId}") String accessKey,
             @Value("${aws.secretKey}") String secretKey,
             @Value("${aws.region}") String region,
-            @Value("${aws.s3.bucketName}") String bucketName) {
+            @Value("${aws.s3.bucketName}") String bucketName,
+            @Value("${aws.s3.endpoint:}") String endpoint) {
 
         this.bucketName = bucketName;
+        this.meterRegistry = meterRegistry;
 
         // Initialize S3 client
         S3Client tempClient = null;
+        S3AsyncClient tempAsyncClient = null;
 
         // Check if placeholder values
         if (accessKey.startsWith("placeholder") || accessKey.startsWith("your_")) {
@@ -38,11 +53,23 @@ public class S3Service {
                 System.out.println("   Bucket: " + bucketName);
                 System.out.println("   Region: " + region);
 
-                tempClient = S3Client.builder()
+                StaticCredentialsProvider credentials = StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey));
+                S3ClientBuilder builder = S3Client.builder()
                         .region(Region.of(region))
-                        .credentialsProvider(StaticCredentialsProvider.create(
-                                AwsBasicCredentials.create(accessKey, secretKey)))
-                        .build();
+                        .credentialsProvider(credentials);
+                // Non-blocking client (Netty) for the reactive upload pipeline
+                S3AsyncClientBuilder asyncBuilder = S3AsyncClient.builder()
+                        .region(Region.of(region))
+                        .credentialsProvider(credentials);
+                // S3-compatible endpoint (MinIO, load-test stand-in): path-style bucket addressing
+                if (endpoint != null && !endpoint.isBlank()) {
+                    System.out.println("   Endpoint: " + endpoint);
+                    builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+                    asyncBuilder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+                }
+                tempClient = builder.build();
+                tempAsyncClient = asyncBuilder.build();
 
                 System.out.println("✅ S3 Client initialized successfully");
             } catch (Exception e) {
@@ -52,6 +79,7 @@ public class S3Service {
         }
 
         this.s3Client = tempClient;
+        this.s3AsyncClient = tempAsyncClient;
     }
 
     public String uploadFile(String key, File file) {
@@ -66,7 +94,7 @@ public class S3Service {
                     .key(key)
                     .build();
 
-            s3Client.putObject(putOb, RequestBody.fromFile(file));
+            timedPut(file.length(), () -> s3Client.putObject(putOb, RequestBody.fromFile(file)));
             String url = s3Client.utilities().getUrl(builder -> builder.bucket(bucketName).key(key)).toExternalForm();
             System.out.println("✅ File uploaded to S3: " + url);
             return url;
@@ -92,7 +120,7 @@ public class S3Service {
                     .contentType(contentType)
                     .build();
 
-            s3Client.putObject(putOb, RequestBody.fromBytes(content));
+            timedPut(content.length, () -> s3Client.putObject(putOb, RequestBody.fromBytes(content)));
             String url = s3Client.utilities().getUrl(builder -> builder.bucket(bucketName).key(key)).toExternalForm();
             System.out.println("✅ File uploaded to S3: " + url);
             return url;
@@ -105,6 +133,61 @@ public class S3Service {
         }
     }
 
+    /**
+     * Non-blocking {@link #uploadBytes}: same key, URL and fallbacks, but the put
+     * runs on the async client's event loop. Never errors; a failed upload emits
+     * the error URL like the blocking variant.
+     */
+    public Mono<String> uploadBytesAsync(String key, byte[] content, String contentType) {
+        if (s3AsyncClient == null) {
+            System.err.println("⚠️  S3 Client not initialized - returning placeholder URL");
+            return Mono.just("https://s3.amazonaws.com/placeholder/" + key);
+        }
+
+        PutObjectRequest putOb = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build();
+
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return Mono.fromFuture(() -> s3AsyncClient.putObject(putOb, AsyncRequestBody.fromBytes(content)))
+                    .doOnSuccess(response -> recordPut(sample, content.length, "success"))
+                    .map(response -> {
+                        String url = s3AsyncClient.utilities().getUrl(builder -> builder.bucket(bucketName).key(key))
+                                .toExternalForm();
+                        System.out.println("✅ File uploaded to S3: " + url);
+                        return url;
+                    })
+                    .onErrorResume(e -> {
+                        recordPut(sample, content.length, "error");
+                        System.err.println("❌ S3 Upload failed: " + e.getMessage());
+                        System.err.println("   Bucket: " + bucketName);
+                        System.err.println("   Key: " + key);
+                        return Mono.just("https://s3.amazonaws.com/error/" + key);
+                    });
+        });
+    }
+
+    // jdres.s3.put{outcome} latency and jdres.s3.put.bytes{outcome} object size
+    private void timedPut(long bytes, Runnable put) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            put.run();
+            outcome = "success";
+        } finally {
+            recordPut(sample, bytes, outcome);
+        }
+    }
+
+    private void recordPut(Timer.Sample sample, long bytes, String outcome) {
+        sample.stop(meterRegistry.timer("jdres.s3.put", "outcome", outcome));
+        DistributionSummary.builder("jdres.s3.put.bytes").baseUnit("bytes").tag("outcome", outcome)
+                .register(meterRegistry).record(bytes);
+    }
+
     public boolean deleteFile(String key) {
         if (s3Client == null) {
             System.err.println("⚠️  S3 Client not initialized - cannot delete file");
@@ -0,0 +1,267 @@
+package com.jdres.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Skill Dictionary
+ * Interns skill names to dense integer ids so skill sets can be compared as
+ * bitsets instead of string scans.
+ *
+ * Ids are keyed on the lowercased, trimmed skill as written. Two skills match when
+ * - their canonical names ({@link SkillNormalizationService}) are equal
+ *   ("golang" ~ "go", "js" ~ "javascript"), or
+ * - one lowercased form contains the other ("react" ~ "react native"), or
+ * - they are equal once '.', ' ' and '-' are stripped ("node.js" ~ "node js").
+ * Containment deliberately runs on the written forms: on canonical names it would
+ * turn "golang" into "go" and match "mongodb" and "django".
+ *
+ * The relation is precomputed and symmetric, computed once when a new skill is
+ * interned, so matching itself never does any string work. Only curated skill
+ * lists (JD skills, resume skills) are interned; free text such as search terms,
+ * project technologies and certifications is matched read-only through
+ * {@link #matchesAny(String, BitSet)} and {@link #reachOf(String)}.
+ *
+ * Ids are process-local and are not persisted.
+ */
+@Service
+public class SkillDictionary {
+
+    public static final int UNKNOWN = -1;
+
+    private static final int[] NO_RELATIONS = new int[0];
+
+    @Autowired
+    private SkillNormalizationService skillNormalizationService;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    // Copy-on-write under "this": readers take a snapshot reference, rows are never mutated.
+    // "names" is published last, so every other array is at least names.length long.
+    private volatile String[] names = new String[0];
+    private volatile String[] canonicalNames = new String[0];
+    private volatile String[] compactNames = new String[0];
+    private volatile int[][] related = new int[0][];
+
+    /**
+     * Id for a skill, interning it (and computing its fuzzy relations) on first sight
+     */
+    public int intern(String skill) {
+        String key = key(skill);
+        if (key == null) {
+            return UNKNOWN;
+        }
+        Integer id = ids.get(key);
+        return id != null ? id : internSlow(key);
+    }
+
+    /**
+     * Id for a skill if it has been interned, else UNKNOWN; never grows the dictionary
+     */
+    public int lookup(String skill) {
+        String key = key(skill);
+        if (key == null) {
+            return UNKNOWN;
+        }
+        Integer id = ids.get(key);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Intern every skill in order (UNKNOWN for blanks)
+     */
+    public int[] internAll(List<String> skills) {
+        if (skills == null) {
+            return new int[0];
+        }
+        int[] result = new int[skills.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = intern(skills.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Bitset of skill ids
+     */
+    public BitSet encode(List<String> skills) {
+        BitSet bits = new BitSet();
+        for (int id : internAll(skills)) {
+            if (id != UNKNOWN) {
+                bits.set(id);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Every id that fuzzy-matches at least one id in the given set (including the set itself).
+     * A JD skill matches the candidate iff its id is set in the result.
+     */
+    public BitSet reach(BitSet skillIds) {
+        int[][] rows = related;
+        BitSet reach = (BitSet) skillIds.clone();
+        for (int id = skillIds.nextSetBit(0); id >= 0; id = skillIds.nextSetBit(id + 1)) {
+            for (int other : rows[id]) {
+                reach.set(other);
+            }
+        }
+        return reach;
+    }
+
+    /**
+     * Every interned id that fuzzy-matches the given skill, without interning it.
+     * Unknown skills cost one lock-free scan of the dictionary.
+     */
+    public BitSet reachOf(String skill) {
+        BitSet reach = new BitSet();
+        String key = key(skill);
+        if (key == null) {
+            return reach;
+        }
+        Integer id = ids.get(key);
+        if (id != null) {
+            reach.set(id);
+            return reach(reach);
+        }
+
+        String[] snapshot = names;
+        String canonical = canonicalize(key);
+        String compact = compact(key);
+        for (int other = 0; other < snapshot.length; other++) {
+            if (related(key, canonical, compact, other)) {
+                reach.set(other);
+            }
+        }
+        return reach;
+    }
+
+    /**
+     * True if the skill fuzzy-matches any id in the given set
+     */
+    public boolean matchesAny(int id, BitSet skillIds) {
+        if (id == UNKNOWN) {
+            return false;
+        }
+        if (skillIds.get(id)) {
+            return true;
+        }
+        for (int other : related[id]) {
+            if (skillIds.get(other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True if a free-text skill fuzzy-matches any id in the given (small) set, without
+     * interning it: a bit test for known skills, else one string comparison per set member
+     */
+    public boolean matchesAny(String skill, BitSet skillIds) {
+        String key = key(skill);
+        if (key == null) {
+            return false;
+        }
+        Integer id = ids.get(key);
+        if (id != null) {
+            return matchesAny(id, skillIds);
+        }
+
+        String canonical = canonicalize(key);
+        String compact = compact(key);
+        for (int other = skillIds.nextSetBit(0); other >= 0; other = skillIds.nextSetBit(other + 1)) {
+            if (related(key, canonical, compact, other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fuzzy relation between two ids
+     */
+    public boolean matches(int a, int b) {
+        if (a == UNKNOWN || b == UNKNOWN) {
+            return false;
+        }
+        return a == b || Arrays.binarySearch(related[a], b) >= 0;
+    }
+
+    public String name(int id) {
+        return id == UNKNOWN ? null : names[id];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    private static String key(String skill) {
+        if (skill == null || skill.isBlank()) {
+            return null;
+        }
+        return skill.toLowerCase().trim();
+    }
+
+    private String canonicalize(String key) {
+        return skillNormalizationService.normalizeSkill(key);
+    }
+
+    // Relation between an (uninterned) key and an interned id
+    private boolean related(String key, String canonical, String compact, int other) {
+        String otherName = names[other];
+        return canonical.equals(canonicalNames[other])
+                || otherName.contains(key) || key.contains(otherName)
+                || compact.equals(compactNames[other]);
+    }
+
+    private synchronized int internSlow(String key) {
+        Integer existing = ids.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        int id = names.length;
+        String canonical = canonicalize(key);
+        String compact = compact(key);
+
+        String[] newNames = Arrays.copyOf(names, id + 1);
+        String[] newCanonical = Arrays.copyOf(canonicalNames, id + 1);
+        String[] newCompact = Arrays.copyOf(compactNames, id + 1);
+        int[][] newRelated = Arrays.copyOf(related, id + 1);
+        newNames[id] = key;
+        newCanonical[id] = canonical;
+        newCompact[id] = compact;
+
+        List<Integer> mine = new ArrayList<>();
+        for (int other = 0; other < id; other++) {
+            if (related(key, canonical, compact, other)) {
+                mine.add(other);
+                newRelated[other] = appendSorted(newRelated[other], id);
+            }
+        }
+        newRelated[id] = mine.isEmpty() ? NO_RELATIONS : mine.stream().mapToInt(Integer::intValue).toArray();
+
+        // Publish rows before the id becomes visible through the map
+        canonicalNames = newCanonical;
+        compactNames = newCompact;
+        related = newRelated;
+        names = newNames;
+        ids.put(key, id);
+        return id;
+    }
+
+    // New ids are always the largest, so appending keeps rows sorted
+    private static int[] appendSorted(int[] row, int id) {
+        int[] grown = Arrays.copyOf(row, row.length + 1);
+        grown[row.length] = id;
+        return grown;
+    }
+
+    private static String compact(String skill) {
+        return skill.replace(".", "").replace(" ", "").replace("-", "");
+    }
+}
@@ -3,10 +3,15 @@ package com.jdres.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,10 +29,21 @@ public class SkillExtractorService {
 
     private static final Logger log = LoggerFactory.getLogger(SkillExtractorService.class);
 
+    // Bump whenever getResumeSchema() or buildResumePrompt() changes so stale
+    // cached extractions are no longer served
+    static final String RESUME_PROMPT_VERSION = "resume-v1";
+
+    private static final String GEMINI_MODEL = "gemini-2.5-flash-lite";
+
+    private static final int RESUME_MAX_TOKENS = 1500;
+
     private final WebClient openaiWebClient;
     private final WebClient geminiWebClient;
     private final ObjectMapper objectMapper;
     private final TokenUsageTracker tokenUsageTracker;
+    private final ExtractionCacheService extractionCacheService;
+    private final LlmRequestScheduler llmRequestScheduler;
+    private final MeterRegistry meterRegistry;
 
     @Value("${openai.api-key}")
     private String openaiApiKey;
@@ -38,18 +54,27 @@ public class SkillExtractorService {
     @Value("${gemini.api-key:}")
     private String geminiApiKey;
 
-    public SkillExtractorService(TokenUsageTracker tokenUsageTracker) {
+    @Value("${llm.scheduler.max-retries:4}")
+    private int maxRetries;
+
+    public SkillExtractorService(TokenUsageTracker tokenUsageTracker, ExtractionCacheService extractionCacheService,
+            LlmRequestScheduler llmRequestScheduler, MeterRegistry meterRegistry,
+            @Value("${openai.base-url:https://api.openai.com/v1}") String openaiBaseUrl,
+            @Value("${gemini.base-url:https://generativelanguage.googleapis.com/v1beta}") String geminiBaseUrl) {
         this.tokenUsageTracker = tokenUsageTracker;
+        this.meterRegistry = meterRegistry;
+        this.extractionCacheService = extractionCacheService;
+        this.llmRequestScheduler = llmRequestScheduler;
         
         // OpenAI WebClient
         this.openaiWebClient = WebClient.builder()
-                .baseUrl("https://api.openai.com/v1")
+                .baseUrl(openaiBaseUrl)
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(2 * 1024 * 1024))
                 .build();
 
         // Gemini WebClient
         this.geminiWebClient = WebClient.builder()
-                .baseUrl("https://generativelanguage.googleapis.com/v1beta")
+                .baseUrl(geminiBaseUrl)
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(2 * 1024 * 1024))
                 .build();
 
@@ -75,17 +100,31 @@ public class SkillExtractorService {
      * fallback)
      */
     public Map<String, Object> extractResumeDetails(String text) {
+        // Same text + prompt version + model => reuse the stored extraction
+        Optional<Map<String, Object>> cached = extractionCacheService.get(text, RESUME_PROMPT_VERSION, openaiModel);
+        if (cached.isPresent()) {
+            log.info("♻️ Resume extraction served from cache");
+            Map<String, Object> result = cached.get();
+            calculateEmploymentGaps(result); // Refresh "PRESENT"-relative gaps
+            return result;
+        }
+
         String schema = getResumeSchema();
         String prompt = buildResumePrompt(schema, text);
 
         // Try OpenAI first
         Map<String, Object> result = tryOpenAI(prompt);
+        if (Thread.currentThread().isInterrupted()) {
+            return new HashMap<>(); // Cancelled while waiting: no Gemini fallback
+        }
+        boolean fromOpenAI = result != null && !result.isEmpty();
 
         // If OpenAI failed, try Gemini as fallback
-        if (result == null || result.isEmpty()) {
-            if (geminiApiKey != null && !geminiApiKey.isEmpty() && !geminiApiKey.equals("your_gemini_api_key_here")) {
+        if (!fromOpenAI) {
+            if (geminiConfigured()) {
                 log.info("🔄 OpenAI failed, trying Gemini fallback...");
-                result = tryGemini(prompt);
+                meterRegistry.counter("jdres.llm.fallbacks", "endpoint", "Resume").increment();
+                result = tryGemini(prompt, "Resume");
             }
         }
 
@@ -93,6 +132,11 @@ public class SkillExtractorService {
         if (result != null && !result.isEmpty()) {
             logExtractedDetails(result, "RESUME");
             calculateEmploymentGaps(result);
+            // Cache entries are keyed on the OpenAI model: a Gemini fallback result
+            // is not cached, so the next upload of the same text retries OpenAI
+            if (fromOpenAI) {
+                extractionCacheService.put(text, RESUME_PROMPT_VERSION, openaiModel, result);
+            }
             return result;
         }
 
@@ -107,111 +151,348 @@ public class SkillExtractorService {
         try {
             log.info("📤 Calling OpenAI API ({})...", openaiModel);
 
-            Map<String, Object> message = new HashMap<>();
-            message.put("role", "user");
-            message.put("content", prompt);
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", openaiModel);
-            requestBody.put("messages", List.of(message));
-            requestBody.put("max_tokens", 1500); // Enough for full resume extraction
-            requestBody.put("temperature", 0.0);
-
-            String response = openaiWebClient.post()
-                    .uri("/chat/completions")
-                    .header("Authorization", "Bearer " + openaiApiKey)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            if (response != null) {
-                JsonNode root = objectMapper.readTree(response);
-
-                // Log token usage and track it
-                JsonNode usage = root.path("usage");
-                if (!usage.isMissingNode()) {
-                    int promptTokens = usage.path("prompt_tokens").asInt();
-                    int completionTokens = usage.path("completion_tokens").asInt();
-                    int totalTokens = usage.path("total_tokens").asInt();
-                    log.info("📊 Token Usage: {} prompt + {} completion = {} total tokens",
-                            promptTokens, completionTokens, totalTokens);
-                    
-                    // Track token usage
-                    tokenUsageTracker.recordUsage(promptTokens, completionTokens, totalTokens);
-                }
-
-                String content = root.path("choices").get(0).path("message").path("content").asText().trim();
-                content = content.replaceAll("```json\\s*|```\\s*", "");
-
-                Map<String, Object> parsedDetails = objectMapper.readValue(content,
-                        new TypeReference<Map<String, Object>>() {
-                        });
+            JsonNode root = callChatCompletion(resumeRequestBody(prompt), prompt, RESUME_MAX_TOKENS, "Resume");
 
+            if (root != null) {
+                Map<String, Object> parsedDetails = parseChatContent(root);
                 log.info("✅ OpenAI extraction successful");
                 return parsedDetails;
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⏹️ Interrupted waiting for an OpenAI slot, resume extraction abandoned");
         } catch (Exception e) {
             log.error("❌ OpenAI API error: {}", e.getMessage());
         }
         return null;
     }
 
+    private Map<String, Object> resumeRequestBody(String prompt) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("role", "user");
+        message.put("content", prompt);
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", openaiModel);
+        requestBody.put("messages", List.of(message));
+        requestBody.put("max_tokens", RESUME_MAX_TOKENS); // Enough for full resume extraction
+        requestBody.put("temperature", 0.0);
+        return requestBody;
+    }
+
+    private Map<String, Object> parseChatContent(JsonNode root) throws Exception {
+        String content = root.path("choices").get(0).path("message").path("content").asText().trim();
+        content = content.replaceAll("```json\\s*|```\\s*", "");
+        return objectMapper.readValue(content, new TypeReference<Map<String, Object>>() {
+        });
+    }
+
     /**
-     * Try extracting with Gemini API (fallback)
+     * Send a chat-completion request through the LLM scheduler.
+     * Waits for rate-limit budget, honours Retry-After on 429/503 and retries,
+     * then records actual token usage.
+     *
+     * @return Parsed response root, or null if the response body was empty
      */
-    private Map<String, Object> tryGemini(String prompt) {
-        try {
-            log.info("📤 Calling Gemini API...");
+    private JsonNode callChatCompletion(Map<String, Object> requestBody, String prompt, int maxTokens,
+            String label) throws Exception {
+        int estimatedTokens = llmRequestScheduler.estimateTokens(prompt, maxTokens);
+
+        for (int attempt = 0; ; attempt++) {
+            LlmRequestScheduler.Permit permit = llmRequestScheduler.acquire(estimatedTokens);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String response;
+            try {
+                response = openaiWebClient.post()
+                        .uri("/chat/completions")
+                        .header("Authorization", "Bearer " + openaiApiKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .block();
+            } catch (WebClientResponseException e) {
+                llmRequestScheduler.release(permit, 0);
+                int status = e.getStatusCode().value();
+                sample.stop(llmTimer("openai", openaiModel, label, status == 429 ? "rate_limited" : "error"));
+                if ((status == 429 || status == 503) && attempt < maxRetries) {
+                    meterRegistry.counter("jdres.llm.retries", "model", openaiModel, "endpoint", label,
+                            "status", String.valueOf(status)).increment();
+                    long retryAfterMillis = parseRetryAfterMillis(e.getHeaders(), attempt);
+                    log.warn("🚦 OpenAI {} for {} call (attempt {}/{}), retrying in {} ms",
+                            status, label, attempt + 1, maxRetries, retryAfterMillis);
+                    llmRequestScheduler.pauseFor(retryAfterMillis);
+                    continue;
+                }
+                throw e;
+            } catch (Exception e) {
+                llmRequestScheduler.release(permit, estimatedTokens);
+                sample.stop(llmTimer("openai", openaiModel, label, "error"));
+                throw e;
+            }
+            sample.stop(llmTimer("openai", openaiModel, label, "success"));
 
-            // Gemini API request format
-            Map<String, Object> part = new HashMap<>();
-            part.put("text", prompt);
+            if (response == null) {
+                llmRequestScheduler.release(permit, 0);
+                return null;
+            }
+            return readChatResponse(response, permit, estimatedTokens, label);
+        }
+    }
 
-            Map<String, Object> content = new HashMap<>();
-            content.put("parts", List.of(part));
+    /**
+     * Parse a chat-completion response, record its token usage and release the
+     * permit with the tokens actually billed
+     */
+    private JsonNode readChatResponse(String response, LlmRequestScheduler.Permit permit, int estimatedTokens,
+            String label) throws Exception {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(response);
+        } catch (Exception e) {
+            llmRequestScheduler.release(permit, estimatedTokens);
+            throw e;
+        }
+        JsonNode usage = root.path("usage");
+        if (!usage.isMissingNode()) {
+            int promptTokens = usage.path("prompt_tokens").asInt();
+            int completionTokens = usage.path("completion_tokens").asInt();
+            int totalTokens = usage.path("total_tokens").asInt();
+            log.info("📊 {} Token Usage: {} prompt + {} completion = {} total tokens",
+                    label, promptTokens, completionTokens, totalTokens);
+            tokenUsageTracker.recordUsage(openaiModel, label, promptTokens, completionTokens, totalTokens);
+            llmRequestScheduler.release(permit, totalTokens);
+        } else {
+            llmRequestScheduler.release(permit, estimatedTokens);
+        }
+        return root;
+    }
 
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("contents", List.of(content));
+    // jdres.llm.requests{provider, model, endpoint, outcome}: one HTTP attempt
+    private Timer llmTimer(String provider, String model, String endpoint, String outcome) {
+        return meterRegistry.timer("jdres.llm.requests",
+                "provider", provider, "model", model, "endpoint", endpoint, "outcome", outcome);
+    }
 
-            // Generation config for JSON output
-            Map<String, Object> genConfig = new HashMap<>();
-            genConfig.put("temperature", 0.0);
-            genConfig.put("maxOutputTokens", 4096);
-            requestBody.put("generationConfig", genConfig);
+    /**
+     * Read Retry-After (seconds) or OpenAI's retry-after-ms; fall back to
+     * exponential backoff (1s, 2s, 4s, ...)
+     */
+    private long parseRetryAfterMillis(HttpHeaders headers, int attempt) {
+        try {
+            String retryAfterMs = headers.getFirst("retry-after-ms");
+            if (retryAfterMs != null) {
+                return Math.max(0, (long) Double.parseDouble(retryAfterMs.trim()));
+            }
+            String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+            if (retryAfter != null) {
+                return Math.max(0, (long) (Double.parseDouble(retryAfter.trim()) * 1000));
+            }
+        } catch (NumberFormatException e) {
+            // HTTP-date form or garbage - use backoff
+        }
+        return 1000L << Math.min(attempt, 5);
+    }
+
+    /**
+     * Try extracting with Gemini API (fallback)
+     */
+    private Map<String, Object> tryGemini(String prompt, String label) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            log.info("📤 Calling Gemini API...");
 
             String response = geminiWebClient.post()
-                    .uri("/models/gemini-2.5-flash-lite:generateContent?key=" + geminiApiKey)
+                    .uri("/models/" + GEMINI_MODEL + ":generateContent?key=" + geminiApiKey)
                     .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
+                    .bodyValue(geminiRequestBody(prompt))
                     .retrieve()
                     .bodyToMono(String.class)
                     .block();
 
             if (response != null) {
-                JsonNode root = objectMapper.readTree(response);
-                String textContent = root.path("candidates").get(0)
-                        .path("content").path("parts").get(0).path("text").asText().trim();
-                textContent = textContent.replaceAll("```json\\s*|```\\s*", "");
-
-                Map<String, Object> parsedDetails = objectMapper.readValue(textContent,
-                        new TypeReference<Map<String, Object>>() {
-                        });
-
+                Map<String, Object> parsedDetails = parseGeminiContent(response);
                 log.info("✅ Gemini extraction successful");
+                outcome = "success";
                 return parsedDetails;
             }
         } catch (Exception e) {
-            // Sanitize error message to remove API key
-            String safeMessage = e.getMessage() != null
-                    ? e.getMessage().replaceAll("key=[^&\\s]+", "key=***")
-                    : "Unknown error";
-            log.error("❌ Gemini API error: {}", safeMessage);
+            log.error("❌ Gemini API error: {}", safeGeminiMessage(e));
+        } finally {
+            sample.stop(llmTimer("gemini", GEMINI_MODEL, label, outcome));
         }
         return null;
     }
 
+    private static Map<String, Object> geminiRequestBody(String prompt) {
+        // Gemini API request format
+        Map<String, Object> part = new HashMap<>();
+        part.put("text", prompt);
+
+        Map<String, Object> content = new HashMap<>();
+        content.put("parts", List.of(part));
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("contents", List.of(content));
+
+        // Generation config for JSON output
+        Map<String, Object> genConfig = new HashMap<>();
+        genConfig.put("temperature", 0.0);
+        genConfig.put("maxOutputTokens", 4096);
+        requestBody.put("generationConfig", genConfig);
+        return requestBody;
+    }
+
+    private Map<String, Object> parseGeminiContent(String response) throws Exception {
+        JsonNode root = objectMapper.readTree(response);
+        String textContent = root.path("candidates").get(0)
+                .path("content").path("parts").get(0).path("text").asText().trim();
+        textContent = textContent.replaceAll("```json\\s*|```\\s*", "");
+        return objectMapper.readValue(textContent, new TypeReference<Map<String, Object>>() {
+        });
+    }
+
+    // Sanitize error message to remove API key
+    private static String safeGeminiMessage(Throwable e) {
+        return e.getMessage() != null ? e.getMessage().replaceAll("key=[^&\\s]+", "key=***") : "Unknown error";
+    }
+
+    private boolean geminiConfigured() {
+        return geminiApiKey != null && !geminiApiKey.isEmpty() && !geminiApiKey.equals("your_gemini_api_key_here");
+    }
+
+    // ============================================
+    // Non-blocking extraction (reactive upload pipeline)
+    // ============================================
+
+    /**
+     * Non-blocking {@link #extractResumeDetails}: same cache, prompt, scheduler
+     * admission, retries and Gemini fallback, but no thread waits on the cache
+     * lookup, the rate limiter or the HTTP calls. Emits an empty map if both
+     * providers fail.
+     */
+    public Mono<Map<String, Object>> extractResumeDetailsAsync(String text) {
+        return extractionCacheService.getAsync(text, RESUME_PROMPT_VERSION, openaiModel)
+                .map(cached -> {
+                    log.info("♻️ Resume extraction served from cache");
+                    calculateEmploymentGaps(cached); // Refresh "PRESENT"-relative gaps
+                    return cached;
+                })
+                .switchIfEmpty(Mono.defer(() -> extractUncachedAsync(text)));
+    }
+
+    private Mono<Map<String, Object>> extractUncachedAsync(String text) {
+        String prompt = buildResumePrompt(getResumeSchema(), text);
+        int estimatedTokens = llmRequestScheduler.estimateTokens(prompt, RESUME_MAX_TOKENS);
+
+        Mono<Map<String, Object>> openai = callChatCompletionAsync(resumeRequestBody(prompt), estimatedTokens,
+                "Resume", 0)
+                .flatMap(root -> Mono.fromCallable(() -> parseChatContent(root)))
+                .doOnNext(details -> log.info("✅ OpenAI extraction successful"))
+                .onErrorResume(e -> {
+                    log.error("❌ OpenAI API error: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .filter(details -> !details.isEmpty());
+
+        Mono<Map<String, Object>> gemini = Mono.defer(() -> {
+            if (!geminiConfigured()) {
+                return Mono.empty();
+            }
+            log.info("🔄 OpenAI failed, trying Gemini fallback...");
+            meterRegistry.counter("jdres.llm.fallbacks", "endpoint", "Resume").increment();
+            return callGeminiAsync(prompt, "Resume");
+        });
+
+        // Only OpenAI output is cached (entries are keyed on the OpenAI model)
+        return openai.flatMap(result -> completeResumeExtraction(text, result, true))
+                .switchIfEmpty(gemini.flatMap(result -> completeResumeExtraction(text, result, false)))
+                .switchIfEmpty(Mono.<Map<String, Object>>fromSupplier(() -> {
+                    log.warn("⚠️ Both OpenAI and Gemini failed to extract resume details");
+                    return new HashMap<>();
+                }));
+    }
+
+    private Mono<Map<String, Object>> completeResumeExtraction(String text, Map<String, Object> result,
+            boolean cache) {
+        logExtractedDetails(result, "RESUME");
+        calculateEmploymentGaps(result);
+        if (!cache) {
+            return Mono.just(result);
+        }
+        return extractionCacheService.putAsync(text, RESUME_PROMPT_VERSION, openaiModel, result)
+                .thenReturn(result);
+    }
+
+    /**
+     * Non-blocking {@link #callChatCompletion}: 429/503 pause the scheduler and
+     * re-enter admission, up to maxRetries
+     */
+    private Mono<JsonNode> callChatCompletionAsync(Map<String, Object> requestBody, int estimatedTokens,
+            String label, int attempt) {
+        return llmRequestScheduler.acquireAsync(estimatedTokens).flatMap(permit -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return openaiWebClient.post()
+                    .uri("/chat/completions")
+                    .header("Authorization", "Bearer " + openaiApiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(requestBody)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .doOnNext(response -> sample.stop(llmTimer("openai", openaiModel, label, "success")))
+                    .flatMap(response -> Mono.fromCallable(
+                            () -> readChatResponse(response, permit, estimatedTokens, label)))
+                    .switchIfEmpty(Mono.fromRunnable(() -> {
+                        sample.stop(llmTimer("openai", openaiModel, label, "success"));
+                        llmRequestScheduler.release(permit, 0);
+                    }))
+                    .onErrorResume(WebClientResponseException.class, e -> {
+                        llmRequestScheduler.release(permit, 0);
+                        int status = e.getStatusCode().value();
+                        sample.stop(llmTimer("openai", openaiModel, label,
+                                status == 429 ? "rate_limited" : "error"));
+                        if ((status == 429 || status == 503) && attempt < maxRetries) {
+                            meterRegistry.counter("jdres.llm.retries", "model", openaiModel, "endpoint", label,
+                                    "status", String.valueOf(status)).increment();
+                            long retryAfterMillis = parseRetryAfterMillis(e.getHeaders(), attempt);
+                            log.warn("🚦 OpenAI {} for {} call (attempt {}/{}), retrying in {} ms",
+                                    status, label, attempt + 1, maxRetries, retryAfterMillis);
+                            llmRequestScheduler.pauseFor(retryAfterMillis);
+                            return callChatCompletionAsync(requestBody, estimatedTokens, label, attempt + 1);
+                        }
+                        return Mono.error(e);
+                    })
+                    .doOnError(e -> !(e instanceof WebClientResponseException), e -> {
+                        // Transport failure or unparseable body: nothing billed is known
+                        llmRequestScheduler.release(permit, estimatedTokens);
+                    })
+                    // Releasing twice is a no-op, so every exit path may release
+                    .doOnCancel(() -> llmRequestScheduler.release(permit, estimatedTokens));
+        });
+    }
+
+    private Mono<Map<String, Object>> callGeminiAsync(String prompt, String label) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return geminiWebClient.post()
+                .uri("/models/" + GEMINI_MODEL + ":generateContent?key=" + geminiApiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(geminiRequestBody(prompt))
+                .retrieve()
+                .bodyToMono(String.class)
+                .flatMap(response -> Mono.fromCallable(() -> parseGeminiContent(response)))
+                .doOnNext(details -> {
+                    log.info("✅ Gemini extraction successful");
+                    sample.stop(llmTimer("gemini", GEMINI_MODEL, label, "success"));
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> sample.stop(llmTimer("gemini", GEMINI_MODEL, label, "error"))))
+                .onErrorResume(e -> {
+                    log.error("❌ Gemini API error: {}", safeGeminiMessage(e));
+                    sample.stop(llmTimer("gemini", GEMINI_MODEL, label, "error"));
+                    return Mono.empty();
+                });
+    }
+
     /**
      * Log comprehensive extracted Resume details for debugging
      */
@@ -673,13 +954,16 @@ public class SkillExtractorService {
 
             // Try OpenAI first
             Map<String, Object> result = tryOpenAIForJD(prompt);
+            if (Thread.currentThread().isInterrupted()) {
+                return new HashMap<>(); // Cancelled while waiting: no Gemini fallback
+            }
 
             // If OpenAI failed, try Gemini fallback
             if (result == null || result.isEmpty()) {
-                if (geminiApiKey != null && !geminiApiKey.isEmpty()
-                        && !geminiApiKey.equals("your_gemini_api_key_here")) {
+                if (geminiConfigured()) {
                     log.info("🔄 OpenAI failed for JD, trying Gemini fallback...");
-                    result = tryGemini(prompt);
+                    meterRegistry.counter("jdres.llm.fallbacks", "endpoint", "JD").increment();
+                    result = tryGemini(prompt, "JD");
                 }
             }
 
@@ -710,35 +994,18 @@ public class SkillExtractorService {
             requestBody.put("max_tokens", 500); // JD extraction needs less tokens
             requestBody.put("temperature", 0.1);
 
-            String response = openaiWebClient.post()
-                    .uri("/chat/completions")
-                    .header("Authorization", "Bearer " + openaiApiKey)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+            JsonNode root = callChatCompletion(requestBody, prompt, 500, "JD");
 
-            if (response != null) {
-                JsonNode root = objectMapper.readTree(response);
-                
-                // Track token usage for JD extraction
-                JsonNode usage = root.path("usage");
-                if (!usage.isMissingNode()) {
-                    int promptTokens = usage.path("prompt_tokens").asInt();
-                    int completionTokens = usage.path("completion_tokens").asInt();
-                    int totalTokens = usage.path("total_tokens").asInt();
-                    log.info("📊 JD Token Usage: {} prompt + {} completion = {} total",
-                            promptTokens, completionTokens, totalTokens);
-                    tokenUsageTracker.recordUsage(promptTokens, completionTokens, totalTokens);
-                }
-                
+            if (root != null) {
                 String content = root.path("choices").get(0).path("message").path("content").asText().trim();
                 content = content.replaceAll("```json\\s*|```\\s*", "");
                 log.info("✅ OpenAI JD extraction successful");
                 return objectMapper.readValue(content, new TypeReference<Map<String, Object>>() {
                 });
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⏹️ Interrupted waiting for an OpenAI slot, JD extraction abandoned");
         } catch (Exception e) {
             log.error("❌ OpenAI API error for JD: {}", e.getMessage());
         }
@@ -795,17 +1062,9 @@ public class SkillExtractorService {
             requestBody.put("max_tokens", 300);
             requestBody.put("temperature", 0.3);
 
-            String response = openaiWebClient.post()
-                    .uri("/chat/completions")
-                    .header("Authorization", "Bearer " + openaiApiKey)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+            JsonNode root = callChatCompletion(requestBody, prompt, 300, "Skill gap");
 
-            if (response != null) {
-                JsonNode root = objectMapper.readTree(response);
+            if (root != null) {
                 String content = root.path("choices").get(0).path("message").path("content").asText().trim();
 
                 // Remove markdown code blocks if present
@@ -814,6 +1073,8 @@ public class SkillExtractorService {
                 return objectMapper.readValue(content, new TypeReference<Map<String, Object>>() {
                 });
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.error("OpenAI API error: {}", e.getMessage());
         }
@@ -839,8 +1100,9 @@ public class SkillExtractorService {
         }
     }
 
+    // Package-private for the JMH benchmarks (src/jmh)
     @SuppressWarnings("unchecked")
-    private void calculateEmploymentGaps(Map<String, Object> resumeData) {
+    void calculateEmploymentGaps(Map<String, Object> resumeData) {
         try {
             // 1. Get Work Experience
             List<Map<String, Object>> workExperience = (List<Map<String, Object>>) resumeData.get("work_experience");
@@ -26,11 +26,23 @@ public class SkillNormalizationService {
     // Reverse lookup: variation -> canonical name
     private static final Map<String, String> NORMALIZATION_MAP = new HashMap<>();
 
+    // Every variation, for finding known skills in free text without an LLM call
+    private static final List<String> SCAN_VARIATIONS = new ArrayList<>();
+    private static final KeywordScanner SKILL_SCANNER;
+
     static {
         // Initialize skill synonym groups
         initializeSkillGroups();
         // Build reverse lookup map
         buildNormalizationMap();
+        // Short all-letter variations ("go", "r", "c") are ordinary words or initials in prose
+        for (String variation : NORMALIZATION_MAP.keySet()) {
+            if (variation.length() >= 3 || !variation.chars().allMatch(Character::isLetter)) {
+                SCAN_VARIATIONS.add(variation);
+            }
+        }
+        Collections.sort(SCAN_VARIATIONS);
+        SKILL_SCANNER = new KeywordScanner(SCAN_VARIATIONS);
     }
 
     private static void initializeSkillGroups() {
@@ -259,6 +271,29 @@ public class SkillNormalizationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Canonical names of the known skills mentioned in free text, each once.
+     * Keyword fallback for when the LLM extraction found none;
+     * pure CPU, safe on any thread.
+     */
+    public List<String> findSkillsInText(String text) {
+        Set<String> skills = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        KeywordScanner.Matches matches = SKILL_SCANNER.scan(text);
+        for (int p = 0; p < SCAN_VARIATIONS.size(); p++) {
+            String variation = SCAN_VARIATIONS.get(p);
+            // "c++" / "c#" end in a non-word char, so \b can never follow them: substring hit
+            boolean wordEdges = Character.isLetterOrDigit(variation.charAt(0))
+                    && Character.isLetterOrDigit(variation.charAt(variation.length() - 1));
+            if (wordEdges ? matches.foundWord(p) : matches.found(p)) {
+                skills.add(NORMALIZATION_MAP.get(variation));
+            }
+        }
+        return new ArrayList<>(skills);
+    }
+
     /**
      * Normalize skills from a map of skill categories
      */
@@ -0,0 +1,452 @@
+package com.jdres.service;
+
+import com.jdres.service.TalentQuery.*;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory inverted index over one recruiter's talent pool.
+ *
+ * Structured fields (skill ids, domains, methodologies) are bitset postings over
+ * dense document ids; resume text is held as sorted (doc, term frequency)
+ * postings scored with BM25. Boolean queries are bitset algebra, ranking only
+ * touches the postings of the query's positive text terms.
+ *
+ * A removed or re-indexed resume is dropped from every posting list, so
+ * statistics always reflect the live pool. Its document id is left as a
+ * tombstone until a quarter of the ids are dead; then live documents are
+ * renumbered densely, so memory and per-query score arrays follow the live pool
+ * rather than every put ever made. Thread-safe (read/write lock).
+ */
+public final class TalentIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Added per positive skill clause a resume satisfies, on top of its BM25 text score
+    private static final double SKILL_BOOST = 2.0;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>(); // by doc id, null once removed
+    private final BitSet live = new BitSet();
+
+    private final Map<Integer, BitSet> skillDocs = new HashMap<>();
+    private final Map<String, BitSet> domainDocs = new HashMap<>();
+    private final Map<String, BitSet> methodologyDocs = new HashMap<>();
+    private final Map<String, Postings> textPostings = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * Add or replace a resume
+     */
+    public void put(Entry entry) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = 0;
+        for (String term : tokenize(entry.text())) {
+            termFreqs.merge(term, 1, Integer::sum);
+            length++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(entry.fileId());
+            compactIfNeeded();
+
+            int id = docs.size();
+            String[] domains = lowerAll(entry.domains());
+            String[] methodologies = lowerAll(entry.methodologies());
+            String[] terms = termFreqs.keySet().toArray(new String[0]);
+            docs.add(new Doc(entry.fileId(), entry.name(), entry.experienceYears(), length,
+                    entry.skillIds().clone(), domains, methodologies, terms));
+            docIds.put(entry.fileId(), id);
+            live.set(id);
+            totalLength += length;
+
+            for (int skillId : entry.skillIds()) {
+                skillDocs.computeIfAbsent(skillId, k -> new BitSet()).set(id);
+            }
+            for (String domain : domains) {
+                domainDocs.computeIfAbsent(domain, k -> new BitSet()).set(id);
+            }
+            for (String methodology : methodologies) {
+                methodologyDocs.computeIfAbsent(methodology, k -> new BitSet()).set(id);
+            }
+            // Ids only grow, so appending keeps every posting list sorted
+            termFreqs.forEach((term, tf) -> textPostings.computeIfAbsent(term, k -> new Postings()).append(id, tf));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String fileId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(fileId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluate a parsed query and return the best {@code limit} matches.
+     *
+     * @param skillReach skill name -> ids it fuzzy-matches (empty if unknown)
+     */
+    public Result search(Node query, Function<String, BitSet> skillReach, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet hits = eval(query, skillReach);
+            hits.and(live);
+
+            // Ranking inputs: text words and skill clauses that are not under a NOT
+            List<String> rankTerms = new ArrayList<>();
+            List<BitSet> rankSkills = new ArrayList<>();
+            collectPositive(query, false, skillReach, rankTerms, rankSkills);
+
+            double[] scores = new double[docs.size()];
+            int liveCount = docIds.size();
+            double avgLength = liveCount > 0 ? (double) totalLength / liveCount : 0;
+            for (String term : rankTerms) {
+                Postings postings = textPostings.get(term);
+                if (postings == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveCount - postings.size + 0.5) / (postings.size + 0.5));
+                for (int i = 0; i < postings.size; i++) {
+                    int doc = postings.docs[i];
+                    if (hits.get(doc)) {
+                        int tf = postings.tfs[i];
+                        double norm = avgLength > 0 ? docs.get(doc).length() / avgLength : 1;
+                        scores[doc] += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * norm));
+                    }
+                }
+            }
+            for (BitSet skillHits : rankSkills) {
+                for (int doc = skillHits.nextSetBit(0); doc >= 0; doc = skillHits.nextSetBit(doc + 1)) {
+                    scores[doc] += SKILL_BOOST;
+                }
+            }
+
+            TopK<Hit> topK = new TopK<>(limit);
+            for (int doc = hits.nextSetBit(0); doc >= 0; doc = hits.nextSetBit(doc + 1)) {
+                Doc d = docs.get(doc);
+                topK.offer(scores[doc], new Hit(d.fileId(), d.name(), d.experience(), scores[doc]));
+            }
+            return new Result(hits.cardinality(), topK.sorted());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============================================
+    // Query evaluation
+    // ============================================
+
+    private BitSet eval(Node node, Function<String, BitSet> skillReach) {
+        if (node instanceof And and) {
+            BitSet result = eval(and.left(), skillReach);
+            if (!result.isEmpty()) {
+                result.and(eval(and.right(), skillReach));
+            }
+            return result;
+        }
+        if (node instanceof Or or) {
+            BitSet result = eval(or.left(), skillReach);
+            result.or(eval(or.right(), skillReach));
+            return result;
+        }
+        if (node instanceof Not not) {
+            BitSet result = (BitSet) live.clone();
+            result.andNot(eval(not.child(), skillReach));
+            return result;
+        }
+        if (node instanceof Experience exp) {
+            return experience(exp);
+        }
+        Term term = (Term) node;
+        switch (term.field()) {
+            case SKILL:
+                return skillDocs(term.value(), skillReach);
+            case DOMAIN:
+                return copy(domainDocs.get(term.value()));
+            case METHODOLOGY:
+                return copy(methodologyDocs.get(term.value()));
+            case TEXT:
+                return textDocs(term.value());
+            default:
+                BitSet result = skillDocs(term.value(), skillReach);
+                result.or(copy(domainDocs.get(term.value())));
+                result.or(copy(methodologyDocs.get(term.value())));
+                result.or(textDocs(term.value()));
+                return result;
+        }
+    }
+
+    private BitSet skillDocs(String skill, Function<String, BitSet> skillReach) {
+        BitSet result = new BitSet();
+        BitSet ids = skillReach.apply(skill);
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            BitSet docsWithSkill = skillDocs.get(id);
+            if (docsWithSkill != null) {
+                result.or(docsWithSkill);
+            }
+        }
+        return result;
+    }
+
+    // Every word of the value must appear (no positional phrase matching)
+    private BitSet textDocs(String value) {
+        BitSet result = null;
+        for (String term : tokenize(value)) {
+            Postings postings = textPostings.get(term);
+            if (postings == null) {
+                return new BitSet();
+            }
+            BitSet termDocs = postings.toBitSet();
+            if (result == null) {
+                result = termDocs;
+            } else {
+                result.and(termDocs);
+            }
+        }
+        return result != null ? result : new BitSet();
+    }
+
+    private BitSet experience(Experience exp) {
+        BitSet result = new BitSet();
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            int years = docs.get(doc).experience();
+            boolean match;
+            switch (exp.op()) {
+                case ">=":
+                    match = years >= exp.years();
+                    break;
+                case ">":
+                    match = years > exp.years();
+                    break;
+                case "<=":
+                    match = years <= exp.years();
+                    break;
+                case "<":
+                    match = years < exp.years();
+                    break;
+                default:
+                    match = years == exp.years();
+            }
+            if (match) {
+                result.set(doc);
+            }
+        }
+        return result;
+    }
+
+    private void collectPositive(Node node, boolean negated, Function<String, BitSet> skillReach,
+            List<String> rankTerms, List<BitSet> rankSkills) {
+        if (node instanceof And and) {
+            collectPositive(and.left(), negated, skillReach, rankTerms, rankSkills);
+            collectPositive(and.right(), negated, skillReach, rankTerms, rankSkills);
+        } else if (node instanceof Or or) {
+            collectPositive(or.left(), negated, skillReach, rankTerms, rankSkills);
+            collectPositive(or.right(), negated, skillReach, rankTerms, rankSkills);
+        } else if (node instanceof Not not) {
+            collectPositive(not.child(), !negated, skillReach, rankTerms, rankSkills);
+        } else if (node instanceof Term term && !negated) {
+            if (term.field() == Field.TEXT || term.field() == Field.ANY) {
+                rankTerms.addAll(tokenize(term.value()));
+            }
+            if (term.field() == Field.SKILL || term.field() == Field.ANY) {
+                rankSkills.add(skillDocs(term.value(), skillReach));
+            }
+        }
+    }
+
+    private void removeLocked(String fileId) {
+        Integer id = docIds.remove(fileId);
+        if (id == null) {
+            return;
+        }
+        Doc doc = docs.get(id);
+        docs.set(id, null);
+        live.clear(id);
+        totalLength -= doc.length();
+
+        for (int skillId : doc.skillIds()) {
+            clear(skillDocs, skillId, id);
+        }
+        for (String domain : doc.domains()) {
+            clear(domainDocs, domain, id);
+        }
+        for (String methodology : doc.methodologies()) {
+            clear(methodologyDocs, methodology, id);
+        }
+        for (String term : doc.terms()) {
+            Postings postings = textPostings.get(term);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                textPostings.remove(term);
+            }
+        }
+    }
+
+    // Renumber live documents in their current order, so every posting list stays sorted
+    private void compactIfNeeded() {
+        int tombstones = docs.size() - docIds.size();
+        if (docs.size() < 64 || tombstones * 4 < docs.size()) {
+            return;
+        }
+        int[] remap = new int[docs.size()];
+        List<Doc> compacted = new ArrayList<>(docIds.size());
+        for (int old = 0; old < docs.size(); old++) {
+            Doc doc = docs.get(old);
+            if (doc != null) {
+                remap[old] = compacted.size();
+                docIds.put(doc.fileId(), compacted.size());
+                compacted.add(doc);
+            }
+        }
+        docs.clear();
+        docs.addAll(compacted);
+        live.clear();
+        live.set(0, compacted.size());
+
+        renumber(skillDocs, remap);
+        renumber(domainDocs, remap);
+        renumber(methodologyDocs, remap);
+        for (Postings postings : textPostings.values()) {
+            for (int i = 0; i < postings.size; i++) {
+                postings.docs[i] = remap[postings.docs[i]];
+            }
+        }
+    }
+
+    // Postings only ever hold live documents, so every entry has a new id
+    private static <K> void renumber(Map<K, BitSet> postings, int[] remap) {
+        for (Map.Entry<K, BitSet> entry : postings.entrySet()) {
+            BitSet bits = entry.getValue();
+            BitSet renumbered = new BitSet();
+            for (int doc = bits.nextSetBit(0); doc >= 0; doc = bits.nextSetBit(doc + 1)) {
+                renumbered.set(remap[doc]);
+            }
+            entry.setValue(renumbered);
+        }
+    }
+
+    private static <K> void clear(Map<K, BitSet> postings, K key, int doc) {
+        BitSet bits = postings.get(key);
+        if (bits != null) {
+            bits.clear(doc);
+            if (bits.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static BitSet copy(BitSet bits) {
+        return bits != null ? (BitSet) bits.clone() : new BitSet();
+    }
+
+    private static String[] lowerAll(List<String> values) {
+        if (values == null) {
+            return new String[0];
+        }
+        String[] result = new String[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i).toLowerCase();
+        }
+        return result;
+    }
+
+    /**
+     * Lowercased runs of letters, digits, '+' and '#' (so "C++" and "C#" survive)
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            boolean wordChar = Character.isLetterOrDigit(c) || c == '+' || c == '#';
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    // ============================================
+    // Data Classes
+    // ============================================
+
+    /**
+     * What the index needs from one resume
+     */
+    public record Entry(String fileId, String name, int experienceYears, int[] skillIds,
+            List<String> domains, List<String> methodologies, String text) {
+    }
+
+    public record Hit(String fileId, String name, int experienceYears, double score) {
+    }
+
+    public record Result(int total, List<Hit> hits) {
+    }
+
+    private record Doc(String fileId, String name, int experience, int length, int[] skillIds,
+            String[] domains, String[] methodologies, String[] terms) {
+    }
+
+    /**
+     * Sorted (doc id, term frequency) pairs for one text term
+     */
+    private static final class Postings {
+        int[] docs = new int[2];
+        int[] tfs = new int[2];
+        int size;
+
+        void append(int doc, int tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = tf;
+            size++;
+        }
+
+        boolean remove(int doc) {
+            int i = Arrays.binarySearch(docs, 0, size, doc);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(docs, i + 1, docs, i, size - i - 1);
+            System.arraycopy(tfs, i + 1, tfs, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        BitSet toBitSet() {
+            BitSet bits = new BitSet();
+            for (int i = 0; i < size; i++) {
+                bits.set(docs[i]);
+            }
+            return bits;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.jdres.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Talent-pool query language.
+ *
+ * <pre>
+ *   kafka AND (fintech OR banking) AND exp>=5
+ *   skill:"spring boot" domain:healthcare -method:waterfall
+ * </pre>
+ *
+ * Terms are joined by AND / OR / NOT (case-insensitive), parentheses group, a
+ * leading "-" negates, and adjacent terms are ANDed. A bare term matches a skill,
+ * domain, methodology or resume-text word; prefix it with skill:, domain:,
+ * method: or text: to restrict the field. exp compares total years of
+ * experience with >=, >, <=, < or =. Quoted values may contain spaces.
+ *
+ * Parse errors throw IllegalArgumentException with a message fit for the caller.
+ */
+public final class TalentQuery {
+
+    public enum Field {
+        ANY, SKILL, DOMAIN, METHODOLOGY, TEXT
+    }
+
+    public interface Node {
+    }
+
+    public record Term(Field field, String value) implements Node {
+    }
+
+    public record Experience(String op, int years) implements Node {
+    }
+
+    public record And(Node left, Node right) implements Node {
+    }
+
+    public record Or(Node left, Node right) implements Node {
+    }
+
+    public record Not(Node child) implements Node {
+    }
+
+    private static final int MAX_LENGTH = 1000;
+
+    private final List<String> tokens;
+    private final List<Boolean> quoted; // parallel to tokens
+    private int pos;
+
+    private TalentQuery(String query) {
+        this.tokens = new ArrayList<>();
+        this.quoted = new ArrayList<>();
+        tokenize(query);
+    }
+
+    public static Node parse(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Query is empty");
+        }
+        if (query.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Query is too long");
+        }
+        TalentQuery parser = new TalentQuery(query);
+        Node node = parser.parseOr();
+        if (parser.pos < parser.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected '" + parser.tokens.get(parser.pos) + "'");
+        }
+        return node;
+    }
+
+    // ============================================
+    // Grammar
+    // ============================================
+
+    private Node parseOr() {
+        Node node = parseAnd();
+        while (isKeyword("OR")) {
+            pos++;
+            node = new Or(node, parseAnd());
+        }
+        return node;
+    }
+
+    private Node parseAnd() {
+        Node node = parseUnary();
+        while (pos < tokens.size() && !isKeyword("OR") && !isSymbol(")")) {
+            if (isKeyword("AND")) {
+                pos++;
+            }
+            node = new And(node, parseUnary());
+        }
+        return node;
+    }
+
+    private Node parseUnary() {
+        if (isKeyword("NOT") || isSymbol("-")) {
+            pos++;
+            return new Not(parseUnary());
+        }
+        return parsePrimary();
+    }
+
+    private Node parsePrimary() {
+        if (pos >= tokens.size()) {
+            throw new IllegalArgumentException("Query ends unexpectedly");
+        }
+        if (isSymbol("(")) {
+            pos++;
+            Node node = parseOr();
+            if (!isSymbol(")")) {
+                throw new IllegalArgumentException("Missing ')'");
+            }
+            pos++;
+            return node;
+        }
+
+        String token = tokens.get(pos);
+        boolean isQuoted = quoted.get(pos);
+        if (!isQuoted && isOperatorToken(token)) {
+            throw new IllegalArgumentException("Unexpected '" + token + "'");
+        }
+        pos++;
+
+        if (!isQuoted && token.equalsIgnoreCase("exp") && pos < tokens.size() && isComparison(tokens.get(pos))) {
+            String op = tokens.get(pos++);
+            if (pos >= tokens.size()) {
+                throw new IllegalArgumentException("exp" + op + " needs a number of years");
+            }
+            try {
+                return new Experience(op, Integer.parseInt(tokens.get(pos++)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("exp" + op + " needs a number of years");
+            }
+        }
+
+        if (!isQuoted) {
+            int colon = token.indexOf(':');
+            if (colon > 0) {
+                Field field = field(token.substring(0, colon));
+                String value = token.substring(colon + 1);
+                if (value.isEmpty()) {
+                    // skill:"spring boot"
+                    if (pos >= tokens.size() || !quoted.get(pos)) {
+                        throw new IllegalArgumentException("Missing value after '" + token + "'");
+                    }
+                    value = tokens.get(pos++);
+                }
+                return new Term(field, value.toLowerCase());
+            }
+        }
+        return new Term(Field.ANY, token.toLowerCase());
+    }
+
+    private static Field field(String name) {
+        switch (name.toLowerCase()) {
+            case "skill":
+            case "skills":
+                return Field.SKILL;
+            case "domain":
+                return Field.DOMAIN;
+            case "method":
+            case "methodology":
+                return Field.METHODOLOGY;
+            case "text":
+                return Field.TEXT;
+            default:
+                throw new IllegalArgumentException("Unknown field '" + name + "'");
+        }
+    }
+
+    // ============================================
+    // Tokens
+    // ============================================
+
+    private void tokenize(String query) {
+        int i = 0;
+        int n = query.length();
+        while (i < n) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed quote");
+                }
+                String value = query.substring(i + 1, end).trim();
+                if (!value.isEmpty()) {
+                    add(value, true);
+                }
+                i = end + 1;
+            } else if (c == '(' || c == ')') {
+                add(String.valueOf(c), false);
+                i++;
+            } else if (c == '-') {
+                // Only reached at the start of a token; "x-ray" is consumed as one word below
+                add("-", false);
+                i++;
+            } else if (c == '>' || c == '<' || c == '=') {
+                int end = i + 1 < n && query.charAt(i + 1) == '=' ? i + 2 : i + 1;
+                add(query.substring(i, end), false);
+                i = end;
+            } else {
+                int start = i;
+                while (i < n && !Character.isWhitespace(query.charAt(i)) && "()\"<>=".indexOf(query.charAt(i)) < 0) {
+                    i++;
+                }
+                add(query.substring(start, i), false);
+            }
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Query is empty");
+        }
+    }
+
+    private void add(String token, boolean isQuoted) {
+        tokens.add(token);
+        quoted.add(isQuoted);
+    }
+
+    private boolean isKeyword(String keyword) {
+        return pos < tokens.size() && !quoted.get(pos) && tokens.get(pos).equalsIgnoreCase(keyword);
+    }
+
+    private boolean isSymbol(String symbol) {
+        return pos < tokens.size() && !quoted.get(pos) && tokens.get(pos).equals(symbol);
+    }
+
+    private static boolean isComparison(String token) {
+        return token.equals(">=") || token.equals(">") || token.equals("<=") || token.equals("<") || token.equals("=");
+    }
+
+    private static boolean isOperatorToken(String token) {
+        return token.equalsIgnoreCase("AND") || token.equalsIgnoreCase("OR") || token.equals(")")
+                || isComparison(token);
+    }
+}
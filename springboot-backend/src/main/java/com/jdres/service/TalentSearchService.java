@@ -0,0 +1,145 @@
+package com.jdres.service;
+
+import com.jdres.model.ParsedResume;
+import com.jdres.model.Resume;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Talent Search Service
+ * Keeps one {@link TalentIndex} per recruiter over every resume they own, so a
+ * candidate can be found by skills, domains, methodologies, experience and resume
+ * text regardless of which JD they were uploaded under.
+ *
+ * The index lives in memory: it is updated on upload / delete and rebuilt from
+ * Mongo in the background once the application is ready.
+ */
+@Service
+public class TalentSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TalentSearchService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ParsedDocumentService parsedDocumentService;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    private final Map<String, TalentIndex> indexes = new ConcurrentHashMap<>();
+    private final boolean rebuildOnStartup;
+    private volatile boolean ready;
+
+    public TalentSearchService(@Value("${search.index.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (!rebuildOnStartup) {
+            ready = true;
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "talent-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Re-index every resume that has an owner (text included, embeddings excluded)
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Query query = new Query().cursorBatchSize(500);
+        query.fields().exclude("embedding");
+
+        int indexed = 0;
+        try (Stream<Resume> resumes = mongoTemplate.stream(query, Resume.class)) {
+            Iterator<Resume> it = resumes.iterator();
+            while (it.hasNext()) {
+                if (index(it.next())) {
+                    indexed++;
+                }
+            }
+            ready = true;
+            log.info("🔎 Talent index rebuilt: {} resumes across {} recruiters in {} ms",
+                    indexed, indexes.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("❌ Talent index rebuild failed after {} resumes: {}", indexed, e.getMessage());
+        }
+    }
+
+    /**
+     * Add or replace a resume in its recruiter's index
+     *
+     * @return false if the resume has no owner and is not searchable
+     */
+    public boolean index(Resume resume) {
+        if (resume.getFileId() == null || resume.getRecruiterId() == null || resume.getRecruiterId().isEmpty()) {
+            return false;
+        }
+        ParsedResume parsed = parsedDocumentService.view(resume);
+
+        int[] skillIds = skillDictionary.internAll(parsed.getNormalizedSkills());
+        int known = 0;
+        for (int id : skillIds) {
+            if (id != SkillDictionary.UNKNOWN) {
+                skillIds[known++] = id;
+            }
+        }
+
+        String name = parsed.getProfileName() != null ? parsed.getProfileName() : resume.getName();
+        indexes.computeIfAbsent(resume.getRecruiterId(), k -> new TalentIndex())
+                .put(new TalentIndex.Entry(resume.getFileId(), name, parsed.getTotalExperienceYears(),
+                        Arrays.copyOf(skillIds, known), parsed.getDomainsLower(),
+                        parsed.getMethodologiesLower(), resume.getText()));
+        return true;
+    }
+
+    public void remove(String recruiterId, String fileId) {
+        if (recruiterId == null || fileId == null) {
+            return;
+        }
+        TalentIndex index = indexes.get(recruiterId);
+        if (index != null) {
+            index.remove(fileId);
+        }
+    }
+
+    /**
+     * Search one recruiter's talent pool
+     *
+     * @throws IllegalArgumentException if the query does not parse
+     */
+    public TalentIndex.Result search(String recruiterId, String query, int limit) {
+        TalentQuery.Node parsed = TalentQuery.parse(query);
+        TalentIndex index = indexes.get(recruiterId);
+        if (index == null) {
+            return new TalentIndex.Result(0, List.of());
+        }
+        // Read-only lookups: query terms are user input and must never grow the shared
+        // dictionary. Memoized per query, since a term is resolved for filtering and ranking.
+        Map<String, BitSet> reaches = new HashMap<>();
+        return index.search(parsed, skill -> reaches.computeIfAbsent(skill, skillDictionary::reachOf), limit);
+    }
+
+    /**
+     * False until the startup rebuild has finished (results may be incomplete)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+}
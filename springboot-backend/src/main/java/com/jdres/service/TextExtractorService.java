@@ -5,6 +5,9 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -34,6 +37,9 @@ public class TextExtractorService {
     @Value("${uploads.dir}")
     private String uploadsDir;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * Extract text from uploaded file
      * 
@@ -57,19 +63,63 @@ public class TextExtractorService {
         // Save file temporarily
         Path tempPath = saveTemporaryFile(file);
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
-            return switch (ext) {
+            String text = switch (ext) {
                 case ".pdf" -> extractFromPDF(tempPath.toFile());
                 case ".txt" -> extractFromTXT(tempPath);
                 case ".docx" -> extractFromDOCX(tempPath.toFile());
                 default -> throw new IllegalArgumentException("Unsupported file type: " + ext);
             };
+            outcome = "success";
+            return text;
         } finally {
+            sample.stop(parseTimer(ext, outcome));
             // Clean up temporary file
             Files.deleteIfExists(tempPath);
         }
     }
 
+    /**
+     * Extract text from an in-memory file (no temp file written)
+     *
+     * @param content  - Raw file bytes
+     * @param filename - Original filename (used to pick the parser)
+     * @return Extracted text content
+     */
+    public String extractText(byte[] content, String filename) throws IOException {
+        String ext = getFileExtension(filename != null ? filename : "").toLowerCase();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String text = parseBytes(content, ext);
+            outcome = "success";
+            return text;
+        } finally {
+            sample.stop(parseTimer(ext, outcome));
+        }
+    }
+
+    private String parseBytes(byte[] content, String ext) throws IOException {
+        return switch (ext) {
+            case ".pdf" -> {
+                try (PDDocument document = Loader.loadPDF(content)) {
+                    yield new PDFTextStripper().getText(document);
+                }
+            }
+            case ".docx" -> {
+                try (java.io.ByteArrayInputStream bis = new java.io.ByteArrayInputStream(content);
+                        XWPFDocument document = new XWPFDocument(bis);
+                        XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+                    yield extractor.getText();
+                }
+            }
+            case ".txt" -> new String(content, java.nio.charset.StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("Unsupported file type: " + ext);
+        };
+    }
+
     /**
      * Extract text from multiple files
      * 
@@ -158,6 +208,12 @@ public class TextExtractorService {
         }
     }
 
+    // jdres.parse{format, outcome}: document-to-text time per format
+    private Timer parseTimer(String ext, String outcome) {
+        String format = ext.equals(".pdf") || ext.equals(".docx") || ext.equals(".txt") ? ext.substring(1) : "other";
+        return meterRegistry.timer("jdres.parse", "format", format, "outcome", outcome);
+    }
+
     /**
      * Get file extension from filename
      */
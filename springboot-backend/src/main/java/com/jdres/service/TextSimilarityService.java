@@ -0,0 +1,177 @@
+package com.jdres.service;
+
+import com.jdres.model.Resume;
+import com.jdres.model.SparseVector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Stream;
+
+/**
+ * Text Similarity Service
+ * Local TF-IDF cosine between a JD and a resume, from the hashed term vectors
+ * stored in their "parsed" sub-documents ({@link TextVectorizer}). No network
+ * calls: a comparison is one merge pass over two sparse vectors.
+ *
+ * Document frequencies are counted over all stored resumes, kept up to date on
+ * upload / delete and recounted from Mongo in the background at startup. The IDF
+ * table is recomputed lazily once enough documents have changed.
+ */
+@Service
+public class TextSimilarityService {
+
+    private static final Logger log = LoggerFactory.getLogger(TextSimilarityService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ParsedDocumentService parsedDocumentService;
+
+    private volatile Counts counts = new Counts();
+    private volatile Idf idf = new Idf(new float[0], 0, 0); // generation 0: rebuilt on first use
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recountInBackground() {
+        Thread thread = new Thread(this::recount, "text-idf-recount");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Recount document frequencies over every stored resume
+     */
+    public void recount() {
+        long start = System.currentTimeMillis();
+        Query query = new Query().cursorBatchSize(500);
+        query.fields().exclude("embedding");
+
+        Counts fresh = new Counts();
+        try (Stream<Resume> resumes = mongoTemplate.stream(query, Resume.class)) {
+            Iterator<Resume> it = resumes.iterator();
+            while (it.hasNext()) {
+                fresh.add(parsedDocumentService.view(it.next()).getTextVector(), 1);
+            }
+        } catch (Exception e) {
+            log.error("❌ Text IDF recount failed: {}", e.getMessage());
+            return;
+        }
+        counts = fresh;
+        log.info("📚 Text IDF recounted over {} resumes in {} ms",
+                fresh.documents.get(), System.currentTimeMillis() - start);
+    }
+
+    public void add(Resume resume) {
+        counts.add(parsedDocumentService.view(resume).getTextVector(), 1);
+    }
+
+    public void remove(Resume resume) {
+        counts.add(parsedDocumentService.view(resume).getTextVector(), -1);
+    }
+
+    /**
+     * TF-IDF cosine similarity in [0, 1]; 0 when either side has no text
+     */
+    public double similarity(SparseVector jd, SparseVector resume) {
+        if (jd == null || resume == null || jd.isEmpty() || resume.isEmpty()) {
+            return 0.0;
+        }
+        float[] weights = currentIdf().weights;
+
+        int[] ai = jd.getIndices();
+        float[] av = jd.getValues();
+        int[] bi = resume.getIndices();
+        float[] bv = resume.getValues();
+
+        // Weight each side by idf, so the dot product carries idf squared
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        int i = 0;
+        int j = 0;
+        while (i < ai.length || j < bi.length) {
+            if (j >= bi.length || (i < ai.length && ai[i] < bi[j])) {
+                double a = av[i] * weights[ai[i]];
+                normA += a * a;
+                i++;
+            } else if (i >= ai.length || bi[j] < ai[i]) {
+                double b = bv[j] * weights[bi[j]];
+                normB += b * b;
+                j++;
+            } else {
+                double w = weights[ai[i]];
+                double a = av[i] * w;
+                double b = bv[j] * w;
+                dot += a * b;
+                normA += a * a;
+                normB += b * b;
+                i++;
+                j++;
+            }
+        }
+        if (normA == 0 || normB == 0) {
+            return 0.0;
+        }
+        return Math.min(1.0, dot / Math.sqrt(normA * normB));
+    }
+
+    // Smoothed idf, ln((1 + N) / (1 + df)) + 1, rebuilt after ~1% of documents changed
+    private Idf currentIdf() {
+        Idf current = idf;
+        Counts c = counts;
+        int changes = c.changes.get();
+        if (current.counts == c.generation && changes - current.changes <= Math.max(16, c.documents.get() / 100)) {
+            return current;
+        }
+        synchronized (this) {
+            current = idf;
+            if (current.counts == c.generation && changes - current.changes <= Math.max(16, c.documents.get() / 100)) {
+                return current;
+            }
+            int documents = Math.max(0, c.documents.get());
+            float[] weights = new float[TextVectorizer.DIMENSIONS];
+            for (int k = 0; k < weights.length; k++) {
+                weights[k] = (float) (Math.log((1.0 + documents) / (1.0 + Math.max(0, c.df.get(k)))) + 1.0);
+            }
+            current = new Idf(weights, c.generation, changes);
+            idf = current;
+            return current;
+        }
+    }
+
+    // ============================================
+    // Data Classes
+    // ============================================
+
+    private static final class Counts {
+        private static final AtomicInteger GENERATIONS = new AtomicInteger();
+
+        final int generation = GENERATIONS.incrementAndGet();
+        final AtomicIntegerArray df = new AtomicIntegerArray(TextVectorizer.DIMENSIONS);
+        final AtomicInteger documents = new AtomicInteger();
+        final AtomicInteger changes = new AtomicInteger();
+
+        void add(SparseVector vector, int delta) {
+            if (vector == null || vector.isEmpty()) {
+                return;
+            }
+            for (int index : vector.getIndices()) {
+                df.addAndGet(index, delta);
+            }
+            documents.addAndGet(delta);
+            changes.incrementAndGet();
+        }
+    }
+
+    private record Idf(float[] weights, int counts, int changes) {
+    }
+}
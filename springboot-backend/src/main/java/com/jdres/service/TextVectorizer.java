@@ -0,0 +1,120 @@
+package com.jdres.service;
+
+import com.jdres.model.SparseVector;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hashing vectorizer for JD / resume text.
+ *
+ * Words and adjacent word pairs (so "spring boot" or "project manager" count as a
+ * phrase) are hashed into {@link #DIMENSIONS} buckets with sublinear term
+ * frequency, 1 + ln(tf). There is no vocabulary to build or ship: the same text
+ * always maps to the same vector, so vectors can be computed once at save time.
+ * IDF weighting is applied at comparison time by {@link TextSimilarityService}.
+ */
+public final class TextVectorizer {
+
+    public static final int DIMENSIONS = 1 << 18;
+
+    // Long resumes add little signal past this point and cost time at save
+    private static final int MAX_TOKENS = 20000;
+
+    // Stored with every resume and JD; only long documents reach this. The most
+    // frequent features are kept (ties: lowest bucket, so the choice is stable).
+    static final int MAX_FEATURES = 4096;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in",
+            "is", "it", "its", "of", "on", "or", "our", "that", "the", "their", "this", "to",
+            "was", "we", "were", "will", "with", "you", "your", "i", "my", "me");
+
+    private TextVectorizer() {
+    }
+
+    public static SparseVector vectorize(String text) {
+        List<String> tokens = TalentIndex.tokenize(text);
+        if (tokens.isEmpty()) {
+            return SparseVector.EMPTY;
+        }
+        int count = Math.min(tokens.size(), MAX_TOKENS);
+
+        // Bucket ids of every feature occurrence; sorting groups equal ids for counting
+        int[] features = new int[count * 2];
+        int n = 0;
+        int previous = 0;
+        boolean hasPrevious = false;
+        for (int i = 0; i < count; i++) {
+            String token = tokens.get(i);
+            if (STOP_WORDS.contains(token)) {
+                hasPrevious = false;
+                continue;
+            }
+            int hash = token.hashCode();
+            features[n++] = bucket(hash);
+            if (hasPrevious) {
+                features[n++] = bucket(previous * 31 + hash + 0x9E3779B9);
+            }
+            previous = hash;
+            hasPrevious = true;
+        }
+        if (n == 0) {
+            return SparseVector.EMPTY;
+        }
+        Arrays.sort(features, 0, n);
+
+        int[] indices = new int[n];
+        float[] values = new float[n];
+        int size = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && features[j] == features[i]) {
+                j++;
+            }
+            indices[size] = features[i];
+            values[size] = (float) (1.0 + Math.log(j - i));
+            size++;
+            i = j;
+        }
+        if (size > MAX_FEATURES) {
+            return strongest(indices, values, size);
+        }
+        return new SparseVector(Arrays.copyOf(indices, size), Arrays.copyOf(values, size));
+    }
+
+    private static SparseVector strongest(int[] indices, float[] values, int size) {
+        // Weight descending, then index ascending; packed so one primitive sort does it
+        long[] order = new long[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = ((long) ~Float.floatToIntBits(values[i]) << 32) | indices[i];
+        }
+        Arrays.sort(order);
+
+        int[] kept = new int[MAX_FEATURES];
+        for (int i = 0; i < MAX_FEATURES; i++) {
+            kept[i] = (int) order[i];
+        }
+        Arrays.sort(kept);
+
+        float[] keptValues = new float[MAX_FEATURES];
+        for (int i = 0, j = 0; i < MAX_FEATURES; i++) {
+            while (indices[j] != kept[i]) {
+                j++;
+            }
+            keptValues[i] = values[j];
+        }
+        return new SparseVector(kept, keptValues);
+    }
+
+    // murmur3 finalizer: String.hashCode alone clusters similar words in low bits
+    private static int bucket(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash & (DIMENSIONS - 1);
+    }
+}
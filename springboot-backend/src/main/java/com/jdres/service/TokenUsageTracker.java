@@ -1,128 +1,225 @@
 package com.jdres.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Token Usage Tracker Service
- * Tracks OpenAI API token usage with per-minute statistics
+ * Tracks OpenAI API token usage with per-minute statistics, overall and per model /
+ * per endpoint (resume extraction, JD extraction, embeddings, ...).
+ *
+ * Recent usage lives in a ring of one-second buckets, so recording is O(1) and
+ * allocation-free and a window query reads a fixed number of buckets. Tokens are
+ * also counted in Micrometer as jdres.llm.tokens{model, endpoint, type}.
  */
 @Service
 public class TokenUsageTracker {
 
-    // Record for each API call
-    public record TokenRecord(long promptTokens, long completionTokens, long totalTokens, Instant timestamp) {}
+    // Longest window queried (5 minutes), plus the bucket currently being filled
+    private static final int WINDOW_SECONDS = 301;
 
-    // Store recent token records (rolling window of 60 minutes)
-    private final ConcurrentLinkedQueue<TokenRecord> recentRecords = new ConcurrentLinkedQueue<>();
+    private final Usage overall = new Usage();
+    private final Map<String, Usage> byModel = new ConcurrentHashMap<>();
+    private final Map<String, Usage> byEndpoint = new ConcurrentHashMap<>();
 
-    // Cumulative counters (all-time)
-    private final AtomicLong totalPromptTokens = new AtomicLong(0);
-    private final AtomicLong totalCompletionTokens = new AtomicLong(0);
-    private final AtomicLong totalTokensUsed = new AtomicLong(0);
-    private final AtomicLong totalApiCalls = new AtomicLong(0);
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<String, TokenCounters>> counters = new ConcurrentHashMap<>(); // model -> endpoint
 
     // Track start time
     private final Instant startTime = Instant.now();
 
-    /**
-     * Record token usage from an API call
-     */
-    public void recordUsage(int promptTokens, int completionTokens, int totalTokens) {
-        TokenRecord record = new TokenRecord(promptTokens, completionTokens, totalTokens, Instant.now());
-        recentRecords.add(record);
-        
-        totalPromptTokens.addAndGet(promptTokens);
-        totalCompletionTokens.addAndGet(completionTokens);
-        totalTokensUsed.addAndGet(totalTokens);
-        totalApiCalls.incrementAndGet();
-
-        // Clean up old records (older than 60 minutes)
-        cleanupOldRecords();
+    public TokenUsageTracker(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
     }
 
     /**
-     * Remove records older than 60 minutes
+     * Record token usage from an API call
+     *
+     * @param model    - Model the call was made with
+     * @param endpoint - What the call was for, e.g. "Resume", "JD", "Embeddings"
      */
-    private void cleanupOldRecords() {
-        Instant cutoff = Instant.now().minusSeconds(3600); // 60 minutes
-        while (!recentRecords.isEmpty() && recentRecords.peek().timestamp().isBefore(cutoff)) {
-            recentRecords.poll();
+    public void recordUsage(String model, String endpoint, int promptTokens, int completionTokens, int totalTokens) {
+        String modelKey = model != null ? model : "unknown";
+        String endpointKey = endpoint != null ? endpoint : "unknown";
+        long second = System.currentTimeMillis() / 1000;
+        overall.record(second, promptTokens, completionTokens, totalTokens);
+        byModel.computeIfAbsent(modelKey, k -> new Usage())
+                .record(second, promptTokens, completionTokens, totalTokens);
+        byEndpoint.computeIfAbsent(endpointKey, k -> new Usage())
+                .record(second, promptTokens, completionTokens, totalTokens);
+
+        TokenCounters tokenCounters = counters.computeIfAbsent(modelKey, k -> new ConcurrentHashMap<>()).get(endpointKey);
+        if (tokenCounters == null) {
+            tokenCounters = counters.get(modelKey).computeIfAbsent(endpointKey,
+                    k -> new TokenCounters(meterRegistry, modelKey, endpointKey));
         }
+        tokenCounters.prompt.increment(promptTokens);
+        tokenCounters.completion.increment(completionTokens);
     }
 
     /**
      * Get tokens used in the last minute
      */
     public long getTokensLastMinute() {
-        Instant oneMinuteAgo = Instant.now().minusSeconds(60);
-        return recentRecords.stream()
-                .filter(r -> r.timestamp().isAfter(oneMinuteAgo))
-                .mapToLong(TokenRecord::totalTokens)
-                .sum();
+        return overall.recent.tokens(60);
     }
 
     /**
      * Get tokens used in the last 5 minutes
      */
     public long getTokensLast5Minutes() {
-        Instant fiveMinutesAgo = Instant.now().minusSeconds(300);
-        return recentRecords.stream()
-                .filter(r -> r.timestamp().isAfter(fiveMinutesAgo))
-                .mapToLong(TokenRecord::totalTokens)
-                .sum();
+        return overall.recent.tokens(300);
     }
 
     /**
      * Get API calls in the last minute
      */
     public long getCallsLastMinute() {
-        Instant oneMinuteAgo = Instant.now().minusSeconds(60);
-        return recentRecords.stream()
-                .filter(r -> r.timestamp().isAfter(oneMinuteAgo))
-                .count();
+        return overall.recent.calls(60);
     }
 
     /**
      * Get comprehensive usage statistics
      */
     public Map<String, Object> getUsageStats() {
-        cleanupOldRecords();
-        
         long lastMinuteTokens = getTokensLastMinute();
         long last5MinuteTokens = getTokensLast5Minutes();
         long callsLastMinute = getCallsLastMinute();
 
+        long totalTokensUsed = overall.totalTokens.sum();
+        long totalPromptTokens = overall.promptTokens.sum();
+        long totalCompletionTokens = overall.completionTokens.sum();
+
         // Calculate rate per minute based on total usage
         long uptimeSeconds = Instant.now().getEpochSecond() - startTime.getEpochSecond();
         double uptimeMinutes = Math.max(1, uptimeSeconds / 60.0);
-        double avgTokensPerMinute = totalTokensUsed.get() / uptimeMinutes;
+        double avgTokensPerMinute = totalTokensUsed / uptimeMinutes;
 
         Map<String, Object> stats = new HashMap<>();
-        
+
         // Per-minute stats (most useful)
         stats.put("tokensLastMinute", lastMinuteTokens);
         stats.put("tokensLast5Minutes", last5MinuteTokens);
         stats.put("callsLastMinute", callsLastMinute);
         stats.put("avgTokensPerMinute", Math.round(avgTokensPerMinute));
-        
+
         // All-time totals
-        stats.put("totalTokensUsed", totalTokensUsed.get());
-        stats.put("totalPromptTokens", totalPromptTokens.get());
-        stats.put("totalCompletionTokens", totalCompletionTokens.get());
-        stats.put("totalApiCalls", totalApiCalls.get());
-        
+        stats.put("totalTokensUsed", totalTokensUsed);
+        stats.put("totalPromptTokens", totalPromptTokens);
+        stats.put("totalCompletionTokens", totalCompletionTokens);
+        stats.put("totalApiCalls", overall.calls.sum());
+
+        // Breakdowns
+        stats.put("byModel", breakdown(byModel));
+        stats.put("byEndpoint", breakdown(byEndpoint));
+
         // Uptime
         stats.put("uptimeMinutes", Math.round(uptimeMinutes));
-        
+
         // Estimated cost (GPT-4o-mini pricing: $0.15/1M input, $0.6/1M output)
-        double inputCost = (totalPromptTokens.get() / 1_000_000.0) * 0.15;
-        double outputCost = (totalCompletionTokens.get() / 1_000_000.0) * 0.60;
+        double inputCost = (totalPromptTokens / 1_000_000.0) * 0.15;
+        double outputCost = (totalCompletionTokens / 1_000_000.0) * 0.60;
         stats.put("estimatedCostUSD", String.format("$%.4f", inputCost + outputCost));
 
         return stats;
     }
+
+    private static Map<String, Object> breakdown(Map<String, Usage> usages) {
+        Map<String, Object> result = new TreeMap<>();
+        usages.forEach((key, usage) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("tokensLastMinute", usage.recent.tokens(60));
+            entry.put("callsLastMinute", usage.recent.calls(60));
+            entry.put("totalTokens", usage.totalTokens.sum());
+            entry.put("promptTokens", usage.promptTokens.sum());
+            entry.put("completionTokens", usage.completionTokens.sum());
+            entry.put("calls", usage.calls.sum());
+            result.put(key, entry);
+        });
+        return result;
+    }
+
+    // ============================================
+    // Data Classes
+    // ============================================
+
+    /**
+     * All-time totals plus a rolling window for one dimension value
+     */
+    private static final class Usage {
+        final LongAdder promptTokens = new LongAdder();
+        final LongAdder completionTokens = new LongAdder();
+        final LongAdder totalTokens = new LongAdder();
+        final LongAdder calls = new LongAdder();
+        final Window recent = new Window();
+
+        void record(long second, int prompt, int completion, int total) {
+            promptTokens.add(prompt);
+            completionTokens.add(completion);
+            totalTokens.add(total);
+            calls.increment();
+            recent.add(second, total);
+        }
+    }
+
+    private static final class TokenCounters {
+        final Counter prompt;
+        final Counter completion;
+
+        TokenCounters(MeterRegistry registry, String model, String endpoint) {
+            this.prompt = registry.counter("jdres.llm.tokens", "model", model, "endpoint", endpoint, "type", "prompt");
+            this.completion = registry.counter("jdres.llm.tokens", "model", model, "endpoint", endpoint,
+                    "type", "completion");
+        }
+    }
+
+    /**
+     * Lock-free ring of one-second buckets. Each bucket is stamped with the second
+     * it holds; a writer that finds a stale stamp claims the bucket with a CAS and
+     * clears it. A call racing that reset exactly at a second boundary can be lost,
+     * which is fine for a usage display.
+     */
+    private static final class Window {
+        private final AtomicLongArray seconds = new AtomicLongArray(WINDOW_SECONDS);
+        private final AtomicLongArray tokens = new AtomicLongArray(WINDOW_SECONDS);
+        private final AtomicLongArray calls = new AtomicLongArray(WINDOW_SECONDS);
+
+        void add(long second, long total) {
+            int i = (int) (second % WINDOW_SECONDS);
+            long stamp = seconds.get(i);
+            if (stamp < second && seconds.compareAndSet(i, stamp, second)) {
+                tokens.set(i, 0);
+                calls.set(i, 0);
+            }
+            tokens.addAndGet(i, total);
+            calls.incrementAndGet(i);
+        }
+
+        long tokens(int windowSeconds) {
+            return sum(tokens, windowSeconds);
+        }
+
+        long calls(int windowSeconds) {
+            return sum(calls, windowSeconds);
+        }
+
+        // Sum of the buckets for the last windowSeconds seconds, current one included
+        private long sum(AtomicLongArray values, int windowSeconds) {
+            long now = System.currentTimeMillis() / 1000;
+            long sum = 0;
+            for (long second = now - Math.min(windowSeconds, WINDOW_SECONDS) + 1; second <= now; second++) {
+                int i = (int) (second % WINDOW_SECONDS);
+                if (seconds.get(i) == second) {
+                    sum += values.get(i);
+                }
+            }
+            return sum;
+        }
+    }
 }
@@ -0,0 +1,152 @@
+package com.jdres.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming top-K selection.
+ *
+ * Keeps the K best (score, payload) pairs seen so far in a bounded min-heap of
+ * primitive scores, so ranking N candidates costs O(N log K) and only K payloads
+ * stay reachable. Build heavy output (JSON maps etc.) from {@link #sorted()},
+ * never per offered candidate.
+ *
+ * Ties keep arrival order, like a stable sort. Not thread-safe.
+ */
+public final class TopK<T> {
+
+    private final int capacity;
+    private final double[] scores;
+    private final long[] seqs;
+    private final Object[] payloads;
+    private int size;
+    private long offered;
+
+    public TopK(int k) {
+        this.capacity = Math.max(0, k);
+        this.scores = new double[capacity];
+        this.seqs = new long[capacity];
+        this.payloads = new Object[capacity];
+    }
+
+    /**
+     * Offer a candidate; returns false if it did not make the current top K
+     */
+    public boolean offer(double score, T payload) {
+        long seq = offered++;
+        if (capacity == 0) {
+            return false;
+        }
+        if (size < capacity) {
+            scores[size] = score;
+            seqs[size] = seq;
+            payloads[size] = payload;
+            siftUp(size++);
+            return true;
+        }
+        // Root is the worst survivor; a later arrival only replaces it with a strictly higher score
+        if (score <= scores[0]) {
+            return false;
+        }
+        scores[0] = score;
+        seqs[0] = seq;
+        payloads[0] = payload;
+        siftDown(0);
+        return true;
+    }
+
+    /**
+     * Score a new candidate must beat to get in: the worst survivor once K are held,
+     * negative infinity before that
+     */
+    public double threshold() {
+        return capacity > 0 && size == capacity ? scores[0] : Double.NEGATIVE_INFINITY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Total candidates offered, including those that were dropped
+     */
+    public long offered() {
+        return offered;
+    }
+
+    /**
+     * Survivors, best first
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> sorted() {
+        // Drain a copy of the heap: worst comes out first, so fill from the back
+        double[] s = scores.clone();
+        long[] q = seqs.clone();
+        Object[] p = payloads.clone();
+        int n = size;
+
+        Object[] out = new Object[n];
+        for (int i = n - 1; i >= 0; i--) {
+            out[i] = p[0];
+            n--;
+            s[0] = s[n];
+            q[0] = q[n];
+            p[0] = p[n];
+            siftDown(s, q, p, n, 0);
+        }
+
+        List<T> result = new ArrayList<>(out.length);
+        for (Object o : out) {
+            result.add((T) o);
+        }
+        return result;
+    }
+
+    // "a is worse than b": lower score, or same score but arrived later
+    private static boolean worse(double[] s, long[] q, int a, int b) {
+        return s[a] < s[b] || (s[a] == s[b] && q[a] > q[b]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(scores, seqs, i, parent)) {
+                break;
+            }
+            swap(scores, seqs, payloads, i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        siftDown(scores, seqs, payloads, size, i);
+    }
+
+    private static void siftDown(double[] s, long[] q, Object[] p, int n, int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= n) {
+                return;
+            }
+            int right = left + 1;
+            int worst = right < n && worse(s, q, right, left) ? right : left;
+            if (!worse(s, q, worst, i)) {
+                return;
+            }
+            swap(s, q, p, i, worst);
+            i = worst;
+        }
+    }
+
+    private static void swap(double[] s, long[] q, Object[] p, int a, int b) {
+        double ts = s[a];
+        s[a] = s[b];
+        s[b] = ts;
+        long tq = q[a];
+        q[a] = q[b];
+        q[b] = tq;
+        Object tp = p[a];
+        p[a] = p[b];
+        p[b] = tp;
+    }
+}
@@ -0,0 +1,601 @@
+package com.jdres.service;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-process approximate nearest-neighbour index (HNSW) over float vectors.
+ *
+ * Vectors are L2-normalized on insert, so similarity is a dot product (cosine).
+ * Inserts link the new node into a layered proximity graph; searches descend
+ * greedily from the top layer and run a bounded best-first search on layer 0.
+ *
+ * Deletes are tombstones: the node keeps routing searches but is never returned.
+ * When a quarter of the nodes are tombstones the graph is rebuilt from the live
+ * vectors. Snapshots store the graph followed by one contiguous vector block; on
+ * load that block is memory-mapped instead of copied onto the heap. One mapping
+ * cannot exceed 2 GB (~350k vectors of 1,536 dimensions), so the block is mapped
+ * in 1 GB segments of whole vectors.
+ *
+ * Thread-safe: one writer or many readers.
+ */
+public final class VectorIndex {
+
+    private static final int MAGIC = 0x484E5357; // "HNSW"
+    private static final int FORMAT = 1;
+    private static final int[] NO_LINKS = new int[0];
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private final int m;
+    private final int m0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random = new Random(42);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int dims;
+    private int size; // nodes allocated, tombstones included
+    private String[] keys = new String[16];
+    private int[][][] links = new int[16][][]; // node -> level -> neighbour ids
+    private float[][] vectors = new float[16][]; // null for nodes held in the mapped block
+    // Vectors of nodes [0, mappedCount) from the last loaded snapshot, nodesPerSegment per buffer
+    private FloatBuffer[] mapped;
+    private int nodesPerSegment;
+    private int mappedCount;
+    private final BitSet deleted = new BitSet();
+    private final Map<String, Integer> nodes = new HashMap<>();
+    private int entry = -1;
+    private int maxLevel = -1;
+
+    /**
+     * @param m              links per node on upper layers (layer 0 keeps 2 * m)
+     * @param efConstruction candidate list size while inserting
+     */
+    public VectorIndex(int m, int efConstruction) {
+        this.m = Math.max(2, m);
+        this.m0 = this.m * 2;
+        this.efConstruction = Math.max(this.m, efConstruction);
+        this.levelMultiplier = 1 / Math.log(this.m);
+    }
+
+    // ============================================
+    // Updates
+    // ============================================
+
+    /**
+     * Insert or replace the vector stored under key
+     */
+    public void add(String key, float[] vector) {
+        float[] normalized = normalize(vector);
+        lock.writeLock().lock();
+        try {
+            if (dims == 0) {
+                dims = normalized.length;
+            } else if (normalized.length != dims) {
+                throw new IllegalArgumentException("Expected " + dims + " dimensions, got " + normalized.length);
+            }
+            Integer existing = nodes.get(key);
+            if (existing != null) {
+                deleted.set(existing);
+            }
+            insert(key, normalized);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodes.remove(key);
+            if (node == null) {
+                return false;
+            }
+            deleted.set(node);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return nodes.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Live (non-deleted) vectors
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<String> keys() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(nodes.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============================================
+    // Queries
+    // ============================================
+
+    /**
+     * Approximate top-k by cosine similarity, best first
+     *
+     * @param ef     search breadth (higher = better recall, slower); at least k is used
+     * @param filter only keys accepted by the filter are returned (null = all)
+     */
+    public List<Neighbor> search(float[] query, int k, int ef, Predicate<String> filter) {
+        lock.readLock().lock();
+        try {
+            if (entry < 0 || k <= 0) {
+                return List.of();
+            }
+            float[] q = normalize(query);
+            if (q.length != dims) {
+                throw new IllegalArgumentException("Expected " + dims + " dimensions, got " + q.length);
+            }
+            int ep = entry;
+            for (int level = maxLevel; level > 0; level--) {
+                ep = greedy(q, ep, level);
+            }
+            List<Neighbor> result = new ArrayList<>(k);
+            for (Candidate c : searchLayer(q, ep, Math.max(ef, k), 0)) {
+                if (deleted.get(c.node)) {
+                    continue;
+                }
+                if (filter == null || filter.test(keys[c.node])) {
+                    result.add(new Neighbor(keys[c.node], c.similarity));
+                    if (result.size() == k) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exact cosine similarity for the given keys (keys not in the index are left out)
+     */
+    public Map<String, Double> similarities(float[] query, Collection<String> wanted) {
+        lock.readLock().lock();
+        try {
+            Map<String, Double> result = new HashMap<>();
+            if (entry < 0) {
+                return result;
+            }
+            float[] q = normalize(query);
+            if (q.length != dims) {
+                throw new IllegalArgumentException("Expected " + dims + " dimensions, got " + q.length);
+            }
+            for (String key : wanted) {
+                Integer node = nodes.get(key);
+                if (node != null) {
+                    result.put(key, (double) dot(q, node));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============================================
+    // Snapshots
+    // ============================================
+
+    /**
+     * Write the graph and vectors to path (atomically, via a temp file)
+     */
+    public void save(Path path) throws IOException {
+        lock.readLock().lock();
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            long vectorsOffset;
+            try (CountingOutputStream counter = new CountingOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16));
+                    DataOutputStream out = new DataOutputStream(counter)) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeInt(dims);
+                out.writeInt(size);
+                out.writeInt(entry);
+                out.writeInt(maxLevel);
+                for (int node = 0; node < size; node++) {
+                    out.writeUTF(keys[node]);
+                    out.writeBoolean(deleted.get(node));
+                    out.writeInt(links[node].length);
+                    for (int[] levelLinks : links[node]) {
+                        out.writeInt(levelLinks.length);
+                        for (int neighbour : levelLinks) {
+                            out.writeInt(neighbour);
+                        }
+                    }
+                }
+                out.flush();
+                // Align the vector block so it maps cleanly as floats
+                while (counter.count % Float.BYTES != 0) {
+                    out.writeByte(0);
+                }
+                out.flush();
+                vectorsOffset = counter.count;
+                for (int node = 0; node < size; node++) {
+                    for (int d = 0; d < dims; d++) {
+                        out.writeFloat(component(node, d));
+                    }
+                }
+                out.writeLong(vectorsOffset);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Load a snapshot written by {@link #save}; the vector block stays memory-mapped
+     */
+    public static VectorIndex load(Path path, int m, int efConstruction) throws IOException {
+        return load(path, m, efConstruction, MAX_SEGMENT_BYTES);
+    }
+
+    // Package-private so tests can force several segments on a small index
+    static VectorIndex load(Path path, int m, int efConstruction, long maxSegmentBytes) throws IOException {
+        VectorIndex index = new VectorIndex(m, efConstruction);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer trailer = ByteBuffer.allocate(Long.BYTES);
+            channel.read(trailer, fileSize - Long.BYTES);
+            trailer.flip();
+            long vectorsOffset = trailer.getLong();
+
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+                if (in.readInt() != MAGIC || in.readInt() != FORMAT) {
+                    throw new IOException("Not a vector index snapshot: " + path);
+                }
+                index.dims = in.readInt();
+                int count = in.readInt();
+                index.entry = in.readInt();
+                index.maxLevel = in.readInt();
+                index.ensureCapacity(count);
+                for (int node = 0; node < count; node++) {
+                    index.keys[node] = in.readUTF();
+                    boolean isDeleted = in.readBoolean();
+                    int[][] nodeLinks = new int[in.readInt()][];
+                    for (int level = 0; level < nodeLinks.length; level++) {
+                        int[] levelLinks = new int[in.readInt()];
+                        for (int i = 0; i < levelLinks.length; i++) {
+                            levelLinks[i] = in.readInt();
+                        }
+                        nodeLinks[level] = levelLinks;
+                    }
+                    index.links[node] = nodeLinks;
+                    if (isDeleted) {
+                        index.deleted.set(node);
+                    } else {
+                        index.nodes.put(index.keys[node], node);
+                    }
+                }
+                index.size = count;
+            }
+
+            long vectorBytes = (long) index.size * index.dims * Float.BYTES;
+            if (vectorsOffset < 0 || vectorsOffset + vectorBytes > fileSize - Long.BYTES) {
+                throw new IOException("Truncated vector index snapshot: " + path);
+            }
+            if (index.size == 0) {
+                return index;
+            }
+            long bytesPerVector = (long) index.dims * Float.BYTES;
+            int perSegment = (int) Math.max(1, Math.min(index.size, maxSegmentBytes / bytesPerVector));
+            int segments = (int) (((long) index.size + perSegment - 1) / perSegment);
+            FloatBuffer[] mapped = new FloatBuffer[segments];
+            for (int segment = 0; segment < segments; segment++) {
+                long first = (long) segment * perSegment;
+                long nodesInSegment = Math.min(perSegment, index.size - first);
+                mapped[segment] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        vectorsOffset + first * bytesPerVector, nodesInSegment * bytesPerVector).asFloatBuffer();
+            }
+            index.mapped = mapped;
+            index.nodesPerSegment = perSegment;
+            index.mappedCount = index.size;
+        }
+        return index;
+    }
+
+    // ============================================
+    // Graph
+    // ============================================
+
+    private void insert(String key, float[] vector) {
+        ensureCapacity(size + 1);
+        int node = size++;
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        keys[node] = key;
+        vectors[node] = vector;
+        links[node] = new int[level + 1][];
+        Arrays.fill(links[node], NO_LINKS);
+        nodes.put(key, node);
+
+        if (entry < 0) {
+            entry = node;
+            maxLevel = level;
+            return;
+        }
+
+        int ep = entry;
+        for (int l = maxLevel; l > level; l--) {
+            ep = greedy(vector, ep, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> candidates = searchLayer(vector, ep, efConstruction, l);
+            int maxLinks = l == 0 ? m0 : m;
+            int[] neighbours = new int[Math.min(maxLinks, candidates.size())];
+            for (int i = 0; i < neighbours.length; i++) {
+                neighbours[i] = candidates.get(i).node;
+            }
+            links[node][l] = neighbours;
+            for (int neighbour : neighbours) {
+                link(neighbour, node, l, maxLinks);
+            }
+            ep = candidates.get(0).node;
+        }
+        if (level > maxLevel) {
+            entry = node;
+            maxLevel = level;
+        }
+    }
+
+    // Add node to from's links, keeping only the closest maxLinks when full
+    private void link(int from, int node, int level, int maxLinks) {
+        int[] current = links[from][level];
+        int[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = node;
+        if (grown.length <= maxLinks) {
+            links[from][level] = grown;
+            return;
+        }
+        Candidate[] ranked = new Candidate[grown.length];
+        for (int i = 0; i < grown.length; i++) {
+            ranked[i] = new Candidate(grown[i], dot(from, grown[i]));
+        }
+        Arrays.sort(ranked, Candidate.BEST_FIRST);
+        int[] kept = new int[maxLinks];
+        for (int i = 0; i < maxLinks; i++) {
+            kept[i] = ranked[i].node;
+        }
+        links[from][level] = kept;
+    }
+
+    private int greedy(float[] q, int ep, int level) {
+        int current = ep;
+        float best = dot(q, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbour : linksAt(current, level)) {
+                float similarity = dot(q, neighbour);
+                if (similarity > best) {
+                    best = similarity;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Best-first search on one layer; returns up to ef candidates, best first
+    private List<Candidate> searchLayer(float[] q, int ep, int ef, int level) {
+        BitSet visited = new BitSet(size);
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(Candidate.BEST_FIRST);
+        PriorityQueue<Candidate> found = new PriorityQueue<>(Candidate.BEST_FIRST.reversed());
+
+        Candidate start = new Candidate(ep, dot(q, ep));
+        visited.set(ep);
+        frontier.add(start);
+        found.add(start);
+
+        while (!frontier.isEmpty()) {
+            Candidate current = frontier.poll();
+            if (found.size() >= ef && current.similarity < found.peek().similarity) {
+                break;
+            }
+            for (int neighbour : linksAt(current.node, level)) {
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                float similarity = dot(q, neighbour);
+                if (found.size() < ef || similarity > found.peek().similarity) {
+                    Candidate c = new Candidate(neighbour, similarity);
+                    frontier.add(c);
+                    found.add(c);
+                    if (found.size() > ef) {
+                        found.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> result = new ArrayList<>(found);
+        result.sort(Candidate.BEST_FIRST);
+        return result;
+    }
+
+    private int[] linksAt(int node, int level) {
+        int[][] nodeLinks = links[node];
+        return level < nodeLinks.length ? nodeLinks[level] : NO_LINKS;
+    }
+
+    private void compactIfNeeded() {
+        int tombstones = size - nodes.size();
+        if (size < 64 || tombstones * 4 < size) {
+            return;
+        }
+        List<String> liveKeys = new ArrayList<>(nodes.size());
+        List<float[]> liveVectors = new ArrayList<>(nodes.size());
+        for (Map.Entry<String, Integer> e : nodes.entrySet()) {
+            liveKeys.add(e.getKey());
+            liveVectors.add(copyVector(e.getValue()));
+        }
+
+        size = 0;
+        keys = new String[16];
+        links = new int[16][][];
+        vectors = new float[16][];
+        mapped = null;
+        mappedCount = 0;
+        deleted.clear();
+        nodes.clear();
+        entry = -1;
+        maxLevel = -1;
+        for (int i = 0; i < liveKeys.size(); i++) {
+            insert(liveKeys.get(i), liveVectors.get(i));
+        }
+    }
+
+    // ============================================
+    // Vectors
+    // ============================================
+
+    private float dot(float[] q, int node) {
+        float sum = 0;
+        float[] v = vectors[node];
+        if (v != null) {
+            for (int d = 0; d < dims; d++) {
+                sum += q[d] * v[d];
+            }
+        } else {
+            FloatBuffer segment = segmentOf(node);
+            int base = offsetOf(node);
+            for (int d = 0; d < dims; d++) {
+                sum += q[d] * segment.get(base + d);
+            }
+        }
+        return sum;
+    }
+
+    private float dot(int a, int b) {
+        float[] va = vectors[a];
+        return va != null ? dot(va, b) : dot(copyVector(a), b);
+    }
+
+    private float component(int node, int d) {
+        float[] v = vectors[node];
+        return v != null ? v[d] : segmentOf(node).get(offsetOf(node) + d);
+    }
+
+    private float[] copyVector(int node) {
+        float[] v = vectors[node];
+        if (v != null) {
+            return v;
+        }
+        float[] copy = new float[dims];
+        FloatBuffer segment = segmentOf(node);
+        int base = offsetOf(node);
+        for (int d = 0; d < dims; d++) {
+            copy[d] = segment.get(base + d);
+        }
+        return copy;
+    }
+
+    private FloatBuffer segmentOf(int node) {
+        return mapped[node / nodesPerSegment];
+    }
+
+    // Float offset of a mapped node within its segment (segments stay under 2 GB)
+    private int offsetOf(int node) {
+        return (node % nodesPerSegment) * dims;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int grown = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, grown);
+            links = Arrays.copyOf(links, grown);
+            vectors = Arrays.copyOf(vectors, grown);
+        }
+    }
+
+    private static float[] normalize(float[] vector) {
+        if (vector == null || vector.length == 0) {
+            throw new IllegalArgumentException("Empty vector");
+        }
+        double norm = 0;
+        for (float x : vector) {
+            norm += x * x;
+        }
+        norm = Math.sqrt(norm);
+        float[] result = new float[vector.length];
+        if (norm > 0) {
+            for (int i = 0; i < vector.length; i++) {
+                result[i] = (float) (vector[i] / norm);
+            }
+        }
+        return result;
+    }
+
+    // ============================================
+    // Data Classes
+    // ============================================
+
+    public record Neighbor(String key, double similarity) {
+    }
+
+    private record Candidate(int node, float similarity) {
+        static final Comparator<Candidate> BEST_FIRST = (a, b) -> Float.compare(b.similarity, a.similarity);
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
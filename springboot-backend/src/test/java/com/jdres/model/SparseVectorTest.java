@@ -0,0 +1,78 @@
+package com.jdres.model;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseVectorTest {
+
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    void storesOnePackedBinaryInsteadOfArrays() {
+        Document doc = write(new SparseVector(new int[] { 3, 200, 262143 }, new float[] { 1f, 2.0986123f, 3.5f }));
+
+        assertEquals(1, doc.keySet().stream().filter(key -> !key.equals("_class")).count(), doc.toJson());
+        assertInstanceOf(byte[].class, doc.get("packed")); // encoded as BSON binary
+    }
+
+    @Test
+    void roundTripsIndicesExactlyAndValuesToBfloat16() {
+        int[] indices = new int[2000];
+        float[] values = new float[indices.length];
+        int index = 0;
+        for (int i = 0; i < indices.length; i++) {
+            index += 1 + (i * 37) % 300; // gaps past one varint byte included
+            indices[i] = index;
+            values[i] = (float) (1.0 + Math.log(1 + i % 9));
+        }
+
+        SparseVector read = converter.read(SparseVector.class, write(new SparseVector(indices, values)));
+
+        assertArrayEquals(indices, read.getIndices());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], read.getValues()[i], values[i] / 256, "value " + i);
+        }
+    }
+
+    @Test
+    void packsToAFewBytesPerFeature() {
+        int[] indices = new int[4096];
+        float[] values = new float[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i * 64;
+            values[i] = 1f;
+        }
+
+        byte[] packed = (byte[]) write(new SparseVector(indices, values)).get("packed");
+
+        assertTrue(packed.length <= indices.length * 4, "packed " + packed.length + " bytes");
+    }
+
+    @Test
+    void emptyVectorRoundTrips() {
+        SparseVector read = converter.read(SparseVector.class, write(SparseVector.EMPTY));
+
+        assertTrue(read.isEmpty());
+        assertEquals(0, read.getValues().length);
+    }
+
+    private Document write(SparseVector vector) {
+        Document doc = new Document();
+        converter.write(vector, doc);
+        return doc;
+    }
+}
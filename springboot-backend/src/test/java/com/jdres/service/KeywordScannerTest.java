@@ -0,0 +1,85 @@
+package com.jdres.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordScannerTest {
+
+    @Test
+    void agreesWithContainsAndWordRegexOnRandomText() {
+        // Small alphabet so patterns overlap, nest and share prefixes/suffixes constantly
+        List<String> patterns = List.of("a", "ab", "bab", "abab", "b a", "-c", "c_a", "aa", "ba.", "A B", "x");
+        KeywordScanner scanner = new KeywordScanner(patterns);
+        Random random = new Random(3);
+        String alphabet = "aAbB c-_.";
+
+        for (int round = 0; round < 500; round++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = random.nextInt(60); i > 0; i--) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String lower = text.toString().toLowerCase();
+
+            KeywordScanner.Matches matches = scanner.scan(text);
+            for (int p = 0; p < patterns.size(); p++) {
+                String pattern = scanner.pattern(p);
+                String context = "'" + pattern + "' in '" + text + "'";
+                assertEquals(lower.contains(pattern), matches.found(p), context);
+                assertEquals(occurrences(lower, pattern), matches.count(p), context);
+                assertEquals(wordOccurrences(lower, pattern), matches.wordCount(p), context);
+            }
+        }
+    }
+
+    @Test
+    void replacesTheInferenceContainsChecks() {
+        List<String> keywords = List.of("production launch", "migration", "go-live", "critical", "enterprise",
+                "health", "healthcare", "e-commerce", "ecommerce", "supply chain", "saas");
+        KeywordScanner scanner = new KeywordScanner(keywords);
+        String jd = "Lead the Go-Live of our HealthCare SaaS platform; data MIGRATION and supply  chain "
+                + "integrations are business-critical. Non-critical: e-commerce.";
+
+        KeywordScanner.Matches matches = scanner.scan(jd);
+
+        for (int p = 0; p < keywords.size(); p++) {
+            assertEquals(jd.toLowerCase().contains(keywords.get(p)), matches.found(p), keywords.get(p));
+        }
+        assertEquals(2, matches.count(keywords.indexOf("critical")));
+        assertEquals(2, matches.wordCount(keywords.indexOf("critical"))); // '-' is a word boundary
+        assertTrue(matches.found(keywords.indexOf("health")));
+        assertFalse(matches.foundWord(keywords.indexOf("health"))); // only inside "healthcare"
+    }
+
+    @Test
+    void blankPatternsAndTextNeverMatch() {
+        KeywordScanner scanner = new KeywordScanner(List.of("", "java"));
+
+        assertFalse(scanner.scan("java").found(0));
+        assertTrue(scanner.scan("java").foundWord(1));
+        assertFalse(scanner.scan(null).found(1));
+    }
+
+    // Overlapping String.contains hits, as the old per-keyword loop would have seen them
+    private static int occurrences(String text, String pattern) {
+        int count = 0;
+        for (int from = text.indexOf(pattern); from >= 0; from = text.indexOf(pattern, from + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static int wordOccurrences(String text, String pattern) {
+        Matcher matcher = Pattern.compile("(?=\\b" + Pattern.quote(pattern) + "\\b)").matcher(text);
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,82 @@
+package com.jdres.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmRequestSchedulerTest {
+
+    // One slot, budgets far above anything the tests charge
+    private final LlmRequestScheduler scheduler = new LlmRequestScheduler(1_000_000, 100_000, 1, 5);
+
+    @Test
+    void releaseHandsTheSlotToWaitersInArrivalOrder() throws Exception {
+        LlmRequestScheduler.Permit held = scheduler.acquire(10);
+
+        AtomicReference<LlmRequestScheduler.Permit> reactive = new AtomicReference<>();
+        Disposable subscription = scheduler.acquireAsync(10).subscribe(reactive::set);
+        awaitWaiting(1);
+        CompletableFuture<LlmRequestScheduler.Permit> blocking = CompletableFuture.supplyAsync(() -> {
+            try {
+                return scheduler.acquire(10);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        awaitWaiting(2);
+
+        scheduler.release(held, 10);
+        assertNotNull(reactive.get(), "first waiter is resumed by release() itself");
+        assertFalse(blocking.isDone());
+
+        scheduler.release(reactive.get(), 10);
+        scheduler.release(blocking.get(5, TimeUnit.SECONDS), 10);
+        assertEquals(0, scheduler.getStats().get("inFlight"));
+        subscription.dispose();
+    }
+
+    @Test
+    void cancelledReactiveWaiterLeavesTheLine() throws Exception {
+        LlmRequestScheduler.Permit held = scheduler.acquire(10);
+        Disposable abandoned = scheduler.acquireAsync(10).subscribe();
+        awaitWaiting(1);
+
+        abandoned.dispose();
+        assertEquals(0, scheduler.getStats().get("waitingForSlot"));
+
+        scheduler.release(held, 10);
+        LlmRequestScheduler.Permit next = scheduler.acquireAsync(10).block(Duration.ofSeconds(1));
+        assertNotNull(next, "slot was returned to the pool, not lost to the cancelled waiter");
+        scheduler.release(next, 10);
+    }
+
+    @Test
+    void waitersTimeOutAndReturnNoSlot() throws Exception {
+        LlmRequestScheduler scheduler = new LlmRequestScheduler(1_000_000, 100_000, 1, 1);
+        LlmRequestScheduler.Permit held = scheduler.acquire(10);
+
+        assertThrows(TimeoutException.class, () -> scheduler.acquire(10));
+        Exception e = assertThrows(Exception.class,
+                () -> scheduler.acquireAsync(10).block(Duration.ofSeconds(5)));
+        assertInstanceOf(TimeoutException.class, e.getCause() != null ? e.getCause() : e);
+
+        scheduler.release(held, 10);
+        scheduler.release(scheduler.acquire(10), 10);
+        assertEquals(0, scheduler.getStats().get("waitingForSlot"));
+    }
+
+    private void awaitWaiting(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((int) scheduler.getStats().get("waitingForSlot") < count) {
+            assertTrue(System.nanoTime() < deadline, "waiter never queued");
+            Thread.sleep(5);
+        }
+    }
+}
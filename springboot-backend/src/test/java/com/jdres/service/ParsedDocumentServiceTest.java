@@ -0,0 +1,84 @@
+package com.jdres.service;
+
+import com.jdres.model.ParsedResume;
+import com.jdres.model.Resume;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ParsedDocumentServiceTest {
+
+    private ParsedDocumentService service;
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), any(Class.class))).thenReturn(bulk);
+
+        service = new ParsedDocumentService();
+        ReflectionTestUtils.setField(service, "skillNormalizationService", new SkillNormalizationService());
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+    }
+
+    @Test
+    void staleViewIsRebuiltOnceAndWrittenBack() {
+        Resume resume = legacyResume("r1");
+
+        ParsedResume first = service.view(resume);
+        ParsedResume second = service.view(resume);
+        service.shutdown(); // flushes pending write-backs
+
+        assertEquals(ParsedResume.CURRENT_VERSION, first.getVersion());
+        assertSame(first, second, "rebuilt view is kept on the resume");
+        verify(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, Resume.class);
+        verify(bulk, times(1)).updateOne(any(Query.class), any(Update.class));
+        verify(bulk).execute();
+    }
+
+    @Test
+    void currentViewIsNotWritten() {
+        Resume resume = legacyResume("r2");
+        resume.setParsed(service.parseResume(resume));
+
+        service.view(resume);
+        service.shutdown();
+
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Resume.class));
+    }
+
+    @Test
+    void projectedViewIsNeverPersisted() {
+        Resume resume = legacyResume("r3");
+
+        service.projectedView(resume);
+        service.shutdown();
+
+        assertNull(resume.getParsed());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Resume.class));
+    }
+
+    private static Resume legacyResume(String id) {
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setFileId(id);
+        resume.setText("Senior Java engineer, Spring Boot and Kafka");
+        resume.setSkills(List.of("Java", "Spring Boot"));
+        resume.setParsedDetails(Map.of("total_experience_years", 7));
+        return resume;
+    }
+}
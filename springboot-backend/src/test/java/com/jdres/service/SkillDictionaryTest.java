@@ -0,0 +1,135 @@
+package com.jdres.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillDictionaryTest {
+
+    private static final List<String> SKILLS = List.of(
+            "java", "javascript", "js", "typescript", "react", "react native", "reactjs",
+            "node.js", "node js", "nodejs", "go", "golang", "mongodb", "django", "python",
+            "google cloud", "gcp", "aws", "amazon web services", "c", "c++", "c#", "r", "rstats",
+            "rust", "docker", "kubernetes", "k8s", "spring boot", "spring", "sql", "mysql",
+            "postgresql", "postgres");
+
+    private final SkillNormalizationService normalization = new SkillNormalizationService();
+    private SkillDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new SkillDictionary();
+        ReflectionTestUtils.setField(dictionary, "skillNormalizationService", normalization);
+    }
+
+    @Test
+    void matchesEverythingTheStringScanMatched() {
+        int[] ids = dictionary.internAll(SKILLS);
+
+        for (int a = 0; a < SKILLS.size(); a++) {
+            for (int b = 0; b < SKILLS.size(); b++) {
+                String skill = SKILLS.get(a);
+                String other = SKILLS.get(b);
+                boolean before = stringScanMatches(skill, other);
+                boolean now = dictionary.matches(ids[a], ids[b]);
+                if (before) {
+                    assertTrue(now, skill + " ~ " + other);
+                } else {
+                    // The only new matches are synonyms of the same canonical skill
+                    assertEquals(sameCanonical(skill, other), now, skill + " ~ " + other);
+                }
+            }
+        }
+    }
+
+    @Test
+    void synonymsMatchThroughTheirCanonicalName() {
+        assertMatch("golang", "go");
+        assertMatch("js", "javascript");
+        assertMatch("k8s", "kubernetes");
+        assertMatch("rstats", "r");
+    }
+
+    @Test
+    void containmentRunsOnWrittenFormsNotCanonicalNames() {
+        // Canonicalized first, these would be "go" in "mongodb", "javascript" ~ "java", "r" in nearly anything
+        assertNoMatch("golang", "mongodb");
+        assertNoMatch("golang", "django");
+        assertNoMatch("golang", "google cloud");
+        assertNoMatch("js", "java");
+        assertNoMatch("rstats", "react");
+        assertNoMatch("rstats", "docker");
+        assertNoMatch("rstats", "spring boot");
+    }
+
+    @Test
+    void readOnlyLookupsAgreeWithInternedMatchingAndNeverGrow() {
+        BitSet pool = dictionary.encode(SKILLS);
+        int size = dictionary.size();
+
+        for (String term : List.of("golang", "Go", "JS", "react-native", "mongo", "kotlin", "rstats ", "NodeJS")) {
+            BitSet reach = dictionary.reachOf(term);
+            for (int id = 0; id < size; id++) {
+                String other = dictionary.name(id);
+                boolean expected = stringScanMatches(term.toLowerCase().trim(), other) || sameCanonical(term, other);
+                assertEquals(expected, reach.get(id), term + " ~ " + other);
+
+                BitSet single = new BitSet();
+                single.set(id);
+                assertEquals(expected, dictionary.matchesAny(term, single), term + " ~ " + other);
+            }
+            assertEquals(reach.intersects(pool), dictionary.matchesAny(term, pool), term);
+        }
+
+        assertEquals(size, dictionary.size());
+        assertEquals(SkillDictionary.UNKNOWN, dictionary.lookup("kotlin"));
+        assertNotEquals(SkillDictionary.UNKNOWN, dictionary.lookup(" Golang "));
+    }
+
+    @Test
+    void reachExpandsASetThroughPrecomputedRelations() {
+        dictionary.internAll(SKILLS);
+        BitSet candidate = dictionary.encode(List.of("golang", "react native"));
+
+        BitSet reach = dictionary.reach(candidate);
+
+        assertTrue(reach.get(dictionary.intern("go")));
+        assertTrue(reach.get(dictionary.intern("react")));
+        assertFalse(reach.get(dictionary.intern("mongodb")));
+        assertFalse(dictionary.matchesAny(dictionary.intern("django"), candidate));
+        assertTrue(dictionary.matchesAny(dictionary.intern("reactjs"), dictionary.encode(List.of("react"))));
+    }
+
+    private void assertMatch(String a, String b) {
+        assertTrue(dictionary.matches(dictionary.intern(a), dictionary.intern(b)), a + " ~ " + b);
+    }
+
+    private void assertNoMatch(String a, String b) {
+        assertFalse(dictionary.matches(dictionary.intern(a), dictionary.intern(b)), a + " ~ " + b);
+        // Same answer whichever side is free text
+        assertFalse(dictionary.matchesAny(a, dictionary.encode(List.of(b))), a + " ~ " + b);
+        assertFalse(dictionary.reachOf(b).get(dictionary.intern(a)), a + " ~ " + b);
+    }
+
+    private boolean sameCanonical(String a, String b) {
+        return normalization.normalizeSkill(a).equals(normalization.normalizeSkill(b));
+    }
+
+    // MatchingService.skillMatches before the dictionary: equality, containment, punctuation variants
+    private static boolean stringScanMatches(String skill, String candidateSkill) {
+        if (candidateSkill.equals(skill)) {
+            return true;
+        }
+        if (candidateSkill.contains(skill) || skill.contains(candidateSkill)) {
+            return true;
+        }
+        String skillNormalized = skill.replace(".", "").replace(" ", "").replace("-", "");
+        String candidateNormalized = candidateSkill.replace(".", "").replace(" ", "").replace("-", "");
+        return skillNormalized.equals(candidateNormalized);
+    }
+}
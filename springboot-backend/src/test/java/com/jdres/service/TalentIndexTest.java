@@ -0,0 +1,258 @@
+package com.jdres.service;
+
+import com.jdres.service.TalentQuery.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TalentIndexTest {
+
+    private static final List<String> WORDS = List.of(
+            "kafka", "java", "spring", "boot", "banking", "fintech", "aws", "lead", "team", "c++", "migration");
+    private static final List<String> SKILLS = List.of(
+            "java", "kafka", "apache kafka", "spring boot", "aws", "golang", "mongodb", "react");
+    private static final List<String> DOMAINS = List.of("fintech", "healthcare", "saas");
+    private static final List<String> METHODOLOGIES = List.of("agile", "scrum", "waterfall");
+
+    private static final List<String> QUERIES = List.of(
+            "kafka",
+            "kafka AND (fintech OR banking) AND exp>=5",
+            "skill:java -method:waterfall",
+            "text:\"spring boot\" OR domain:saas",
+            "NOT lead",
+            "java kafka team",
+            "exp<3 OR exp=10",
+            "skill:\"spring boot\" domain:healthcare",
+            "c++ OR go",
+            "(aws OR java) AND NOT (team OR scrum)",
+            "NOT NOT migration");
+
+    private SkillDictionary dictionary;
+    private Function<String, BitSet> skillReach;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new SkillDictionary();
+        ReflectionTestUtils.setField(dictionary, "skillNormalizationService", new SkillNormalizationService());
+        skillReach = dictionary::reachOf;
+    }
+
+    @Test
+    void matchesAndRanksLikeABruteForceScan() {
+        Random random = new Random(5);
+        TalentIndex index = new TalentIndex();
+        Map<String, TalentIndex.Entry> pool = new LinkedHashMap<>(); // live docs in doc-id order
+
+        for (int i = 0; i < 300; i++) {
+            put(index, pool, randomEntry(random, "r" + i));
+        }
+        assertSearchesMatch(index, pool);
+
+        // Removals and re-uploads change document frequencies and the average length
+        for (int i = 0; i < 300; i += 3) {
+            index.remove("r" + i);
+            pool.remove("r" + i);
+        }
+        for (int i = 1; i < 300; i += 7) {
+            put(index, pool, randomEntry(random, "r" + i));
+        }
+        assertEquals(pool.size(), index.size());
+        assertSearchesMatch(index, pool);
+    }
+
+    @Test
+    void reindexingTheSameResumesDoesNotGrowTheIndex() {
+        TalentIndex index = new TalentIndex();
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 10; i++) {
+                index.put(entry("r" + i, "kafka team round" + round));
+            }
+        }
+
+        List<?> docs = (List<?>) ReflectionTestUtils.getField(index, "docs");
+        assertEquals(10, index.size());
+        assertTrue(docs.size() < 64, "doc slots: " + docs.size());
+        TalentIndex.Result result = index.search(TalentQuery.parse("text:kafka"), skillReach, 20);
+        assertEquals(10, result.total());
+        assertEquals(10, index.search(TalentQuery.parse("text:round199"), skillReach, 20).total());
+        assertEquals(0, index.search(TalentQuery.parse("text:round198"), skillReach, 20).total());
+    }
+
+    @Test
+    void rareTermsOutrankCommonOnesAndShortDocumentsWin() {
+        TalentIndex index = new TalentIndex();
+        index.put(entry("long", "java team team team team team team team"));
+        index.put(entry("other", "java team team"));
+        index.put(entry("common", "java team"));
+        index.put(entry("rare", "kafka team"));
+
+        List<TalentIndex.Hit> hits = index.search(TalentQuery.parse("text:kafka OR text:java"), skillReach, 10).hits();
+
+        assertEquals(List.of("rare", "common", "other", "long"), hits.stream().map(TalentIndex.Hit::fileId).toList());
+    }
+
+    private void assertSearchesMatch(TalentIndex index, Map<String, TalentIndex.Entry> pool) {
+        for (String q : QUERIES) {
+            Node query = TalentQuery.parse(q);
+            List<TalentIndex.Hit> expected = bruteForce(query, pool);
+
+            TalentIndex.Result all = index.search(query, skillReach, pool.size());
+            assertEquals(expected.size(), all.total(), q);
+            assertHits(expected, all.hits(), q);
+
+            TalentIndex.Result top = index.search(query, skillReach, 5);
+            assertEquals(expected.size(), top.total(), q);
+            assertHits(expected.subList(0, Math.min(5, expected.size())), top.hits(), q);
+        }
+    }
+
+    private static void assertHits(List<TalentIndex.Hit> expected, List<TalentIndex.Hit> actual, String query) {
+        assertEquals(expected.stream().map(TalentIndex.Hit::fileId).toList(),
+                actual.stream().map(TalentIndex.Hit::fileId).toList(), query);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).score(), actual.get(i).score(), 1e-9, query);
+        }
+    }
+
+    // ============================================
+    // Reference: evaluate every document, score with the textbook BM25 formula
+    // ============================================
+
+    private List<TalentIndex.Hit> bruteForce(Node query, Map<String, TalentIndex.Entry> pool) {
+        List<String> rankTerms = new ArrayList<>();
+        List<Node> rankSkills = new ArrayList<>();
+        positiveClauses(query, false, rankTerms, rankSkills);
+
+        int n = pool.size();
+        double avgLength = pool.values().stream().mapToInt(e -> TalentIndex.tokenize(e.text()).size()).sum()
+                / (double) n;
+
+        List<TalentIndex.Hit> hits = new ArrayList<>();
+        for (TalentIndex.Entry doc : pool.values()) {
+            if (!matches(query, doc)) {
+                continue;
+            }
+            List<String> tokens = TalentIndex.tokenize(doc.text());
+            double score = 0;
+            for (String term : rankTerms) {
+                long df = pool.values().stream().filter(e -> TalentIndex.tokenize(e.text()).contains(term)).count();
+                int tf = Collections.frequency(tokens, term);
+                if (df == 0 || tf == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+                double norm = tokens.size() / avgLength;
+                score += idf * tf * (1.2 + 1) / (tf + 1.2 * (1 - 0.75 + 0.75 * norm));
+            }
+            for (Node skill : rankSkills) {
+                if (hasSkill(doc, ((Term) skill).value())) {
+                    score += 2.0;
+                }
+            }
+            hits.add(new TalentIndex.Hit(doc.fileId(), doc.name(), doc.experienceYears(), score));
+        }
+        // Stable: equal scores stay in document order
+        hits.sort(Comparator.comparingDouble(TalentIndex.Hit::score).reversed());
+        return hits;
+    }
+
+    private boolean matches(Node node, TalentIndex.Entry doc) {
+        if (node instanceof And and) {
+            return matches(and.left(), doc) && matches(and.right(), doc);
+        }
+        if (node instanceof Or or) {
+            return matches(or.left(), doc) || matches(or.right(), doc);
+        }
+        if (node instanceof Not not) {
+            return !matches(not.child(), doc);
+        }
+        if (node instanceof Experience exp) {
+            int years = doc.experienceYears();
+            return switch (exp.op()) {
+                case ">=" -> years >= exp.years();
+                case ">" -> years > exp.years();
+                case "<=" -> years <= exp.years();
+                case "<" -> years < exp.years();
+                default -> years == exp.years();
+            };
+        }
+        Term term = (Term) node;
+        String value = term.value();
+        boolean skill = hasSkill(doc, value);
+        boolean domain = doc.domains().contains(value);
+        boolean methodology = doc.methodologies().contains(value);
+        List<String> words = TalentIndex.tokenize(value);
+        boolean text = !words.isEmpty() && TalentIndex.tokenize(doc.text()).containsAll(words);
+        return switch (term.field()) {
+            case SKILL -> skill;
+            case DOMAIN -> domain;
+            case METHODOLOGY -> methodology;
+            case TEXT -> text;
+            case ANY -> skill || domain || methodology || text;
+        };
+    }
+
+    private boolean hasSkill(TalentIndex.Entry doc, String value) {
+        BitSet reach = dictionary.reachOf(value);
+        return Arrays.stream(doc.skillIds()).anyMatch(reach::get);
+    }
+
+    private static void positiveClauses(Node node, boolean negated, List<String> rankTerms, List<Node> rankSkills) {
+        if (node instanceof And and) {
+            positiveClauses(and.left(), negated, rankTerms, rankSkills);
+            positiveClauses(and.right(), negated, rankTerms, rankSkills);
+        } else if (node instanceof Or or) {
+            positiveClauses(or.left(), negated, rankTerms, rankSkills);
+            positiveClauses(or.right(), negated, rankTerms, rankSkills);
+        } else if (node instanceof Not not) {
+            positiveClauses(not.child(), !negated, rankTerms, rankSkills);
+        } else if (node instanceof Term term && !negated) {
+            if (term.field() == Field.TEXT || term.field() == Field.ANY) {
+                rankTerms.addAll(TalentIndex.tokenize(term.value()));
+            }
+            if (term.field() == Field.SKILL || term.field() == Field.ANY) {
+                rankSkills.add(term);
+            }
+        }
+    }
+
+    // ============================================
+    // Fixtures
+    // ============================================
+
+    private static void put(TalentIndex index, Map<String, TalentIndex.Entry> pool, TalentIndex.Entry entry) {
+        index.put(entry);
+        pool.remove(entry.fileId()); // a re-upload gets a new, last document id
+        pool.put(entry.fileId(), entry);
+    }
+
+    private TalentIndex.Entry randomEntry(Random random, String fileId) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1 + random.nextInt(40); i > 0; i--) {
+            text.append(WORDS.get(random.nextInt(WORDS.size()))).append(random.nextBoolean() ? " " : ", ");
+        }
+        return new TalentIndex.Entry(fileId, "Candidate " + fileId, random.nextInt(12),
+                dictionary.internAll(sample(random, SKILLS, 3)),
+                sample(random, DOMAINS, 2), sample(random, METHODOLOGIES, 2), text.toString());
+    }
+
+    private TalentIndex.Entry entry(String fileId, String text) {
+        return new TalentIndex.Entry(fileId, fileId, 0, new int[0], List.of(), List.of(), text);
+    }
+
+    private static List<String> sample(Random random, List<String> values, int max) {
+        List<String> sample = new ArrayList<>();
+        for (int i = random.nextInt(max + 1); i > 0; i--) {
+            String value = values.get(random.nextInt(values.size()));
+            if (!sample.contains(value)) {
+                sample.add(value);
+            }
+        }
+        return sample;
+    }
+}
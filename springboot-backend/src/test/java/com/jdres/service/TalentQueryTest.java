@@ -0,0 +1,56 @@
+package com.jdres.service;
+
+import com.jdres.service.TalentQuery.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TalentQueryTest {
+
+    @Test
+    void parsesBooleanOperatorsWithAndBindingTighterThanOr() {
+        Node query = TalentQuery.parse("kafka AND (fintech OR banking) AND exp>=5");
+
+        assertEquals(new And(
+                new And(new Term(Field.ANY, "kafka"),
+                        new Or(new Term(Field.ANY, "fintech"), new Term(Field.ANY, "banking"))),
+                new Experience(">=", 5)), query);
+        assertEquals(new Or(new Term(Field.ANY, "a"), new And(new Term(Field.ANY, "b"), new Term(Field.ANY, "c"))),
+                TalentQuery.parse("a or b and c"));
+    }
+
+    @Test
+    void parsesFieldsQuotesNegationAndImplicitAnd() {
+        Node query = TalentQuery.parse("skill:\"Spring Boot\" Domain:healthcare -method:waterfall NOT text:x-ray");
+
+        assertEquals(new And(new And(new And(
+                new Term(Field.SKILL, "spring boot"),
+                new Term(Field.DOMAIN, "healthcare")),
+                new Not(new Term(Field.METHODOLOGY, "waterfall"))),
+                new Not(new Term(Field.TEXT, "x-ray"))), query);
+        // Quoted operators are plain values
+        assertEquals(new Term(Field.ANY, "or"), TalentQuery.parse("\"OR\""));
+        assertEquals(new Experience("<", 3), TalentQuery.parse("exp < 3"));
+        assertEquals(new Term(Field.ANY, "c++"), TalentQuery.parse("C++"));
+    }
+
+    @Test
+    void rejectsMalformedQueriesWithAReadableMessage() {
+        assertParseError("", "Query is empty");
+        assertParseError("\"\"", "Query is empty");
+        assertParseError("(kafka OR java", "Missing ')'");
+        assertParseError("kafka)", "Unexpected ')'");
+        assertParseError("kafka AND", "Query ends unexpectedly");
+        assertParseError("OR kafka", "Unexpected 'OR'");
+        assertParseError("\"spring boot", "Unclosed quote");
+        assertParseError("level:senior", "Unknown field 'level'");
+        assertParseError("skill: java", "Missing value after 'skill:'");
+        assertParseError("exp>=five", "exp>= needs a number of years");
+        assertParseError("java ".repeat(300), "Query is too long");
+    }
+
+    private static void assertParseError(String query, String message) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> TalentQuery.parse(query));
+        assertEquals(message, e.getMessage());
+    }
+}
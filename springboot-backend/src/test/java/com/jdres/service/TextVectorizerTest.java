@@ -0,0 +1,41 @@
+package com.jdres.service;
+
+import com.jdres.model.SparseVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextVectorizerTest {
+
+    @Test
+    void capsLongDocumentsAtTheMostFrequentFeatures() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 6000; i++) {
+            text.append("word").append(i).append(' ');
+            if (i % 10 == 0) {
+                text.append("kubernetes ");
+            }
+        }
+
+        SparseVector capped = TextVectorizer.vectorize(text.toString());
+        SparseVector kubernetes = TextVectorizer.vectorize("kubernetes");
+
+        assertEquals(TextVectorizer.MAX_FEATURES, capped.size());
+        for (int i = 1; i < capped.size(); i++) {
+            assertTrue(capped.getIndices()[i - 1] < capped.getIndices()[i], "indices ascending");
+        }
+        int kept = Arrays.binarySearch(capped.getIndices(), kubernetes.getIndices()[0]);
+        assertTrue(kept >= 0, "most frequent feature kept");
+        assertEquals(1.0 + Math.log(600), capped.getValues()[kept], 1e-4);
+    }
+
+    @Test
+    void shortDocumentsAreNotCapped() {
+        SparseVector vector = TextVectorizer.vectorize("senior java engineer spring boot microservices");
+
+        // 6 words + 5 adjacent pairs
+        assertEquals(11, vector.size());
+    }
+}
@@ -0,0 +1,67 @@
+package com.jdres.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    private record Scored(double score, int arrival) {
+    }
+
+    @Test
+    void equalsAStableDescendingSortCutToK() {
+        Random random = new Random(17);
+        for (int round = 0; round < 300; round++) {
+            int n = random.nextInt(200);
+            int k = random.nextInt(40);
+            // Few distinct scores: most of the work is tie-breaking
+            List<Scored> candidates = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                candidates.add(new Scored(random.nextInt(8) / 2.0, i));
+            }
+
+            TopK<Scored> topK = new TopK<>(k);
+            candidates.forEach(c -> topK.offer(c.score(), c));
+
+            // What the batch endpoint did before: stable sort by score, then limit
+            List<Scored> expected = candidates.stream()
+                    .sorted(Comparator.comparingDouble(Scored::score).reversed())
+                    .limit(k)
+                    .toList();
+            assertEquals(expected, topK.sorted(), "n=" + n + " k=" + k);
+            assertEquals(expected.size(), topK.size());
+            assertEquals(n, topK.offered());
+        }
+    }
+
+    @Test
+    void thresholdIsTheWorstSurvivorOnceFull() {
+        TopK<String> topK = new TopK<>(2);
+        assertEquals(Double.NEGATIVE_INFINITY, topK.threshold());
+
+        assertTrue(topK.offer(1.0, "a"));
+        assertTrue(topK.offer(3.0, "b"));
+        assertEquals(1.0, topK.threshold());
+        assertFalse(topK.offer(1.0, "c"), "a tie with the worst survivor arrived later, so it loses");
+        assertTrue(topK.offer(2.0, "d"));
+
+        assertEquals(2.0, topK.threshold());
+        assertEquals(List.of("b", "d"), topK.sorted());
+        assertEquals(List.of("b", "d"), topK.sorted(), "sorted() does not consume the heap");
+    }
+
+    @Test
+    void zeroCapacityKeepsNothing() {
+        TopK<String> topK = new TopK<>(0);
+
+        assertFalse(topK.offer(5.0, "a"));
+        assertTrue(topK.sorted().isEmpty());
+        assertEquals(1, topK.offered());
+    }
+}
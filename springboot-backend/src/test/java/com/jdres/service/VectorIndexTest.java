@@ -0,0 +1,141 @@
+package com.jdres.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorIndexTest {
+
+    private static final int DIMS = 32;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void approximateSearchRecallsExactTopTen() {
+        Random random = new Random(7);
+        Map<String, float[]> vectors = randomVectors(random, 2000);
+        VectorIndex index = build(vectors);
+
+        int hits = 0;
+        int queries = 50;
+        for (int i = 0; i < queries; i++) {
+            float[] query = randomVector(random);
+            Set<String> exact = exactTop(vectors, query, 10);
+            hits += (int) index.search(query, 10, 64, null).stream()
+                    .filter(n -> exact.contains(n.key()))
+                    .count();
+        }
+
+        double recall = hits / (double) (queries * 10);
+        assertTrue(recall >= 0.9, "recall@10 = " + recall);
+    }
+
+    @Test
+    void filterAndDeletesAreRespected() {
+        Random random = new Random(11);
+        Map<String, float[]> vectors = randomVectors(random, 300);
+        VectorIndex index = build(vectors);
+        for (int i = 0; i < 100; i++) {
+            index.remove("r" + i); // past a quarter of the nodes: forces a compaction
+        }
+
+        float[] query = randomVector(random);
+        List<VectorIndex.Neighbor> result = index.search(query, 20, 64, key -> key.endsWith("7"));
+
+        assertEquals(200, index.size());
+        assertFalse(result.isEmpty());
+        for (VectorIndex.Neighbor n : result) {
+            assertTrue(n.key().endsWith("7"), n.key());
+            assertTrue(Integer.parseInt(n.key().substring(1)) >= 100, "deleted key returned: " + n.key());
+        }
+    }
+
+    @Test
+    void snapshotRoundTripsAcrossSeveralMappedSegments() throws IOException {
+        Random random = new Random(13);
+        Map<String, float[]> vectors = randomVectors(random, 500);
+        VectorIndex original = build(vectors);
+        original.remove("r3");
+
+        Path snapshot = dir.resolve("index.hnsw");
+        original.save(snapshot);
+        // 7 vectors per segment: every search crosses segment boundaries
+        VectorIndex loaded = VectorIndex.load(snapshot, 16, 100, 7L * DIMS * Float.BYTES);
+
+        assertEquals(original.keys(), loaded.keys());
+        for (int i = 0; i < 20; i++) {
+            float[] query = randomVector(random);
+            assertEquals(original.search(query, 10, 64, null), loaded.search(query, 10, 64, null));
+            assertEquals(original.similarities(query, vectors.keySet()), loaded.similarities(query, vectors.keySet()));
+        }
+
+        // Mixed mapped + heap vectors survive a second round trip
+        loaded.add("extra", randomVector(random));
+        Path second = snapshot.resolveSibling("index2.hnsw");
+        loaded.save(second);
+        VectorIndex reloaded = VectorIndex.load(second, 16, 100, 5L * DIMS * Float.BYTES);
+        float[] query = randomVector(random);
+        assertEquals(loaded.search(query, 10, 64, null), reloaded.search(query, 10, 64, null));
+        assertTrue(reloaded.contains("extra"));
+    }
+
+    @Test
+    void emptySnapshotLoads() throws IOException {
+        Path snapshot = dir.resolve("empty.hnsw");
+        new VectorIndex(16, 100).save(snapshot);
+
+        VectorIndex loaded = VectorIndex.load(snapshot, 16, 100);
+
+        assertEquals(0, loaded.size());
+        assertTrue(loaded.search(randomVector(new Random(1)), 5, 64, null).isEmpty());
+    }
+
+    private static VectorIndex build(Map<String, float[]> vectors) {
+        VectorIndex index = new VectorIndex(16, 100);
+        vectors.forEach(index::add);
+        return index;
+    }
+
+    private static Map<String, float[]> randomVectors(Random random, int count) {
+        Map<String, float[]> vectors = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            vectors.put("r" + i, randomVector(random));
+        }
+        return vectors;
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] v = new float[DIMS];
+        for (int d = 0; d < DIMS; d++) {
+            v[d] = (float) random.nextGaussian();
+        }
+        return v;
+    }
+
+    private static Set<String> exactTop(Map<String, float[]> vectors, float[] query, int k) {
+        return vectors.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, float[]> e) -> -cosine(query, e.getValue())))
+                .limit(k)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        double na = 0;
+        double nb = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            na += a[i] * a[i];
+            nb += b[i] * b[i];
+        }
+        return dot / Math.sqrt(na * nb);
+    }
+}